@@ -0,0 +1,59 @@
+package defsec.crud.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.config.JacksonConfig;
+import defsec.crud.entity.Task;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+/**
+ * Objects shared by the benchmarks, configured like the running application.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * The ObjectMapper of the application: Spring Boot defaults, JacksonConfig and the spring.jackson.* properties
+     */
+    static ObjectMapper objectMapper() {
+        return objectMapperBuilder().build();
+    }
+
+    /**
+     * The builder of the application's mappers, as configured by Boot; also builds the CBOR and Smile mappers
+     */
+    static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .timeZone(TimeZone.getTimeZone("UTC"));
+        new JacksonConfig().jsonCustomizer().customize(builder);
+        return builder;
+    }
+
+    static Task task(long id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id + ": prepare the quarterly security review");
+        task.setDescription("Collect findings from the last scans, group them by severity and assign owners.");
+        task.setStatus(id % 2 == 0 ? Task.Status.COMPLETED : Task.Status.PENDING);
+        task.setCreatedAt(LocalDateTime.of(2025, 1, 15, 14, 30, 45).plusMinutes(id));
+        task.setUpdatedAt(id % 2 == 0 ? LocalDateTime.of(2025, 1, 16, 9, 0, 0).plusMinutes(id) : null);
+        task.setVersion(id % 3);
+        return task;
+    }
+
+    static List<Task> tasks(int count) {
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            tasks.add(task(i));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,82 @@
+package defsec.crud.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.controller.TaskController;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.GlobalExceptionHandler;
+import defsec.crud.exception.InvalidParameterException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.MethodParameter;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error responses as clients receive them: GlobalExceptionHandler builds the body, which is then written as JSON.
+ * The exceptions are created once; only the handler and the serialization are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ErrorResponseBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private ObjectMapper objectMapper;
+
+    private MethodArgumentNotValidException validationException;
+    private ConflictException conflictException;
+    private InvalidParameterException invalidParameterException;
+    private MethodArgumentTypeMismatchException typeMismatchException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        handler = new GlobalExceptionHandler();
+        objectMapper = BenchmarkFixtures.objectMapper();
+
+        MethodParameter body = new MethodParameter(
+            TaskController.class.getMethod("createTask", TaskRequest.class, String.class, String.class), 0);
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new TaskRequest(), "taskRequest");
+        bindingResult.rejectValue("title", "NotBlank", "Title is required");
+        bindingResult.rejectValue("status", "ValidTaskStatus", "Status must be one of: PENDING, COMPLETED");
+        validationException = new MethodArgumentNotValidException(body, bindingResult);
+
+        conflictException = new ConflictException(
+            "A task with the title 'Prepare the quarterly security review' already exists",
+            "title", "Prepare the quarterly security review");
+        invalidParameterException = new InvalidParameterException("Invalid cursor: 'bogus'", "after");
+        MethodParameter limit = new MethodParameter(
+            TaskController.class.getMethod("searchTasks", String.class, Integer.class), 1);
+        typeMismatchException = new MethodArgumentTypeMismatchException("abc", Integer.class, "limit", limit, null);
+    }
+
+    @Benchmark
+    public byte[] validationErrors() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleValidationExceptions(validationException).getBody());
+    }
+
+    @Benchmark
+    public byte[] conflict() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleConflictException(conflictException).getBody());
+    }
+
+    @Benchmark
+    public byte[] invalidParameter() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(handler.handleInvalidParameterException(invalidParameterException).getBody());
+    }
+
+    @Benchmark
+    public byte[] typeMismatch() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(
+            handler.handleMethodArgumentTypeMismatchException(typeMismatchException).getBody());
+    }
+}
@@ -0,0 +1,151 @@
+package defsec.crud.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.entity.Task;
+import defsec.crud.logging.JsonLogEncoder;
+import defsec.crud.logging.RingBufferAppender;
+import defsec.crud.logging.SamplingTurboFilter;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Request throughput with the logging of a task create, as TaskFacadeImpl does it (MDC entry, INFO line before
+ * and after, response body written to JSON), from 4 threads at once:
+ * <ul>
+ * <li>off: the logger disabled, the baseline</li>
+ * <li>async-appender: the previous setup, logback's AsyncAppender (queue of 512, never discarding) in front of a
+ * JSON file written by the logstash encoder, flushed after every event</li>
+ * <li>ring-buffer: RingBufferAppender in front of a JSON file written by JsonLogEncoder, flushed once per batch</li>
+ * <li>ring-buffer-sampled: the same, keeping 10% of the INFO lines</li>
+ * </ul>
+ * Events the ring buffer drops when the file cannot keep up are printed at the end of each trial: compare
+ * throughput together with what was actually written.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class LoggingOverheadBenchmark {
+
+    @Param({"off", "async-appender", "ring-buffer", "ring-buffer-sampled"})
+    public String logging;
+
+    private LoggerContext context;
+    private Logger logger;
+    private SamplingTurboFilter sampling;
+    private RingBufferAppender ringBuffer;
+    private Path directory;
+
+    private ObjectMapper objectMapper;
+    private Task task;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        task = BenchmarkFixtures.task(1);
+        directory = Files.createTempDirectory("logging-benchmark");
+
+        // The global context, whose MDC the facade writes to
+        context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        logger = context.getLogger("defsec.crud.benchmark.facade." + logging.replace('-', '_'));
+        logger.setAdditive(false);
+        logger.setLevel(Level.INFO);
+        switch (logging) {
+            case "off" -> logger.setLevel(Level.OFF);
+            case "async-appender" -> {
+                AsyncAppender async = new AsyncAppender();
+                async.setContext(context);
+                async.setName("ASYNC_JSON");
+                async.setQueueSize(512);
+                async.setDiscardingThreshold(0);
+                async.addAppender(file(new LogstashEncoder(), true));
+                async.start();
+                logger.addAppender(async);
+            }
+            case "ring-buffer", "ring-buffer-sampled" -> {
+                ringBuffer = new RingBufferAppender();
+                ringBuffer.setContext(context);
+                ringBuffer.setName("ASYNC_JSON");
+                ringBuffer.addAppender(file(new JsonLogEncoder(), false));
+                ringBuffer.start();
+                logger.addAppender(ringBuffer);
+                if (logging.equals("ring-buffer-sampled")) {
+                    sampling = new SamplingTurboFilter();
+                    sampling.setContext(context);
+                    sampling.setSampling(logger.getName() + "=0.1");
+                    sampling.start();
+                    context.addTurboFilter(sampling);
+                }
+            }
+            default -> throw new IllegalArgumentException("Unknown logging setup: " + logging);
+        }
+    }
+
+    private Appender<ILoggingEvent> file(Encoder<ILoggingEvent> encoder, boolean immediateFlush) {
+        encoder.setContext(context);
+        encoder.start();
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setName("JSON_FILE");
+        file.setFile(directory.resolve("defsec-json.log").toString());
+        file.setEncoder(encoder);
+        file.setImmediateFlush(immediateFlush);
+        file.start();
+        return file;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (ringBuffer != null) {
+            System.out.printf("%n%s: %d events accepted, %d dropped%n", logging,
+                ringBuffer.getEnqueuedCount(), ringBuffer.getDroppedCount());
+        }
+        if (sampling != null) {
+            context.getTurboFilterList().remove(sampling);
+        }
+        logger.detachAndStopAllAppenders();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @Benchmark
+    public byte[] createTask() throws IOException {
+        MDC.put("taskTitle", task.getTitle());
+        try {
+            logger.info("Creating new task with title: '{}'", task.getTitle());
+            byte[] body = objectMapper.writeValueAsBytes(task);
+            logger.info("Successfully created task with id: {} and title: '{}'", task.getId(), task.getTitle());
+            return body;
+        } finally {
+            MDC.remove("taskTitle");
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package defsec.crud.benchmark;
+
+import defsec.crud.entity.Task;
+import defsec.crud.facade.TaskFacadeImpl;
+import defsec.crud.facade.TimedTaskFacade;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.filter.ServerHttpObservationFilter;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics on the request path, to be kept under one microsecond per request in total:
+ * the http.server.requests observation (with the SLO buckets of application.properties) and the
+ * facade timer. Each instrumented benchmark has an uninstrumented twin, and the overhead is the difference:
+ * (observedRequest - request) + (timedFacade - facade).
+ *
+ * The facade and the rest of the filter chain are stubs, so only the instrumentation itself is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricsOverheadBenchmark {
+
+    // Same buckets as management.metrics.distribution.slo.http.server.requests
+    private static final Duration[] HTTP_SLO = {
+        Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+        Duration.ofMillis(250), Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500)
+    };
+
+    private TaskFacadeImpl facade;
+    private TimedTaskFacade timedFacade;
+
+    private ServerHttpObservationFilter observationFilter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!id.getName().equals("http.server.requests")) {
+                    return config;
+                }
+                double[] slo = new double[HTTP_SLO.length];
+                for (int i = 0; i < slo.length; i++) {
+                    slo[i] = HTTP_SLO[i].toNanos();
+                }
+                return DistributionStatisticConfig.builder().serviceLevelObjectives(slo).build().merge(config);
+            }
+        });
+
+        ResponseEntity<Task> found = ResponseEntity.ok().eTag("\"1.0\"").body(BenchmarkFixtures.task(1));
+        facade = new TaskFacadeImpl() {
+            @Override
+            public ResponseEntity<Task> getTaskById(Long id, String ifNoneMatch) {
+                return found;
+            }
+        };
+        timedFacade = new TimedTaskFacade();
+        ReflectionTestUtils.setField(timedFacade, "delegate", facade);
+        ReflectionTestUtils.setField(timedFacade, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.invokeMethod(timedFacade, "init");
+
+        // Wired as Spring Boot does: the observation is turned into meters by the default handler
+        ObservationRegistry observationRegistry = ObservationRegistry.create();
+        observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+        observationFilter = new ServerHttpObservationFilter(observationRegistry);
+        request = new MockHttpServletRequest("GET", "/tasks/1");
+        response = new MockHttpServletResponse();
+        // Sets the matched pattern as Spring MVC's handler mapping does, which becomes the uri tag
+        chain = (servletRequest, servletResponse) -> ServerHttpObservationFilter
+            .findObservationContext((HttpServletRequest) servletRequest)
+            .ifPresent(context -> context.setPathPattern("/tasks/{id}"));
+    }
+
+    @Benchmark
+    public ResponseEntity<Task> facade() {
+        return facade.getTaskById(1L, null);
+    }
+
+    @Benchmark
+    public ResponseEntity<Task> timedFacade() {
+        return timedFacade.getTaskById(1L, null);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse request() throws Exception {
+        chain.doFilter(request, response);
+        // The request object is reused; as in the observed variant, start each one without attributes
+        request.clearAttributes();
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse observedRequest() throws Exception {
+        observationFilter.doFilter(request, response, chain);
+        // The filter keeps its observation in a request attribute and would reuse it for a request it has seen
+        request.clearAttributes();
+        return response;
+    }
+}
@@ -0,0 +1,87 @@
+package defsec.crud.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.entity.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON, CBOR and Smile bodies of GET /tasks and POST /tasks, with the mappers of BinaryFormatConfig: the server
+ * encoding a page, a caller decoding it, and the server decoding a request. The payload size of each page is
+ * printed at setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    // TaskFacadeImpl.DEFAULT_PAGE_SIZE and MAX_PAGE_SIZE
+    @Param({"50", "500"})
+    public int pageSize;
+
+    private ObjectWriter pageWriter;
+    private ObjectReader pageReader;
+    private ObjectReader requestReader;
+
+    private List<Task> page;
+    private byte[] encodedPage;
+    private byte[] encodedRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = BenchmarkFixtures.objectMapperBuilder();
+        ObjectMapper objectMapper = switch (format) {
+            case "json" -> builder.build();
+            case "cbor" -> builder.cbor().build();
+            case "smile" -> builder.smile().build();
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        JavaType pageType = objectMapper.getTypeFactory().constructCollectionType(List.class, Task.class);
+        pageWriter = objectMapper.writerFor(pageType);
+        pageReader = objectMapper.readerFor(pageType);
+        requestReader = objectMapper.readerFor(TaskRequest.class);
+
+        page = BenchmarkFixtures.tasks(pageSize);
+        encodedPage = pageWriter.writeValueAsBytes(page);
+        TaskRequest request = new TaskRequest();
+        request.setTitle("Prepare the quarterly security review");
+        request.setDescription("Collect findings and assign owners.");
+        request.setStatus("PENDING");
+        encodedRequest = objectMapper.writeValueAsBytes(request);
+        System.out.printf("%n%s: %d tasks in %d bytes, request in %d bytes%n",
+                          format, pageSize, encodedPage.length, encodedRequest.length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Task> decodePage() throws IOException {
+        return pageReader.readValue(encodedPage);
+    }
+
+    @Benchmark
+    public TaskRequest decodeRequest() throws IOException {
+        return requestReader.readValue(encodedRequest);
+    }
+}
@@ -0,0 +1,90 @@
+package defsec.crud.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.entity.Task;
+import defsec.crud.facade.TaskFacadeImpl;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON on the request/response hot path: response bodies of GET /tasks/{id} and GET /tasks,
+ * and request bodies of POST/PUT /tasks read and validated as Spring MVC does with @Valid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectReader taskRequestReader;
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+
+    private Task task;
+    private List<Task> page;
+    private byte[] validRequest;
+    private byte[] invalidStatusRequest;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        taskRequestReader = objectMapper.readerFor(TaskRequest.class);
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        task = BenchmarkFixtures.task(1);
+        page = BenchmarkFixtures.tasks(TaskFacadeImpl.DEFAULT_PAGE_SIZE);
+        validRequest = ("{\"title\":\"Prepare the quarterly security review\","
+            + "\"description\":\"Collect findings and assign owners.\",\"status\":\"PENDING\"}")
+            .getBytes(StandardCharsets.UTF_8);
+        invalidStatusRequest = "{\"title\":\"Prepare the quarterly security review\",\"status\":\"DONE\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public byte[] serializeTask() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(task);
+    }
+
+    @Benchmark
+    public byte[] serializeTaskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<TaskRequest>> readAndValidateTaskRequest() throws IOException {
+        TaskRequest request = taskRequestReader.readValue(validRequest);
+        return validator.validate(request);
+    }
+
+    // TaskStatusValidator rejects the status, so the violation message is interpolated
+    @Benchmark
+    public Set<ConstraintViolation<TaskRequest>> readAndValidateInvalidTaskRequest() throws IOException {
+        TaskRequest request = taskRequestReader.readValue(invalidStatusRequest);
+        return validator.validate(request);
+    }
+}
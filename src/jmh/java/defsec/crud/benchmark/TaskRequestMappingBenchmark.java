@@ -0,0 +1,43 @@
+package defsec.crud.benchmark;
+
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.entity.Task;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapping of request DTOs onto entities, done for every create and update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskRequestMappingBenchmark {
+
+    private TaskRequest request;
+    private Task task;
+
+    @Setup
+    public void setUp() {
+        request = new TaskRequest("Prepare the quarterly security review", "Collect findings and assign owners.",
+            Task.Status.COMPLETED.name());
+        task = BenchmarkFixtures.task(1);
+    }
+
+    @Benchmark
+    public Task toEntity() {
+        return request.toEntity();
+    }
+
+    @Benchmark
+    public Task updateEntity() {
+        request.updateEntity(task);
+        return task;
+    }
+}
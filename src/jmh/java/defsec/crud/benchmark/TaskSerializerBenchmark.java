@@ -0,0 +1,83 @@
+package defsec.crud.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import defsec.crud.config.JacksonConfig;
+import defsec.crud.entity.Task;
+import defsec.crud.facade.TaskFacadeImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TaskJsonSerializer against the bean serializer it replaced, writing to a reused buffer so that
+ * gc.alloc.rate.norm counts the serialization only.
+ *
+ * The same tasks are written on every invocation, so their timestamps come from the JsonTimestamps cache:
+ * the case of pages whose tasks were created together or read repeatedly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TaskSerializerBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ObjectMapper beanSerializerMapper;
+
+    private Task task;
+    private List<Task> page;
+    private ByteArrayOutputStream buffer;
+
+    @Setup
+    public void setUp() {
+        objectMapper = BenchmarkFixtures.objectMapper();
+        // Before TaskJsonSerializer: JacksonConfig's timestamp format only
+        beanSerializerMapper = new Jackson2ObjectMapperBuilder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .timeZone(TimeZone.getTimeZone("UTC"))
+            .serializers(new LocalDateTimeSerializer(JacksonConfig.FORMATTER))
+            .build();
+
+        task = BenchmarkFixtures.task(1);
+        page = BenchmarkFixtures.tasks(TaskFacadeImpl.DEFAULT_PAGE_SIZE);
+        buffer = new ByteArrayOutputStream(64 * 1024);
+    }
+
+    private ByteArrayOutputStream write(ObjectMapper mapper, Object value) throws IOException {
+        buffer.reset();
+        mapper.writeValue(buffer, value);
+        return buffer;
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream beanSerializerTask() throws IOException {
+        return write(beanSerializerMapper, task);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream taskSerializerTask() throws IOException {
+        return write(objectMapper, task);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream beanSerializerPage() throws IOException {
+        return write(beanSerializerMapper, page);
+    }
+
+    @Benchmark
+    public ByteArrayOutputStream taskSerializerPage() throws IOException {
+        return write(objectMapper, page);
+    }
+}
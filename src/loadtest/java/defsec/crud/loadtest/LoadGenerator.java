@@ -0,0 +1,180 @@
+package defsec.crud.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests are scheduled at the target rate regardless of how fast responses come back,
+ * each sent on its own virtual thread. A slow server therefore accumulates outstanding requests instead
+ * of silently lowering the request rate, as a fixed set of clients waiting for their responses would.
+ *
+ * Every latency is measured from the time its request was scheduled, not from the time it could actually
+ * be sent, which corrects for coordinated omission: a stall of the server (or of this generator) shows up
+ * in the latency of every request scheduled during it.
+ */
+final class LoadGenerator {
+
+    private static final String JSON = "application/json";
+
+    private final URI baseUri;
+    private final LoadTestConfig config;
+    private final TaskIdPool taskIds;
+    private final ObjectMapper objectMapper;
+    private final HttpClient httpClient;
+    private final Random random;
+    private final Operation[] weightedOperations;
+    // Makes every created title unique, across warmup and measurement
+    private final AtomicLong titleSequence = new AtomicLong();
+
+    LoadGenerator(URI baseUri, LoadTestConfig config, TaskIdPool taskIds, ObjectMapper objectMapper) {
+        this.baseUri = baseUri;
+        this.config = config;
+        this.taskIds = taskIds;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(config.getRequestTimeout())
+            .build();
+        this.random = new Random(config.getRandomSeed());
+        this.weightedOperations = weightedOperations(config.getMix());
+    }
+
+    /**
+     * Schedules requests at the target rate for the given duration, then waits for the outstanding ones
+     * @return the statistics per operation
+     */
+    Map<Operation, OperationStats> run(Duration duration) {
+        Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+        Semaphore inFlight = new Semaphore(config.getMaxInFlight());
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            double offsetNanos = 0;
+            while (true) {
+                long intended = start + (long) offsetNanos;
+                if (intended - end >= 0) {
+                    break;
+                }
+                waitUntil(intended);
+
+                ScheduledRequest request = nextRequest();
+                OperationStats operationStats = stats.get(request.operation());
+                if (inFlight.tryAcquire()) {
+                    operationStats.recordSent();
+                    executor.execute(() -> {
+                        try {
+                            send(request, intended, operationStats);
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                } else {
+                    operationStats.recordDropped();
+                }
+
+                offsetNanos += config.getArrivals() == LoadTestConfig.Arrivals.UNIFORM
+                    ? meanGapNanos
+                    : -Math.log(1 - random.nextDouble()) * meanGapNanos;
+            }
+            // Closing the executor waits for the outstanding requests
+        }
+        return stats;
+    }
+
+    private void send(ScheduledRequest request, long intended, OperationStats stats) {
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<String> response = httpClient.send(request.request(), HttpResponse.BodyHandlers.ofString());
+            stats.recordResponse(response.statusCode(), intended, sent, System.nanoTime());
+            if (request.operation() == Operation.CREATE && response.statusCode() == 200) {
+                JsonNode id = objectMapper.readTree(response.body()).get("id");
+                if (id != null) {
+                    taskIds.add(id.asLong());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.recordFailure();
+        } catch (Exception e) {
+            stats.recordFailure();
+        }
+    }
+
+    // Picks the operation and its target here, on the scheduling thread, so that a run is repeatable for a given seed
+    private ScheduledRequest nextRequest() {
+        Operation operation = weightedOperations[random.nextInt(weightedOperations.length)];
+        long id = -1;
+        if (operation == Operation.GET || operation == Operation.UPDATE) {
+            id = taskIds.pick(random);
+        } else if (operation == Operation.DELETE) {
+            id = taskIds.take(random);
+        }
+        if (id < 0 && operation != Operation.LIST) {
+            // No task left to read, update or delete
+            operation = Operation.CREATE;
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder().timeout(config.getRequestTimeout());
+        switch (operation) {
+            case GET -> request.uri(baseUri.resolve("/tasks/" + id)).GET();
+            case LIST -> request.uri(baseUri.resolve("/tasks?limit=50")).GET();
+            case CREATE -> request.uri(baseUri.resolve("/tasks"))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(taskJson("PENDING")));
+            case UPDATE -> request.uri(baseUri.resolve("/tasks/" + id))
+                .header("Content-Type", JSON)
+                .PUT(HttpRequest.BodyPublishers.ofString(taskJson("COMPLETED")));
+            case DELETE -> request.uri(baseUri.resolve("/tasks/" + id)).DELETE();
+        }
+        return new ScheduledRequest(operation, request.build());
+    }
+
+    private String taskJson(String status) {
+        long n = titleSequence.incrementAndGet();
+        return "{\"title\":\"loadtest-" + n + "\",\"description\":\"Task " + n + " created by the load test\","
+            + "\"status\":\"" + status + "\"}";
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    // One array slot per unit of weight, so that picking an operation is one random index
+    private static Operation[] weightedOperations(Map<Operation, Integer> mix) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        Operation[] operations = new Operation[total];
+        int index = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                operations[index++] = entry.getKey();
+            }
+        }
+        return operations;
+    }
+
+    private record ScheduledRequest(Operation operation, HttpRequest request) {
+    }
+}
@@ -0,0 +1,136 @@
+package defsec.crud.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import defsec.DefsecApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Load-test harness, run with ./gradlew loadTest: boots the application in this JVM against an in-memory
+ * H2 database (profile "loadtest"), seeds it with tasks, drives the configured request mix at the target
+ * rate, and writes latency percentiles, throughput and error rates as a JSON report.
+ *
+ * Generator and server share the machine, so the highest sustainable rate found here is a lower bound
+ * for a dedicated server; the harness is meant to compare changes, not to size production.
+ */
+public final class LoadTest {
+
+    // Tasks per POST /tasks/batch while seeding
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DefsecApplication.class)
+                .profiles("loadtest")
+                .properties("server.port=0")
+                .run(args)) {
+            URI baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+            TaskIdPool taskIds = new TaskIdPool();
+
+            System.out.printf("Seeding %d tasks%n", config.getSeedTasks());
+            seed(baseUri, config.getSeedTasks(), taskIds, objectMapper);
+
+            LoadGenerator generator = new LoadGenerator(baseUri, config, taskIds, objectMapper);
+            if (!config.getWarmup().isZero()) {
+                System.out.printf("Warming up for %d s at %.0f requests/s%n", config.getWarmup().toSeconds(), config.getRate());
+                generator.run(config.getWarmup());
+            }
+            System.out.printf("Measuring for %d s at %.0f requests/s (%s arrivals)%n",
+                config.getDuration().toSeconds(), config.getRate(), config.getArrivals().name().toLowerCase(Locale.ROOT));
+            Instant startedAt = Instant.now();
+            long start = System.nanoTime();
+            Map<Operation, OperationStats> stats = generator.run(config.getDuration());
+            // Includes the time taken by the requests still outstanding at the end of the schedule
+            double measuredSeconds = (System.nanoTime() - start) / 1e9;
+
+            Map<String, Object> report = report(config, startedAt, measuredSeconds, stats);
+            Path reportFile = config.getReport();
+            if (reportFile.getParent() != null) {
+                Files.createDirectories(reportFile.getParent());
+            }
+            objectMapper.writeValue(reportFile.toFile(), report);
+            printSummary(stats);
+            System.out.println("Report: " + reportFile.toAbsolutePath());
+        }
+    }
+
+    private static void seed(URI baseUri, int count, TaskIdPool taskIds, ObjectMapper objectMapper)
+            throws IOException, InterruptedException {
+        HttpClient httpClient = HttpClient.newHttpClient();
+        for (int first = 0; first < count; first += SEED_BATCH_SIZE) {
+            int size = Math.min(SEED_BATCH_SIZE, count - first);
+            StringBuilder body = new StringBuilder(size * 96).append('[');
+            for (int i = first; i < first + size; i++) {
+                body.append(i > first ? "," : "")
+                    .append("{\"title\":\"seed-").append(i)
+                    .append("\",\"description\":\"Seeded task ").append(i)
+                    .append("\",\"status\":\"").append(i % 4 == 0 ? "COMPLETED" : "PENDING").append("\"}");
+            }
+            body.append(']');
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/tasks/batch"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": " + response.body());
+            }
+            for (JsonNode result : objectMapper.readTree(response.body()).path("results")) {
+                if (result.hasNonNull("id")) {
+                    taskIds.add(result.get("id").asLong());
+                }
+            }
+        }
+    }
+
+    private static Map<String, Object> report(LoadTestConfig config, Instant startedAt, double measuredSeconds,
+                                              Map<Operation, OperationStats> stats) {
+        OperationStats total = OperationStats.merge(stats.values());
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("startedAt", startedAt.toString());
+        run.put("measuredSeconds", Math.round(measuredSeconds * 1000) / 1000.0);
+        run.put("javaVersion", Runtime.version().toString());
+        run.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> operations = new LinkedHashMap<>();
+        stats.forEach((operation, operationStats) -> operations.put(operation.getKey(), operationStats.toReport(measuredSeconds)));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config.toReport());
+        report.put("run", run);
+        report.put("total", total.toReport(measuredSeconds));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private static void printSummary(Map<Operation, OperationStats> stats) {
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "", "completed", "p50 ms", "p99 ms", "p99.9 ms", "errors");
+        stats.forEach((operation, operationStats) -> printLine(operation.getKey(), operationStats));
+        printLine("total", OperationStats.merge(stats.values()));
+    }
+
+    private static void printLine(String name, OperationStats stats) {
+        System.out.printf("%-8s %10d %10.3f %10.3f %10.3f %9.2f%%%n", name, stats.getCompleted(),
+            stats.getLatencyPercentileMillis(50), stats.getLatencyPercentileMillis(99),
+            stats.getLatencyPercentileMillis(99.9), stats.getErrorRate() * 100);
+    }
+}
@@ -0,0 +1,160 @@
+package defsec.crud.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Settings of one load-test run, read from loadtest.* system properties (./gradlew loadTest -Ploadtest.rate=2000).
+ */
+final class LoadTestConfig {
+
+    static final String DEFAULT_MIX = "get=60,list=20,create=10,update=5,delete=5";
+
+    /**
+     * How intended send times are spaced
+     */
+    enum Arrivals {
+        // Evenly spaced, 1/rate apart
+        UNIFORM,
+        // Exponentially distributed gaps with mean 1/rate, as independent clients produce
+        POISSON
+    }
+
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int seedTasks;
+    private final Map<Operation, Integer> mix;
+    private final Arrivals arrivals;
+    private final int maxInFlight;
+    private final Duration requestTimeout;
+    private final long randomSeed;
+    private final Path report;
+
+    private LoadTestConfig(double rate, Duration warmup, Duration duration, int seedTasks, Map<Operation, Integer> mix,
+                           Arrivals arrivals, int maxInFlight, Duration requestTimeout, long randomSeed, Path report) {
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.seedTasks = seedTasks;
+        this.mix = mix;
+        this.arrivals = arrivals;
+        this.maxInFlight = maxInFlight;
+        this.requestTimeout = requestTimeout;
+        this.randomSeed = randomSeed;
+        this.report = report;
+    }
+
+    static LoadTestConfig fromSystemProperties() {
+        double rate = Double.parseDouble(property("rate", "500"));
+        if (rate <= 0) {
+            throw new IllegalArgumentException("loadtest.rate must be positive: " + rate);
+        }
+        int maxInFlight = Integer.parseInt(property("maxInFlight", "10000"));
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("loadtest.maxInFlight must be positive: " + maxInFlight);
+        }
+        return new LoadTestConfig(
+            rate,
+            Duration.ofSeconds(Long.parseLong(property("warmupSeconds", "10"))),
+            Duration.ofSeconds(Long.parseLong(property("durationSeconds", "60"))),
+            Integer.parseInt(property("seedTasks", "10000")),
+            parseMix(property("mix", DEFAULT_MIX)),
+            Arrivals.valueOf(property("arrivals", "poisson").toUpperCase(Locale.ROOT)),
+            maxInFlight,
+            Duration.ofMillis(Long.parseLong(property("timeoutMillis", "10000"))),
+            Long.parseLong(property("randomSeed", "42")),
+            Path.of(property("report", "build/reports/loadtest/report.json")));
+    }
+
+    /**
+     * Parses a mix such as "get=60,list=20,create=10,update=5,delete=5"; weights are relative, omitted operations are 0
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid loadtest.mix entry: '" + entry + "'. Expected operation=weight.");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Invalid loadtest.mix weight: '" + entry + "'");
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight: '" + mix + "'");
+        }
+        return Collections.unmodifiableMap(weights);
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = System.getProperty("loadtest." + name);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    double getRate() {
+        return rate;
+    }
+
+    Duration getWarmup() {
+        return warmup;
+    }
+
+    Duration getDuration() {
+        return duration;
+    }
+
+    int getSeedTasks() {
+        return seedTasks;
+    }
+
+    Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    Arrivals getArrivals() {
+        return arrivals;
+    }
+
+    int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    long getRandomSeed() {
+        return randomSeed;
+    }
+
+    Path getReport() {
+        return report;
+    }
+
+    /**
+     * @return the settings as written to the report
+     */
+    Map<String, Object> toReport() {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("targetRate", rate);
+        config.put("arrivals", arrivals.name().toLowerCase(Locale.ROOT));
+        config.put("warmupSeconds", warmup.toSeconds());
+        config.put("durationSeconds", duration.toSeconds());
+        config.put("seedTasks", seedTasks);
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        mix.forEach((operation, weight) -> weights.put(operation.getKey(), weight));
+        config.put("mix", weights);
+        config.put("maxInFlight", maxInFlight);
+        config.put("timeoutMillis", requestTimeout.toMillis());
+        config.put("randomSeed", randomSeed);
+        return config;
+    }
+}
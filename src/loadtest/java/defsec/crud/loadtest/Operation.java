@@ -0,0 +1,37 @@
+package defsec.crud.loadtest;
+
+/**
+ * Requests of the load mix, keyed as in loadtest.mix
+ */
+enum Operation {
+    // GET /tasks/{id}
+    GET("get"),
+    // GET /tasks, first page
+    LIST("list"),
+    // POST /tasks
+    CREATE("create"),
+    // PUT /tasks/{id}
+    UPDATE("update"),
+    // DELETE /tasks/{id}
+    DELETE("delete");
+
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation in loadtest.mix: '" + key
+            + "'. Expected one of: get, list, create, update, delete.");
+    }
+}
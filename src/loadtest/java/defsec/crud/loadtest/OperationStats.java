@@ -0,0 +1,136 @@
+package defsec.crud.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcomes and latencies of one operation of the mix (or of all of them, see {@link #merge}).
+ *
+ * Latency is recorded twice: from the time the request was scheduled to be sent, and from the time it was
+ * actually sent. Only the first includes the time spent waiting behind a stalled server or generator,
+ * i.e. it is corrected for coordinated omission; the second is kept to show how much a closed-loop
+ * measurement would have hidden.
+ */
+final class OperationStats {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final Histogram serviceTime = new ConcurrentHistogram(3);
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    /**
+     * Records a response
+     * @param intendedNanos when the request was scheduled to be sent
+     * @param sentNanos when it was actually sent
+     * @param completedNanos when the response was received
+     */
+    void recordResponse(int statusCode, long intendedNanos, long sentNanos, long completedNanos) {
+        latency.recordValue(completedNanos - intendedNanos);
+        serviceTime.recordValue(completedNanos - sentNanos);
+        if (statusCode >= 500) {
+            serverErrors.increment();
+        } else if (statusCode >= 400) {
+            clientErrors.increment();
+        } else {
+            succeeded.increment();
+        }
+    }
+
+    void recordSent() {
+        sent.increment();
+    }
+
+    // No response: connection error or timeout
+    void recordFailure() {
+        failures.increment();
+    }
+
+    // Not sent because loadtest.maxInFlight requests were outstanding
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    /**
+     * @return the sum of the given statistics
+     */
+    static OperationStats merge(Iterable<OperationStats> all) {
+        OperationStats total = new OperationStats();
+        for (OperationStats stats : all) {
+            total.latency.add(stats.latency);
+            total.serviceTime.add(stats.serviceTime);
+            total.sent.add(stats.sent.sum());
+            total.succeeded.add(stats.succeeded.sum());
+            total.clientErrors.add(stats.clientErrors.sum());
+            total.serverErrors.add(stats.serverErrors.sum());
+            total.failures.add(stats.failures.sum());
+            total.dropped.add(stats.dropped.sum());
+        }
+        return total;
+    }
+
+    long getCompleted() {
+        return succeeded.sum() + clientErrors.sum() + serverErrors.sum();
+    }
+
+    /**
+     * Share of scheduled requests that got a 5xx, no response at all, or were dropped.
+     * 4xx responses are expected in a mix with deletes (reads of deleted tasks) and are reported apart.
+     */
+    double getErrorRate() {
+        long scheduled = sent.sum() + dropped.sum();
+        return scheduled == 0 ? 0 : (double) (serverErrors.sum() + failures.sum() + dropped.sum()) / scheduled;
+    }
+
+    double getLatencyPercentileMillis(double percentile) {
+        return toMillis(latency.getValueAtPercentile(percentile));
+    }
+
+    Map<String, Object> toReport(double measuredSeconds) {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("sent", sent.sum());
+        report.put("completed", getCompleted());
+        report.put("throughput", round(getCompleted() / measuredSeconds));
+        report.put("succeeded", succeeded.sum());
+        report.put("clientErrors", clientErrors.sum());
+        report.put("serverErrors", serverErrors.sum());
+        report.put("failures", failures.sum());
+        report.put("dropped", dropped.sum());
+        report.put("errorRate", getErrorRate());
+        report.put("latencyMillis", percentiles(latency));
+        report.put("uncorrectedLatencyMillis", percentiles(serviceTime));
+        return report;
+    }
+
+    private static Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        if (histogram.getTotalCount() == 0) {
+            return values;
+        }
+        for (double percentile : PERCENTILES) {
+            values.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                toMillis(histogram.getValueAtPercentile(percentile)));
+        }
+        values.put("max", toMillis(histogram.getMaxValue()));
+        values.put("mean", round(histogram.getMean() / TimeUnit.MILLISECONDS.toNanos(1)));
+        return values;
+    }
+
+    private static double toMillis(long nanos) {
+        return round((double) nanos / TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,46 @@
+package defsec.crud.loadtest;
+
+import java.util.Random;
+
+/**
+ * Ids of the tasks that exist on the server, to pick targets of reads, updates and deletes from
+ */
+final class TaskIdPool {
+
+    private long[] ids = new long[1024];
+    private int size;
+
+    synchronized void add(long id) {
+        if (size == ids.length) {
+            long[] grown = new long[size * 2];
+            System.arraycopy(ids, 0, grown, 0, size);
+            ids = grown;
+        }
+        ids[size++] = id;
+    }
+
+    /**
+     * @return a random id, or -1 if the pool is empty
+     */
+    synchronized long pick(Random random) {
+        return size == 0 ? -1 : ids[random.nextInt(size)];
+    }
+
+    /**
+     * Removes a random id, so that no two deletes target the same task
+     * @return the removed id, or -1 if the pool is empty
+     */
+    synchronized long take(Random random) {
+        if (size == 0) {
+            return -1;
+        }
+        int index = random.nextInt(size);
+        long id = ids[index];
+        ids[index] = ids[--size];
+        return id;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,10 @@
+-- H2 (MySQL mode) port of db/migration/V1__init.sql for the load-test harness.
+-- status is a VARCHAR: H2 enums are case sensitive, while MySQL accepts the upper-case values JPA writes.
+CREATE TABLE task (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    title VARCHAR(255) NOT NULL UNIQUE,
+    description VARCHAR(65535),
+    status VARCHAR(16) DEFAULT 'PENDING',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
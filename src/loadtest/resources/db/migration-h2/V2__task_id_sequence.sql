@@ -0,0 +1,8 @@
+-- H2 (MySQL mode) port of db/migration/V2__task_id_sequence.sql
+CREATE TABLE task_id_sequence (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+);
+
+INSERT INTO task_id_sequence (sequence_name, next_val)
+SELECT 'task', COALESCE(MAX(id), 0) + 1 FROM task;
@@ -0,0 +1,8 @@
+-- H2 (MySQL mode) port of db/migration/V3__task_change_log.sql; indexes are created separately
+CREATE TABLE task_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3)
+);
+
+CREATE INDEX idx_task_change_log_changed_at ON task_change_log (changed_at);
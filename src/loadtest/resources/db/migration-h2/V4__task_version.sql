@@ -0,0 +1,2 @@
+-- H2 (MySQL mode) port of db/migration/V4__task_version.sql
+ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- H2 (MySQL mode) port of db/migration/V5__task_list_indexes.sql; H2 takes one change per ALTER TABLE
+UPDATE task SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE task ALTER COLUMN created_at SET NOT NULL;
+CREATE INDEX idx_task_status_id ON task (status, id);
+CREATE INDEX idx_task_status_created_at_id ON task (status, created_at, id);
+CREATE INDEX idx_task_created_at_id ON task (created_at, id);
@@ -0,0 +1,11 @@
+-- H2 (MySQL mode) port of db/migration/V6__idempotency_key.sql; indexes are created separately
+CREATE TABLE idempotency_key (
+    key_hash BINARY(32) NOT NULL PRIMARY KEY,
+    request_hash BINARY(32) NOT NULL,
+    status_code SMALLINT NULL,
+    response_headers VARCHAR(1024) NULL,
+    response_body TEXT NULL,
+    expires_at TIMESTAMP(3) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key (expires_at);
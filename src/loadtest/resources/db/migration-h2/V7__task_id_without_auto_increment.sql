@@ -0,0 +1,2 @@
+-- H2 (MySQL mode) port of db/migration/V7__task_id_without_auto_increment.sql
+ALTER TABLE task MODIFY id BIGINT NOT NULL;
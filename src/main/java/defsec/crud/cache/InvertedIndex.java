@@ -0,0 +1,370 @@
+package defsec.crud.cache;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Inverted index over task titles and descriptions with BM25 ranking. Not thread-safe.
+ *
+ * Every indexed version of a task gets a new document number. Replaced versions and deleted tasks are
+ * only marked dead and skipped while searching, until {@link #compact()} drops them. New numbers are
+ * always the highest, so posting lists stay sorted by appending to them.
+ */
+final class InvertedIndex {
+
+    // Standard BM25 parameters: term frequency saturation and document length normalization
+    static final float K1 = 1.2f;
+    static final float B = 0.75f;
+    // A word in the title counts as much as two occurrences in the description
+    static final int TITLE_WEIGHT = 2;
+    // Longer tokens are almost certainly not words anyone searches for
+    static final int MAX_TOKEN_LENGTH = 64;
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Hit> BY_RANK =
+        Comparator.comparingDouble(Hit::getScore).reversed().thenComparingLong(Hit::getTaskId);
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> documentByTaskId = new HashMap<>();
+    private long[] taskIds = new long[1024];
+    private int[] lengths = new int[1024];
+    // Posting lists of each live document's words, to update their document frequency when it dies
+    private Postings[][] termsOf = new Postings[1024][];
+    private final BitSet live = new BitSet();
+    private int documentCount;
+    private int liveCount;
+    private long liveLength;
+
+    /**
+     * Indexes the current title and description of a task, replacing any earlier version
+     */
+    void add(long taskId, String title, String description) {
+        remove(taskId);
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(title, TITLE_WEIGHT, frequencies) + count(description, 1, frequencies);
+
+        int document = documentCount++;
+        if (document == taskIds.length) {
+            taskIds = Arrays.copyOf(taskIds, document * 2);
+            lengths = Arrays.copyOf(lengths, document * 2);
+            termsOf = Arrays.copyOf(termsOf, document * 2);
+        }
+        taskIds[document] = taskId;
+        lengths[document] = length;
+        live.set(document);
+        liveCount++;
+        liveLength += length;
+        documentByTaskId.put(taskId, document);
+        Postings[] terms = new Postings[frequencies.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            Postings list = postings.computeIfAbsent(entry.getKey(), t -> new Postings());
+            list.append(document, entry.getValue());
+            list.liveCount++;
+            terms[i++] = list;
+        }
+        termsOf[document] = terms;
+    }
+
+    /**
+     * @return true if the task was indexed
+     */
+    boolean remove(long taskId) {
+        Integer document = documentByTaskId.remove(taskId);
+        if (document == null) {
+            return false;
+        }
+        live.clear(document);
+        liveCount--;
+        liveLength -= lengths[document];
+        for (Postings list : termsOf[document]) {
+            list.liveCount--;
+        }
+        termsOf[document] = null;
+        return true;
+    }
+
+    int size() {
+        return liveCount;
+    }
+
+    int deadCount() {
+        return documentCount - liveCount;
+    }
+
+    /**
+     * Returns the best matching tasks for any of the query's words, best first.
+     * Posting lists are merged document by document with MaxScore pruning: once the result is full, words whose
+     * highest possible contribution cannot lift a task into it no longer produce candidates and are only looked up,
+     * by skipping ahead, for tasks found through the other words. Frequent words are therefore cheap.
+     */
+    List<Hit> search(String query, int limit) {
+        Set<String> terms = tokenize(query);
+        Postings[] lists = new Postings[terms.size()];
+        float[] idfs = new float[terms.size()];
+        int count = 0;
+        for (String term : terms) {
+            Postings list = postings.get(term);
+            if (list != null && list.liveCount > 0) {
+                lists[count] = list;
+                // From the live documents only: dead postings would make it negative once a word's task is
+                // re-indexed more often than there are tasks, breaking the MaxScore bounds
+                idfs[count] = (float) Math.log(1 + (liveCount - list.liveCount + 0.5) / (list.liveCount + 0.5));
+                count++;
+            }
+        }
+        if (count == 0 || liveCount == 0) {
+            return List.of();
+        }
+        sortByUpperBound(lists, idfs, count);
+        // maxScores[i] is the highest score words 0..i together can give, as f / (f + norm) < 1
+        float[] maxScores = new float[count];
+        for (int i = 0; i < count; i++) {
+            maxScores[i] = (i > 0 ? maxScores[i - 1] : 0) + idfs[i] * (K1 + 1);
+        }
+
+        int[] positions = new int[count];
+        float averageLength = Math.max(1f, (float) liveLength / liveCount);
+        PriorityQueue<Hit> best = new PriorityQueue<>(limit + 1, BY_RANK.reversed());
+        float threshold = 0;
+        // Words below this index are non-essential: together they cannot reach the threshold
+        int essential = 0;
+        while (essential < count) {
+            int document = Integer.MAX_VALUE;
+            for (int i = essential; i < count; i++) {
+                if (positions[i] < lists[i].size) {
+                    document = Math.min(document, lists[i].documents[positions[i]]);
+                }
+            }
+            if (document == Integer.MAX_VALUE) {
+                break;
+            }
+
+            boolean alive = live.get(document);
+            float norm = K1 * (1 - B + B * lengths[document] / averageLength);
+            float score = 0;
+            for (int i = essential; i < count; i++) {
+                Postings list = lists[i];
+                if (positions[i] < list.size && list.documents[positions[i]] == document) {
+                    score += idfs[i] * bm25(list.frequencies[positions[i]], norm);
+                    positions[i]++;
+                }
+            }
+            if (!alive) {
+                continue;
+            }
+            boolean full = best.size() == limit;
+            for (int i = essential - 1; i >= 0; i--) {
+                if (full && score + maxScores[i] < threshold) {
+                    break;
+                }
+                Postings list = lists[i];
+                positions[i] = list.seek(positions[i], document);
+                if (positions[i] < list.size && list.documents[positions[i]] == document) {
+                    score += idfs[i] * bm25(list.frequencies[positions[i]], norm);
+                }
+            }
+            if (full && score < threshold) {
+                continue;
+            }
+
+            Hit hit = new Hit(taskIds[document], score);
+            if (!full) {
+                best.add(hit);
+            } else if (BY_RANK.compare(hit, best.peek()) < 0) {
+                best.poll();
+                best.add(hit);
+            } else {
+                continue;
+            }
+            if (best.size() == limit) {
+                threshold = best.peek().getScore();
+                while (essential < count && maxScores[essential] < threshold) {
+                    essential++;
+                }
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        hits.sort(BY_RANK);
+        return hits;
+    }
+
+    private static float bm25(int frequency, float norm) {
+        return frequency * (K1 + 1) / (frequency + norm);
+    }
+
+    // Insertion sort of the query's few words by idf, the factor that bounds their contribution
+    private static void sortByUpperBound(Postings[] lists, float[] idfs, int count) {
+        for (int i = 1; i < count; i++) {
+            Postings list = lists[i];
+            float idf = idfs[i];
+            int j = i - 1;
+            while (j >= 0 && idfs[j] > idf) {
+                lists[j + 1] = lists[j];
+                idfs[j + 1] = idfs[j];
+                j--;
+            }
+            lists[j + 1] = list;
+            idfs[j + 1] = idf;
+        }
+    }
+
+    /**
+     * Drops dead documents and renumbers the live ones, keeping posting lists sorted
+     */
+    void compact() {
+        int[] renumbered = new int[documentCount];
+        long[] compactedTaskIds = new long[Math.max(1024, liveCount)];
+        int[] compactedLengths = new int[compactedTaskIds.length];
+        Postings[][] compactedTermsOf = new Postings[compactedTaskIds.length][];
+        int next = 0;
+        for (int document = live.nextSetBit(0); document >= 0; document = live.nextSetBit(document + 1)) {
+            renumbered[document] = next;
+            compactedTaskIds[next] = taskIds[document];
+            compactedLengths[next] = lengths[document];
+            compactedTermsOf[next] = termsOf[document];
+            documentByTaskId.put(taskIds[document], next);
+            next++;
+        }
+
+        Iterator<Postings> lists = postings.values().iterator();
+        while (lists.hasNext()) {
+            Postings list = lists.next();
+            list.retain(live, renumbered);
+            if (list.size == 0) {
+                lists.remove();
+            }
+        }
+        taskIds = compactedTaskIds;
+        lengths = compactedLengths;
+        termsOf = compactedTermsOf;
+        live.clear();
+        live.set(0, next);
+        documentCount = next;
+    }
+
+    /**
+     * Splits text into searchable words, folding case and accents like the title column collation
+     */
+    static Set<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(TaskTitleFilter.normalize(text))) {
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // Adds the weighted occurrences of each word to the frequencies and returns the weighted word count
+    private static int count(String text, int weight, Map<String, Integer> frequencies) {
+        if (text == null || text.isEmpty()) {
+            return 0;
+        }
+        int length = 0;
+        for (String token : SEPARATORS.split(TaskTitleFilter.normalize(text))) {
+            if (!token.isEmpty() && token.length() <= MAX_TOKEN_LENGTH) {
+                frequencies.merge(token, weight, Integer::sum);
+                length += weight;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * A matching task and its BM25 score
+     */
+    static final class Hit {
+
+        private final long taskId;
+        private final float score;
+
+        Hit(long taskId, float score) {
+            this.taskId = taskId;
+            this.score = score;
+        }
+
+        long getTaskId() {
+            return taskId;
+        }
+
+        float getScore() {
+            return score;
+        }
+    }
+
+    // Document numbers in ascending order with the term frequency in each, as parallel primitive arrays
+    private static final class Postings {
+
+        private int[] documents = new int[2];
+        private int[] frequencies = new int[2];
+        private int size;
+        // Postings of live documents: the word's document frequency
+        private int liveCount;
+
+        void append(int document, int frequency) {
+            if (size == documents.length) {
+                int capacity = size + (size >> 1) + 1;
+                documents = Arrays.copyOf(documents, capacity);
+                frequencies = Arrays.copyOf(frequencies, capacity);
+            }
+            documents[size] = document;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /**
+         * @return the first position at or after {@code from} whose document is at least {@code document}
+         */
+        int seek(int from, int document) {
+            // Gallop to bracket the target, then binary search, so skipping far costs O(log distance)
+            int low = from;
+            int step = 1;
+            int high = from;
+            while (high < size && documents[high] < document) {
+                low = high + 1;
+                high += step;
+                step <<= 1;
+            }
+            high = Math.min(high, size);
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (documents[middle] < document) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        void retain(BitSet live, int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.get(documents[i])) {
+                    documents[kept] = renumbered[documents[i]];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            documents = Arrays.copyOf(documents, kept);
+            frequencies = Arrays.copyOf(frequencies, kept);
+        }
+    }
+}
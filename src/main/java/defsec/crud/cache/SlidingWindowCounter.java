@@ -0,0 +1,65 @@
+package defsec.crud.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts events over a sliding time window, as a ring of fixed-width buckets.
+ * Each bucket is a {@link LongAdder}, so concurrent increments do not contend on one counter.
+ * A bucket is reset when the ring comes around to it again; sums cover the whole buckets that
+ * overlap the requested window, the newest one partially elapsed.
+ */
+final class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final LongAdder[] buckets;
+    // Number of the time slice each bucket currently counts, as millis / bucketMillis
+    private final AtomicLongArray slices;
+    private final LongSupplier clock;
+
+    SlidingWindowCounter(long bucketMillis, int bucketCount, LongSupplier clock) {
+        this.bucketMillis = bucketMillis;
+        this.buckets = new LongAdder[bucketCount];
+        this.slices = new AtomicLongArray(bucketCount);
+        this.clock = clock;
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new LongAdder();
+            slices.set(i, -1);
+        }
+    }
+
+    void increment() {
+        long slice = clock.getAsLong() / bucketMillis;
+        int index = (int) (slice % buckets.length);
+        if (slices.get(index) != slice) {
+            rollOver(index, slice);
+        }
+        buckets[index].increment();
+    }
+
+    /**
+     * @param windowMillis window length, at most the bucket width times the bucket count
+     * @return the number of events in the buckets overlapping the last {@code windowMillis}
+     */
+    long sum(long windowMillis) {
+        long newest = clock.getAsLong() / bucketMillis;
+        long oldest = newest - Math.min(buckets.length, Math.max(1, windowMillis / bucketMillis)) + 1;
+        long sum = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            long slice = slices.get(i);
+            if (slice >= oldest && slice <= newest) {
+                sum += buckets[i].sum();
+            }
+        }
+        return sum;
+    }
+
+    // Rare (once per bucket width), so a lock is cheaper than making reset and relabel atomic otherwise
+    private synchronized void rollOver(int index, long slice) {
+        if (slices.get(index) < slice) {
+            buckets[index].reset();
+            slices.set(index, slice);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package defsec.crud.cache;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import defsec.crud.entity.Task;
+import defsec.crud.service.TaskChangeListener;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded in-process cache of tasks by id, used as a read-through cache for GET /tasks/{id}.
+ * Entries are evicted by size and by age; changes made on any node invalidate them through
+ * the task change log. The age limit bounds staleness when an invalidation is missed.
+ * Cached instances are shared between requests and must not be modified.
+ *
+ * A read-through load takes {@link #generation} before reading the database and caches the result with
+ * {@link #putIfNotInvalidated}, which refuses it if the id was invalidated in between: the row read may
+ * predate that change. Generations are kept per stripe of ids, so an unrelated invalidation in the same stripe
+ * occasionally skips caching a load; it never lets a stale one in.
+ */
+@Component
+public class TaskCache implements TaskChangeListener {
+
+    @Value("${defsec.cache.tasks.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${defsec.cache.tasks.ttl:60s}")
+    private Duration ttl;
+
+    // Power of two, so the stripe is a mask of the id's hash
+    private static final int GENERATION_STRIPES = 4096;
+
+    private Cache<Long, Task> cache;
+
+    // Invalidation count per stripe of ids
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    @PostConstruct
+    void init() {
+        cache = CacheBuilder.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+
+    public Optional<Task> getIfPresent(Long id) {
+        return Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    /**
+     * @return the invalidation generation of the id, to take before reading the task from the database
+     */
+    public long generation(Long id) {
+        return generations.get(stripe(id));
+    }
+
+    /**
+     * Caches a task read from the database, unless its id was invalidated since the generation was taken
+     *
+     * @return whether the task was cached
+     */
+    public boolean putIfNotInvalidated(Task task, long generation) {
+        int stripe = stripe(task.getId());
+        boolean[] cached = {false};
+        // Runs under the lock of the entry's segment, which invalidate also takes after moving the generation:
+        // an invalidation either is seen here, or removes the entry after it was put
+        cache.asMap().compute(task.getId(), (id, current) -> {
+            if (generations.get(stripe) != generation) {
+                return current;
+            }
+            cached[0] = true;
+            return task;
+        });
+        return cached[0];
+    }
+
+    public void invalidate(Long id) {
+        generations.incrementAndGet(stripe(id));
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void onTaskChanged(long taskId) {
+        invalidate(taskId);
+    }
+
+    public long size() {
+        return cache.size();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static int stripe(Long id) {
+        int hash = id.hashCode();
+        return (hash ^ hash >>> 16) & (GENERATION_STRIPES - 1);
+    }
+}
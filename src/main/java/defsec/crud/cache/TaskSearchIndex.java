@@ -0,0 +1,152 @@
+package defsec.crud.cache;
+
+import defsec.crud.entity.Task;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory full-text index over task titles and descriptions, used by GET /tasks/search instead of
+ * LIKE '%word%' scans of the task table.
+ *
+ * Writes made on this node are indexed right away. Writes made by other nodes show up after the next
+ * periodic rebuild, so search results are only as fresh as that; the task rows returned are always read
+ * from the database.
+ */
+@Component
+public class TaskSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+
+    // Compaction rewrites every posting list, so it only pays off once dead documents are a large share
+    private static final int MIN_DEAD_TO_COMPACT = 10_000;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    // Guarded by lock
+    private InvertedIndex index = new InvertedIndex();
+    // Guarded by lock; non-null while a rebuild runs
+    private List<Consumer<InvertedIndex>> changedDuringRebuild;
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * Returns the ids of the tasks best matching any word of the query, best first
+     * @param query free text; case and accents are ignored
+     * @param limit maximum number of ids to return
+     */
+    public List<Long> search(String query, int limit) {
+        List<InvertedIndex.Hit> hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(query, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> taskIds = new ArrayList<>(hits.size());
+        hits.forEach(hit -> taskIds.add(hit.getTaskId()));
+        return taskIds;
+    }
+
+    /**
+     * Indexes a task that was just created or updated, replacing its previous version
+     */
+    public void index(Task task) {
+        long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        apply(target -> target.add(id, title, description));
+    }
+
+    /**
+     * Removes a task that was just deleted
+     */
+    public void remove(long taskId) {
+        apply(target -> target.remove(taskId));
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the index from a streaming scan of the task table, picking up changes made by other nodes
+     */
+    @Scheduled(fixedDelayString = "${defsec.search.rebuild-interval-ms:600000}",
+               initialDelayString = "${defsec.search.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            long started = System.nanoTime();
+            setChangedDuringRebuild(new ArrayList<>());
+            InvertedIndex next = new InvertedIndex();
+            taskJdbcRepository.streamSearchText(next::add);
+            next.compact();
+
+            lock.writeLock().lock();
+            try {
+                // The scan may have read rows from before or after these changes; replaying them wins either way
+                changedDuringRebuild.forEach(change -> change.accept(next));
+                index = next;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            logger.info("Built task search index for {} tasks in {} ms",
+                       next.size(), (System.nanoTime() - started) / 1_000_000);
+        } catch (DataAccessException e) {
+            logger.error("Could not build task search index, searching the previous one", e);
+        } finally {
+            setChangedDuringRebuild(null);
+            rebuildLock.unlock();
+        }
+    }
+
+    private void apply(Consumer<InvertedIndex> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(change);
+            }
+            if (index.deadCount() > Math.max(MIN_DEAD_TO_COMPACT, index.size())) {
+                index.compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void setChangedDuringRebuild(List<Consumer<InvertedIndex>> changes) {
+        lock.writeLock().lock();
+        try {
+            changedDuringRebuild = changes;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
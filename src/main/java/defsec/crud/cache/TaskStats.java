@@ -0,0 +1,172 @@
+package defsec.crud.cache;
+
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * In-memory task counts per status and create/complete rates, served by GET /tasks/stats without a query.
+ *
+ * Counts are the result of the last GROUP BY status reconciliation plus the changes this node made since.
+ * The previous status of a local update or delete is read with its row locked, in the transaction of the
+ * write, so concurrent writes to the same task each record the transition they actually made. Changes made
+ * by other nodes are picked up by the next scheduled reconciliation. Rates only count writes handled by this
+ * node, and a completion only when the status changed, so re-saving an already completed task does not count again.
+ */
+@Component
+public class TaskStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskStats.class);
+
+    // Rates are kept in 10 second buckets for up to 15 minutes
+    private static final long BUCKET_MILLIS = 10_000;
+    private static final int BUCKETS = 90;
+    private static final String[] RATE_WINDOW_NAMES = {"1m", "5m", "15m"};
+    private static final Duration[] RATE_WINDOWS = {Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(15)};
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    private final Map<Task.Status, LongAdder> changesSinceReconcile = new EnumMap<>(Task.Status.class);
+    private final SlidingWindowCounter created;
+    private final SlidingWindowCounter completed;
+    // Counts of the last reconciliation, replaced as a whole; null until the first one
+    private volatile Reconciled reconciled;
+    // Set when a reconciliation failed, so that it is retried early
+    private volatile boolean stale;
+
+    public TaskStats() {
+        this(System::currentTimeMillis);
+    }
+
+    TaskStats(LongSupplier clock) {
+        for (Task.Status status : Task.Status.values()) {
+            changesSinceReconcile.put(status, new LongAdder());
+        }
+        created = new SlidingWindowCounter(BUCKET_MILLIS, BUCKETS, clock);
+        completed = new SlidingWindowCounter(BUCKET_MILLIS, BUCKETS, clock);
+    }
+
+    public void recordCreated(Task.Status status) {
+        changesSinceReconcile.get(status).increment();
+        created.increment();
+        if (status == Task.Status.COMPLETED) {
+            completed.increment();
+        }
+    }
+
+    /**
+     * @param previous status before the update, or null if not known
+     * @param current status after the update
+     */
+    public void recordStatusChange(Task.Status previous, Task.Status current) {
+        if (previous == null || previous == current) {
+            return;
+        }
+        if (current == Task.Status.COMPLETED) {
+            completed.increment();
+        }
+        changesSinceReconcile.get(previous).decrement();
+        changesSinceReconcile.get(current).increment();
+    }
+
+    /**
+     * @param previous status of the deleted task, or null if not known
+     */
+    public void recordDeleted(Task.Status previous) {
+        if (previous == null) {
+            return;
+        }
+        changesSinceReconcile.get(previous).decrement();
+    }
+
+    /**
+     * Returns the current counts and rates; never queries the database
+     */
+    public TaskStatsResponse snapshot() {
+        Reconciled base = reconciled;
+        Map<Task.Status, Long> counts = new EnumMap<>(Task.Status.class);
+        long total = 0;
+        for (Task.Status status : Task.Status.values()) {
+            long baseCount = base != null ? base.counts.getOrDefault(status, 0L) : 0L;
+            long count = Math.max(0, baseCount + changesSinceReconcile.get(status).sum());
+            counts.put(status, count);
+            total += count;
+        }
+        return new TaskStatsResponse(counts, total, perMinute(created), perMinute(completed),
+                                     base != null ? base.at : null);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        reconcile();
+    }
+
+    /**
+     * Replaces the counts with a GROUP BY status over the task table, correcting drift and picking up
+     * changes made by other nodes
+     */
+    @Scheduled(fixedDelayString = "${defsec.stats.reconcile-interval-ms:60000}",
+               initialDelayString = "${defsec.stats.reconcile-interval-ms:60000}")
+    public synchronized void reconcile() {
+        // Reset first: a change recorded during the query may then be counted twice until the next
+        // reconciliation, but none is lost
+        Map<Task.Status, Long> discarded = new EnumMap<>(Task.Status.class);
+        changesSinceReconcile.forEach((status, changes) -> discarded.put(status, changes.sumThenReset()));
+        stale = false;
+        try {
+            reconciled = new Reconciled(taskJdbcRepository.countByStatus(), LocalDateTime.now());
+            logger.debug("Reconciled task counts: {}", reconciled.counts);
+        } catch (DataAccessException e) {
+            discarded.forEach((status, changes) -> changesSinceReconcile.get(status).add(changes));
+            stale = true;
+            logger.error("Could not reconcile task counts, serving the previous ones", e);
+        }
+    }
+
+    /**
+     * Retries a failed reconciliation without waiting for the next scheduled one
+     */
+    @Scheduled(fixedDelayString = "${defsec.stats.stale-check-interval-ms:1000}")
+    public void reconcileIfStale() {
+        if (stale) {
+            reconcile();
+        }
+    }
+
+    private static Map<String, Double> perMinute(SlidingWindowCounter counter) {
+        Map<String, Double> rates = new LinkedHashMap<>();
+        for (int i = 0; i < RATE_WINDOWS.length; i++) {
+            long windowMillis = RATE_WINDOWS[i].toMillis();
+            rates.put(RATE_WINDOW_NAMES[i], counter.sum(windowMillis) * 60_000.0 / windowMillis);
+        }
+        return rates;
+    }
+
+    private static final class Reconciled {
+
+        private final Map<Task.Status, Long> counts;
+        private final LocalDateTime at;
+
+        Reconciled(Map<Task.Status, Long> counts, LocalDateTime at) {
+            this.counts = counts;
+            this.at = at;
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package defsec.crud.cache;
+
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory bloom filter over all stored task titles, used to skip duplicate-title checks
+ * for titles that certainly do not exist yet.
+ *
+ * A negative answer is only as fresh as the filter: titles written by other nodes since the last
+ * rebuild are missing, so the unique index on task.title stays the final authority. Deleted and
+ * renamed titles cannot be removed from a bloom filter and only cost false positives until the
+ * next periodic rebuild.
+ */
+@Component
+public class TaskTitleFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskTitleFilter.class);
+
+    // A false positive only costs one indexed existence lookup
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    // Minimum capacity, so a small table still leaves room for growth between rebuilds
+    private static final long MIN_EXPECTED_TITLES = 100_000;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    // Null until the first build has finished
+    private volatile BloomFilter<CharSequence> filter;
+    private volatile boolean rebuilding;
+    private final Queue<String> addedDuringRebuild = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock rebuildLock = new ReentrantLock();
+
+    /**
+     * @return false if no stored title can be equal to the given one, true if it may exist
+     *         (always true until the filter has been built)
+     */
+    public boolean mightContain(String title) {
+        BloomFilter<CharSequence> current = filter;
+        return current == null || current.mightContain(normalize(title));
+    }
+
+    /**
+     * Records a title that was just written
+     */
+    public void add(String title) {
+        String key = normalize(title);
+        BloomFilter<CharSequence> current = filter;
+        if (current != null) {
+            current.put(key);
+        }
+        if (rebuilding) {
+            addedDuringRebuild.add(title);
+        }
+        // A rebuild may have swapped in its filter and drained the queue since the filter was read
+        BloomFilter<CharSequence> latest = filter;
+        if (latest != current) {
+            latest.put(key);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the filter from a streaming scan of the task table, dropping deleted titles
+     * and resizing it to the current number of tasks
+     */
+    @Scheduled(fixedDelayString = "${defsec.title-filter.rebuild-interval-ms:1800000}",
+               initialDelayString = "${defsec.title-filter.rebuild-interval-ms:1800000}")
+    public void rebuild() {
+        if (!rebuildLock.tryLock()) {
+            return;
+        }
+        try {
+            rebuilding = true;
+            long started = System.nanoTime();
+            long expectedTitles = Math.max(MIN_EXPECTED_TITLES, taskJdbcRepository.count() * 2);
+            BloomFilter<CharSequence> next = BloomFilter.create(
+                Funnels.stringFunnel(StandardCharsets.UTF_8), expectedTitles, FALSE_POSITIVE_RATE);
+            taskJdbcRepository.streamTitles(title -> next.put(normalize(title)));
+
+            filter = next;
+            rebuilding = false;
+            // Titles queued from here on are also put into the new filter by add itself
+            String title;
+            while ((title = addedDuringRebuild.poll()) != null) {
+                next.put(normalize(title));
+            }
+            logger.info("Built task title filter for ~{} titles (capacity {}) in {} ms",
+                       next.approximateElementCount(), expectedTitles, (System.nanoTime() - started) / 1_000_000);
+        } catch (DataAccessException e) {
+            logger.error("Could not build task title filter, duplicate checks fall back to the database", e);
+        } finally {
+            if (rebuilding) {
+                // The build failed before the swap; the filter in use already has the queued titles
+                rebuilding = false;
+                addedDuringRebuild.clear();
+            }
+            rebuildLock.unlock();
+        }
+    }
+
+    // Titles equal under the case- and accent-insensitive column collation must map to the same key
+    static String normalize(String title) {
+        String decomposed = Normalizer.normalize(title, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,116 @@
+package defsec.crud.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+
+/**
+ * CBOR (application/cbor) and Smile (application/x-jackson-smile) request and response bodies for /tasks,
+ * for service-to-service callers that would rather not parse JSON. Chosen by the Accept and Content-Type
+ * headers; JSON stays the default.
+ *
+ * Spring MVC registers converters for both formats on its own, but with plain mappers. These replace them with
+ * mappers from Boot's builder, so the binary bodies follow the same rules as JSON: spring.jackson.* properties,
+ * JacksonConfig and TaskJsonSerializer. Entity tags of binary bodies name their format (see BinaryFormatETags).
+ */
+@Configuration
+@Profile("!reactive")
+public class BinaryFormatConfig {
+
+    // Not among the MediaType constants
+    public static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(
+            ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        // The builder bean is a prototype: each call returns a new, customized builder. Jackson2ObjectMapperBuilder.cbor()
+        // is static and would start from a plain builder, so only the factory is replaced
+        return new MappingJackson2CborHttpMessageConverter(builder.getObject().factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(
+            ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.getObject().factory(new SmileFactory()).build());
+    }
+
+    /**
+     * Responses of /tasks depend on the Accept header; shared caches must not serve one format for another
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> varyByAcceptFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+                chain.doFilter(request, response);
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        return registration;
+    }
+
+    /**
+     * Translates the conditional headers of /tasks requests for the facade, which knows tags without a format
+     * suffix only (see BinaryFormatETags)
+     */
+    @Bean
+    public FilterRegistrationBean<OncePerRequestFilter> binaryFormatETagFilter() {
+        OncePerRequestFilter filter = new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain chain) throws ServletException, IOException {
+                if (request.getHeader(HttpHeaders.IF_NONE_MATCH) == null && request.getHeader(HttpHeaders.IF_MATCH) == null) {
+                    chain.doFilter(request, response);
+                    return;
+                }
+                MediaType format = BinaryFormatETags.selectFormat(request.getHeader(HttpHeaders.ACCEPT));
+                String ifNoneMatch = BinaryFormatETags.ifNoneMatchOf(request.getHeader(HttpHeaders.IF_NONE_MATCH), format);
+                String ifMatch = BinaryFormatETags.ifMatchOf(request.getHeader(HttpHeaders.IF_MATCH));
+                chain.doFilter(new HttpServletRequestWrapper(request) {
+                    @Override
+                    public String getHeader(String name) {
+                        if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name)) {
+                            return ifNoneMatch;
+                        }
+                        return HttpHeaders.IF_MATCH.equalsIgnoreCase(name) ? ifMatch : super.getHeader(name);
+                    }
+
+                    @Override
+                    public Enumeration<String> getHeaders(String name) {
+                        if (HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(name) || HttpHeaders.IF_MATCH.equalsIgnoreCase(name)) {
+                            String value = getHeader(name);
+                            return Collections.enumeration(value != null ? List.of(value) : List.of());
+                        }
+                        return super.getHeaders(name);
+                    }
+                }, response);
+            }
+        };
+        FilterRegistrationBean<OncePerRequestFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/tasks", "/tasks/*");
+        return registration;
+    }
+}
@@ -0,0 +1,165 @@
+package defsec.crud.config;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives CBOR and Smile bodies entity tags of their own. The facade tags a task by id and version, and a list
+ * page by change log position, whatever the format; but two representations in different media types must not
+ * share a strong ETag (RFC 9110, section 8.8.3), or a cache could validate its JSON copy for a CBOR request.
+ * The format is appended inside the quotes, e.g. "1.3.cbor"; JSON tags are left as they are.
+ *
+ * Request headers are translated back for the facade (see BinaryFormatConfig): If-None-Match keeps the tags of
+ * the format the Accept header selects, without the suffix, and If-Match only loses the suffix, since a write
+ * is checked against the task version whichever format the client read it in.
+ */
+@ControllerAdvice
+@Profile("!reactive")
+public class BinaryFormatETags implements ResponseBodyAdvice<Object> {
+
+    private static final Map<MediaType, String> SUFFIXES = Map.of(
+        MediaType.APPLICATION_CBOR, ".cbor",
+        BinaryFormatConfig.APPLICATION_SMILE, ".smile");
+
+    // In the order of the message converters: */* selects JSON
+    private static final List<MediaType> FORMATS = List.of(
+        MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, BinaryFormatConfig.APPLICATION_SMILE);
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        String suffix = suffix(selectedContentType);
+        String etag = response.getHeaders().getETag();
+        if (suffix != null && etag != null) {
+            // A GET has the tag copied onto the servlet response by the conditional request check, and that
+            // copy wins over the headers of the ResponseEntity
+            response.getHeaders().remove(HttpHeaders.ETAG);
+            ((ServletServerHttpResponse) response).getServletResponse()
+                .setHeader(HttpHeaders.ETAG, withSuffix(etag, suffix));
+        }
+        return body;
+    }
+
+    /**
+     * @return the suffix of the format's tags, or null for JSON
+     */
+    static String suffix(MediaType format) {
+        if (format == null) {
+            return null;
+        }
+        for (Map.Entry<MediaType, String> entry : SUFFIXES.entrySet()) {
+            if (entry.getKey().equalsTypeAndSubtype(format)) {
+                return entry.getValue();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the response format as content negotiation does for the task endpoints
+     * @param accept the Accept header, may be null
+     * @return JSON, CBOR or Smile; JSON if the header names none of them, which is answered with 406 anyway
+     */
+    static MediaType selectFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType type : acceptable) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            for (MediaType format : FORMATS) {
+                if (type.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @param format the format the response is written in
+     * @return the header as the facade compares it: "*" and the tags of this format, without suffix;
+     *         null if none is left
+     */
+    static String ifNoneMatchOf(String ifNoneMatch, MediaType format) {
+        if (ifNoneMatch == null) {
+            return null;
+        }
+        String suffix = suffix(format);
+        List<String> kept = new ArrayList<>();
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            String tagSuffix = tagSuffix(tag);
+            if (tag.equals("*") || (suffix == null ? tagSuffix == null : suffix.equals(tagSuffix))) {
+                kept.add(tagSuffix == null ? tag : withoutSuffix(tag, tagSuffix));
+            }
+        }
+        return kept.isEmpty() ? null : String.join(", ", kept);
+    }
+
+    /**
+     * @return the If-Match header with the format suffix removed from every tag, or null if the header is null
+     */
+    static String ifMatchOf(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<String> tags = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            String tagSuffix = tagSuffix(tag);
+            tags.add(tagSuffix == null ? tag : withoutSuffix(tag, tagSuffix));
+        }
+        return String.join(", ", tags);
+    }
+
+    private static String withSuffix(String tag, String suffix) {
+        return tag.substring(0, tag.length() - 1) + suffix + "\"";
+    }
+
+    private static String withoutSuffix(String tag, String suffix) {
+        return tag.substring(0, tag.length() - 1 - suffix.length()) + "\"";
+    }
+
+    // The suffix a quoted tag ends with, or null for a JSON tag
+    private static String tagSuffix(String tag) {
+        if (!tag.endsWith("\"")) {
+            return null;
+        }
+        for (String suffix : SUFFIXES.values()) {
+            if (tag.endsWith(suffix + "\"")) {
+                return suffix;
+            }
+        }
+        return null;
+    }
+}
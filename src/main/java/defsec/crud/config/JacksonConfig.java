@@ -2,6 +2,7 @@ package defsec.crud.config;
 
 import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
 import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import defsec.crud.entity.Task;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,12 +13,14 @@ import java.time.format.DateTimeFormatter;
 public class JacksonConfig {
 
     // Custom formatter for LocalDateTime: yyyy-MM-dd'T'HH:mm:ss'Z'
-    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
 
     @Bean
     public Jackson2ObjectMapperBuilderCustomizer jsonCustomizer() {
         return builder -> {
             builder.serializers(new LocalDateTimeSerializer(FORMATTER));
+            // Same output as the bean serializer, written without reflection (see TaskJsonSerializer)
+            builder.serializerByType(Task.class, new TaskJsonSerializer());
             builder.deserializers(new LocalDateTimeDeserializer(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'")));
         };
     }
@@ -0,0 +1,73 @@
+package defsec.crud.config;
+
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Renders timestamps as {@link JacksonConfig#FORMATTER} does, keeping recently rendered seconds.
+ *
+ * Responses carry a handful of distinct seconds (tasks created by one batch, pages of recent changes), so most
+ * timestamps are served from the cache as pre-encoded strings, without formatting or allocating.
+ */
+public final class JsonTimestamps {
+
+    // Power of two; one slot per second, a second evicts the one 4096 seconds before or after it
+    private static final int CACHE_SIZE = 4096;
+
+    // Slots are read and replaced without locking: entries are immutable, so a racing thread sees a complete
+    // entry or an older one, and at worst renders a second again
+    private static final Entry[] cache = new Entry[CACHE_SIZE];
+
+    private record Entry(long epochSecond, SerializedString value) {
+    }
+
+    private JsonTimestamps() {
+    }
+
+    /**
+     * @return the value as yyyy-MM-dd'T'HH:mm:ss'Z', fractions of a second dropped
+     */
+    public static SerializableString format(LocalDateTime value) {
+        long epochSecond = value.toEpochSecond(ZoneOffset.UTC);
+        int slot = (int) (epochSecond & (CACHE_SIZE - 1));
+        Entry entry = cache[slot];
+        if (entry != null && entry.epochSecond() == epochSecond) {
+            return entry.value();
+        }
+        SerializedString rendered = new SerializedString(render(value));
+        cache[slot] = new Entry(epochSecond, rendered);
+        return rendered;
+    }
+
+    static String render(LocalDateTime value) {
+        int year = value.getYear();
+        if (year < 1 || year > 9999) {
+            // yyyy is the year of era, signed past 9999
+            return JacksonConfig.FORMATTER.format(value);
+        }
+        char[] chars = new char[20];
+        digits(chars, 0, year, 4);
+        chars[4] = '-';
+        digits(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        digits(chars, 8, value.getDayOfMonth(), 2);
+        chars[10] = 'T';
+        digits(chars, 11, value.getHour(), 2);
+        chars[13] = ':';
+        digits(chars, 14, value.getMinute(), 2);
+        chars[16] = ':';
+        digits(chars, 17, value.getSecond(), 2);
+        chars[19] = 'Z';
+        return new String(chars);
+    }
+
+    private static void digits(char[] chars, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package defsec.crud.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+
+/**
+ * Infrastructure of the non-blocking stack, served by WebFlux and R2DBC with the "reactive" profile
+ * (see application-reactive.properties).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Transactions of the reactive repositories. The R2DBC transaction manager is deliberately not a bean:
+     * next to the JPA one, @Transactional could no longer pick a default, so its auto-configuration is excluded.
+     */
+    @Bean
+    public TransactionalOperator reactiveTransactionalOperator(ConnectionFactory connectionFactory) {
+        return TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+}
@@ -0,0 +1,38 @@
+package defsec.crud.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import defsec.crud.datasource.ReadRouter;
+import defsec.crud.datasource.ReplicaRoutingDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split, enabled by listing read replicas in defsec.datasource.replicas.urls: the application's
+ * DataSource routes to the replica chosen by {@link ReadRouter} and to the primary otherwise, so JPA,
+ * JdbcTemplate and Flyway keep using a single DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(name = "defsec.datasource.replicas.urls")
+public class ReplicaDataSourceConfig {
+
+    // Spring Boot's pool backs off once a DataSource is defined here, so the primary is declared the same way
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReadRouter readRouter) {
+        return new ReplicaRoutingDataSource(primaryDataSource, readRouter.replicaDataSources());
+    }
+}
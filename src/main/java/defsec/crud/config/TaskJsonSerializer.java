@@ -0,0 +1,80 @@
+package defsec.crud.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import defsec.crud.entity.Task;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Writes a Task field by field, producing the same bytes as the bean serializer with the application's
+ * settings: properties in declaration order, version left out, null fields omitted
+ * (spring.jackson.default-property-inclusion=non_null) and timestamps as yyyy-MM-dd'T'HH:mm:ss'Z'.
+ *
+ * Field names and status values are encoded once, and timestamps come from {@link JsonTimestamps}, so
+ * writing a task allocates nothing beyond the generator's buffers. A field added to Task must be added here.
+ */
+public class TaskJsonSerializer extends StdSerializer<Task> {
+
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString TITLE = new SerializedString("title");
+    private static final SerializedString DESCRIPTION = new SerializedString("description");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializedString UPDATED_AT = new SerializedString("updatedAt");
+
+    // Indexed by ordinal, rendered with the @JsonValue of Task.Status
+    private static final SerializedString[] STATUS_VALUES = statusValues();
+
+    public TaskJsonSerializer() {
+        super(Task.class);
+    }
+
+    private static SerializedString[] statusValues() {
+        Task.Status[] statuses = Task.Status.values();
+        SerializedString[] values = new SerializedString[statuses.length];
+        for (Task.Status status : statuses) {
+            values[status.ordinal()] = new SerializedString(status.toString());
+        }
+        return values;
+    }
+
+    @Override
+    public void serialize(Task task, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject(task);
+        Long id = task.getId();
+        if (id != null) {
+            generator.writeFieldName(ID);
+            generator.writeNumber(id.longValue());
+        }
+        writeString(generator, TITLE, task.getTitle());
+        writeString(generator, DESCRIPTION, task.getDescription());
+        Task.Status status = task.getStatus();
+        if (status != null) {
+            generator.writeFieldName(STATUS);
+            generator.writeString(STATUS_VALUES[status.ordinal()]);
+        }
+        writeTimestamp(generator, CREATED_AT, task.getCreatedAt());
+        writeTimestamp(generator, UPDATED_AT, task.getUpdatedAt());
+        generator.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator generator, SerializableString field, String value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(field);
+            generator.writeString(value);
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator generator, SerializableString field, LocalDateTime value)
+        throws IOException {
+        if (value != null) {
+            generator.writeFieldName(field);
+            generator.writeString(JsonTimestamps.format(value));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package defsec.crud.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.annotation.AsyncAnnotationBeanPostProcessor;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs requests on virtual threads instead of Tomcat's bounded worker pool, enabled with
+ * defsec.threads.virtual.enabled=true.
+ *
+ * A request blocked on JDBC then only holds a virtual thread, so slow queries no longer exhaust the
+ * 200 worker threads; the Hikari pool size becomes the limit on concurrent database work. The same
+ * executor runs async request processing, such as the streamed export.
+ */
+@Configuration
+@ConditionalOnProperty(name = "defsec.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor("http-vt-"));
+    }
+
+    // Replaces the auto-configured pool used for MVC async requests and @Async methods
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME,
+                  AsyncAnnotationBeanPostProcessor.DEFAULT_TASK_EXECUTOR_BEAN_NAME})
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(virtualThreadExecutor("task-vt-"));
+    }
+
+    // Named like the platform pools they replace, so log lines still show where a request ran
+    private static ExecutorService virtualThreadExecutor(String namePrefix) {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(namePrefix, 0).factory());
+    }
+}
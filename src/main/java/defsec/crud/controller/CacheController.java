@@ -0,0 +1,31 @@
+package defsec.crud.controller;
+
+import com.google.common.cache.CacheStats;
+import defsec.crud.cache.TaskCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class CacheController {
+
+    @Autowired
+    private TaskCache taskCache;
+
+    // Counters are cumulative since startup; use them to size the cache
+    @GetMapping("/cache/tasks")
+    public ResponseEntity<Map<String, Object>> taskCacheStats() {
+        CacheStats stats = taskCache.stats();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("size", taskCache.size());
+        response.put("hits", stats.hitCount());
+        response.put("misses", stats.missCount());
+        response.put("hitRate", stats.hitRate());
+        response.put("evictions", stats.evictionCount());
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,21 +1,30 @@
 package defsec.crud.controller;
 
+import defsec.crud.health.DatabaseHealthProbe;
+import defsec.crud.health.DatabaseHealthProbe.DatabaseHealth;
+import defsec.crud.health.DatabaseHealthProbe.PoolUsage;
+import defsec.crud.health.DatabaseHealthProbe.Readiness;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import javax.sql.DataSource;
-import java.sql.Connection;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
+/**
+ * Health endpoints. All of them answer from the state kept by {@link DatabaseHealthProbe}, without touching
+ * the database, so they stay fast and take no connection however often they are polled.
+ */
 @RestController
 public class HealthController {
 
+    private static final Map<String, Object> LIVE = Map.of("status", "UP");
+
     @Autowired
-    private DataSource dataSource;
+    private DatabaseHealthProbe databaseHealthProbe;
 
     @GetMapping("/ping")
     public ResponseEntity<Map<String, Object>> ping() {
@@ -23,30 +32,69 @@ public class HealthController {
         response.put("status", "ok");
         response.put("timestamp", LocalDateTime.now());
         response.put("service", "defsec-tasks-api");
-        
-        // Database health check
+
+        // Database health, as of the last background check
+        DatabaseHealth health = databaseHealthProbe.databaseHealth();
         Map<String, Object> database = new HashMap<>();
-        try (Connection connection = dataSource.getConnection()) {
-            // Test database connectivity with a simple query
-            boolean isValid = connection.isValid(5); // 5 second timeout
-            database.put("status", isValid ? "healthy" : "unhealthy");
-            database.put("connection", "ok");
-        } catch (Exception e) {
-            database.put("status", "unhealthy");
-            database.put("connection", "failed");
-            database.put("error", e.getMessage());
-            
-            // If database is down, return 503 Service Unavailable
+        database.put("status", health.up() ? "healthy" : "unhealthy");
+        database.put("connection", health.up() ? "ok" : "failed");
+        if (!health.up()) {
+            database.put("error", health.error());
             response.put("status", "degraded");
         }
-        
+
         response.put("database", database);
-        
+
         // Return 503 if database is unhealthy, 200 if everything is ok
-        if ("unhealthy".equals(database.get("status"))) {
+        if (!health.up()) {
             return ResponseEntity.status(503).body(response);
         }
-        
+
         return ResponseEntity.ok(response);
     }
+
+    /**
+     * Liveness: the process serves requests. Independent of the database, so an outage does not get
+     * healthy instances restarted.
+     */
+    @GetMapping("/ping/live")
+    public ResponseEntity<Map<String, Object>> live() {
+        return ResponseEntity.ok(LIVE);
+    }
+
+    /**
+     * Readiness: 200 if this instance should receive traffic, 503 if the database is down or the
+     * connection pool is saturated
+     */
+    @GetMapping("/ping/ready")
+    public ResponseEntity<Map<String, Object>> ready() {
+        Readiness readiness = databaseHealthProbe.readiness();
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", readiness.ready() ? "UP" : "DOWN");
+        if (!readiness.ready()) {
+            response.put("reason", readiness.reason());
+        }
+
+        DatabaseHealth health = readiness.database();
+        Map<String, Object> database = new LinkedHashMap<>();
+        database.put("status", health.up() ? "UP" : "DOWN");
+        database.put("checkedAt", health.checkedAt());
+        if (health.up()) {
+            database.put("latencyMicros", health.latencyMicros());
+        } else {
+            database.put("error", health.error());
+        }
+        response.put("database", database);
+
+        PoolUsage pool = readiness.pool();
+        if (pool != null) {
+            Map<String, Object> connections = new LinkedHashMap<>();
+            connections.put("active", pool.active());
+            connections.put("idle", pool.idle());
+            connections.put("pending", pool.pending());
+            connections.put("max", pool.max());
+            response.put("pool", connections);
+        }
+        return ResponseEntity.status(readiness.ready() ? 200 : 503).body(response);
+    }
 }
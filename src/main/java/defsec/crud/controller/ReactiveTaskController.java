@@ -0,0 +1,102 @@
+package defsec.crud.controller;
+
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import defsec.crud.facade.ReactiveTaskFacade;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+import java.util.List;
+
+/**
+ * Non-blocking /tasks API served by WebFlux with the "reactive" profile, in place of {@link TaskController}.
+ * Same paths, parameters, validation and error responses.
+ */
+@RestController
+@RequestMapping("/tasks")
+@Validated
+@Profile("reactive")
+public class ReactiveTaskController {
+
+    @Autowired
+    private ReactiveTaskFacade taskFacade;
+
+    @GetMapping
+    public Mono<ResponseEntity<List<Task>>> getAllTasks(@ParameterObject TaskListRequest request,
+                                                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return taskFacade.getAllTasks(request, ifNoneMatch);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<List<Task>>> searchTasks(@RequestParam(name = "q", required = false) String query,
+                                                        @RequestParam(required = false) Integer limit) {
+        return taskFacade.searchTasks(query, limit);
+    }
+
+    @GetMapping("/stats")
+    public Mono<ResponseEntity<TaskStatsResponse>> getTaskStats() {
+        return taskFacade.getTaskStats();
+    }
+
+    @GetMapping("/export")
+    public Mono<ResponseEntity<Flux<Task>>> exportTasks(@RequestParam(defaultValue = "ndjson") String format) {
+        return taskFacade.exportTasks(format);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Task>> getTaskById(@PathVariable Long id,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return taskFacade.getTaskById(id, ifNoneMatch);
+    }
+
+    @PostMapping
+    public Mono<Task> createTask(@Valid @RequestBody TaskRequest taskRequest) {
+        return taskFacade.createTask(taskRequest.toEntity());
+    }
+
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<TaskBatchResponse>> createTasks(@RequestBody List<TaskRequest> taskRequests) {
+        return taskFacade.createTasks(taskRequests);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Task>> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest taskRequest,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskFacade.updateTask(id, taskRequest, ifMatch);
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {TaskController.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Mono<ResponseEntity<Task>> patchTask(@PathVariable Long id, @Valid @RequestBody TaskPatchRequest patchRequest,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskFacade.patchTask(id, patchRequest, ifMatch);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteTask(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskFacade.deleteTask(id, ifMatch);
+    }
+}
@@ -1,54 +1,166 @@
 package defsec.crud.controller;
 
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
 import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
 import defsec.crud.entity.Task;
+import defsec.crud.facade.IdempotencyKeys;
 import defsec.crud.facade.TaskFacade;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 
 @RestController
 @RequestMapping("/tasks")
 @Validated
+@Profile("!reactive")
 public class TaskController {
 
+    // JSON Merge Patch (RFC 7396) media type accepted by PATCH /tasks/{id}
+    public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+    // Request header carrying client preferences (RFC 7240)
+    public static final String PREFER_HEADER = "Prefer";
+    // Preference asking POST /tasks to answer before the task is written
+    public static final String RESPOND_ASYNC = "respond-async";
+
     @Autowired
     private TaskFacade taskFacade;
 
+    @Autowired
+    private IdempotencyKeys idempotencyKeys;
+
+    @Value("${defsec.export.timeout:30m}")
+    private Duration exportTimeout;
+
     @GetMapping
-    public List<Task> getAllTasks() {
-        return taskFacade.getAllTasks();
+    public ResponseEntity<List<Task>> getAllTasks(@ParameterObject TaskListRequest request,
+                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return taskFacade.getAllTasks(request, ifNoneMatch);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<Task>> searchTasks(@RequestParam(name = "q", required = false) String query,
+                                                  @RequestParam(required = false) Integer limit) {
+        return taskFacade.searchTasks(query, limit);
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        return taskFacade.getTaskStats();
+    }
+
+    /**
+     * Streams all tasks asynchronously, with a timeout of its own (defsec.export.timeout): a long export may run
+     * far longer than other async requests are allowed to
+     */
+    @GetMapping("/export")
+    public WebAsyncTask<Void> exportTasks(@RequestParam(defaultValue = "ndjson") String format,
+                                          HttpServletResponse response) {
+        ResponseEntity<StreamingResponseBody> export = taskFacade.exportTasks(format);
+        response.setStatus(export.getStatusCode().value());
+        export.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        StreamingResponseBody body = export.getBody();
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            body.writeTo(response.getOutputStream());
+            response.flushBuffer();
+            return null;
+        });
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Task> getTaskById(@PathVariable Long id) {
-        return taskFacade.getTaskById(id);
+    public ResponseEntity<Task> getTaskById(@PathVariable Long id,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        return taskFacade.getTaskById(id, ifNoneMatch);
     }
 
+    /**
+     * Creates a task and returns it, or with Prefer: respond-async, queues it and returns 202 with the URL of
+     * the request's status (see TaskWriteBehind). With an Idempotency-Key, a retry gets the first response
+     * (see IdempotencyKeys).
+     */
     @PostMapping
-    public Task createTask(@Valid @RequestBody TaskRequest taskRequest) {
-        Task task = taskRequest.toEntity();
-        return taskFacade.createTask(task);
+    public ResponseEntity<?> createTask(@Valid @RequestBody TaskRequest taskRequest,
+                                        @RequestHeader(value = PREFER_HEADER, required = false) String prefer,
+                                        @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        boolean async = prefers(prefer, RESPOND_ASYNC);
+        return idempotencyKeys.execute(idempotencyKey, "POST /tasks", Arrays.asList(taskRequest, async), () -> {
+            Task task = taskRequest.toEntity();
+            if (async) {
+                return taskFacade.createTaskAsync(task);
+            }
+            return ResponseEntity.ok(taskFacade.createTask(task));
+        });
+    }
+
+    @GetMapping("/requests/{requestId}")
+    public ResponseEntity<TaskCreateStatus> getCreateStatus(@PathVariable String requestId) {
+        return taskFacade.getCreateStatus(requestId);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<TaskBatchResponse> createTasks(@RequestBody List<TaskRequest> taskRequests) {
+        return taskFacade.createTasks(taskRequests);
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<Task> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest taskRequest) {
-        return taskFacade.updateTask(id, taskRequest);
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @Valid @RequestBody TaskRequest taskRequest,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        @RequestHeader(value = IdempotencyKeys.HEADER, required = false) String idempotencyKey) {
+        return idempotencyKeys.execute(idempotencyKey, "PUT /tasks/" + id, Arrays.asList(taskRequest, ifMatch),
+                                       () -> taskFacade.updateTask(id, taskRequest, ifMatch));
+    }
+
+    @PatchMapping(value = "/{id}", consumes = {MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Task> patchTask(@PathVariable Long id, @Valid @RequestBody TaskPatchRequest patchRequest,
+                                          @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskFacade.patchTask(id, patchRequest, ifMatch);
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteTask(@PathVariable Long id) {
-        return taskFacade.deleteTask(id);
+    public ResponseEntity<Void> deleteTask(@PathVariable Long id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return taskFacade.deleteTask(id, ifMatch);
+    }
+
+    // Whether the Prefer header lists the preference; preferences are comma-separated, with optional values
+    // and parameters, and their names are case-insensitive
+    static boolean prefers(String prefer, String preference) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String item : prefer.split(",")) {
+            String name = item.split("[=;]", 2)[0].trim();
+            if (name.equalsIgnoreCase(preference)) {
+                return true;
+            }
+        }
+        return false;
     }
-} 
\ No newline at end of file
+}
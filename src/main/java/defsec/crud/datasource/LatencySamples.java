@@ -0,0 +1,48 @@
+package defsec.crud.datasource;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The most recent latencies of an operation, in a ring that newer samples overwrite. Recording is lock-free;
+ * percentiles sort a copy, so compute them periodically rather than per operation.
+ */
+final class LatencySamples {
+
+    private final AtomicLongArray samples;
+    private final AtomicLong recorded = new AtomicLong();
+    private final int minSamples;
+
+    /**
+     * @param capacity number of recent samples kept
+     * @param minSamples samples needed before a percentile is reported
+     */
+    LatencySamples(int capacity, int minSamples) {
+        this.samples = new AtomicLongArray(capacity);
+        this.minSamples = minSamples;
+    }
+
+    void record(long nanos) {
+        long index = recorded.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+    }
+
+    /**
+     * @param percentile between 0 and 100
+     * @return the latency in nanos below which the given percentage of the kept samples lie, or -1 with too few samples
+     */
+    long percentile(double percentile) {
+        int count = (int) Math.min(recorded.get(), samples.length());
+        if (count < minSamples) {
+            return -1;
+        }
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))];
+    }
+}
@@ -0,0 +1,399 @@
+package defsec.crud.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import defsec.crud.repository.TaskChangeLogRepository;
+import defsec.crud.service.TaskChangeListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Sends reads to the read replicas listed in defsec.datasource.replicas.urls, and everything else to the
+ * primary; without replicas, reads run on the primary unchanged.
+ *
+ * Replication progress is measured with the task_change_log table, which replicas receive like any other
+ * table: the newest entry on a replica is the position it has applied. A replica is used for a read only if
+ * it has applied the position the read requires, lags the primary by at most defsec.datasource.replicas.max-lag,
+ * and answered its last lag check. Reads of a task require the newest change of that task known to this node,
+ * so a client sees its own writes, and the task cache is never filled with an older version than it had.
+ *
+ * With defsec.datasource.replicas.hedge.enabled=true, a replica read still running after the p95 of recent
+ * replica reads is sent to a second replica as well, and the first result is used. The slower read is left
+ * to finish, as a running JDBC statement cannot be abandoned safely.
+ */
+@Component
+public class ReadRouter implements TaskChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadRouter.class);
+
+    // Tasks whose newest change is remembered; reads of older changes require the highest forgotten position
+    static final int TRACKED_TASKS = 10_000;
+    // Recent replica read latencies the hedge delay is computed from
+    static final int LATENCY_SAMPLES = 1024;
+    static final int MIN_LATENCY_SAMPLES = 100;
+    static final String METRIC_PREFIX = "task.datasource.";
+
+    @Value("${defsec.datasource.replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${defsec.datasource.replicas.maximum-pool-size:10}")
+    private int maximumPoolSize;
+
+    @Value("${defsec.datasource.replicas.max-lag:5s}")
+    private Duration maxLag;
+
+    @Value("${defsec.datasource.replicas.lag-check-interval-ms:500}")
+    private long lagCheckIntervalMillis;
+
+    @Value("${defsec.datasource.replicas.hedge.enabled:false}")
+    private boolean hedgeEnabled;
+
+    @Value("${defsec.datasource.replicas.hedge.min-delay:2ms}")
+    private Duration hedgeMinDelay;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Lazy: the repository's JdbcTemplate needs the routing DataSource, which needs the replicas created here
+    @Lazy
+    @Autowired
+    private TaskChangeLogRepository taskChangeLogRepository;
+
+    private LongSupplier clock = System::currentTimeMillis;
+
+    private List<Replica> replicas = List.of();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Newest change log entry of recently changed tasks, least recently changed first
+    private final Map<Long, Long> taskPositions = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+            if (size() <= TRACKED_TASKS) {
+                return false;
+            }
+            forgottenPosition = Math.max(forgottenPosition, eldest.getValue());
+            return true;
+        }
+    };
+    private long forgottenPosition;
+    private volatile long newestPosition;
+
+    // Primary position at each recent lag check, in a ring: tells since when a replica has been behind
+    private long[] checkTimes;
+    private long[] checkPositions;
+    private long checks;
+
+    private final LatencySamples readLatencies = new LatencySamples(LATENCY_SAMPLES, MIN_LATENCY_SAMPLES);
+    // -1 until enough replica reads were timed
+    private volatile long hedgeDelayNanos = -1;
+    private ExecutorService hedgeExecutor;
+
+    private Counter replicaReads;
+    private Counter primaryReads;
+    private Counter hedgedReads;
+
+    @PostConstruct
+    void init() {
+        int historySize = (int) Math.max(2, maxLag.toMillis() / Math.max(1, lagCheckIntervalMillis) + 2);
+        checkTimes = new long[historySize];
+        checkPositions = new long[historySize];
+
+        List<Replica> created = new ArrayList<>();
+        for (String url : replicaUrls) {
+            if (!url.isBlank()) {
+                created.add(new Replica("replica-" + (created.size() + 1), replicaDataSource(url.trim(), created.size() + 1)));
+            }
+        }
+        replicas = List.copyOf(created);
+        if (replicas.isEmpty()) {
+            return;
+        }
+
+        replicaReads = readCounter("replica");
+        primaryReads = readCounter("primary");
+        hedgedReads = Counter.builder(METRIC_PREFIX + "hedged.reads")
+            .description("Replica reads also sent to a second replica after the hedge delay")
+            .register(meterRegistry);
+        for (Replica replica : replicas) {
+            Gauge.builder(METRIC_PREFIX + "replica.lag", replica, r -> r.lagMillis == Long.MAX_VALUE ? Double.NaN : r.lagMillis / 1000.0)
+                .description("Upper bound of the replication lag, to within one lag check interval")
+                .tag("replica", replica.name)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        }
+        if (hedgeEnabled) {
+            hedgeExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("hedged-read-", 0).factory());
+        }
+        logger.info("Routing reads to {} replicas{}", replicas.size(), hedgeEnabled ? " with hedging" : "");
+    }
+
+    private HikariDataSource replicaDataSource(String url, int number) {
+        // Same driver and credentials as the primary
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .build();
+        dataSource.setPoolName("replica-" + number);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        // Boot only binds the pool metrics of DataSource beans
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    private Counter readCounter(String target) {
+        return Counter.builder(METRIC_PREFIX + "reads")
+            .description("Routed reads by the database that served them")
+            .tag("target", target)
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void close() {
+        if (hedgeExecutor != null) {
+            hedgeExecutor.shutdownNow();
+        }
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    /**
+     * @return the replica pools by name, the targets of the {@link ReplicaRoutingDataSource}
+     */
+    public Map<String, DataSource> replicaDataSources() {
+        Map<String, DataSource> dataSources = new LinkedHashMap<>();
+        replicas.forEach(replica -> dataSources.put(replica.name, replica.dataSource));
+        return dataSources;
+    }
+
+    /**
+     * Runs a read on a replica that has applied change log entry {@code requiredPosition}, or on the primary
+     * if there is none. A read that fails on a replica, or whose result {@code retryOnPrimary} rejects, is run
+     * again on the primary.
+     */
+    public <T> T read(long requiredPosition, Supplier<T> read, Predicate<? super T> retryOnPrimary) {
+        if (replicas.isEmpty()) {
+            return read.get();
+        }
+        Replica replica = choose(requiredPosition, null);
+        if (replica == null) {
+            return onPrimary(read);
+        }
+        T result;
+        try {
+            long delay = hedgeDelayNanos;
+            result = hedgeExecutor != null && delay >= 0
+                ? hedged(replica, requiredPosition, read, delay)
+                : readOn(replica, read);
+        } catch (RuntimeException e) {
+            if (Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            return onPrimary(read);
+        }
+        if (retryOnPrimary.test(result)) {
+            return onPrimary(read);
+        }
+        replicaReads.increment();
+        return result;
+    }
+
+    private <T> T hedged(Replica first, long requiredPosition, Supplier<T> read, long delayNanos) {
+        CompletableFuture<T> firstRead = CompletableFuture.supplyAsync(() -> readOn(first, read), hedgeExecutor);
+        try {
+            return firstRead.get(delayNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            Replica second = choose(requiredPosition, first);
+            if (second == null) {
+                return firstRead.join();
+            }
+            hedgedReads.increment();
+            CompletableFuture<T> secondRead = CompletableFuture.supplyAsync(() -> readOn(second, read), hedgeExecutor);
+            return firstSuccessful(firstRead, secondRead).join();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a replica read", e);
+        }
+    }
+
+    // Completes with the first result, or fails once both reads failed
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> read : List.of(first, second)) {
+            read.whenComplete((result, failure) -> {
+                if (failure == null) {
+                    winner.complete(result);
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(failure);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private <T> T readOn(Replica replica, Supplier<T> read) {
+        long start = System.nanoTime();
+        try {
+            T result = ReplicaRoutingDataSource.using(replica.name, read);
+            readLatencies.record(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            // Skipped until its next lag check succeeds; the read is retried on the primary
+            if (replica.available) {
+                logger.warn("Read on {} failed, using the primary until its next lag check", replica.name, e);
+            }
+            replica.available = false;
+            throw e;
+        }
+    }
+
+    private <T> T onPrimary(Supplier<T> read) {
+        primaryReads.increment();
+        return read.get();
+    }
+
+    // Round robin over the replicas that may serve the read
+    private Replica choose(long requiredPosition, Replica excluded) {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        long maxLagMillis = maxLag.toMillis();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica != excluded && replica.available && replica.lagMillis <= maxLagMillis
+                    && replica.position >= requiredPosition) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the position a replica must have applied to serve a read of the given task: its newest change known here
+     */
+    public synchronized long taskPosition(long taskId) {
+        Long position = taskPositions.get(taskId);
+        return position != null ? Math.max(position, forgottenPosition) : forgottenPosition;
+    }
+
+    /**
+     * @return the newest change log entry known to this node, made here or seen when polling the log
+     */
+    public long newestPosition() {
+        return newestPosition;
+    }
+
+    @Override
+    public void onTaskChanged(long taskId) {
+        // Positions come with onChangeLogged
+    }
+
+    @Override
+    public synchronized void onChangeLogged(long logId, long taskId) {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        Long previous = taskPositions.remove(taskId);
+        taskPositions.put(taskId, previous != null ? Math.max(previous, logId) : logId);
+        if (logId > newestPosition) {
+            newestPosition = logId;
+        }
+    }
+
+    /**
+     * Reads the position of the primary and of every replica. A replica's lag is the time since the primary
+     * was last seen at or behind the replica's position, an upper bound to within one check interval.
+     */
+    @Scheduled(fixedDelayString = "${defsec.datasource.replicas.lag-check-interval-ms:500}")
+    public void checkReplicas() {
+        if (replicas.isEmpty()) {
+            return;
+        }
+        long now = clock.getAsLong();
+        try {
+            int slot = (int) (checks % checkTimes.length);
+            checkPositions[slot] = taskChangeLogRepository.latestId();
+            checkTimes[slot] = now;
+            checks++;
+        } catch (RuntimeException e) {
+            logger.warn("Could not read the change log position of the primary", e);
+            return;
+        }
+        for (Replica replica : replicas) {
+            try {
+                replica.position = ReplicaRoutingDataSource.using(replica.name, taskChangeLogRepository::latestId);
+                replica.lagMillis = lagMillis(replica.position, now);
+                if (!replica.available) {
+                    logger.info("{} is available for reads at position {}", replica.name, replica.position);
+                    replica.available = true;
+                }
+            } catch (RuntimeException e) {
+                if (replica.available) {
+                    logger.warn("Lag check of {} failed, using the primary instead", replica.name, e);
+                }
+                replica.available = false;
+            }
+        }
+        long p95 = readLatencies.percentile(95);
+        hedgeDelayNanos = p95 < 0 ? -1 : Math.max(p95, hedgeMinDelay.toNanos());
+    }
+
+    private long lagMillis(long replicaPosition, long now) {
+        long oldest = Math.max(0, checks - checkTimes.length);
+        for (long check = checks - 1; check >= oldest; check--) {
+            int slot = (int) (check % checkTimes.length);
+            if (checkPositions[slot] <= replicaPosition) {
+                return now - checkTimes[slot];
+            }
+        }
+        // Behind the primary for longer than the checks kept, which cover the maximum lag
+        return Long.MAX_VALUE;
+    }
+
+    private static final class Replica {
+
+        final String name;
+        final HikariDataSource dataSource;
+        // Newest change log entry applied, as of the last lag check
+        volatile long position = -1;
+        volatile long lagMillis = Long.MAX_VALUE;
+        // False until the first lag check, and after a failed read until the next one
+        volatile boolean available;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package defsec.crud.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Hands out connections of the replica that {@link ReadRouter} chose for the current thread, and of the
+ * primary otherwise, so repositories and transactions need no knowledge of replicas.
+ *
+ * The choice applies when a connection is obtained: inside a transaction that already holds one, the
+ * transaction's connection keeps being used.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    // Name of the replica that connections of the current thread come from, null for the primary
+    private static final ThreadLocal<String> currentReplica = new ThreadLocal<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        setDefaultTargetDataSource(primary);
+        setTargetDataSources(new HashMap<>(replicas));
+    }
+
+    /**
+     * Runs the given work with connections of the named replica
+     */
+    static <T> T using(String replica, Supplier<T> work) {
+        String previous = currentReplica.get();
+        currentReplica.set(replica);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                currentReplica.remove();
+            } else {
+                currentReplica.set(previous);
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentReplica.get();
+    }
+}
@@ -0,0 +1,62 @@
+package defsec.crud.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of a single item of a batch create request.
+ * Items are reported in request order; {@code index} is the position in the request array.
+ */
+public class TaskBatchItemResult {
+
+    public enum Outcome {
+        CREATED, CONFLICT, INVALID
+    }
+
+    private final int index;
+    private final Outcome outcome;
+    private final Long id;
+    private final String title;
+    private final Map<String, String> errors;
+
+    private TaskBatchItemResult(int index, Outcome outcome, Long id, String title, Map<String, String> errors) {
+        this.index = index;
+        this.outcome = outcome;
+        this.id = id;
+        this.title = title;
+        this.errors = errors;
+    }
+
+    public static TaskBatchItemResult created(int index, Long id, String title) {
+        return new TaskBatchItemResult(index, Outcome.CREATED, id, title, null);
+    }
+
+    public static TaskBatchItemResult conflict(int index, String title) {
+        return new TaskBatchItemResult(index, Outcome.CONFLICT, null, title,
+            Map.of("title", "A task with the title '" + title + "' already exists"));
+    }
+
+    public static TaskBatchItemResult invalid(int index, Map<String, String> errors) {
+        return new TaskBatchItemResult(index, Outcome.INVALID, null, null, errors);
+    }
+
+    // Getters
+    public int getIndex() {
+        return index;
+    }
+
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
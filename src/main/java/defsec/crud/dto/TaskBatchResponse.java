@@ -0,0 +1,47 @@
+package defsec.crud.dto;
+
+import java.util.List;
+
+/**
+ * Response of a batch create request: per-outcome totals plus one result per request item.
+ */
+public class TaskBatchResponse {
+    private final int created;
+    private final int conflicts;
+    private final int invalid;
+    private final List<TaskBatchItemResult> results;
+
+    public TaskBatchResponse(List<TaskBatchItemResult> results) {
+        int createdCount = 0;
+        int conflictCount = 0;
+        int invalidCount = 0;
+        for (TaskBatchItemResult result : results) {
+            switch (result.getOutcome()) {
+                case CREATED -> createdCount++;
+                case CONFLICT -> conflictCount++;
+                case INVALID -> invalidCount++;
+            }
+        }
+        this.created = createdCount;
+        this.conflicts = conflictCount;
+        this.invalid = invalidCount;
+        this.results = results;
+    }
+
+    // Getters
+    public int getCreated() {
+        return created;
+    }
+
+    public int getConflicts() {
+        return conflicts;
+    }
+
+    public int getInvalid() {
+        return invalid;
+    }
+
+    public List<TaskBatchItemResult> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,73 @@
+package defsec.crud.dto;
+
+import java.util.Map;
+
+/**
+ * State of a task create request accepted with Prefer: respond-async, served at /tasks/requests/{requestId}.
+ * {@code taskId} is set once the task is created; {@code errors} explains a conflict or a failure.
+ */
+public class TaskCreateStatus {
+
+    public enum State {
+        // Queued, not written yet
+        PENDING,
+        CREATED,
+        // Another task has the title
+        CONFLICT,
+        // Could not be written; the request may be sent again
+        FAILED
+    }
+
+    private final String requestId;
+    private final State state;
+    private final Long taskId;
+    private final String title;
+    private final Map<String, String> errors;
+
+    private TaskCreateStatus(String requestId, State state, Long taskId, String title, Map<String, String> errors) {
+        this.requestId = requestId;
+        this.state = state;
+        this.taskId = taskId;
+        this.title = title;
+        this.errors = errors;
+    }
+
+    public static TaskCreateStatus pending(String requestId, String title) {
+        return new TaskCreateStatus(requestId, State.PENDING, null, title, null);
+    }
+
+    public static TaskCreateStatus created(String requestId, Long taskId, String title) {
+        return new TaskCreateStatus(requestId, State.CREATED, taskId, title, null);
+    }
+
+    public static TaskCreateStatus conflict(String requestId, String title) {
+        return new TaskCreateStatus(requestId, State.CONFLICT, null, title,
+            Map.of("title", "A task with the title '" + title + "' already exists"));
+    }
+
+    public static TaskCreateStatus failed(String requestId, String title) {
+        return new TaskCreateStatus(requestId, State.FAILED, null, title,
+            Map.of("task", "The task could not be saved; send the request again"));
+    }
+
+    // Getters
+    public String getRequestId() {
+        return requestId;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public Long getTaskId() {
+        return taskId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Map<String, String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,98 @@
+package defsec.crud.dto;
+
+import defsec.crud.exception.InvalidParameterException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor for paging through tasks.
+ * Encodes the sort of the page and the sort key of the last task returned, so the next page can
+ * continue right after it, e.g. with {@code id > lastId}.
+ * Clients must treat the encoded value as an opaque token.
+ */
+public final class TaskCursor {
+
+    // Cursors of the default id order keep the original format, so tokens issued before sorting existed stay valid
+    private static final String ID_ORDER_PREFIX = "v1:";
+    private static final String PREFIX = "v2:";
+    private static final String ID_SORT = "id";
+
+    private final String sort;
+    private final long lastId;
+    private final LocalDateTime lastCreatedAt;
+
+    /**
+     * Creates a cursor for the default id order
+     */
+    public TaskCursor(long lastId) {
+        this(ID_SORT, lastId, null);
+    }
+
+    /**
+     * @param sort the sort parameter of the page
+     * @param lastId id of the last task of the page
+     * @param lastCreatedAt creation time of the last task of the page, or null if the sort does not use it
+     */
+    public TaskCursor(String sort, long lastId, LocalDateTime lastCreatedAt) {
+        this.sort = sort;
+        this.lastId = lastId;
+        this.lastCreatedAt = lastCreatedAt;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public long getLastId() {
+        return lastId;
+    }
+
+    public LocalDateTime getLastCreatedAt() {
+        return lastCreatedAt;
+    }
+
+    /**
+     * Encodes this cursor as a URL-safe token
+     */
+    public String encode() {
+        String raw = ID_SORT.equals(sort) && lastCreatedAt == null
+            ? ID_ORDER_PREFIX + lastId
+            : PREFIX + sort + ":" + lastId + ":" + (lastCreatedAt != null ? lastCreatedAt : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodes a token produced by {@link #encode()}
+     * @param token the opaque cursor token
+     * @return the decoded cursor
+     * @throws InvalidParameterException if the token is malformed
+     */
+    public static TaskCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            TaskCursor cursor;
+            if (raw.startsWith(ID_ORDER_PREFIX)) {
+                cursor = new TaskCursor(Long.parseLong(raw.substring(ID_ORDER_PREFIX.length())));
+            } else if (raw.startsWith(PREFIX)) {
+                // The timestamp contains colons itself, so it is split off last
+                String[] parts = raw.substring(PREFIX.length()).split(":", 3);
+                if (parts.length != 3) {
+                    throw new IllegalArgumentException("Incomplete cursor");
+                }
+                LocalDateTime lastCreatedAt = parts[2].isEmpty() ? null : LocalDateTime.parse(parts[2]);
+                cursor = new TaskCursor(parts[0], Long.parseLong(parts[1]), lastCreatedAt);
+            } else {
+                throw new IllegalArgumentException("Unknown cursor version");
+            }
+            if (cursor.lastId < 0) {
+                throw new IllegalArgumentException("Negative cursor id");
+            }
+            return cursor;
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidParameterException("Invalid cursor: '" + token + "'", "after");
+        }
+    }
+}
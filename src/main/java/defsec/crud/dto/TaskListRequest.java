@@ -0,0 +1,78 @@
+package defsec.crud.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Query parameters of GET /tasks, bound from the request as given.
+ * Values are parsed and checked by the facade, which reports errors per parameter.
+ */
+public class TaskListRequest {
+
+    @Schema(description = "Opaque cursor from the X-Next-Cursor header of the previous page")
+    private String after;
+
+    @Schema(description = "Maximum number of tasks to return", example = "50")
+    private Integer limit;
+
+    @Schema(description = "Only tasks with this status", allowableValues = {"PENDING", "COMPLETED"})
+    private String status;
+
+    @Schema(description = "Only tasks created at or after this UTC time; requires a createdAt sort", example = "2025-01-15T00:00:00Z")
+    private String createdFrom;
+
+    @Schema(description = "Only tasks created before this UTC time; requires a createdAt sort", example = "2025-01-16T00:00:00Z")
+    private String createdTo;
+
+    @Schema(description = "Order of the tasks", allowableValues = {"id", "-id", "createdAt", "-createdAt"}, defaultValue = "id")
+    private String sort;
+
+    public TaskListRequest() {}
+
+    public String getAfter() {
+        return after;
+    }
+
+    public void setAfter(String after) {
+        this.after = after;
+    }
+
+    public Integer getLimit() {
+        return limit;
+    }
+
+    public void setLimit(Integer limit) {
+        this.limit = limit;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public void setCreatedFrom(String createdFrom) {
+        this.createdFrom = createdFrom;
+    }
+
+    public String getCreatedTo() {
+        return createdTo;
+    }
+
+    public void setCreatedTo(String createdTo) {
+        this.createdTo = createdTo;
+    }
+
+    public String getSort() {
+        return sort;
+    }
+
+    public void setSort(String sort) {
+        this.sort = sort;
+    }
+}
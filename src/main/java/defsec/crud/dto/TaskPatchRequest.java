@@ -0,0 +1,93 @@
+package defsec.crud.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import defsec.crud.entity.Task;
+import defsec.crud.validation.ValidTaskPatch;
+import defsec.crud.validation.ValidTaskStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Size;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * DTO for partial task updates with JSON Merge Patch (RFC 7396) semantics:
+ * absent fields are left unchanged, fields set to null are cleared.
+ * Jackson only calls the setters of fields present in the body, which is how presence is tracked.
+ */
+@ValidTaskPatch
+public class TaskPatchRequest {
+
+    @Size(max = 255, message = "Title must be under 256 characters")
+    private String title;
+
+    @Size(max = 500, message = "Description must be under 500 characters")
+    private String description;
+
+    @ValidTaskStatus
+    @Schema(description = "Task status", allowableValues = {"PENDING", "COMPLETED"}, example = "COMPLETED")
+    private String status;
+
+    private boolean titlePresent;
+    private boolean descriptionPresent;
+    private boolean statusPresent;
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        this.titlePresent = true;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        this.descriptionPresent = true;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        this.statusPresent = true;
+    }
+
+    @JsonIgnore
+    public boolean isTitlePresent() {
+        return titlePresent;
+    }
+
+    @JsonIgnore
+    public boolean isDescriptionPresent() {
+        return descriptionPresent;
+    }
+
+    @JsonIgnore
+    public boolean isStatusPresent() {
+        return statusPresent;
+    }
+
+    /**
+     * Returns the new values of the fields present in the patch, keyed by Task attribute name
+     */
+    public Map<String, Object> toFieldUpdates() {
+        Map<String, Object> updates = new LinkedHashMap<>();
+        if (titlePresent) {
+            updates.put("title", title);
+        }
+        if (descriptionPresent) {
+            updates.put("description", description);
+        }
+        if (statusPresent) {
+            updates.put("status", Task.Status.valueOf(status));
+        }
+        return updates;
+    }
+}
@@ -0,0 +1,60 @@
+package defsec.crud.dto;
+
+import defsec.crud.entity.Task;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Response of GET /tasks/stats: task counts per status and recent create/complete rates.
+ */
+public class TaskStatsResponse {
+
+    @Schema(description = "Number of tasks per status", example = "{\"PENDING\": 12, \"COMPLETED\": 30}")
+    private final Map<Task.Status, Long> counts;
+
+    @Schema(description = "Number of tasks", example = "42")
+    private final long total;
+
+    @Schema(description = "Tasks created per minute on this instance, averaged over the last 1, 5 and 15 minutes",
+            example = "{\"1m\": 2.0, \"5m\": 1.4, \"15m\": 0.9}")
+    private final Map<String, Double> createdPerMinute;
+
+    @Schema(description = "Tasks completed per minute on this instance, averaged over the last 1, 5 and 15 minutes",
+            example = "{\"1m\": 1.0, \"5m\": 0.6, \"15m\": 0.5}")
+    private final Map<String, Double> completedPerMinute;
+
+    @Schema(description = "When the counts were last reconciled with the database; omitted before the first time",
+            example = "2025-01-15T14:30:45Z")
+    private final LocalDateTime reconciledAt;
+
+    public TaskStatsResponse(Map<Task.Status, Long> counts, long total, Map<String, Double> createdPerMinute,
+                             Map<String, Double> completedPerMinute, LocalDateTime reconciledAt) {
+        this.counts = counts;
+        this.total = total;
+        this.createdPerMinute = createdPerMinute;
+        this.completedPerMinute = completedPerMinute;
+        this.reconciledAt = reconciledAt;
+    }
+
+    public Map<Task.Status, Long> getCounts() {
+        return counts;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public Map<String, Double> getCreatedPerMinute() {
+        return createdPerMinute;
+    }
+
+    public Map<String, Double> getCompletedPerMinute() {
+        return completedPerMinute;
+    }
+
+    public LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+}
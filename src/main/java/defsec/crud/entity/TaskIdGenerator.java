@@ -0,0 +1,69 @@
+package defsec.crud.entity;
+
+import defsec.crud.repository.TaskIdAllocator;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.jdbc.AbstractReturningWork;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pooled (hi/lo style) id generator for Task.
+ * Ids are handed out from an in-memory block; a new block is reserved from task_id_sequence
+ * only when the current one is used up. Because ids are known before the INSERT, Hibernate
+ * can defer and batch inserts, which IDENTITY generation prevents.
+ *
+ * The block size is read from the Hibernate setting {@value #BLOCK_SIZE_SETTING}
+ * (spring.jpa.properties.defsec.task-id.block-size).
+ */
+public class TaskIdGenerator implements IdentifierGenerator {
+
+    public static final String BLOCK_SIZE_SETTING = "defsec.task-id.block-size";
+    public static final int DEFAULT_BLOCK_SIZE = 1000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private int blockSize = DEFAULT_BLOCK_SIZE;
+    private long nextId;
+    private long blockEnd;
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        ConfigurationService configuration = serviceRegistry.getService(ConfigurationService.class);
+        blockSize = ConfigurationHelper.getInt(BLOCK_SIZE_SETTING, configuration.getSettings(), DEFAULT_BLOCK_SIZE);
+        if (blockSize < 1) {
+            throw new IllegalArgumentException(BLOCK_SIZE_SETTING + " must be positive, was " + blockSize);
+        }
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        lock.lock();
+        try {
+            if (nextId == blockEnd) {
+                nextId = reserveBlock(session);
+                blockEnd = nextId + blockSize;
+            }
+            return nextId++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Runs the reservation in its own transaction so the sequence row lock is released right away
+    private long reserveBlock(SharedSessionContractImplementor session) {
+        return session.getTransactionCoordinator().createIsolationDelegate().delegateWork(
+            new AbstractReturningWork<Long>() {
+                @Override
+                public Long execute(Connection connection) throws SQLException {
+                    return TaskIdAllocator.reserveBlock(connection, blockSize);
+                }
+            }, true);
+    }
+}
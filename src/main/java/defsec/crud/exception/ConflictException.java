@@ -1,11 +1,15 @@
 package defsec.crud.exception;
 
+/**
+ * Signals a request that conflicts with existing data, e.g. a duplicate task title.
+ * Conflicts are an expected outcome rather than a failure, so no stack trace is captured.
+ */
 public class ConflictException extends RuntimeException {
     private final String field;
     private final String conflictValue;
 
     public ConflictException(String message, String field, String conflictValue) {
-        super(message);
+        super(message, null, false, false);
         this.field = field;
         this.conflictValue = conflictValue;
     }
@@ -17,4 +21,4 @@ public class ConflictException extends RuntimeException {
     public String getConflictValue() {
         return conflictValue;
     }
-} 
\ No newline at end of file
+}
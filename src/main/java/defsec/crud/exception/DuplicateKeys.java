@@ -0,0 +1,73 @@
+package defsec.crud.exception;
+
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.regex.Pattern;
+
+/**
+ * Recognizes unique-key violations by SQL error code instead of by error message text.
+ * Only the key violated is read from the message, which the error code does not tell.
+ */
+public final class DuplicateKeys {
+
+    // MySQL ER_DUP_ENTRY and ER_DUP_ENTRY_WITH_KEY_NAME
+    private static final int MYSQL_DUP_ENTRY = 1062;
+    private static final int MYSQL_DUP_ENTRY_WITH_KEY_NAME = 1586;
+    // SQL standard unique violation state, used by H2 and PostgreSQL
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    // The key named in the message: MySQL "for key 'task.PRIMARY'" (or 'PRIMARY' before 8.0.19), H2 "PRIMARY KEY ON"
+    private static final Pattern PRIMARY_KEY = Pattern.compile("for key '(?:[^']*\\.)?PRIMARY'|PRIMARY KEY ON ");
+
+    private DuplicateKeys() {
+    }
+
+    /**
+     * @return true if the exception, or any of its causes, reports a unique-key violation
+     */
+    public static boolean isDuplicateKey(Throwable ex) {
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            if (current instanceof DuplicateKeyException) {
+                return true;
+            }
+            if (current instanceof SQLException sqlException) {
+                int errorCode = sqlException.getErrorCode();
+                if (errorCode == MYSQL_DUP_ENTRY || errorCode == MYSQL_DUP_ENTRY_WITH_KEY_NAME
+                        || UNIQUE_VIOLATION_SQL_STATE.equals(sqlException.getSQLState())) {
+                    return true;
+                }
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the exception reports a unique-key violation of a key other than the primary key, i.e.
+     *         of task.title, the only other unique key of the task table
+     */
+    public static boolean isDuplicateTitle(Throwable ex) {
+        return isDuplicateKey(ex) && !isDuplicatePrimaryKey(ex);
+    }
+
+    /**
+     * @return true if the exception reports a violation of the primary key: an id handed out twice, which is a
+     *         server error rather than a conflict with the request
+     */
+    public static boolean isDuplicatePrimaryKey(Throwable ex) {
+        if (!isDuplicateKey(ex)) {
+            return false;
+        }
+        for (Throwable current = ex; current != null; current = current.getCause()) {
+            if (current.getMessage() != null && PRIMARY_KEY.matcher(current.getMessage()).find()) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+        }
+        return false;
+    }
+}
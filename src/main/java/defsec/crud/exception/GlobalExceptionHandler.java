@@ -1,14 +1,21 @@
 package defsec.crud.exception;
 
 import defsec.crud.dto.ErrorResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.server.ServerWebInputException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -16,16 +23,28 @@ import java.util.Map;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidationExceptions(
             MethodArgumentNotValidException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(fieldErrors(ex.getBindingResult()));
+    }
+
+    // WebFlux counterpart of MethodArgumentNotValidException, raised by the reactive stack
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, String>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(fieldErrors(ex.getBindingResult()));
+    }
+
+    private static Map<String, String> fieldErrors(BindingResult bindingResult) {
         Map<String, String> errors = new HashMap<>();
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
+        bindingResult.getAllErrors().forEach((error) -> {
             String fieldName = ((FieldError) error).getField();
             String errorMessage = error.getDefaultMessage();
             errors.put(fieldName, errorMessage);
         });
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+        return errors;
     }
 
     // handles known exceptions, specific to the application logic.
@@ -39,11 +58,32 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.CONFLICT).body(errorResponse);
     }
 
+    // handles conditional writes based on an outdated ETag.
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            "Precondition Failed",
+            ex.getMessage(),
+            ex.getHeader()
+        );
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
     // handles duplicate entries in the database, which were not handled by existing handler.
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(
             DataIntegrityViolationException ex) {
-        if (ex.getMessage().contains("Duplicate entry")) {
+        if (DuplicateKeys.isDuplicatePrimaryKey(ex)) {
+            // An id handed out twice, e.g. taken by a writer that bypassed task_id_sequence: not the client's doing
+            logger.error("Primary key violation while storing a resource", ex);
+            ErrorResponse errorResponse = new ErrorResponse(
+                "Internal Server Error",
+                "The resource could not be stored",
+                "unknown"
+            );
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+        if (DuplicateKeys.isDuplicateKey(ex)) {
             ErrorResponse errorResponse = new ErrorResponse(
                 "Conflict",
                 "A resource with this value already exists",
@@ -60,13 +100,67 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
     }
 
+    // handles query parameters that are well-typed but semantically invalid (e.g. malformed cursors).
+    @ExceptionHandler(InvalidParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidParameterException(InvalidParameterException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            "Invalid Parameter",
+            ex.getMessage(),
+            ex.getParameter()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    // handles an Idempotency-Key reused for a different request.
+    @ExceptionHandler(IdempotencyKeyMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyMismatchException(IdempotencyKeyMismatchException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            "Unprocessable Entity",
+            ex.getMessage(),
+            "Idempotency-Key"
+        );
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
+    }
+
+    // handles requests refused while the asynchronous create queue is full.
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(
+            "Too Many Requests",
+            ex.getMessage(),
+            null
+        );
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+            .body(errorResponse);
+    }
+
     // handles invalid parameter types generically for all endpoints.
     @ExceptionHandler(MethodArgumentTypeMismatchException.class)
     public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatchException(
             MethodArgumentTypeMismatchException ex) {
-        String parameterName = ex.getName();
-        String invalidValue = ex.getValue() != null ? ex.getValue().toString() : "null";
-        String requiredType = ex.getRequiredType() != null ? ex.getRequiredType().getSimpleName() : "unknown";
+        return typeMismatch(ex.getName(), ex.getValue(), ex.getRequiredType());
+    }
+
+    // WebFlux reports the same type mismatches, and unreadable input, as ServerWebInputException
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ErrorResponse> handleServerWebInputException(ServerWebInputException ex) {
+        if (ex.getCause() instanceof TypeMismatchException mismatch) {
+            String parameterName = ex.getMethodParameter() != null
+                ? ex.getMethodParameter().getParameterName() : mismatch.getPropertyName();
+            return typeMismatch(parameterName, mismatch.getValue(), mismatch.getRequiredType());
+        }
+        ErrorResponse errorResponse = new ErrorResponse(
+            "Bad Request",
+            ex.getReason(),
+            "unknown"
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+    }
+
+    private static ResponseEntity<ErrorResponse> typeMismatch(String parameterName, Object value, Class<?> type) {
+        String invalidValue = value != null ? value.toString() : "null";
+        String requiredType = type != null ? type.getSimpleName() : "unknown";
         
         String message = String.format("Invalid %s: '%s'. Expected a valid %s.", 
                 parameterName, invalidValue, requiredType.toLowerCase());
@@ -0,0 +1,18 @@
+package defsec.crud.exception;
+
+/**
+ * Signals an Idempotency-Key sent again with a different request body. Like conflicts, this is
+ * an expected outcome, so no stack trace is captured.
+ */
+public class IdempotencyKeyMismatchException extends RuntimeException {
+    private final String key;
+
+    public IdempotencyKeyMismatchException(String message, String key) {
+        super(message, null, false, false);
+        this.key = key;
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,14 @@
+package defsec.crud.exception;
+
+public class InvalidParameterException extends RuntimeException {
+    private final String parameter;
+
+    public InvalidParameterException(String message, String parameter) {
+        super(message);
+        this.parameter = parameter;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+}
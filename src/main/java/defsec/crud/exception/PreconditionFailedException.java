@@ -0,0 +1,19 @@
+package defsec.crud.exception;
+
+/**
+ * Signals a conditional write whose If-Match precondition does not hold, i.e. the client
+ * based its change on an outdated version of the resource. Like conflicts, this is an expected
+ * outcome of concurrent writers, so no stack trace is captured.
+ */
+public class PreconditionFailedException extends RuntimeException {
+    private final String header;
+
+    public PreconditionFailedException(String message, String header) {
+        super(message, null, false, false);
+        this.header = header;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+}
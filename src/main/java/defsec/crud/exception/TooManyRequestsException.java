@@ -0,0 +1,19 @@
+package defsec.crud.exception;
+
+/**
+ * Signals a request refused because a bounded queue is full. The client should retry after
+ * the given number of seconds; like conflicts, this is an expected outcome under load, so no
+ * stack trace is captured.
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
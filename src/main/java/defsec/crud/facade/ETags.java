@@ -0,0 +1,108 @@
+package defsec.crud.facade;
+
+import defsec.crud.entity.Task;
+import defsec.crud.exception.PreconditionFailedException;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds entity tags and evaluates If-None-Match and If-Match headers (RFC 9110, section 13.1)
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @return a strong entity tag, i.e. the value in double quotes
+     */
+    static String strong(String value) {
+        return "\"" + value + "\"";
+    }
+
+    /**
+     * Uses the weak comparison required for If-None-Match: a W/ prefix on either side is ignored
+     * @param ifNoneMatch the header value, may be null
+     * @param etag the current entity tag of the resource
+     * @return true if the client's copy is current and 304 Not Modified can be sent
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        String current = opaque(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || opaque(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return true if the header is "*", which matches any current representation
+     */
+    static boolean isAny(String header) {
+        return header.trim().equals("*");
+    }
+
+    /**
+     * Lists the values of the strong tags in an If-Match header, without quotes. If-Match uses the
+     * strong comparison, so weak and malformed tags are skipped: they can never match.
+     */
+    static List<String> strongValues(String ifMatch) {
+        List<String> values = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                values.add(tag.substring(1, tag.length() - 1));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Strong ETag of a single task; the version changes with every update
+     */
+    static String of(Task task) {
+        return strong(task.getId() + "." + task.getVersion());
+    }
+
+    /**
+     * Extracts the task versions named by an If-Match header
+     * @return the versions, or null if the write is unconditional (no header, or "*")
+     * @throws PreconditionFailedException if no listed tag can be a current tag of this task
+     */
+    static List<Long> expectedVersions(Long id, String ifMatch) {
+        if (ifMatch == null || isAny(ifMatch)) {
+            return null;
+        }
+        String prefix = id + ".";
+        List<Long> versions = new ArrayList<>();
+        for (String value : strongValues(ifMatch)) {
+            if (value.startsWith(prefix)) {
+                try {
+                    versions.add(Long.parseLong(value.substring(prefix.length())));
+                } catch (NumberFormatException e) {
+                    // Not a tag issued by this service, cannot match
+                }
+            }
+        }
+        if (versions.isEmpty()) {
+            throw preconditionFailed(id);
+        }
+        return versions;
+    }
+
+    static PreconditionFailedException preconditionFailed(Long id) {
+        return new PreconditionFailedException(
+            "Task " + id + " was modified since the given ETag was issued", HttpHeaders.IF_MATCH);
+    }
+
+    private static String opaque(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+}
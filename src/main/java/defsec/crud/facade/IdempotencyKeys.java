@@ -0,0 +1,284 @@
+package defsec.crud.facade;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.IdempotencyKeyMismatchException;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.repository.IdempotencyKeyRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for POST /tasks and PUT /tasks/{id}. The first successful (2xx) response to a key is
+ * stored for defsec.idempotency.ttl and sent again, with Idempotent-Replayed: true, to any later request with the
+ * same key and method and path, without running the request again. Reusing a key for a different request body is
+ * refused with 422.
+ *
+ * Responses are kept in a bounded in-memory cache in front of the idempotency_key table, which every node shares:
+ * a node claims a key by inserting its row before running the request. A duplicate arriving while the first request
+ * runs waits for it, on a future if both are on the same node, by polling the row otherwise, for up to
+ * defsec.idempotency.wait-timeout before it gets 409. A claim not completed within defsec.idempotency.lease, e.g.
+ * because its node died, is given up. Failed requests release their key, so that the client can retry them.
+ */
+@Component
+public class IdempotencyKeys {
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotencyKeys.class);
+
+    public static final String HEADER = "Idempotency-Key";
+    // Set on responses sent again for a key, rather than produced by running the request
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final TypeReference<Map<String, List<String>>> HEADERS_TYPE = new TypeReference<>() {
+    };
+
+    @Value("${defsec.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    @Value("${defsec.idempotency.lease:30s}")
+    private Duration lease;
+
+    @Value("${defsec.idempotency.wait-timeout:10s}")
+    private Duration waitTimeout;
+
+    @Value("${defsec.idempotency.cache.maximum-size:10000}")
+    private long cacheMaximumSize;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // A stored response; the body is JSON, written again in whatever format the replayed request accepts
+    private record StoredResponse(byte[] requestHash, int statusCode, String headers, String body) {
+    }
+
+    // Keyed by the hex key hash
+    private Cache<String, StoredResponse> responses;
+    // Requests running on this node, completed with their stored response, or null if there is none to replay
+    private final ConcurrentHashMap<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        responses = CacheBuilder.newBuilder()
+            .maximumSize(cacheMaximumSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    /**
+     * Runs the action once per key
+     * @param key the Idempotency-Key header, or null to just run the action
+     * @param scope the method and path; the same key may be used on different resources
+     * @param request what makes up the request, serialized to JSON to tell a retry from a different request
+     * @return the response of the action, or the stored response of the first request with the key
+     * @throws IdempotencyKeyMismatchException if the key was used for a different request
+     * @throws ConflictException if the first request with the key is still running after the wait timeout
+     */
+    public ResponseEntity<?> execute(String key, String scope, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new InvalidParameterException(
+                "Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters", HEADER);
+        }
+        byte[] keyHash = sha256((scope + "\n" + key).getBytes(StandardCharsets.UTF_8));
+        byte[] requestHash = sha256(toJsonBytes(request));
+        String cacheKey = HexFormat.of().formatHex(keyHash);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            StoredResponse stored = responses.getIfPresent(cacheKey);
+            if (stored != null) {
+                return replay(stored, requestHash, key);
+            }
+            CompletableFuture<StoredResponse> running = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> first = inFlight.putIfAbsent(cacheKey, running);
+            if (first == null) {
+                try {
+                    return claimAndRun(keyHash, requestHash, cacheKey, key, deadline, action, running);
+                } finally {
+                    inFlight.remove(cacheKey, running);
+                }
+            }
+            stored = await(first, deadline, key);
+            if (stored != null) {
+                return replay(stored, requestHash, key);
+            }
+            // The first request failed and released the key; this one may claim it
+        }
+    }
+
+    /**
+     * Deletes keys past their expiry
+     */
+    @Scheduled(fixedDelayString = "${defsec.idempotency.prune-interval-ms:600000}")
+    public void pruneExpired() {
+        int deleted = idempotencyKeyRepository.deleteExpired(LocalDateTime.now());
+        logger.debug("Pruned {} expired idempotency keys", deleted);
+    }
+
+    private ResponseEntity<?> claimAndRun(byte[] keyHash, byte[] requestHash, String cacheKey, String key,
+                                          long deadline, Supplier<ResponseEntity<?>> action,
+                                          CompletableFuture<StoredResponse> running) {
+        StoredResponse stored = null;
+        boolean claimed = false;
+        try {
+            while (!(claimed = idempotencyKeyRepository.claim(keyHash, requestHash, LocalDateTime.now().plus(lease)))) {
+                Optional<IdempotencyKeyRepository.Entry> entry = idempotencyKeyRepository.find(keyHash);
+                if (entry.isEmpty()) {
+                    // Released or pruned since the claim failed
+                    continue;
+                }
+                IdempotencyKeyRepository.Entry existing = entry.get();
+                if (existing.expiresAt().isBefore(LocalDateTime.now())) {
+                    idempotencyKeyRepository.deleteExpired(keyHash, LocalDateTime.now());
+                    continue;
+                }
+                if (existing.statusCode() != null) {
+                    stored = new StoredResponse(existing.requestHash(), existing.statusCode(),
+                                                existing.responseHeaders(), existing.responseBody());
+                    responses.put(cacheKey, stored);
+                    return replay(stored, requestHash, key);
+                }
+                // Running on another node
+                if (System.nanoTime() - deadline >= 0) {
+                    throw stillRunning(key);
+                }
+                try {
+                    Thread.sleep(POLL_INTERVAL_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw stillRunning(key);
+                }
+            }
+
+            ResponseEntity<?> response = action.get();
+            if (response.getStatusCode().is2xxSuccessful()) {
+                stored = store(keyHash, requestHash, cacheKey, response);
+            }
+            return response;
+        } finally {
+            if (claimed && stored == null) {
+                release(keyHash);
+            }
+            running.complete(stored);
+        }
+    }
+
+    private StoredResponse store(byte[] keyHash, byte[] requestHash, String cacheKey, ResponseEntity<?> response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.getHeaders().forEach((name, values) -> {
+            // Set again for the format the replayed request accepts
+            if (!name.equalsIgnoreCase(HttpHeaders.CONTENT_TYPE) && !name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+                headers.put(name, values);
+            }
+        });
+        StoredResponse stored = new StoredResponse(requestHash, response.getStatusCode().value(),
+            new String(toJsonBytes(headers), StandardCharsets.UTF_8),
+            response.hasBody() ? new String(toJsonBytes(response.getBody()), StandardCharsets.UTF_8) : null);
+        try {
+            idempotencyKeyRepository.complete(keyHash, stored.statusCode(), stored.headers(), stored.body(),
+                                              LocalDateTime.now().plus(ttl));
+        } catch (RuntimeException e) {
+            // The request did run; its claim on other nodes ends with the lease
+            logger.warn("Could not store the response for an idempotency key", e);
+        }
+        responses.put(cacheKey, stored);
+        return stored;
+    }
+
+    private void release(byte[] keyHash) {
+        try {
+            idempotencyKeyRepository.release(keyHash);
+        } catch (RuntimeException e) {
+            logger.warn("Could not release an idempotency key; it is released when its lease ends", e);
+        }
+    }
+
+    private ResponseEntity<?> replay(StoredResponse stored, byte[] requestHash, String key) {
+        if (!MessageDigest.isEqual(stored.requestHash(), requestHash)) {
+            throw new IdempotencyKeyMismatchException(
+                "The Idempotency-Key was already used for a different request", key);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        try {
+            objectMapper.readValue(stored.headers(), HEADERS_TYPE).forEach(headers::addAll);
+            headers.set(REPLAYED_HEADER, "true");
+            JsonNode body = stored.body() != null ? objectMapper.readTree(stored.body()) : null;
+            return ResponseEntity.status(stored.statusCode()).headers(headers).body(body);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static StoredResponse await(CompletableFuture<StoredResponse> first, long deadline, String key) {
+        try {
+            return first.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw stillRunning(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillRunning(key);
+        } catch (ExecutionException e) {
+            // Not completed exceptionally; treated as a failed first request
+            return null;
+        }
+    }
+
+    private static ConflictException stillRunning(String key) {
+        return new ConflictException("A request with this Idempotency-Key is still being processed; retry later",
+                                     HEADER, key);
+    }
+
+    private byte[] toJsonBytes(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            // Every JVM provides SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
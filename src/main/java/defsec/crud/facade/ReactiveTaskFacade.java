@@ -0,0 +1,81 @@
+package defsec.crud.facade;
+
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link TaskFacade}, with the same parameters, responses and errors.
+ * Errors are signalled through the returned publisher instead of being thrown.
+ */
+public interface ReactiveTaskFacade {
+
+    /**
+     * Retrieves one page of tasks using keyset pagination, optionally filtered by status and creation time
+     * @see TaskFacade#getAllTasks
+     */
+    Mono<ResponseEntity<List<Task>>> getAllTasks(TaskListRequest request, String ifNoneMatch);
+
+    /**
+     * Finds tasks whose title or description contains any of the query's words, best matches first
+     * @see TaskFacade#searchTasks
+     */
+    Mono<ResponseEntity<List<Task>>> searchTasks(String query, Integer limit);
+
+    /**
+     * Returns task counts per status and recent create/complete rates from memory, without a database query
+     */
+    Mono<ResponseEntity<TaskStatsResponse>> getTaskStats();
+
+    /**
+     * Streams every task to the response. Rows are read from the database only as fast as the client
+     * reads the response, so slow clients hold neither a thread nor the whole table in memory.
+     * @param format "ndjson" (one JSON object per line) or "json" (a single JSON array)
+     * @return the response, or an InvalidParameterException if the format is not supported
+     */
+    Mono<ResponseEntity<Flux<Task>>> exportTasks(String format);
+
+    /**
+     * Retrieves a task by its ID
+     * @see TaskFacade#getTaskById
+     */
+    Mono<ResponseEntity<Task>> getTaskById(Long id, String ifNoneMatch);
+
+    /**
+     * Creates a new task
+     * @return the created task, or a ConflictException if a task with the same title already exists
+     */
+    Mono<Task> createTask(Task task);
+
+    /**
+     * Creates many tasks in one request; each item succeeds or fails on its own
+     * @see TaskFacade#createTasks
+     */
+    Mono<ResponseEntity<TaskBatchResponse>> createTasks(List<TaskRequest> taskRequests);
+
+    /**
+     * Updates an existing task
+     * @see TaskFacade#updateTask
+     */
+    Mono<ResponseEntity<Task>> updateTask(Long id, TaskRequest taskRequest, String ifMatch);
+
+    /**
+     * Partially updates an existing task: only the fields present in the patch are written
+     * @see TaskFacade#patchTask
+     */
+    Mono<ResponseEntity<Task>> patchTask(Long id, TaskPatchRequest patchRequest, String ifMatch);
+
+    /**
+     * Deletes a task by its ID
+     * @see TaskFacade#deleteTask
+     */
+    Mono<ResponseEntity<Void>> deleteTask(Long id, String ifMatch);
+}
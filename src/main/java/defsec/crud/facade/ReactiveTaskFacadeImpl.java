@@ -0,0 +1,398 @@
+package defsec.crud.facade;
+
+import defsec.crud.cache.TaskCache;
+import defsec.crud.cache.TaskSearchIndex;
+import defsec.crud.cache.TaskStats;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.dto.TaskBatchItemResult;
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.DuplicateKeys;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.repository.ReactiveTaskChangeLogRepository;
+import defsec.crud.repository.ReactiveTaskIdAllocator;
+import defsec.crud.repository.ReactiveTaskRepository;
+import defsec.crud.service.TaskChangeLogService;
+import defsec.crud.service.TaskService;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implementation of ReactiveTaskFacade over R2DBC, active with the "reactive" profile.
+ * Follows TaskFacadeImpl step by step and shares its validation, ETags and in-memory components
+ * (cache, title filter, search index, statistics), so both stacks answer the same requests the same way.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveTaskFacadeImpl implements ReactiveTaskFacade {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTaskFacadeImpl.class);
+
+    // Rows requested from the database at a time while streaming an export
+    static final int EXPORT_PREFETCH = 256;
+    // Inserts of one batch that run concurrently, each on a pooled connection
+    static final int BATCH_CONCURRENCY = 8;
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private ReactiveTaskChangeLogRepository taskChangeLogRepository;
+
+    @Autowired
+    private ReactiveTaskIdAllocator taskIdAllocator;
+
+    @Autowired
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskChangeLogService taskChangeLogService;
+
+    @Autowired
+    private TaskTitleFilter taskTitleFilter;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Override
+    public Mono<ResponseEntity<List<Task>>> getAllTasks(TaskListRequest request, String ifNoneMatch) {
+        return Mono.defer(() -> {
+            TaskListParameters parameters = TaskListParameters.parse(
+                request, TaskFacadeImpl.DEFAULT_PAGE_SIZE, TaskFacadeImpl.MAX_PAGE_SIZE);
+            return taskChangeLogRepository.latestId().flatMap(changeMarker -> {
+                String etag = parameters.etag(changeMarker, taskChangeLogService.unloggedChanges());
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    logger.debug("Tasks page not modified");
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<List<Task>>build());
+                }
+
+                logger.debug("Fetching tasks with {}", parameters);
+                return taskRepository.findPage(parameters.pageQuery()).collectList().map(rows -> {
+                    int pageSize = parameters.getPageSize();
+                    boolean hasMore = rows.size() > pageSize;
+                    List<Task> tasks = hasMore ? rows.subList(0, pageSize) : rows;
+                    logger.info("Retrieved {} tasks", tasks.size());
+
+                    ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+                    if (hasMore) {
+                        response.header(TaskFacadeImpl.NEXT_CURSOR_HEADER, parameters.nextCursor(tasks));
+                    }
+                    return response.body(tasks);
+                });
+            });
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<Task>>> searchTasks(String query, Integer limit) {
+        return Mono.defer(() -> {
+            List<Long> ids = taskSearchIndex.search(query, TaskFacadeImpl.searchLimit(query, limit));
+            if (ids.isEmpty()) {
+                return Mono.just(ResponseEntity.ok(List.<Task>of()));
+            }
+            // The index only ranks; rows come from the database, which drops tasks deleted on other nodes
+            return taskRepository.findAllById(ids).collectMap(Task::getId).map(tasksById -> {
+                List<Task> tasks = new ArrayList<>(tasksById.size());
+                for (Long id : ids) {
+                    Task task = tasksById.get(id);
+                    if (task != null) {
+                        tasks.add(task);
+                    }
+                }
+                logger.info("Search for '{}' matched {} tasks", query, tasks.size());
+                return ResponseEntity.ok(tasks);
+            });
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskStatsResponse>> getTaskStats() {
+        return Mono.fromSupplier(() -> ResponseEntity.ok(taskStats.snapshot()));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<Task>>> exportTasks(String format) {
+        return Mono.fromSupplier(() -> {
+            MediaType contentType = TaskFacadeImpl.exportContentType(format);
+            logger.info("Starting task export in {} format", format);
+            long started = System.nanoTime();
+            Flux<Task> tasks = taskRepository.findAll()
+                .limitRate(EXPORT_PREFETCH)
+                .doOnComplete(() -> logger.info("Exported tasks in {} ms", (System.nanoTime() - started) / 1_000_000));
+            return ResponseEntity.ok().contentType(contentType).body(tasks);
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Task>> getTaskById(Long id, String ifNoneMatch) {
+        logger.debug("Fetching task with id: {}", id);
+        Mono<Task> task = Mono.justOrEmpty(taskCache.getIfPresent(id))
+            .switchIfEmpty(Mono.defer(() -> {
+                // Not cached if the task changed while it was being read
+                long generation = taskCache.generation(id);
+                return taskRepository.findById(id).doOnNext(found -> taskCache.putIfNotInvalidated(found, generation));
+            }));
+        return task
+            .map(found -> {
+                String etag = ETags.of(found);
+                if (ETags.matches(ifNoneMatch, etag)) {
+                    logger.debug("Task with id: {} not modified", id);
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).<Task>build();
+                }
+                return ResponseEntity.ok().eTag(etag).body(found);
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> {
+                logger.warn("Task not found with id: {}", id);
+                return ResponseEntity.notFound().<Task>build();
+            }));
+    }
+
+    @Override
+    public Mono<Task> createTask(Task task) {
+        String title = task.getTitle();
+        logger.info("Creating new task with title: '{}'", title);
+        // Only titles the filter cannot rule out need a lookup; the unique index still catches races
+        Mono<Boolean> duplicate = Mono.defer(() -> taskTitleFilter.mightContain(title)
+            ? taskRepository.existsByTitle(title) : Mono.just(false));
+        return duplicate
+            .flatMap(exists -> exists
+                ? Mono.<Task>error(TaskFacadeImpl.duplicateTitle(title))
+                : insert(task))
+            .onErrorMap(DuplicateKeys::isDuplicateTitle, e -> TaskFacadeImpl.duplicateTitle(title))
+            .doOnError(ConflictException.class,
+                e -> logger.warn("Attempted to create task with duplicate title: '{}'", title))
+            .flatMap(savedTask -> {
+                taskTitleFilter.add(savedTask.getTitle());
+                taskSearchIndex.index(savedTask);
+                taskStats.recordCreated(savedTask.getStatus());
+                logger.info("Successfully created task with id: {} and title: '{}'", savedTask.getId(), title);
+                return recordChange(savedTask.getId()).thenReturn(savedTask);
+            });
+    }
+
+    private Mono<Task> insert(Task task) {
+        return taskIdAllocator.nextId().flatMap(id -> {
+            task.setId(id);
+            return taskRepository.insert(task, LocalDateTime.now());
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskBatchResponse>> createTasks(List<TaskRequest> taskRequests) {
+        return Mono.defer(() -> {
+            if (taskRequests == null || taskRequests.isEmpty()) {
+                return Mono.error(new InvalidParameterException("A batch must contain at least one task", "tasks"));
+            }
+            if (taskRequests.size() > TaskFacadeImpl.MAX_BATCH_SIZE) {
+                return Mono.error(new InvalidParameterException(
+                    "A batch must not contain more than " + TaskFacadeImpl.MAX_BATCH_SIZE + " tasks", "tasks"));
+            }
+            logger.info("Creating batch of {} tasks", taskRequests.size());
+
+            TaskBatchItemResult[] results = new TaskBatchItemResult[taskRequests.size()];
+            Map<Integer, Task> validTasks = new LinkedHashMap<>();
+            for (int i = 0; i < taskRequests.size(); i++) {
+                Map<String, String> errors = TaskFacadeImpl.validate(validator, taskRequests.get(i));
+                if (errors.isEmpty()) {
+                    validTasks.put(i, taskRequests.get(i).toEntity());
+                } else {
+                    results[i] = TaskBatchItemResult.invalid(i, errors);
+                }
+            }
+
+            // Each item is inserted on its own: a duplicate title fails only that item
+            return Flux.fromIterable(validTasks.entrySet())
+                .flatMap(item -> insert(item.getValue())
+                    .map(task -> TaskBatchItemResult.created(item.getKey(), task.getId(), task.getTitle()))
+                    .onErrorResume(DuplicateKeys::isDuplicateTitle,
+                        e -> Mono.just(TaskBatchItemResult.conflict(item.getKey(), item.getValue().getTitle()))),
+                    BATCH_CONCURRENCY)
+                .collectList()
+                .flatMap(itemResults -> {
+                    List<Long> createdIds = new ArrayList<>(itemResults.size());
+                    for (TaskBatchItemResult result : itemResults) {
+                        results[result.getIndex()] = result;
+                        if (result.getOutcome() == TaskBatchItemResult.Outcome.CREATED) {
+                            Task task = validTasks.get(result.getIndex());
+                            taskTitleFilter.add(task.getTitle());
+                            taskSearchIndex.index(task);
+                            taskStats.recordCreated(task.getStatus());
+                            createdIds.add(task.getId());
+                        }
+                    }
+                    return recordChanges(createdIds);
+                })
+                .then(Mono.fromSupplier(() -> {
+                    TaskBatchResponse response = new TaskBatchResponse(Arrays.asList(results));
+                    logger.info("Batch create finished: {} created, {} conflicts, {} invalid",
+                               response.getCreated(), response.getConflicts(), response.getInvalid());
+                    return ResponseEntity.ok(response);
+                }));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Task>> updateTask(Long id, TaskRequest taskRequest, String ifMatch) {
+        logger.info("Updating task with id: {} and title: '{}'", id, taskRequest.getTitle());
+        return Mono.defer(() -> {
+            List<Long> expectedVersions = ETags.expectedVersions(id, ifMatch);
+            // The previous status is read with the row locked, in the transaction of the update.
+            // MySQL has no UPDATE ... RETURNING; the response body needs one read of the updated row
+            Mono<TaskService.Updated> update = taskRepository.findStatusForUpdate(id)
+                .flatMap(previousStatus -> taskRepository
+                    .update(id, taskRequest.toEntity(), LocalDateTime.now(), expectedVersions)
+                    .flatMap(updated -> updated == 0 ? Mono.<Task>empty() : taskRepository.findById(id))
+                    .map(task -> new TaskService.Updated(task, previousStatus)))
+                .as(reactiveTransactionalOperator::transactional);
+            return update
+                .onErrorMap(DuplicateKeys::isDuplicateTitle, e -> {
+                    logger.warn("Attempted to update task id: {} with duplicate title: '{}'", id, taskRequest.getTitle());
+                    return TaskFacadeImpl.duplicateTitle(taskRequest.getTitle());
+                })
+                .flatMap(updated -> {
+                    Task savedTask = updated.task();
+                    taskTitleFilter.add(savedTask.getTitle());
+                    taskSearchIndex.index(savedTask);
+                    taskStats.recordStatusChange(updated.previousStatus(), savedTask.getStatus());
+                    logger.info("Successfully updated task id: {} to title '{}'", id, savedTask.getTitle());
+                    return recordChange(id).thenReturn(ResponseEntity.ok().eTag(ETags.of(savedTask)).body(savedTask));
+                })
+                .switchIfEmpty(Mono.defer(() -> writeNotApplied(id, expectedVersions)));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Task>> patchTask(Long id, TaskPatchRequest patchRequest, String ifMatch) {
+        Map<String, Object> fieldUpdates = patchRequest.toFieldUpdates();
+        logger.info("Patching task with id: {}, fields: {}", id, fieldUpdates.keySet());
+        return Mono.defer(() -> {
+            List<Long> expectedVersions = ETags.expectedVersions(id, ifMatch);
+            Mono<TaskService.Updated> patch;
+            if (fieldUpdates.isEmpty()) {
+                patch = taskRepository.findById(id)
+                    .filter(task -> expectedVersions == null || expectedVersions.contains(task.getVersion()))
+                    .map(task -> new TaskService.Updated(task, task.getStatus()));
+            } else {
+                Map<String, Object> updates = new LinkedHashMap<>(fieldUpdates);
+                updates.put("updatedAt", LocalDateTime.now());
+                // The previous status is only needed, and the row only locked for it, if the patch sets the status
+                Mono<Optional<Task.Status>> previousStatus = patchRequest.isStatusPresent()
+                    ? taskRepository.findStatusForUpdate(id).map(Optional::of)
+                    : Mono.just(Optional.empty());
+                patch = previousStatus
+                    .flatMap(previous -> taskRepository.updateFields(id, updates, expectedVersions)
+                        .flatMap(updated -> updated == 0 ? Mono.<Task>empty() : taskRepository.findById(id))
+                        .map(task -> new TaskService.Updated(task, previous.orElse(task.getStatus()))))
+                    .as(reactiveTransactionalOperator::transactional);
+            }
+            return patch
+                .onErrorMap(DuplicateKeys::isDuplicateTitle, e -> {
+                    logger.warn("Attempted to patch task id: {} with duplicate title: '{}'", id, patchRequest.getTitle());
+                    return TaskFacadeImpl.duplicateTitle(patchRequest.getTitle());
+                })
+                .flatMap(updated -> {
+                    Task savedTask = updated.task();
+                    if (patchRequest.isTitlePresent()) {
+                        taskTitleFilter.add(savedTask.getTitle());
+                    }
+                    if (patchRequest.isStatusPresent()) {
+                        taskStats.recordStatusChange(updated.previousStatus(), savedTask.getStatus());
+                    }
+                    ResponseEntity<Task> response = ResponseEntity.ok().eTag(ETags.of(savedTask)).body(savedTask);
+                    logger.info("Successfully patched task id: {}", id);
+                    if (fieldUpdates.isEmpty()) {
+                        return Mono.just(response);
+                    }
+                    taskSearchIndex.index(savedTask);
+                    return recordChange(id).thenReturn(response);
+                })
+                .switchIfEmpty(Mono.defer(() -> writeNotApplied(id, expectedVersions)));
+        });
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> deleteTask(Long id, String ifMatch) {
+        logger.info("Deleting task with id: {}", id);
+        return Mono.defer(() -> {
+            List<Long> expectedVersions = ETags.expectedVersions(id, ifMatch);
+            // The status of the deleted task is read with the row locked, in the transaction of the delete
+            Mono<Task.Status> delete = taskRepository.findStatusForUpdate(id)
+                .flatMap(status -> taskRepository.delete(id, expectedVersions)
+                    .flatMap(deleted -> deleted == 0 ? Mono.<Task.Status>empty() : Mono.just(status)))
+                .as(reactiveTransactionalOperator::transactional);
+            return delete
+                .flatMap(previousStatus -> {
+                    taskSearchIndex.remove(id);
+                    taskStats.recordDeleted(previousStatus);
+                    logger.info("Successfully deleted task with id: {}", id);
+                    return recordChange(id).thenReturn(ResponseEntity.ok().<Void>build());
+                })
+                .switchIfEmpty(Mono.defer(() -> writeNotApplied(id, expectedVersions)));
+        });
+    }
+
+    // A write that affected no row: tell a missing task from a concurrent modification
+    private <T> Mono<ResponseEntity<T>> writeNotApplied(Long id, List<Long> expectedVersions) {
+        Mono<Boolean> exists = expectedVersions != null ? taskRepository.existsById(id) : Mono.just(false);
+        return exists.flatMap(found -> {
+            if (found) {
+                logger.warn("Rejected write to task id: {} based on outdated versions: {}", id, expectedVersions);
+                return Mono.error(ETags.preconditionFailed(id));
+            }
+            logger.warn("Attempted to write non-existent task with id: {}", id);
+            return Mono.just(ResponseEntity.notFound().<T>build());
+        });
+    }
+
+    // Notifies local listeners right away and appends an entry for the other nodes
+    private Mono<Void> recordChange(long taskId) {
+        taskChangeLogService.notifyLocalChange(taskId);
+        return taskChangeLogRepository.append(taskId).onErrorResume(DataAccessException.class, e -> {
+            logger.error("Could not record change of task id: {} in the change log", taskId, e);
+            taskChangeLogService.appendLater(List.of(taskId));
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Void> recordChanges(List<Long> taskIds) {
+        taskIds.forEach(taskChangeLogService::notifyLocalChange);
+        return taskChangeLogRepository.appendAll(taskIds).onErrorResume(DataAccessException.class, e -> {
+            logger.error("Could not record changes of {} tasks in the change log", taskIds.size(), e);
+            taskChangeLogService.appendLater(taskIds);
+            return Mono.empty();
+        });
+    }
+}
@@ -1,8 +1,14 @@
 package defsec.crud.facade;
 
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
 import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
 import defsec.crud.entity.Task;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -13,17 +19,46 @@ import java.util.List;
 public interface TaskFacade {
     
     /**
-     * Retrieves all tasks
-     * @return list of all tasks
+     * Retrieves one page of tasks using keyset pagination, optionally filtered by status and creation time
+     * @param request the cursor, limit, filters and sort; the limit is capped at the maximum page size
+     * @param ifNoneMatch If-None-Match request header, or null
+     * @return ResponseEntity with the page of tasks, its ETag and, if more tasks exist, the next cursor header;
+     *         304 without querying tasks if no task changed since the client's ETag was issued
+     * @throws InvalidParameterException if a parameter is malformed, the cursor belongs to another sort,
+     *         or a creation time filter is combined with an id sort
      */
-    List<Task> getAllTasks();
+    ResponseEntity<List<Task>> getAllTasks(TaskListRequest request, String ifNoneMatch);
     
+    /**
+     * Finds tasks whose title or description contains any of the query's words, best matches first
+     * @param query free text; case and accents are ignored
+     * @param limit maximum number of tasks to return, or null for the default; capped at the maximum
+     * @return ResponseEntity with the matching tasks in relevance order
+     * @throws InvalidParameterException if the query contains no word or the limit is not positive
+     */
+    ResponseEntity<List<Task>> searchTasks(String query, Integer limit);
+
+    /**
+     * Returns task counts per status and recent create/complete rates from memory, without a database query
+     * @return ResponseEntity with the statistics
+     */
+    ResponseEntity<TaskStatsResponse> getTaskStats();
+
+    /**
+     * Streams every task to the response without materializing them in memory
+     * @param format "ndjson" (one JSON object per line) or "json" (a single JSON array)
+     * @return ResponseEntity whose body writes the tasks as they are read from the database
+     * @throws InvalidParameterException if the format is not supported
+     */
+    ResponseEntity<StreamingResponseBody> exportTasks(String format);
+
     /**
      * Retrieves a task by its ID
      * @param id the task ID
-     * @return ResponseEntity with task if found, or 404 if not found
+     * @param ifNoneMatch If-None-Match request header, or null
+     * @return ResponseEntity with task and its ETag if found, 304 if the client's ETag is current, or 404 if not found
      */
-    ResponseEntity<Task> getTaskById(Long id);
+    ResponseEntity<Task> getTaskById(Long id, String ifNoneMatch);
     
     /**
      * Creates a new task
@@ -33,19 +68,59 @@ public interface TaskFacade {
      */
     Task createTask(Task task);
     
+    /**
+     * Queues a new task to be created in the background (POST /tasks with Prefer: respond-async)
+     * @param task the validated task entity to create
+     * @return ResponseEntity with status 202, the request's status and its URL in the Location header
+     * @throws TooManyRequestsException if too many tasks are already waiting to be created
+     */
+    ResponseEntity<TaskCreateStatus> createTaskAsync(Task task);
+
+    /**
+     * Retrieves the status of a request accepted by {@link #createTaskAsync}
+     * @param requestId the request id from the status URL
+     * @return ResponseEntity with the status, or 404 if the request is unknown or its status has expired
+     */
+    ResponseEntity<TaskCreateStatus> getCreateStatus(String requestId);
+
+    /**
+     * Creates many tasks in one request.
+     * Each item is validated on its own; invalid items and items with a duplicate title are
+     * reported in the response and do not prevent the other items from being created.
+     * @param taskRequests the tasks to create
+     * @return ResponseEntity with one result per request item, in request order
+     * @throws InvalidParameterException if the batch is empty or larger than the maximum batch size
+     */
+    ResponseEntity<TaskBatchResponse> createTasks(List<TaskRequest> taskRequests);
+
     /**
      * Updates an existing task
      * @param id the task ID to update
      * @param taskRequest the task data to update
-     * @return ResponseEntity with updated task if found, or 404 if not found
+     * @param ifMatch If-Match request header with the task's ETag, or null to update unconditionally
+     * @return ResponseEntity with updated task and its new ETag if found, or 404 if not found
      * @throws ConflictException if updated title conflicts with existing task
+     * @throws PreconditionFailedException if the task was modified since the If-Match ETag was issued
      */
-    ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest);
+    ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest, String ifMatch);
     
+    /**
+     * Partially updates an existing task: only the fields present in the patch are written
+     * @param id the task ID to update
+     * @param patchRequest the fields to change, with JSON Merge Patch semantics
+     * @param ifMatch If-Match request header with the task's ETag, or null to update unconditionally
+     * @return ResponseEntity with updated task and its new ETag if found, or 404 if not found
+     * @throws ConflictException if the patched title conflicts with existing task
+     * @throws PreconditionFailedException if the task was modified since the If-Match ETag was issued
+     */
+    ResponseEntity<Task> patchTask(Long id, TaskPatchRequest patchRequest, String ifMatch);
+
     /**
      * Deletes a task by its ID
      * @param id the task ID to delete
+     * @param ifMatch If-Match request header with the task's ETag, or null to delete unconditionally
      * @return ResponseEntity with 200 if deleted, or 404 if not found
+     * @throws PreconditionFailedException if the task was modified since the If-Match ETag was issued
      */
-    ResponseEntity<Void> deleteTask(Long id);
+    ResponseEntity<Void> deleteTask(Long id, String ifMatch);
 } 
\ No newline at end of file
@@ -1,18 +1,45 @@
 package defsec.crud.facade;
 
+import defsec.crud.cache.TaskCache;
+import defsec.crud.cache.TaskSearchIndex;
+import defsec.crud.cache.TaskStats;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.datasource.ReadRouter;
+import defsec.crud.dto.TaskBatchItemResult;
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
 import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
 import defsec.crud.entity.Task;
 import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.DuplicateKeys;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.service.TaskBatchService;
+import defsec.crud.service.TaskChangeLogService;
+import defsec.crud.service.TaskExportService;
 import defsec.crud.service.TaskService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -24,25 +51,171 @@ public class TaskFacadeImpl implements TaskFacade {
 
     private static final Logger logger = LoggerFactory.getLogger(TaskFacadeImpl.class);
 
+    // Page size used when the client does not pass a limit
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    // Upper bound for the limit parameter; larger values are capped
+    public static final int MAX_PAGE_SIZE = 500;
+    // Response header carrying the opaque cursor of the next page, absent on the last page
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    // Number of search results returned when the client does not pass a limit
+    public static final int DEFAULT_SEARCH_LIMIT = 20;
+    // Upper bound for the limit parameter of a search; larger values are capped
+    public static final int MAX_SEARCH_LIMIT = 100;
+    // Upper bound for the number of tasks in one batch create request
+    public static final int MAX_BATCH_SIZE = 10_000;
+    // Status URLs of asynchronous creates are this path followed by the request id
+    public static final String CREATE_STATUS_PATH = "/tasks/requests/";
+    // Response header confirming that a Prefer header was honored (RFC 7240)
+    public static final String PREFERENCE_APPLIED_HEADER = "Preference-Applied";
+
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskExportService taskExportService;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TaskCache taskCache;
+
+    @Autowired
+    private TaskChangeLogService taskChangeLogService;
+
+    @Autowired
+    private TaskTitleFilter taskTitleFilter;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Autowired
+    private ReadRouter readRouter;
+
+    @Autowired
+    private TaskWriteBehind taskWriteBehind;
+
     @Override
-    public List<Task> getAllTasks() {
-        logger.debug("Fetching all tasks");
-        List<Task> tasks = taskService.findAll();
+    public ResponseEntity<List<Task>> getAllTasks(TaskListRequest request, String ifNoneMatch) {
+        TaskListParameters parameters = TaskListParameters.parse(request, DEFAULT_PAGE_SIZE, MAX_PAGE_SIZE);
+        long requiredPosition = readRouter.newestPosition();
+        // Any replica within the lag limit may serve the page. Its newest change log entry is the position it has
+        // applied, so one that turns out to lack changes known here is left for the primary
+        return readRouter.read(0, () -> {
+            long changeId = taskChangeLogService.latestChangeId();
+            return changeId < requiredPosition ? null : tasksPage(parameters, changeId, ifNoneMatch);
+        }, Objects::isNull);
+    }
+
+    private ResponseEntity<List<Task>> tasksPage(TaskListParameters parameters, long changeId, String ifNoneMatch) {
+        String etag = parameters.etag(changeId, taskChangeLogService.unloggedChanges());
+        if (ETags.matches(ifNoneMatch, etag)) {
+            logger.debug("Tasks page not modified");
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        logger.debug("Fetching tasks with {}", parameters);
+        List<Task> rows = taskService.findPage(parameters.pageQuery());
+        int pageSize = parameters.getPageSize();
+        boolean hasMore = rows.size() > pageSize;
+        List<Task> tasks = hasMore ? rows.subList(0, pageSize) : rows;
         logger.info("Retrieved {} tasks", tasks.size());
-        return tasks;
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etag);
+        if (hasMore) {
+            response.header(NEXT_CURSOR_HEADER, parameters.nextCursor(tasks));
+        }
+        return response.body(tasks);
+    }
+
+    @Override
+    public ResponseEntity<List<Task>> searchTasks(String query, Integer limit) {
+        int maxResults = searchLimit(query, limit);
+        List<Long> ids = taskSearchIndex.search(query, maxResults);
+        // The index only ranks; rows come from the database, which drops tasks deleted on other nodes
+        List<Task> tasks = ids.isEmpty() ? List.of() : taskService.findAllByIdInOrder(ids);
+        logger.info("Search for '{}' matched {} tasks", query, tasks.size());
+        return ResponseEntity.ok(tasks);
+    }
+
+    /**
+     * Validates the parameters of a search
+     * @return the maximum number of results, capped
+     */
+    static int searchLimit(String query, Integer limit) {
+        if (query == null || query.codePoints().noneMatch(Character::isLetterOrDigit)) {
+            throw new InvalidParameterException(
+                "Invalid q: '" + Objects.toString(query, "") + "'. Expected at least one word.", "q");
+        }
+        int maxResults = limit != null ? limit : DEFAULT_SEARCH_LIMIT;
+        if (maxResults < 1) {
+            throw new InvalidParameterException(
+                "Invalid limit: '" + limit + "'. Expected a positive integer.", "limit");
+        }
+        return Math.min(maxResults, MAX_SEARCH_LIMIT);
+    }
+
+    @Override
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        return ResponseEntity.ok(taskStats.snapshot());
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTasks(String format) {
+        MediaType contentType = exportContentType(format);
+        boolean asArray = contentType.equals(MediaType.APPLICATION_JSON);
+
+        logger.info("Starting task export in {} format", format);
+        StreamingResponseBody body = out -> {
+            long started = System.nanoTime();
+            long exported = asArray ? taskExportService.exportJsonArray(out) : taskExportService.exportNdjson(out);
+            logger.info("Exported {} tasks in {} ms", exported, (System.nanoTime() - started) / 1_000_000);
+        };
+        return ResponseEntity.ok().contentType(contentType).body(body);
+    }
+
+    /**
+     * @return the content type of an export in the given format
+     * @throws InvalidParameterException if the format is not supported
+     */
+    static MediaType exportContentType(String format) {
+        if ("ndjson".equals(format)) {
+            return MediaType.APPLICATION_NDJSON;
+        }
+        if ("json".equals(format)) {
+            return MediaType.APPLICATION_JSON;
+        }
+        throw new InvalidParameterException(
+            "Invalid format: '" + format + "'. Expected one of: ndjson, json.", "format");
     }
 
     @Override
-    public ResponseEntity<Task> getTaskById(Long id) {
+    public ResponseEntity<Task> getTaskById(Long id, String ifNoneMatch) {
         logger.debug("Fetching task with id: {}", id);
-        Optional<Task> task = taskService.findById(id);
+        Optional<Task> task = taskCache.getIfPresent(id);
+        if (task.isEmpty()) {
+            // A replica only serves the read if it has this task's newest change known here, so the cache never
+            // goes back to an older version; a task not found there may have been created since
+            long generation = taskCache.generation(id);
+            task = readRouter.read(readRouter.taskPosition(id), () -> taskService.findById(id), Optional::isEmpty);
+            // Not cached if the task changed while it was being read
+            task.ifPresent(found -> taskCache.putIfNotInvalidated(found, generation));
+        }
         
         if (task.isPresent()) {
+            String etag = ETags.of(task.get());
+            if (ETags.matches(ifNoneMatch, etag)) {
+                logger.debug("Task with id: {} not modified", id);
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
             logger.debug("Task found with id: {}", id);
-            return ResponseEntity.ok(task.get());
+            return ResponseEntity.ok().eTag(etag).body(task.get());
         } else {
             logger.warn("Task not found with id: {}", id);
             return ResponseEntity.notFound().build();
@@ -57,28 +230,114 @@ public class TaskFacadeImpl implements TaskFacade {
         MDC.put("taskTitle", task.getTitle());
         
         try {
+            // Only titles the filter cannot rule out need a lookup; the unique index still catches races
+            if (taskTitleFilter.mightContain(task.getTitle()) && taskService.existsByTitle(task.getTitle())) {
+                logger.warn("Attempted to create task with duplicate title: '{}'", task.getTitle());
+                throw duplicateTitle(task.getTitle());
+            }
             Task savedTask = taskService.save(task);
+            taskTitleFilter.add(savedTask.getTitle());
+            taskSearchIndex.index(savedTask);
+            taskStats.recordCreated(savedTask.getStatus());
+            taskChangeLogService.recordChange(savedTask.getId());
             logger.info("Successfully created task with id: {} and title: '{}'", 
                        savedTask.getId(), savedTask.getTitle());
             return savedTask;
         } catch (DataIntegrityViolationException e) {
-            if (e.getMessage().contains("Duplicate entry")) {
+            if (DuplicateKeys.isDuplicateTitle(e)) {
                 logger.warn("Attempted to create task with duplicate title: '{}'", task.getTitle());
-                throw new ConflictException(
-                    "A task with the title '" + task.getTitle() + "' already exists",
-                    "title",
-                    task.getTitle()
-                );
+                throw duplicateTitle(task.getTitle());
             }
             logger.error("Database error while creating task with title: '{}'", task.getTitle(), e);
             throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("taskTitle");
+        }
+    }
+
+    @Override
+    public ResponseEntity<TaskCreateStatus> createTaskAsync(Task task) {
+        // Duplicate titles are found by the writer and reported on the status resource
+        TaskCreateStatus status = taskWriteBehind.submit(task);
+        logger.debug("Queued task with title: '{}' as request {}", task.getTitle(), status.getRequestId());
+        return ResponseEntity.accepted()
+            .location(URI.create(CREATE_STATUS_PATH + status.getRequestId()))
+            .header(PREFERENCE_APPLIED_HEADER, "respond-async")
+            .body(status);
+    }
+
+    @Override
+    public ResponseEntity<TaskCreateStatus> getCreateStatus(String requestId) {
+        return taskWriteBehind.status(requestId)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Override
+    public ResponseEntity<TaskBatchResponse> createTasks(List<TaskRequest> taskRequests) {
+        if (taskRequests == null || taskRequests.isEmpty()) {
+            throw new InvalidParameterException("A batch must contain at least one task", "tasks");
+        }
+        if (taskRequests.size() > MAX_BATCH_SIZE) {
+            throw new InvalidParameterException(
+                "A batch must not contain more than " + MAX_BATCH_SIZE + " tasks", "tasks");
+        }
+        logger.info("Creating batch of {} tasks", taskRequests.size());
+
+        TaskBatchItemResult[] results = new TaskBatchItemResult[taskRequests.size()];
+        List<Task> validTasks = new ArrayList<>(taskRequests.size());
+        List<Integer> validIndexes = new ArrayList<>(taskRequests.size());
+        for (int i = 0; i < taskRequests.size(); i++) {
+            TaskRequest taskRequest = taskRequests.get(i);
+            Map<String, String> errors = validate(validator, taskRequest);
+            if (errors.isEmpty()) {
+                validTasks.add(taskRequest.toEntity());
+                validIndexes.add(i);
+            } else {
+                results[i] = TaskBatchItemResult.invalid(i, errors);
+            }
+        }
+
+        List<Long> ids = validTasks.isEmpty() ? List.of() : taskBatchService.createAll(validTasks);
+        List<Long> createdIds = new ArrayList<>(ids.size());
+        for (int k = 0; k < validTasks.size(); k++) {
+            int index = validIndexes.get(k);
+            Task task = validTasks.get(k);
+            String title = task.getTitle();
+            Long id = ids.get(k);
+            if (id != null) {
+                taskTitleFilter.add(title);
+                taskSearchIndex.index(task);
+                taskStats.recordCreated(task.getStatus());
+                createdIds.add(id);
+                results[index] = TaskBatchItemResult.created(index, id, title);
+            } else {
+                results[index] = TaskBatchItemResult.conflict(index, title);
+            }
+        }
+
+        taskChangeLogService.recordChanges(createdIds);
+
+        TaskBatchResponse response = new TaskBatchResponse(Arrays.asList(results));
+        logger.info("Batch create finished: {} created, {} conflicts, {} invalid",
+                   response.getCreated(), response.getConflicts(), response.getInvalid());
+        return ResponseEntity.ok(response);
+    }
+
+    // Validates a batch item the same way @Valid validates a single request body
+    static Map<String, String> validate(Validator validator, TaskRequest taskRequest) {
+        if (taskRequest == null) {
+            return Map.of("task", "Task must not be null");
+        }
+        Map<String, String> errors = new HashMap<>();
+        for (ConstraintViolation<TaskRequest> violation : validator.validate(taskRequest)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
         }
+        return errors;
     }
 
     @Override
-    public ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest) {
+    public ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest, String ifMatch) {
         logger.info("Updating task with id: {} and title: '{}'", id, taskRequest.getTitle());
         
         // Add context to MDC
@@ -86,56 +345,107 @@ public class TaskFacadeImpl implements TaskFacade {
         MDC.put("taskTitle", taskRequest.getTitle());
         
         try {
-            Optional<Task> existingTask = taskService.findById(id);
-            if (existingTask.isEmpty()) {
-                logger.warn("Attempted to update non-existent task with id: {}", id);
-                return ResponseEntity.notFound().build();
+            List<Long> expectedVersions = ETags.expectedVersions(id, ifMatch);
+            Optional<TaskService.Updated> updated = taskService.update(id, taskRequest.toEntity(), expectedVersions);
+            if (updated.isEmpty()) {
+                return writeNotApplied(id, expectedVersions);
             }
 
-            Task updatedTask = existingTask.get();
-            String originalTitle = updatedTask.getTitle();
-            taskRequest.updateEntity(updatedTask);
-
-            try {
-                Task savedTask = taskService.save(updatedTask);
-                logger.info("Successfully updated task id: {} from title '{}' to '{}'", 
-                           id, originalTitle, savedTask.getTitle());
-                return ResponseEntity.ok(savedTask);
-            } catch (DataIntegrityViolationException e) {
-                if (e.getMessage().contains("Duplicate entry")) {
-                    logger.warn("Attempted to update task id: {} with duplicate title: '{}'", 
-                               id, taskRequest.getTitle());
-                    throw new ConflictException(
-                        "A task with the title '" + taskRequest.getTitle() + "' already exists",
-                        "title",
-                        taskRequest.getTitle()
-                    );
-                }
-                logger.error("Database error while updating task id: {}", id, e);
-                throw e;
+            Task savedTask = updated.get().task();
+            taskTitleFilter.add(savedTask.getTitle());
+            taskSearchIndex.index(savedTask);
+            taskStats.recordStatusChange(updated.get().previousStatus(), savedTask.getStatus());
+            taskChangeLogService.recordChange(id);
+            logger.info("Successfully updated task id: {} to title '{}'", id, savedTask.getTitle());
+            return ResponseEntity.ok().eTag(ETags.of(savedTask)).body(savedTask);
+        } catch (DataIntegrityViolationException e) {
+            // The UPDATE itself is the duplicate check, no lookup needed beforehand
+            if (DuplicateKeys.isDuplicateTitle(e)) {
+                logger.warn("Attempted to update task id: {} with duplicate title: '{}'", 
+                           id, taskRequest.getTitle());
+                throw duplicateTitle(taskRequest.getTitle());
+            }
+            logger.error("Database error while updating task id: {}", id, e);
+            throw e;
+        } finally {
+            MDC.remove("taskId");
+            MDC.remove("taskTitle");
+        }
+    }
+
+    @Override
+    public ResponseEntity<Task> patchTask(Long id, TaskPatchRequest patchRequest, String ifMatch) {
+        Map<String, Object> fieldUpdates = patchRequest.toFieldUpdates();
+        logger.info("Patching task with id: {}, fields: {}", id, fieldUpdates.keySet());
+
+        MDC.put("taskId", id.toString());
+
+        try {
+            List<Long> expectedVersions = ETags.expectedVersions(id, ifMatch);
+            Optional<TaskService.Updated> updated = taskService.updateFields(id, fieldUpdates, expectedVersions);
+            if (updated.isEmpty()) {
+                return writeNotApplied(id, expectedVersions);
             }
+
+            Task savedTask = updated.get().task();
+            if (patchRequest.isTitlePresent()) {
+                taskTitleFilter.add(savedTask.getTitle());
+            }
+            if (patchRequest.isStatusPresent()) {
+                taskStats.recordStatusChange(updated.get().previousStatus(), savedTask.getStatus());
+            }
+            if (!fieldUpdates.isEmpty()) {
+                taskSearchIndex.index(savedTask);
+                taskChangeLogService.recordChange(id);
+            }
+            logger.info("Successfully patched task id: {}", id);
+            return ResponseEntity.ok().eTag(ETags.of(savedTask)).body(savedTask);
+        } catch (DataIntegrityViolationException e) {
+            if (DuplicateKeys.isDuplicateTitle(e)) {
+                logger.warn("Attempted to patch task id: {} with duplicate title: '{}'", id, patchRequest.getTitle());
+                throw duplicateTitle(patchRequest.getTitle());
+            }
+            logger.error("Database error while patching task id: {}", id, e);
+            throw e;
         } finally {
-            MDC.clear();
+            MDC.remove("taskId");
+        }
+    }
+
+    // A write that affected no row: tell a missing task from a concurrent modification
+    private <T> ResponseEntity<T> writeNotApplied(Long id, List<Long> expectedVersions) {
+        if (expectedVersions != null && taskService.existsById(id)) {
+            logger.warn("Rejected write to task id: {} based on outdated versions: {}", id, expectedVersions);
+            throw ETags.preconditionFailed(id);
         }
+        logger.warn("Attempted to write non-existent task with id: {}", id);
+        return ResponseEntity.notFound().build();
+    }
+
+    static ConflictException duplicateTitle(String title) {
+        return new ConflictException("A task with the title '" + title + "' already exists", "title", title);
     }
 
     @Override
-    public ResponseEntity<Void> deleteTask(Long id) {
+    public ResponseEntity<Void> deleteTask(Long id, String ifMatch) {
         logger.info("Deleting task with id: {}", id);
         
         MDC.put("taskId", id.toString());
         
         try {
-            if (taskService.findById(id).isEmpty()) {
-                logger.warn("Attempted to delete non-existent task with id: {}", id);
-                return ResponseEntity.notFound().build();
+            List<Long> expectedVersions = ETags.expectedVersions(id, ifMatch);
+            Optional<Task.Status> previousStatus = taskService.deleteById(id, expectedVersions);
+            if (previousStatus.isEmpty()) {
+                return writeNotApplied(id, expectedVersions);
             }
             
-            taskService.deleteById(id);
+            taskSearchIndex.remove(id);
+            taskStats.recordDeleted(previousStatus.get());
+            taskChangeLogService.recordChange(id);
             logger.info("Successfully deleted task with id: {}", id);
             return ResponseEntity.ok().build();
         } finally {
-            MDC.clear();
+            MDC.remove("taskId");
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,99 @@
+package defsec.crud.facade;
+
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.exception.PreconditionFailedException;
+import defsec.crud.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timers of facade calls, one per operation and outcome (task.facade.requests{operation, outcome}).
+ * All timers are registered up front, so recording a call is one array lookup and one Timer.record,
+ * with no tag building or registry lookup on the request path.
+ */
+final class TaskFacadeTimers {
+
+    static final String METRIC_NAME = "task.facade.requests";
+
+    enum Operation {
+        GET_ALL_TASKS("getAllTasks"),
+        SEARCH_TASKS("searchTasks"),
+        GET_TASK_STATS("getTaskStats"),
+        EXPORT_TASKS("exportTasks"),
+        GET_TASK_BY_ID("getTaskById"),
+        CREATE_TASK("createTask"),
+        CREATE_TASK_ASYNC("createTaskAsync"),
+        GET_CREATE_STATUS("getCreateStatus"),
+        CREATE_TASKS("createTasks"),
+        UPDATE_TASK("updateTask"),
+        PATCH_TASK("patchTask"),
+        DELETE_TASK("deleteTask");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    enum Outcome {
+        OK,
+        NOT_FOUND,
+        // Duplicate title, or If-Match based on an outdated version
+        CONFLICT,
+        // Rejected request parameters
+        INVALID,
+        // Refused for lack of capacity (429)
+        REJECTED,
+        ERROR;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private final Timer[][] timers = new Timer[Operation.values().length][Outcome.values().length];
+
+    TaskFacadeTimers(MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            for (Outcome outcome : Outcome.values()) {
+                timers[operation.ordinal()][outcome.ordinal()] = Timer.builder(METRIC_NAME)
+                    .description("Task facade calls")
+                    .tag("operation", operation.tag)
+                    .tag("outcome", outcome.tag)
+                    .register(meterRegistry);
+            }
+        }
+    }
+
+    /**
+     * Records a call that started at {@code startNanos} (System.nanoTime) and ends now
+     */
+    void record(Operation operation, Outcome outcome, long startNanos) {
+        timers[operation.ordinal()][outcome.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    static Outcome outcomeOf(Object result) {
+        if (result instanceof ResponseEntity<?> response && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_FOUND)) {
+            return Outcome.NOT_FOUND;
+        }
+        return Outcome.OK;
+    }
+
+    static Outcome outcomeOf(Throwable failure) {
+        if (failure instanceof ConflictException || failure instanceof PreconditionFailedException) {
+            return Outcome.CONFLICT;
+        }
+        if (failure instanceof InvalidParameterException) {
+            return Outcome.INVALID;
+        }
+        if (failure instanceof TooManyRequestsException) {
+            return Outcome.REJECTED;
+        }
+        return Outcome.ERROR;
+    }
+}
@@ -0,0 +1,150 @@
+package defsec.crud.facade;
+
+import defsec.crud.dto.TaskCursor;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.repository.TaskPageQuery;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Validated parameters of one GET /tasks page, shared by the servlet and the reactive facade
+ */
+final class TaskListParameters {
+
+    private final int pageSize;
+    private final TaskPageQuery.Sort sort;
+    private final Task.Status status;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+    private final String after;
+    private final TaskCursor cursor;
+
+    private TaskListParameters(int pageSize, TaskPageQuery.Sort sort, Task.Status status, LocalDateTime createdFrom,
+                               LocalDateTime createdTo, String after, TaskCursor cursor) {
+        this.pageSize = pageSize;
+        this.sort = sort;
+        this.status = status;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+        this.after = after;
+        this.cursor = cursor;
+    }
+
+    /**
+     * @throws InvalidParameterException if a parameter is malformed, the cursor belongs to another sort,
+     *         or a creation time filter is combined with an id sort
+     */
+    static TaskListParameters parse(TaskListRequest request, int defaultPageSize, int maxPageSize) {
+        Integer limit = request.getLimit();
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1) {
+            throw new InvalidParameterException(
+                "Invalid limit: '" + limit + "'. Expected a positive integer.", "limit");
+        }
+        pageSize = Math.min(pageSize, maxPageSize);
+
+        TaskPageQuery.Sort sort = parseSort(request.getSort());
+        Task.Status status = parseStatus(request.getStatus());
+        LocalDateTime createdFrom = parseTimestamp(request.getCreatedFrom(), "createdFrom");
+        LocalDateTime createdTo = parseTimestamp(request.getCreatedTo(), "createdTo");
+        if ((createdFrom != null || createdTo != null) && !sort.isByCreatedAt()) {
+            // Only a createdAt order lets the created_at range be read from an index without sorting
+            throw new InvalidParameterException(
+                "createdFrom and createdTo require sort=createdAt or sort=-createdAt.", "sort");
+        }
+        String after = request.getAfter();
+        TaskCursor cursor = after == null || after.isEmpty() ? null : TaskCursor.decode(after);
+        if (cursor != null && (!cursor.getSort().equals(sort.getParameter())
+                || sort.isByCreatedAt() && cursor.getLastCreatedAt() == null)) {
+            throw new InvalidParameterException(
+                "Invalid cursor: '" + after + "'. It was issued for a different sort.", "after");
+        }
+        return new TaskListParameters(pageSize, sort, status, createdFrom, createdTo, after, cursor);
+    }
+
+    int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @param changeMarker the latest change id, read before the rows: a change committed in between only makes the tag older
+     * @param unloggedChanges the local changes missing from the change log, which did not raise the change id
+     * @return the ETag of the page
+     */
+    String etag(long changeMarker, long unloggedChanges) {
+        String marker = unloggedChanges == 0 ? String.valueOf(changeMarker) : changeMarker + "+" + unloggedChanges;
+        return ETags.strong("tasks." + marker + "."
+            + String.join(".", sort.getParameter(), Objects.toString(status, ""), Objects.toString(createdFrom, ""),
+                          Objects.toString(createdTo, ""), Objects.toString(after, ""), String.valueOf(pageSize)));
+    }
+
+    /**
+     * Fetches one extra row to learn whether a next page exists without counting
+     */
+    TaskPageQuery pageQuery() {
+        return new TaskPageQuery(status, createdFrom, createdTo, sort,
+            cursor != null ? cursor.getLastId() : null, cursor != null ? cursor.getLastCreatedAt() : null, pageSize + 1);
+    }
+
+    /**
+     * @param tasks the tasks of the page, without the extra row
+     * @return the encoded cursor continuing after the last of them
+     */
+    String nextCursor(List<Task> tasks) {
+        Task last = tasks.get(tasks.size() - 1);
+        return new TaskCursor(sort.getParameter(), last.getId(), sort.isByCreatedAt() ? last.getCreatedAt() : null)
+            .encode();
+    }
+
+    @Override
+    public String toString() {
+        return "status: " + status + ", created from: " + createdFrom + " to: " + createdTo
+            + ", sort: " + sort.getParameter() + ", after id: " + (cursor != null ? cursor.getLastId() : null)
+            + ", page size: " + pageSize;
+    }
+
+    private static TaskPageQuery.Sort parseSort(String value) {
+        if (value == null || value.isEmpty()) {
+            return TaskPageQuery.Sort.ID;
+        }
+        TaskPageQuery.Sort sort = TaskPageQuery.Sort.fromParameter(value);
+        if (sort == null) {
+            throw new InvalidParameterException(
+                "Invalid sort: '" + value + "'. Expected one of: id, -id, createdAt, -createdAt.", "sort");
+        }
+        return sort;
+    }
+
+    private static Task.Status parseStatus(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Task.Status.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidParameterException(
+                "Invalid status: '" + value + "'. Expected one of: PENDING, COMPLETED.", "status");
+        }
+    }
+
+    // Timestamps are exchanged in UTC, like the createdAt and updatedAt fields of a task
+    private static LocalDateTime parseTimestamp(String value, String parameter) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return LocalDateTime.ofInstant(Instant.parse(value), ZoneOffset.UTC);
+        } catch (DateTimeParseException e) {
+            throw new InvalidParameterException(
+                "Invalid " + parameter + ": '" + value + "'. Expected a UTC timestamp such as 2025-01-15T00:00:00Z.",
+                parameter);
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package defsec.crud.facade;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import defsec.crud.cache.TaskSearchIndex;
+import defsec.crud.cache.TaskStats;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.TooManyRequestsException;
+import defsec.crud.service.TaskBatchService;
+import defsec.crud.service.TaskChangeLogService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind for POST /tasks with Prefer: respond-async. Request threads only queue the validated task
+ * and return; a single writer thread takes queued tasks in batches of up to defsec.write-behind.batch-size,
+ * or whatever arrived within defsec.write-behind.max-delay of the first one, and inserts each batch with
+ * {@link TaskBatchService} in one transaction of multi-row INSERTs.
+ *
+ * The queue is lock-free and bounded by defsec.write-behind.capacity: a request that finds it full is refused
+ * with 429. The outcome of each request is kept for defsec.write-behind.status-retention, in memory on the node
+ * that accepted it, for at most defsec.write-behind.status-capacity requests: under a sustained load the oldest
+ * are evicted earlier, and their status is no longer found. Tasks still queued when the node stops are written before it exits, but are lost if the
+ * process dies.
+ */
+@Component
+public class TaskWriteBehind {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskWriteBehind.class);
+
+    @Value("${defsec.write-behind.capacity:10000}")
+    private int capacity;
+
+    @Value("${defsec.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${defsec.write-behind.max-delay:20ms}")
+    private Duration maxDelay;
+
+    @Value("${defsec.write-behind.status-retention:10m}")
+    private Duration statusRetention;
+
+    @Value("${defsec.write-behind.status-capacity:100000}")
+    private long statusCapacity;
+
+    @Autowired
+    private TaskBatchService taskBatchService;
+
+    @Autowired
+    private TaskTitleFilter taskTitleFilter;
+
+    @Autowired
+    private TaskSearchIndex taskSearchIndex;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Autowired
+    private TaskChangeLogService taskChangeLogService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private record Queued(String requestId, Task task) {
+    }
+
+    private final ConcurrentLinkedQueue<Queued> queue = new ConcurrentLinkedQueue<>();
+    // Tasks queued or being written; reserved before a task is queued, released once its batch is written
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private Cache<String, TaskCreateStatus> statuses;
+
+    private Thread writer;
+    // Set by the writer before it parks without a deadline, so submit knows to wake it
+    private volatile boolean writerIdle;
+    private volatile boolean running;
+
+    @PostConstruct
+    void init() {
+        statuses = CacheBuilder.newBuilder()
+            .maximumSize(statusCapacity)
+            .expireAfterWrite(statusRetention)
+            .build();
+        Gauge.builder("task.write-behind.pending", pending, AtomicInteger::get)
+            .description("Tasks accepted for asynchronous create and not written yet")
+            .register(meterRegistry);
+        running = true;
+        writer = new Thread(this::run, "task-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops taking tasks and waits for the queued ones to be written
+     */
+    @PreDestroy
+    void close() {
+        running = false;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Queues a validated task for the writer
+     * @return the PENDING status of the request, under a new request id
+     * @throws TooManyRequestsException if the queue is full, or the node is shutting down
+     */
+    public TaskCreateStatus submit(Task task) {
+        int reserved;
+        do {
+            reserved = pending.get();
+            if (reserved >= capacity || !running) {
+                throw new TooManyRequestsException("Too many tasks are waiting to be created; retry later", 1);
+            }
+        } while (!pending.compareAndSet(reserved, reserved + 1));
+
+        TaskCreateStatus status = TaskCreateStatus.pending(UUID.randomUUID().toString(), task.getTitle());
+        statuses.put(status.getRequestId(), status);
+        queue.offer(new Queued(status.getRequestId(), task));
+        // Wake the writer if it waits for a first task, or for a batch that is now full
+        if (writerIdle || reserved + 1 >= batchSize) {
+            LockSupport.unpark(writer);
+        }
+        return status;
+    }
+
+    /**
+     * @return the status of a request accepted on this node, empty if unknown or expired
+     */
+    public Optional<TaskCreateStatus> status(String requestId) {
+        return Optional.ofNullable(statuses.getIfPresent(requestId));
+    }
+
+    private void run() {
+        List<Queued> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Queued first = queue.poll();
+            if (first == null) {
+                if (!running) {
+                    if (pending.get() == 0) {
+                        return;
+                    }
+                    // Reserved by a submit that has not queued its task yet
+                    Thread.onSpinWait();
+                    continue;
+                }
+                writerIdle = true;
+                // Checked again after the flag is set: a task queued meanwhile either is seen here or unparks
+                if (queue.isEmpty()) {
+                    LockSupport.park(this);
+                }
+                writerIdle = false;
+                continue;
+            }
+
+            batch.add(first);
+            long deadline = System.nanoTime() + maxDelay.toNanos();
+            while (batch.size() < batchSize) {
+                Queued next = queue.poll();
+                if (next != null) {
+                    batch.add(next);
+                    continue;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !running) {
+                    break;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                logger.error("Unexpected error after writing {} queued tasks", batch.size(), e);
+            }
+            pending.addAndGet(-batch.size());
+            batch.clear();
+        }
+    }
+
+    private void write(List<Queued> batch) {
+        List<Task> tasks = new ArrayList<>(batch.size());
+        for (Queued queued : batch) {
+            tasks.add(queued.task());
+        }
+
+        List<Long> ids;
+        try {
+            ids = taskBatchService.createAll(tasks);
+        } catch (RuntimeException e) {
+            logger.error("Could not write {} queued tasks", batch.size(), e);
+            for (Queued queued : batch) {
+                statuses.put(queued.requestId(), TaskCreateStatus.failed(queued.requestId(), queued.task().getTitle()));
+            }
+            return;
+        }
+
+        List<Long> createdIds = new ArrayList<>(ids.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Queued queued = batch.get(i);
+            Task task = queued.task();
+            Long id = ids.get(i);
+            if (id != null) {
+                taskTitleFilter.add(task.getTitle());
+                taskSearchIndex.index(task);
+                taskStats.recordCreated(task.getStatus());
+                createdIds.add(id);
+                statuses.put(queued.requestId(), TaskCreateStatus.created(queued.requestId(), id, task.getTitle()));
+            } else {
+                statuses.put(queued.requestId(), TaskCreateStatus.conflict(queued.requestId(), task.getTitle()));
+            }
+        }
+        taskChangeLogService.recordChanges(createdIds);
+        logger.debug("Wrote {} queued tasks, {} created", batch.size(), createdIds.size());
+    }
+}
@@ -0,0 +1,104 @@
+package defsec.crud.facade;
+
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import defsec.crud.facade.TaskFacadeTimers.Operation;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Times every call to {@link ReactiveTaskFacadeImpl} by operation and outcome, like {@link TimedTaskFacade}.
+ * A call is timed from subscription to the result or error signal.
+ */
+@Primary
+@Component
+@Profile("reactive")
+public class TimedReactiveTaskFacade implements ReactiveTaskFacade {
+
+    @Autowired
+    private ReactiveTaskFacadeImpl delegate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TaskFacadeTimers timers;
+
+    @PostConstruct
+    void init() {
+        timers = new TaskFacadeTimers(meterRegistry);
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<Task>>> getAllTasks(TaskListRequest request, String ifNoneMatch) {
+        return timed(Operation.GET_ALL_TASKS, () -> delegate.getAllTasks(request, ifNoneMatch));
+    }
+
+    @Override
+    public Mono<ResponseEntity<List<Task>>> searchTasks(String query, Integer limit) {
+        return timed(Operation.SEARCH_TASKS, () -> delegate.searchTasks(query, limit));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskStatsResponse>> getTaskStats() {
+        return timed(Operation.GET_TASK_STATS, () -> delegate.getTaskStats());
+    }
+
+    @Override
+    public Mono<ResponseEntity<Flux<Task>>> exportTasks(String format) {
+        // Times the start of the export only; the rows are streamed after the response headers
+        return timed(Operation.EXPORT_TASKS, () -> delegate.exportTasks(format));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Task>> getTaskById(Long id, String ifNoneMatch) {
+        return timed(Operation.GET_TASK_BY_ID, () -> delegate.getTaskById(id, ifNoneMatch));
+    }
+
+    @Override
+    public Mono<Task> createTask(Task task) {
+        return timed(Operation.CREATE_TASK, () -> delegate.createTask(task));
+    }
+
+    @Override
+    public Mono<ResponseEntity<TaskBatchResponse>> createTasks(List<TaskRequest> taskRequests) {
+        return timed(Operation.CREATE_TASKS, () -> delegate.createTasks(taskRequests));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Task>> updateTask(Long id, TaskRequest taskRequest, String ifMatch) {
+        return timed(Operation.UPDATE_TASK, () -> delegate.updateTask(id, taskRequest, ifMatch));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Task>> patchTask(Long id, TaskPatchRequest patchRequest, String ifMatch) {
+        return timed(Operation.PATCH_TASK, () -> delegate.patchTask(id, patchRequest, ifMatch));
+    }
+
+    @Override
+    public Mono<ResponseEntity<Void>> deleteTask(Long id, String ifMatch) {
+        return timed(Operation.DELETE_TASK, () -> delegate.deleteTask(id, ifMatch));
+    }
+
+    private <T> Mono<T> timed(Operation operation, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return call.get()
+                .doOnSuccess(result -> timers.record(operation, TaskFacadeTimers.outcomeOf(result), start))
+                .doOnError(failure -> timers.record(operation, TaskFacadeTimers.outcomeOf(failure), start));
+        });
+    }
+}
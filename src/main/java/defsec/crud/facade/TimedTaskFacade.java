@@ -0,0 +1,175 @@
+package defsec.crud.facade;
+
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import defsec.crud.facade.TaskFacadeTimers.Operation;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+
+/**
+ * Times every call to {@link TaskFacadeImpl} by operation and outcome (see {@link TaskFacadeTimers}).
+ * Injected wherever a TaskFacade is needed, as the primary implementation.
+ * The reactive stack is timed by {@link TimedReactiveTaskFacade}.
+ */
+@Primary
+@Component
+@Profile("!reactive")
+public class TimedTaskFacade implements TaskFacade {
+
+    @Autowired
+    private TaskFacadeImpl delegate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TaskFacadeTimers timers;
+
+    @PostConstruct
+    void init() {
+        timers = new TaskFacadeTimers(meterRegistry);
+    }
+
+    @Override
+    public ResponseEntity<List<Task>> getAllTasks(TaskListRequest request, String ifNoneMatch) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.GET_ALL_TASKS, start, delegate.getAllTasks(request, ifNoneMatch));
+        } catch (RuntimeException e) {
+            throw failed(Operation.GET_ALL_TASKS, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<List<Task>> searchTasks(String query, Integer limit) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.SEARCH_TASKS, start, delegate.searchTasks(query, limit));
+        } catch (RuntimeException e) {
+            throw failed(Operation.SEARCH_TASKS, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<TaskStatsResponse> getTaskStats() {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.GET_TASK_STATS, start, delegate.getTaskStats());
+        } catch (RuntimeException e) {
+            throw failed(Operation.GET_TASK_STATS, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> exportTasks(String format) {
+        // Times the start of the export only; the rows are streamed after the call returns
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.EXPORT_TASKS, start, delegate.exportTasks(format));
+        } catch (RuntimeException e) {
+            throw failed(Operation.EXPORT_TASKS, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Task> getTaskById(Long id, String ifNoneMatch) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.GET_TASK_BY_ID, start, delegate.getTaskById(id, ifNoneMatch));
+        } catch (RuntimeException e) {
+            throw failed(Operation.GET_TASK_BY_ID, start, e);
+        }
+    }
+
+    @Override
+    public Task createTask(Task task) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.CREATE_TASK, start, delegate.createTask(task));
+        } catch (RuntimeException e) {
+            throw failed(Operation.CREATE_TASK, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<TaskCreateStatus> createTaskAsync(Task task) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.CREATE_TASK_ASYNC, start, delegate.createTaskAsync(task));
+        } catch (RuntimeException e) {
+            throw failed(Operation.CREATE_TASK_ASYNC, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<TaskCreateStatus> getCreateStatus(String requestId) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.GET_CREATE_STATUS, start, delegate.getCreateStatus(requestId));
+        } catch (RuntimeException e) {
+            throw failed(Operation.GET_CREATE_STATUS, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<TaskBatchResponse> createTasks(List<TaskRequest> taskRequests) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.CREATE_TASKS, start, delegate.createTasks(taskRequests));
+        } catch (RuntimeException e) {
+            throw failed(Operation.CREATE_TASKS, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Task> updateTask(Long id, TaskRequest taskRequest, String ifMatch) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.UPDATE_TASK, start, delegate.updateTask(id, taskRequest, ifMatch));
+        } catch (RuntimeException e) {
+            throw failed(Operation.UPDATE_TASK, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Task> patchTask(Long id, TaskPatchRequest patchRequest, String ifMatch) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.PATCH_TASK, start, delegate.patchTask(id, patchRequest, ifMatch));
+        } catch (RuntimeException e) {
+            throw failed(Operation.PATCH_TASK, start, e);
+        }
+    }
+
+    @Override
+    public ResponseEntity<Void> deleteTask(Long id, String ifMatch) {
+        long start = System.nanoTime();
+        try {
+            return succeeded(Operation.DELETE_TASK, start, delegate.deleteTask(id, ifMatch));
+        } catch (RuntimeException e) {
+            throw failed(Operation.DELETE_TASK, start, e);
+        }
+    }
+
+    private <T> T succeeded(Operation operation, long start, T result) {
+        timers.record(operation, TaskFacadeTimers.outcomeOf(result), start);
+        return result;
+    }
+
+    private RuntimeException failed(Operation operation, long start, RuntimeException failure) {
+        timers.record(operation, TaskFacadeTimers.outcomeOf(failure), start);
+        return failure;
+    }
+}
@@ -0,0 +1,219 @@
+package defsec.crud.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the database in the background and keeps the result, so health endpoints answer from memory
+ * however often they are called, and never wait for or take a connection from the request pool.
+ *
+ * The probe holds its own connection, opened outside the pool and reopened after a failure, and runs on its
+ * own thread: a hanging check cannot hold up the scheduled jobs, nor be held up by them. A result older than
+ * defsec.health.max-age counts as down, so a probe stuck in a network call still shows.
+ */
+@Component
+public class DatabaseHealthProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(DatabaseHealthProbe.class);
+
+    /**
+     * Result of the last check
+     * @param error why the database is down, null when up
+     */
+    public record DatabaseHealth(boolean up, Instant checkedAt, long latencyMicros, String error) {
+    }
+
+    /**
+     * Usage of the request connection pool, read when asked
+     */
+    public record PoolUsage(int active, int idle, int pending, int max) {
+
+        double usedFraction() {
+            return max > 0 ? (double) active / max : 0;
+        }
+    }
+
+    /**
+     * Whether this node should receive traffic
+     * @param reason why not, null when ready
+     * @param pool null until the pool has started
+     */
+    public record Readiness(boolean ready, String reason, DatabaseHealth database, PoolUsage pool) {
+    }
+
+    private static final DatabaseHealth NOT_CHECKED = new DatabaseHealth(false, null, -1, "Not checked yet");
+
+    @Value("${defsec.health.probe-interval:1s}")
+    private Duration probeInterval;
+
+    @Value("${defsec.health.probe-timeout:2s}")
+    private Duration probeTimeout;
+
+    @Value("${defsec.health.max-age:5s}")
+    private Duration maxAge;
+
+    @Value("${defsec.health.readiness.max-pool-usage:0.9}")
+    private double maxPoolUsage;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private Clock clock = Clock.systemUTC();
+
+    private volatile DatabaseHealth health = NOT_CHECKED;
+
+    // Used by the probe thread only
+    private DataSource probeDataSource;
+    private Connection connection;
+
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        probeDataSource = probeDataSource();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "db-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::probe, 0, probeInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Unpooled: getConnection opens a new physical connection, with the primary's URL and credentials
+    private DataSource probeDataSource() {
+        SimpleDriverDataSource probe = dataSourceProperties.initializeDataSourceBuilder()
+            .type(SimpleDriverDataSource.class)
+            .build();
+        String url = dataSourceProperties.determineUrl();
+        if (url != null && url.startsWith("jdbc:mysql:")) {
+            // Without these, opening the connection or a check on a dead network can block indefinitely
+            Properties timeouts = new Properties();
+            timeouts.setProperty("connectTimeout", Long.toString(probeTimeout.toMillis()));
+            timeouts.setProperty("socketTimeout", Long.toString(probeTimeout.toMillis()));
+            probe.setConnectionProperties(timeouts);
+        }
+        return probe;
+    }
+
+    @PreDestroy
+    void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+        closeConnection();
+    }
+
+    /**
+     * Checks the database over the probe connection and replaces the kept result
+     */
+    void probe() {
+        long start = System.nanoTime();
+        try {
+            if (connection == null) {
+                connection = probeDataSource.getConnection();
+            }
+            int timeoutSeconds = (int) Math.max(1, (probeTimeout.toMillis() + 999) / 1000);
+            if (connection.isValid(timeoutSeconds)) {
+                record(new DatabaseHealth(true, clock.instant(), (System.nanoTime() - start) / 1000, null));
+                return;
+            }
+            record(new DatabaseHealth(false, clock.instant(), -1, "Connection is not valid"));
+        } catch (SQLException | RuntimeException e) {
+            record(new DatabaseHealth(false, clock.instant(), -1, e.getMessage()));
+        }
+        // Reopened on the next check
+        closeConnection();
+    }
+
+    private void record(DatabaseHealth result) {
+        if (result.up() != health.up()) {
+            if (result.up()) {
+                logger.info("Database is up");
+            } else {
+                logger.warn("Database is down: {}", result.error());
+            }
+        }
+        health = result;
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.debug("Could not close the health probe connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * @return the result of the last check, marked down if it is older than the maximum age
+     */
+    public DatabaseHealth databaseHealth() {
+        DatabaseHealth last = health;
+        if (last.up() && last.checkedAt().plus(maxAge).isBefore(clock.instant())) {
+            return new DatabaseHealth(false, last.checkedAt(), last.latencyMicros(),
+                "Last check is older than " + maxAge.toMillis() + " ms");
+        }
+        return last;
+    }
+
+    /**
+     * Ready when the database is up and the request pool has room: no request waits for a connection and
+     * fewer than defsec.health.readiness.max-pool-usage of the connections are in use. A load balancer then
+     * sends new requests elsewhere before they would queue for a connection here.
+     */
+    public Readiness readiness() {
+        DatabaseHealth database = databaseHealth();
+        PoolUsage pool = poolUsage();
+        if (!database.up()) {
+            return new Readiness(false, "Database is down", database, pool);
+        }
+        if (pool != null && (pool.pending() > 0 || pool.usedFraction() >= maxPoolUsage)) {
+            return new Readiness(false, "Connection pool is saturated", database, pool);
+        }
+        return new Readiness(true, null, database, pool);
+    }
+
+    // The request pool, or null while it has not started; with read replicas, the primary's pool
+    private PoolUsage poolUsage() {
+        try {
+            if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+                return null;
+            }
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool == null) {
+                return null;
+            }
+            return new PoolUsage(pool.getActiveConnections(), pool.getIdleConnections(),
+                                 pool.getThreadsAwaitingConnection(), hikari.getMaximumPoolSize());
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
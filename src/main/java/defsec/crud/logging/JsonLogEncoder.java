@@ -0,0 +1,204 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.core.encoder.EncoderBase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+/**
+ * Writes each event as one line of JSON with the fields of the logstash encoder it replaces:
+ * <pre>
+ * {"@timestamp":"2025-01-15T14:30:45.123Z","level":"INFO","logger_name":"...","message":"...",
+ *  &lt;MDC entries&gt;,"stack_trace":"..."}
+ * </pre>
+ * The timestamp is in UTC. Fields are escaped and encoded to UTF-8 straight into a buffer reused for every
+ * event, with field names pre-encoded and the date and time part of the timestamp rendered once per second, so
+ * the only allocation per event is the array {@link #encode} has to return. Events are encoded one at a time;
+ * behind a {@link RingBufferAppender}, that is always on its worker thread.
+ */
+public class JsonLogEncoder extends EncoderBase<ILoggingEvent> {
+
+    private static final int INITIAL_BUFFER = 1024;
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+    private static final byte[] TIMESTAMP_FIELD = ascii("{\"@timestamp\":\"");
+    private static final byte[] LEVEL_FIELD = ascii("\",\"level\":\"");
+    private static final byte[] LOGGER_FIELD = ascii("\",\"logger_name\":");
+    private static final byte[] MESSAGE_FIELD = ascii(",\"message\":");
+    private static final byte[] STACK_TRACE_FIELD = ascii(",\"stack_trace\":");
+    private static final byte[] END = ascii("}\n");
+    private static final byte[] HEX = ascii("0123456789abcdef");
+    private static final DateTimeFormatter SECOND_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.").withZone(ZoneOffset.UTC);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final BiConsumer<String, String> mdcWriter = this::writeMdcEntry;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER];
+    private int length;
+    private long cachedSecond = Long.MIN_VALUE;
+    private byte[] cachedSecondText;
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public byte[] headerBytes() {
+        return null;
+    }
+
+    @Override
+    public byte[] encode(ILoggingEvent event) {
+        lock.lock();
+        try {
+            length = 0;
+            write(TIMESTAMP_FIELD);
+            writeTimestamp(event.getTimeStamp());
+            write(LEVEL_FIELD);
+            writeAscii(event.getLevel().levelStr);
+            write(LOGGER_FIELD);
+            writeString(event.getLoggerName());
+            write(MESSAGE_FIELD);
+            writeString(event.getFormattedMessage());
+            Map<String, String> mdc = event.getMDCPropertyMap();
+            if (mdc != null && !mdc.isEmpty()) {
+                mdc.forEach(mdcWriter);
+            }
+            IThrowableProxy throwable = event.getThrowableProxy();
+            if (throwable != null) {
+                write(STACK_TRACE_FIELD);
+                writeString(ThrowableProxyUtil.asString(throwable));
+            }
+            write(END);
+            byte[] encoded = Arrays.copyOf(buffer, length);
+            if (buffer.length > MAX_RETAINED_BUFFER) {
+                // Do not keep the room taken by an exceptionally large event, e.g. a deep stack trace
+                buffer = new byte[INITIAL_BUFFER];
+            }
+            return encoded;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public byte[] footerBytes() {
+        return null;
+    }
+
+    private void writeMdcEntry(String key, String value) {
+        writeByte(',');
+        writeString(key);
+        writeByte(':');
+        writeString(value);
+    }
+
+    private void writeTimestamp(long epochMilli) {
+        long second = Math.floorDiv(epochMilli, 1000);
+        if (second != cachedSecond) {
+            cachedSecondText = ascii(SECOND_FORMATTER.format(Instant.ofEpochSecond(second)));
+            cachedSecond = second;
+        }
+        write(cachedSecondText);
+        int milli = (int) Math.floorMod(epochMilli, 1000);
+        ensureCapacity(4);
+        buffer[length++] = (byte) ('0' + milli / 100);
+        buffer[length++] = (byte) ('0' + milli / 10 % 10);
+        buffer[length++] = (byte) ('0' + milli % 10);
+        buffer[length++] = 'Z';
+    }
+
+    // A JSON string, or null
+    private void writeString(String value) {
+        if (value == null) {
+            writeAscii("null");
+            return;
+        }
+        // Worst case: six bytes per char, for escaped control characters
+        ensureCapacity(value.length() * 6 + 2);
+        byte[] out = buffer;
+        int position = length;
+        out[position++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                out[position++] = (byte) c;
+            } else if (c < 0x80) {
+                position = writeEscape(out, position, c);
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xc0 | c >> 6);
+                out[position++] = (byte) (0x80 | c & 0x3f);
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[position++] = (byte) (0xf0 | codePoint >> 18);
+                out[position++] = (byte) (0x80 | codePoint >> 12 & 0x3f);
+                out[position++] = (byte) (0x80 | codePoint >> 6 & 0x3f);
+                out[position++] = (byte) (0x80 | codePoint & 0x3f);
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate: not encodable in UTF-8
+                out[position++] = '?';
+            } else {
+                out[position++] = (byte) (0xe0 | c >> 12);
+                out[position++] = (byte) (0x80 | c >> 6 & 0x3f);
+                out[position++] = (byte) (0x80 | c & 0x3f);
+            }
+        }
+        out[position++] = '"';
+        length = position;
+    }
+
+    private static int writeEscape(byte[] out, int position, char c) {
+        out[position++] = '\\';
+        switch (c) {
+            case '"' -> out[position++] = '"';
+            case '\\' -> out[position++] = '\\';
+            case '\n' -> out[position++] = 'n';
+            case '\r' -> out[position++] = 'r';
+            case '\t' -> out[position++] = 't';
+            case '\b' -> out[position++] = 'b';
+            case '\f' -> out[position++] = 'f';
+            default -> {
+                out[position++] = 'u';
+                out[position++] = '0';
+                out[position++] = '0';
+                out[position++] = HEX[c >> 4];
+                out[position++] = HEX[c & 0xf];
+            }
+        }
+        return position;
+    }
+
+    private void writeAscii(String text) {
+        ensureCapacity(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[length++] = (byte) text.charAt(i);
+        }
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    private void writeByte(char c) {
+        ensureCapacity(1);
+        buffer[length++] = (byte) c;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (length + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + additional));
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package defsec.crud.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded queue of pre-allocated slots for many producers and one consumer. Each slot carries a sequence number
+ * telling whose turn it is: producers claim a position with one CAS and publish the element by advancing the
+ * slot's sequence, the consumer frees the slot by advancing it again by the capacity. Nothing is allocated after
+ * construction, and {@link #offer} fails at once instead of waiting when the buffer is full.
+ */
+final class LogRingBuffer<E> {
+
+    private final int mask;
+    private final Object[] elements;
+    // For position p in slot p & mask: p while free, p + 1 once the element is published
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    // Only read and written by the consumer
+    private long head;
+    // head as of the end of the last drain, for other threads
+    private volatile long drainedHead;
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    LogRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        mask = size - 1;
+        elements = new Object[size];
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * Adds the element, from any thread
+     * @return false if the buffer is full
+     */
+    boolean offer(E element) {
+        return add(element) >= 0;
+    }
+
+    /**
+     * Adds the element, from any thread
+     * @return the position of the element, or -1 if the buffer is full
+     */
+    long add(E element) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements[index] = element;
+                    sequences.setRelease(index, position + 1);
+                    return position;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot still holds the element from one lap ago
+                return -1;
+            } else {
+                // Another producer took the position
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Hands up to max published elements to the consumer, in order; only called from the consumer thread
+     * @return the number of elements drained
+     */
+    @SuppressWarnings("unchecked")
+    int drain(Consumer<? super E> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            int index = (int) head & mask;
+            if (sequences.getAcquire(index) != head + 1) {
+                // Empty, or the producer of the next position has not published yet
+                break;
+            }
+            E element = (E) elements[index];
+            elements[index] = null;
+            sequences.setRelease(index, head + elements.length);
+            head++;
+            drained++;
+            consumer.accept(element);
+        }
+        if (drained > 0) {
+            drainedHead = head;
+        }
+        return drained;
+    }
+
+    /**
+     * @return whether the element at this position found the buffer empty: the last drain ended right before it
+     */
+    boolean isFirstAfterDrain(long position) {
+        return drainedHead == position;
+    }
+
+    /**
+     * @return the number of elements added since construction
+     */
+    long enqueued() {
+        return tail.get();
+    }
+
+    /**
+     * @return the number of claimed positions not drained yet; approximate while producers are active
+     */
+    int size() {
+        long size = tail.get() - drainedHead;
+        return (int) Math.max(0, Math.min(size, elements.length));
+    }
+}
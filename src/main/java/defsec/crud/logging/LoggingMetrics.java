@@ -0,0 +1,88 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registers metrics for the {@link RingBufferAppender}s and {@link SamplingTurboFilter}s of the logback
+ * configuration, which Spring Boot loads before the application context starts:
+ * <ul>
+ * <li>logging.ring-buffer.enqueued and .dropped: events buffered, and dropped because the buffer was full</li>
+ * <li>logging.ring-buffer.size: events waiting to be written</li>
+ * <li>logging.ring-buffer.flush: batches written to the attached appenders, and the time taken</li>
+ * <li>logging.sampled-out: INFO events dropped by sampling</li>
+ * </ul>
+ */
+@Component
+public class LoggingMetrics {
+
+    private static final String METRIC_PREFIX = "logging.";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @PostConstruct
+    void init() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        for (RingBufferAppender appender : ringBufferAppenders(context)) {
+            String name = appender.getName();
+            FunctionCounter.builder(METRIC_PREFIX + "ring-buffer.enqueued", appender, RingBufferAppender::getEnqueuedCount)
+                .description("Log events accepted into the ring buffer")
+                .tag("appender", name)
+                .register(meterRegistry);
+            FunctionCounter.builder(METRIC_PREFIX + "ring-buffer.dropped", appender, RingBufferAppender::getDroppedCount)
+                .description("Log events dropped because the ring buffer was full")
+                .tag("appender", name)
+                .register(meterRegistry);
+            Gauge.builder(METRIC_PREFIX + "ring-buffer.size", appender, RingBufferAppender::getQueueSize)
+                .description("Log events waiting in the ring buffer")
+                .tag("appender", name)
+                .register(meterRegistry);
+            FunctionTimer.builder(METRIC_PREFIX + "ring-buffer.flush", appender,
+                    RingBufferAppender::getFlushCount, RingBufferAppender::getFlushTimeNanos, TimeUnit.NANOSECONDS)
+                .description("Batches of log events written to the attached appenders")
+                .tag("appender", name)
+                .register(meterRegistry);
+        }
+        for (TurboFilter filter : context.getTurboFilterList()) {
+            if (filter instanceof SamplingTurboFilter sampling) {
+                FunctionCounter.builder(METRIC_PREFIX + "sampled-out", sampling, SamplingTurboFilter::getSampledOutCount)
+                    .description("INFO log events dropped by sampling")
+                    .register(meterRegistry);
+            }
+        }
+    }
+
+    // Appenders of any logger; each is listed once, however many loggers share it
+    static Set<RingBufferAppender> ringBufferAppenders(LoggerContext context) {
+        Set<RingBufferAppender> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof RingBufferAppender appender) {
+                    appenders.add(appender);
+                }
+            }
+        }
+        return appenders;
+    }
+}
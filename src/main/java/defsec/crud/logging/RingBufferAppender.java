@@ -0,0 +1,285 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous appender that never blocks the logging thread. Events go into a {@link LogRingBuffer} of
+ * bufferSize pre-allocated slots; when it is full the event is dropped and counted, and a WARN event reporting
+ * the drops is written once the buffer has room again. A single worker thread hands buffered events to the
+ * attached appenders in batches, then flushes those with immediateFlush off, so a batch costs one write to disk.
+ * Once the buffer is empty the worker parks; the event that makes the buffer non-empty again unparks it, and
+ * idleWaitMillis only bounds the delay should that wake-up be missed.
+ *
+ * Replaces logback's AsyncAppender, which with discardingThreshold 0 blocks callers once its queue is full, e.g.
+ * while disk I/O stalls. Counters for enqueued and dropped events and the flush time of batches are exposed as
+ * metrics by {@link LoggingMetrics}.
+ *
+ * <pre>
+ * &lt;appender name="ASYNC_FILE" class="defsec.crud.logging.RingBufferAppender"&gt;
+ *     &lt;appender-ref ref="FILE"/&gt;
+ *     &lt;bufferSize&gt;8192&lt;/bufferSize&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    private static final int DEFAULT_BUFFER_SIZE = 8192;
+    private static final int BATCH_SIZE = 256;
+    private static final long DROP_REPORT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final Consumer<ILoggingEvent> deliver = appenders::appendLoopOnAppenders;
+
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+    private boolean includeCallerData;
+    private int idleWaitMillis = 100;
+    private int maxFlushTimeMillis = 1000;
+
+    private LogRingBuffer<ILoggingEvent> buffer;
+    private final LongAdder dropped = new LongAdder();
+    // Written by the worker only
+    private volatile long flushes;
+    private volatile long flushNanos;
+    private long droppedReported;
+    private long lastDropReport;
+
+    // Attached appenders writing to a stream, flushed after each batch unless they flush every event
+    private volatile List<OutputStreamAppender<ILoggingEvent>> streams = List.of();
+
+    private Thread worker;
+    private volatile boolean running;
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    // Caller data (class, method, line) can only be taken on the logging thread, and is expensive to take
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    // How long the worker waits once the buffer is empty, unless an event wakes it first
+    public void setIdleWaitMillis(int idleWaitMillis) {
+        this.idleWaitMillis = idleWaitMillis;
+    }
+
+    // How long stop waits for buffered events to be written
+    public void setMaxFlushTimeMillis(int maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No attached appenders found for [" + getName() + "]");
+            return;
+        }
+        if (bufferSize < 1) {
+            addError("Invalid bufferSize " + bufferSize + " for [" + getName() + "]");
+            return;
+        }
+        buffer = new LogRingBuffer<>(bufferSize);
+        running = true;
+        worker = new Thread(this::run, "log-ring-buffer-" + getName());
+        worker.setDaemon(true);
+        worker.start();
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        running = false;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(maxFlushTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (worker.isAlive()) {
+            addWarn("Stopped [" + getName() + "] with " + buffer.size() + " events not written yet");
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // The worker formats the event later, on another thread, with whatever this thread's state is then
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+        long position = buffer.add(event);
+        if (position < 0) {
+            dropped.increment();
+        } else if (buffer.isFirstAfterDrain(position)) {
+            // The worker may be parked on the empty buffer; later events find it awake
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void run() {
+        while (running) {
+            int drained = flush();
+            reportDrops(false);
+            if (drained == 0) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(idleWaitMillis));
+            }
+        }
+        while (flush() > 0) {
+            // Writes what was buffered before stop
+        }
+        reportDrops(true);
+        appenders.detachAndStopAllAppenders();
+    }
+
+    // Writes one batch of buffered events
+    private int flush() {
+        long started = System.nanoTime();
+        int drained = buffer.drain(deliver, BATCH_SIZE);
+        if (drained > 0) {
+            for (OutputStreamAppender<ILoggingEvent> appender : streams) {
+                if (!appender.isImmediateFlush()) {
+                    flushOutput(appender);
+                }
+            }
+            flushNanos += System.nanoTime() - started;
+            flushes++;
+        }
+        return drained;
+    }
+
+    private void flushOutput(OutputStreamAppender<ILoggingEvent> appender) {
+        OutputStream output = appender.getOutputStream();
+        if (output == null) {
+            return;
+        }
+        try {
+            output.flush();
+        } catch (IOException e) {
+            addWarn("Could not flush [" + appender.getName() + "]", e);
+        }
+    }
+
+    private void reportDrops(boolean now) {
+        long total = dropped.sum();
+        long time = System.nanoTime();
+        if (total == droppedReported || (!now && time - lastDropReport < DROP_REPORT_INTERVAL_NANOS)) {
+            return;
+        }
+        LoggerContext context = (LoggerContext) getContext();
+        LoggingEvent report = new LoggingEvent(RingBufferAppender.class.getName(),
+            context.getLogger(RingBufferAppender.class), Level.WARN,
+            "Dropped {} log events: the buffer of [{}] was full", null,
+            new Object[] {total - droppedReported, getName()});
+        appenders.appendLoopOnAppenders(report);
+        droppedReported = total;
+        lastDropReport = time;
+    }
+
+    /**
+     * @return the number of events accepted into the buffer
+     */
+    public long getEnqueuedCount() {
+        return buffer == null ? 0 : buffer.enqueued();
+    }
+
+    /**
+     * @return the number of events dropped because the buffer was full
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return the number of events waiting in the buffer
+     */
+    public int getQueueSize() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    /**
+     * @return the number of batches written
+     */
+    public long getFlushCount() {
+        return flushes;
+    }
+
+    /**
+     * @return the time spent writing batches to the attached appenders and flushing them
+     */
+    public long getFlushTimeNanos() {
+        return flushNanos;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+        if (appender instanceof OutputStreamAppender<ILoggingEvent> stream) {
+            List<OutputStreamAppender<ILoggingEvent>> updated = new ArrayList<>(streams);
+            updated.add(stream);
+            streams = List.copyOf(updated);
+        }
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+        streams = List.of();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        streams = streams.stream().filter(stream -> stream != appender).toList();
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        Appender<ILoggingEvent> appender = appenders.getAppender(name);
+        return appender != null && detachAppender(appender);
+    }
+}
@@ -0,0 +1,119 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps only a fraction of the INFO events of chosen loggers, e.g. the success logs of every facade call.
+ * WARN and ERROR events, and INFO events with an exception, are always kept. Runs before logback creates the
+ * event, so a sampled-out call costs a map lookup and a random number.
+ *
+ * Rates are set per logger and apply to its descendants, the most specific logger winning:
+ * <pre>
+ * &lt;turboFilter class="defsec.crud.logging.SamplingTurboFilter"&gt;
+ *     &lt;sampling&gt;defsec.crud.facade=0.1, defsec.crud.facade.TaskFacadeImpl=0.01&lt;/sampling&gt;
+ * &lt;/turboFilter&gt;
+ * </pre>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    private String sampling;
+    // Configured rates by logger name
+    private Map<String, Double> configured = Map.of();
+    // Resolved rate of every logger seen so far
+    private final ConcurrentHashMap<String, Double> rates = new ConcurrentHashMap<>();
+    private final LongAdder sampledOut = new LongAdder();
+
+    /**
+     * @param sampling comma-separated logger=rate pairs; rates between 0 (drop all) and 1 (keep all)
+     */
+    public void setSampling(String sampling) {
+        this.sampling = sampling;
+    }
+
+    public String getSampling() {
+        return sampling;
+    }
+
+    @Override
+    public void start() {
+        Map<String, Double> parsed = new TreeMap<>();
+        if (sampling != null) {
+            for (String entry : sampling.split(",")) {
+                if (entry.isBlank()) {
+                    continue;
+                }
+                String[] parts = entry.split("=", 2);
+                double rate;
+                try {
+                    rate = parts.length == 2 ? Double.parseDouble(parts[1].trim()) : Double.NaN;
+                } catch (NumberFormatException e) {
+                    rate = Double.NaN;
+                }
+                if (!(rate >= 0 && rate <= 1)) {
+                    addError("Invalid sampling entry '" + entry.trim() + "': expected logger=rate, rate from 0 to 1");
+                    return;
+                }
+                parsed.put(parts[0].trim(), rate);
+            }
+        }
+        configured = Map.copyOf(parsed);
+        rates.clear();
+        super.start();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params,
+                              Throwable t) {
+        // Called for every logging call, enabled or not; a null format is an isInfoEnabled() check, not an event
+        if (level != Level.INFO || format == null || t != null || configured.isEmpty()) {
+            return FilterReply.NEUTRAL;
+        }
+        Double rate = rates.get(logger.getName());
+        if (rate == null) {
+            rate = rate(logger.getName());
+            rates.putIfAbsent(logger.getName(), rate);
+        }
+        // isInfoEnabled() would call this filter again
+        if (rate >= 1 || logger.getEffectiveLevel().levelInt > Level.INFO_INT) {
+            return FilterReply.NEUTRAL;
+        }
+        if (ThreadLocalRandom.current().nextDouble() < rate) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * @return the number of events dropped by sampling
+     */
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    // The rate of the logger or its closest configured ancestor
+    private Double rate(String loggerName) {
+        String name = loggerName;
+        while (true) {
+            Double rate = configured.get(name);
+            if (rate != null) {
+                return rate;
+            }
+            int dot = name.lastIndexOf('.');
+            if (dot < 0) {
+                return 1.0;
+            }
+            name = name.substring(0, dot);
+        }
+    }
+}
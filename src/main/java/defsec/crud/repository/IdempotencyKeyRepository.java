@@ -0,0 +1,91 @@
+package defsec.crud.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * JDBC access to the idempotency_key table.
+ */
+@Repository
+public class IdempotencyKeyRepository {
+
+    /**
+     * A stored key
+     * @param statusCode null while the first request with the key runs
+     */
+    public record Entry(byte[] requestHash, Integer statusCode, String responseHeaders, String responseBody,
+                        LocalDateTime expiresAt) {
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Records that a request with the key has started
+     * @return false if the key is already stored
+     */
+    public boolean claim(byte[] keyHash, byte[] requestHash, LocalDateTime expiresAt) {
+        try {
+            jdbcTemplate.update("INSERT INTO idempotency_key (key_hash, request_hash, expires_at) VALUES (?, ?, ?)",
+                                keyHash, requestHash, Timestamp.valueOf(expiresAt));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    public Optional<Entry> find(byte[] keyHash) {
+        List<Entry> entries = jdbcTemplate.query(
+            "SELECT request_hash, status_code, response_headers, response_body, expires_at"
+                + " FROM idempotency_key WHERE key_hash = ?",
+            (rs, rowNum) -> new Entry(
+                rs.getBytes("request_hash"),
+                (Integer) rs.getObject("status_code", Integer.class),
+                rs.getString("response_headers"),
+                rs.getString("response_body"),
+                rs.getTimestamp("expires_at").toLocalDateTime()),
+            (Object) keyHash);
+        return entries.stream().findFirst();
+    }
+
+    /**
+     * Stores the response of the request that claimed the key
+     */
+    public void complete(byte[] keyHash, int statusCode, String responseHeaders, String responseBody,
+                         LocalDateTime expiresAt) {
+        jdbcTemplate.update(
+            "UPDATE idempotency_key SET status_code = ?, response_headers = ?, response_body = ?, expires_at = ?"
+                + " WHERE key_hash = ?",
+            statusCode, responseHeaders, responseBody, Timestamp.valueOf(expiresAt), keyHash);
+    }
+
+    /**
+     * Deletes a claim whose request produced no response to store
+     */
+    public void release(byte[] keyHash) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE key_hash = ? AND status_code IS NULL", (Object) keyHash);
+    }
+
+    /**
+     * Deletes the key if it expired before the cutoff
+     */
+    public void deleteExpired(byte[] keyHash, LocalDateTime cutoff) {
+        jdbcTemplate.update("DELETE FROM idempotency_key WHERE key_hash = ? AND expires_at < ?",
+                            keyHash, Timestamp.valueOf(cutoff));
+    }
+
+    /**
+     * Deletes all keys that expired before the cutoff
+     * @return the number of deleted keys
+     */
+    public int deleteExpired(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM idempotency_key WHERE expires_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
@@ -0,0 +1,55 @@
+package defsec.crud.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking access to the task_change_log table for the reactive stack.
+ * Polling and pruning stay with {@link TaskChangeLogRepository}; they run on the scheduler, not on request threads.
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskChangeLogRepository {
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    public Mono<Void> append(long taskId) {
+        return databaseClient.sql("INSERT INTO task_change_log (task_id) VALUES (:taskId)")
+            .bind("taskId", taskId)
+            .then();
+    }
+
+    /**
+     * Appends one entry per task id with a single multi-row INSERT
+     */
+    public Mono<Void> appendAll(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return Mono.empty();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO task_change_log (task_id) VALUES ");
+        for (int i = 0; i < taskIds.size(); i++) {
+            sql.append(i > 0 ? ", " : "").append("(:t").append(i).append(')');
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < taskIds.size(); i++) {
+            spec = spec.bind("t" + i, taskIds.get(i));
+        }
+        return spec.then();
+    }
+
+    /**
+     * @return the id of the newest log entry, or 0 if the log is empty
+     */
+    public Mono<Long> latestId() {
+        // Row mappers must not return null, hence COALESCE for the empty log
+        return databaseClient.sql("SELECT COALESCE(MAX(id), 0) AS latest_id FROM task_change_log")
+            .map(row -> row.get("latest_id", Long.class))
+            .one();
+    }
+}
@@ -0,0 +1,104 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.TaskIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hands out task ids for the reactive stack from blocks reserved in task_id_sequence, like
+ * {@link TaskIdGenerator} does for JPA, so both stacks can write to the same table.
+ *
+ * Nothing blocks: when the block is used up, concurrent callers wait on one shared reservation.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveTaskIdAllocator {
+
+    private static final String SEQUENCE_NAME = "task";
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @Autowired
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    @Value("${spring.jpa.properties." + TaskIdGenerator.BLOCK_SIZE_SETTING + ":" + TaskIdGenerator.DEFAULT_BLOCK_SIZE + "}")
+    private int blockSize;
+
+    private volatile Block block = new Block(0, 0);
+    // Reservation in progress, shared by every caller that found the block used up; null if none
+    private final AtomicReference<Mono<Block>> reservation = new AtomicReference<>();
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Block current = block;
+            long id = current.next();
+            if (id >= 0) {
+                return Mono.just(id);
+            }
+            return refill(current).then(nextId());
+        });
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids in a transaction of its own, committed right away to release the row lock
+     * @return the first id of the block [first, first + count)
+     */
+    public Mono<Long> reserve(int count) {
+        return databaseClient.sql("SELECT next_val FROM task_id_sequence WHERE sequence_name = :name FOR UPDATE")
+            .bind("name", SEQUENCE_NAME)
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .switchIfEmpty(Mono.error(() -> new DataAccessResourceFailureException(
+                "Missing row '" + SEQUENCE_NAME + "' in task_id_sequence")))
+            .flatMap(first -> databaseClient.sql("UPDATE task_id_sequence SET next_val = :next WHERE sequence_name = :name")
+                .bind("next", first + count)
+                .bind("name", SEQUENCE_NAME)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(first))
+            .as(reactiveTransactionalOperator::transactional);
+    }
+
+    private Mono<Block> refill(Block exhausted) {
+        Mono<Block> pending = reservation.get();
+        if (pending != null) {
+            return pending;
+        }
+        Mono<Block> created = Mono.defer(() -> {
+                // Another reservation may have completed since the caller looked
+                Block current = block;
+                return current != exhausted ? Mono.just(current)
+                    : reserve(blockSize).map(first -> new Block(first, first + blockSize)).doOnNext(next -> block = next);
+            })
+            .doFinally(signal -> reservation.set(null))
+            .cache();
+        return reservation.compareAndSet(null, created) ? created : refill(exhausted);
+    }
+
+    private static final class Block {
+
+        private final AtomicLong nextId;
+        private final long end;
+
+        Block(long first, long end) {
+            this.nextId = new AtomicLong(first);
+            this.end = end;
+        }
+
+        // The next id of this block, or -1 once it is used up
+        long next() {
+            long id = nextId.getAndIncrement();
+            return id < end ? id : -1;
+        }
+    }
+}
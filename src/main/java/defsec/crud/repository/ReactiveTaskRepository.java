@@ -0,0 +1,232 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.Task;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Non-blocking access to the task table over R2DBC, used by the reactive stack ("reactive" profile).
+ *
+ * Runs the same SQL as the JPA and JDBC repositories. Statements use named parameters, which
+ * DatabaseClient turns into the bind markers of the driver in use (? for MySQL, $1 for H2).
+ */
+@Repository
+@Profile("reactive")
+public class ReactiveTaskRepository {
+
+    private static final String SELECT =
+        "SELECT id, title, description, status, created_at, updated_at, version FROM task";
+
+    // Columns that a patch may set, keyed by Task attribute name
+    private static final Map<String, String> PATCHABLE_COLUMNS = Map.of(
+        "title", "title", "description", "description", "status", "status", "updatedAt", "updated_at");
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    /**
+     * Reads one keyset page; see {@link TaskPageQuery} for the indexes it relies on
+     */
+    public Flux<Task> findPage(TaskPageQuery query) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(namedParameters(query.sql()));
+        Object[] args = query.args();
+        for (int i = 0; i < args.length; i++) {
+            spec = spec.bind("p" + i, args[i]);
+        }
+        return spec.map(ReactiveTaskRepository::toTask).all();
+    }
+
+    /**
+     * Streams every task in id order. Rows are requested from the database as the subscriber
+     * requests them, so memory use depends on the subscriber's demand, not on the table size.
+     */
+    public Flux<Task> findAll() {
+        return databaseClient.sql(SELECT + " ORDER BY id").map(ReactiveTaskRepository::toTask).all();
+    }
+
+    /**
+     * Loads the given tasks with one query, in no particular order; ids of missing tasks are skipped
+     */
+    public Flux<Task> findAllById(Collection<Long> ids) {
+        return databaseClient.sql(SELECT + " WHERE id IN (:ids)")
+            .bind("ids", ids)
+            .map(ReactiveTaskRepository::toTask)
+            .all();
+    }
+
+    public Mono<Task> findById(long id) {
+        return databaseClient.sql(SELECT + " WHERE id = :id")
+            .bind("id", id)
+            .map(ReactiveTaskRepository::toTask)
+            .one();
+    }
+
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("SELECT 1 FROM task WHERE id = :id")
+            .bind("id", id)
+            .fetch()
+            .first()
+            .hasElement();
+    }
+
+    public Mono<Boolean> existsByTitle(String title) {
+        return databaseClient.sql("SELECT 1 FROM task WHERE title = :title")
+            .bind("title", title)
+            .fetch()
+            .first()
+            .hasElement();
+    }
+
+    /**
+     * Reads the status of a task with SELECT ... FOR UPDATE. Run in the transaction of the following write,
+     * the row stays locked until it commits, so the status read is the one the write replaces.
+     */
+    public Mono<Task.Status> findStatusForUpdate(long id) {
+        return databaseClient.sql("SELECT status FROM task WHERE id = :id FOR UPDATE")
+            .bind("id", id)
+            .map(row -> toStatus(row.get("status", String.class)))
+            .one();
+    }
+
+    /**
+     * Inserts a task and sets its creation time and initial version, as JPA does on persist
+     * @param task task to insert, with its id already assigned from {@link ReactiveTaskIdAllocator}
+     * @return the inserted task
+     * @throws org.springframework.dao.DuplicateKeyException (as error signal) if the title already exists
+     */
+    public Mono<Task> insert(Task task, LocalDateTime createdAt) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "INSERT INTO task (id, title, description, status, created_at, updated_at, version) "
+                    + "VALUES (:id, :title, :description, :status, :createdAt, NULL, 0)")
+            .bind("id", task.getId())
+            .bind("title", task.getTitle())
+            .bind("status", task.getStatus().name())
+            .bind("createdAt", createdAt);
+        spec = bindNullable(spec, "description", task.getDescription(), String.class);
+        return spec.fetch().rowsUpdated().then(Mono.fromSupplier(() -> {
+            task.setCreatedAt(createdAt);
+            task.setVersion(0L);
+            return task;
+        }));
+    }
+
+    /**
+     * Copies title, description and status of the given values onto the stored task and increments its version
+     * @param expectedVersions versions the task must have for the update to apply, or null to update unconditionally
+     * @return the number of updated rows, 0 if no task has this id or its version differs
+     */
+    public Mono<Long> update(long id, Task changes, LocalDateTime updatedAt, Collection<Long> expectedVersions) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "UPDATE task SET title = :title, description = :description, status = :status, "
+                    + "updated_at = :updatedAt, version = version + 1 WHERE id = :id"
+                    + (expectedVersions != null ? " AND version IN (:versions)" : ""))
+            .bind("id", id)
+            .bind("title", changes.getTitle())
+            .bind("status", changes.getStatus().name())
+            .bind("updatedAt", updatedAt);
+        spec = bindNullable(spec, "description", changes.getDescription(), String.class);
+        if (expectedVersions != null) {
+            spec = spec.bind("versions", expectedVersions);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * Sets only the given attributes of the stored task and increments its version
+     * @param fieldUpdates new values keyed by Task attribute name (title, description, status, updatedAt); not empty
+     * @param expectedVersions versions the task must have for the update to apply, or null to update unconditionally
+     * @return the number of updated rows, 0 if no task has this id or its version differs
+     */
+    public Mono<Long> updateFields(long id, Map<String, Object> fieldUpdates, Collection<Long> expectedVersions) {
+        if (fieldUpdates.isEmpty()) {
+            return Mono.error(new IllegalArgumentException("At least one field must be updated"));
+        }
+        List<String> assignments = new ArrayList<>(fieldUpdates.size() + 1);
+        for (String attribute : fieldUpdates.keySet()) {
+            String column = PATCHABLE_COLUMNS.get(attribute);
+            if (column == null) {
+                return Mono.error(new IllegalArgumentException("Task attribute cannot be patched: " + attribute));
+            }
+            assignments.add(column + " = :" + attribute);
+        }
+        assignments.add("version = version + 1");
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "UPDATE task SET " + String.join(", ", assignments) + " WHERE id = :id"
+                    + (expectedVersions != null ? " AND version IN (:versions)" : ""))
+            .bind("id", id);
+        for (Map.Entry<String, Object> update : fieldUpdates.entrySet()) {
+            Object value = update.getValue() instanceof Task.Status status ? status.name() : update.getValue();
+            Class<?> type = "updatedAt".equals(update.getKey()) ? LocalDateTime.class : String.class;
+            spec = bindNullable(spec, update.getKey(), value, type);
+        }
+        if (expectedVersions != null) {
+            spec = spec.bind("versions", expectedVersions);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    /**
+     * @param expectedVersions versions the task must have to be deleted, or null to delete unconditionally
+     * @return the number of deleted rows
+     */
+    public Mono<Long> delete(long id, Collection<Long> expectedVersions) {
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(
+                "DELETE FROM task WHERE id = :id" + (expectedVersions != null ? " AND version IN (:versions)" : ""))
+            .bind("id", id);
+        if (expectedVersions != null) {
+            spec = spec.bind("versions", expectedVersions);
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    // TaskPageQuery writes positional ? markers, which only some drivers accept
+    static String namedParameters(String sql) {
+        StringBuilder named = new StringBuilder(sql.length() + 16);
+        int index = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            if (c == '?') {
+                named.append(":p").append(index++);
+            } else {
+                named.append(c);
+            }
+        }
+        return named.toString();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name,
+                                                                  Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Task toTask(Readable row) {
+        Task task = new Task();
+        task.setId(row.get("id", Long.class));
+        task.setTitle(row.get("title", String.class));
+        task.setDescription(row.get("description", String.class));
+        String status = row.get("status", String.class);
+        task.setStatus(status != null ? toStatus(status) : null);
+        task.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        task.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        task.setVersion(row.get("version", Long.class));
+        return task;
+    }
+
+    // The ENUM column stores its values in lower case
+    private static Task.Status toStatus(String status) {
+        return Task.Status.valueOf(status.toUpperCase(Locale.ROOT));
+    }
+}
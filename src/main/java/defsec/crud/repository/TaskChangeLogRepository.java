@@ -0,0 +1,108 @@
+package defsec.crud.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JDBC access to the task_change_log table.
+ */
+@Repository
+public class TaskChangeLogRepository {
+
+    /**
+     * Receives change log entries in log order
+     */
+    @FunctionalInterface
+    public interface ChangeHandler {
+        void onChange(long logId, long taskId);
+    }
+
+    private static final String[] GENERATED_KEY_COLUMNS = {"id"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * @return the id of the appended entry
+     */
+    public long append(long taskId) {
+        return appendAll(List.of(taskId)).get(0);
+    }
+
+    /**
+     * Appends one entry per task id with a single multi-row INSERT
+     * @return the ids of the appended entries, in the order of the task ids
+     */
+    public List<Long> appendAll(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("INSERT INTO task_change_log (task_id) VALUES ");
+        for (int i = 0; i < taskIds.size(); i++) {
+            sql.append(i > 0 ? ", (?)" : "(?)");
+        }
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            // Only the id: drivers that return every generated column would also return changed_at
+            PreparedStatement statement = connection.prepareStatement(sql.toString(), GENERATED_KEY_COLUMNS);
+            for (int i = 0; i < taskIds.size(); i++) {
+                statement.setLong(i + 1, taskIds.get(i));
+            }
+            return statement;
+        }, keyHolder);
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != taskIds.size()) {
+            throw new DataRetrievalFailureException(
+                "Expected " + taskIds.size() + " change log ids but the driver returned " + keys.size());
+        }
+        List<Long> ids = new ArrayList<>(keys.size());
+        for (Map<String, Object> key : keys) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * @return the id of the newest log entry, or 0 if the log is empty
+     */
+    public long latestId() {
+        Long latestId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM task_change_log", Long.class);
+        return latestId != null ? latestId : 0L;
+    }
+
+    /**
+     * Reads up to {@code limit} entries with an id greater than {@code afterId}, in id order
+     * @return the number of entries passed to the handler
+     */
+    public int readAfter(long afterId, int limit, ChangeHandler handler) {
+        int[] count = new int[1];
+        jdbcTemplate.query(
+            "SELECT id, task_id FROM task_change_log WHERE id > ? ORDER BY id LIMIT ?",
+            rs -> {
+                handler.onChange(rs.getLong("id"), rs.getLong("task_id"));
+                count[0]++;
+            },
+            afterId, limit);
+        return count[0];
+    }
+
+    /**
+     * Deletes entries older than the cutoff, except entries with an id of at least {@code keepFromId}
+     * @return the number of deleted entries
+     */
+    public int deleteOlderThan(LocalDateTime cutoff, long keepFromId) {
+        return jdbcTemplate.update("DELETE FROM task_change_log WHERE changed_at < ? AND id < ?",
+                                   Timestamp.valueOf(cutoff), keepFromId);
+    }
+}
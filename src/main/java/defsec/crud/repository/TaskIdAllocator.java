@@ -0,0 +1,79 @@
+package defsec.crud.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Reserves blocks of task ids from the task_id_sequence table.
+ * Every reservation advances next_val under a row lock, so blocks handed to different
+ * threads or application instances never overlap. Reserved but unused ids are simply skipped.
+ */
+@Component
+public class TaskIdAllocator {
+
+    private static final String SEQUENCE_NAME = "task";
+
+    private static final String SELECT_SQL =
+        "SELECT next_val FROM task_id_sequence WHERE sequence_name = ? FOR UPDATE";
+    private static final String UPDATE_SQL =
+        "UPDATE task_id_sequence SET next_val = ? WHERE sequence_name = ?";
+
+    @Autowired
+    private DataSource dataSource;
+
+    /**
+     * Reserves {@code count} consecutive ids in a separate, immediately committed transaction,
+     * so the reservation neither waits for nor is undone by the caller's transaction
+     * @param count number of ids to reserve
+     * @return the first id of the block [first, first + count)
+     */
+    public long reserve(int count) {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try {
+                long first = reserveBlock(connection, count);
+                connection.commit();
+                return first;
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        } catch (SQLException e) {
+            throw new DataAccessResourceFailureException("Could not reserve " + count + " task ids", e);
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids using the given connection.
+     * The caller owns the transaction and must commit it right away to release the row lock.
+     * @return the first id of the block [first, first + count)
+     */
+    public static long reserveBlock(Connection connection, int count) throws SQLException {
+        long first;
+        try (PreparedStatement select = connection.prepareStatement(SELECT_SQL)) {
+            select.setString(1, SEQUENCE_NAME);
+            try (ResultSet rs = select.executeQuery()) {
+                if (!rs.next()) {
+                    throw new SQLException("Missing row '" + SEQUENCE_NAME + "' in task_id_sequence");
+                }
+                first = rs.getLong(1);
+            }
+        }
+        try (PreparedStatement update = connection.prepareStatement(UPDATE_SQL)) {
+            update.setLong(1, first + count);
+            update.setString(2, SEQUENCE_NAME);
+            update.executeUpdate();
+        }
+        return first;
+    }
+}
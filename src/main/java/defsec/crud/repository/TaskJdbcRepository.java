@@ -0,0 +1,166 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC access to the task table for bulk paths where building
+ * JPA entities and a persistence context per row is not affordable.
+ */
+@Repository
+public class TaskJdbcRepository {
+
+    /**
+     * Receives the searchable text of one task
+     */
+    @FunctionalInterface
+    public interface SearchTextHandler {
+        void onTask(long id, String title, String description);
+    }
+
+    // MySQL Connector/J only streams rows one by one (instead of buffering the
+    // whole result set in memory) for forward-only, read-only statements with this fetch size
+    private static final int MYSQL_STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String SELECT_ALL_SQL =
+        "SELECT id, title, description, status, created_at, updated_at FROM task ORDER BY id";
+
+    private static final String INSERT_SQL_PREFIX =
+        "INSERT INTO task (id, title, description, status, created_at, updated_at) VALUES ";
+    private static final String INSERT_SQL_ROW = "(?, ?, ?, ?, ?, NULL)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Other databases reject the MySQL value and need a positive fetch size instead
+    @Value("${defsec.jdbc.streaming-fetch-size:" + MYSQL_STREAMING_FETCH_SIZE + "}")
+    private int streamingFetchSize;
+
+    /**
+     * Streams every task row, in id order, to the given handler.
+     * Rows are read from a forward-only cursor, so memory use does not depend on the table size.
+     * The connection stays busy until the last row has been handled.
+     * @param handler callback invoked once per row
+     */
+    public void streamAll(RowCallbackHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                SELECT_ALL_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(streamingFetchSize);
+            return statement;
+        }, handler);
+    }
+
+    /**
+     * Streams every stored title to the consumer, with the same constant-memory cursor as {@link #streamAll}
+     */
+    public void streamTitles(Consumer<String> consumer) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "SELECT title FROM task", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(streamingFetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(rs.getString(1)));
+    }
+
+    /**
+     * Streams the id, title and description of every task, with the same constant-memory cursor as {@link #streamAll}
+     */
+    public void streamSearchText(SearchTextHandler handler) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                "SELECT id, title, description FROM task", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(streamingFetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> handler.onTask(rs.getLong(1), rs.getString(2), rs.getString(3)));
+    }
+
+    /**
+     * Counts tasks per status with one GROUP BY over the status index
+     * @return the count of every status that has tasks
+     */
+    public Map<Task.Status, Long> countByStatus() {
+        Map<Task.Status, Long> counts = new EnumMap<>(Task.Status.class);
+        jdbcTemplate.query("SELECT status, COUNT(*) FROM task GROUP BY status", (RowCallbackHandler) rs -> {
+            String status = rs.getString(1);
+            if (status != null) {
+                // The ENUM column stores its values in lower case
+                counts.put(Task.Status.valueOf(status.toUpperCase(Locale.ROOT)), rs.getLong(2));
+            }
+        });
+        return counts;
+    }
+
+    public long count() {
+        Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM task", Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * Returns which of the given titles are already stored, as stored in the database
+     * @param titles candidate titles
+     * @return the subset of titles that already exist
+     */
+    public Set<String> findExistingTitles(Collection<String> titles) {
+        if (titles.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(titles.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(
+            "SELECT title FROM task WHERE title IN (" + placeholders + ")", String.class, titles.toArray()));
+    }
+
+    /**
+     * Inserts all tasks with a single multi-row INSERT statement
+     * @param tasks tasks to insert, with ids already assigned from {@link TaskIdAllocator}
+     * @throws org.springframework.dao.DuplicateKeyException if any title already exists, in which case no row is inserted
+     */
+    public void insertAll(List<Task> tasks) {
+        StringBuilder sql = new StringBuilder(INSERT_SQL_PREFIX);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(INSERT_SQL_ROW);
+        }
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update(sql.toString(), statement -> {
+            int parameter = 1;
+            for (Task task : tasks) {
+                statement.setLong(parameter++, task.getId());
+                statement.setString(parameter++, task.getTitle());
+                statement.setString(parameter++, task.getDescription());
+                statement.setString(parameter++, task.getStatus().name());
+                statement.setTimestamp(parameter++, createdAt);
+            }
+        });
+    }
+
+    /**
+     * Inserts a single task
+     * @param task task to insert, with its id already assigned
+     * @throws org.springframework.dao.DuplicateKeyException if the title already exists
+     */
+    public void insert(Task task) {
+        insertAll(List.of(task));
+    }
+}
@@ -0,0 +1,180 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One keyset page of tasks, optionally filtered by status and a creation time range.
+ *
+ * The SQL is written by hand so that every combination maps onto one index (see V5 migration):
+ * equality on status, then a range on created_at or id, in index order, so MySQL reads exactly
+ * the rows of the page with a range scan and never sorts. Creation-time filters are therefore
+ * only supported together with a createdAt sort; the caller validates that.
+ */
+public final class TaskPageQuery {
+
+    /**
+     * Supported orders; each one ends with id so that the order, and the keyset, is unique
+     */
+    public enum Sort {
+        ID("id", "id", false),
+        ID_DESC("-id", "id DESC", false),
+        CREATED_AT("createdAt", "created_at, id", true),
+        CREATED_AT_DESC("-createdAt", "created_at DESC, id DESC", true);
+
+        private final String parameter;
+        private final String orderBy;
+        private final boolean byCreatedAt;
+
+        Sort(String parameter, String orderBy, boolean byCreatedAt) {
+            this.parameter = parameter;
+            this.orderBy = orderBy;
+            this.byCreatedAt = byCreatedAt;
+        }
+
+        /**
+         * @return the value of the sort request parameter selecting this order
+         */
+        public String getParameter() {
+            return parameter;
+        }
+
+        public boolean isByCreatedAt() {
+            return byCreatedAt;
+        }
+
+        boolean isDescending() {
+            return this == ID_DESC || this == CREATED_AT_DESC;
+        }
+
+        /**
+         * @return the sort with the given parameter value, or null if there is none
+         */
+        public static Sort fromParameter(String parameter) {
+            for (Sort sort : values()) {
+                if (sort.parameter.equals(parameter)) {
+                    return sort;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final String SELECT =
+        "SELECT id, title, description, status, created_at, updated_at, version FROM task";
+
+    private final Task.Status status;
+    private final LocalDateTime createdFrom;
+    private final LocalDateTime createdTo;
+    private final Sort sort;
+    private final Long afterId;
+    private final LocalDateTime afterCreatedAt;
+    private final int limit;
+
+    /**
+     * @param status only tasks with this status, or null for all
+     * @param createdFrom only tasks created at or after this time, or null
+     * @param createdTo only tasks created before this time, or null
+     * @param sort the order of the page
+     * @param afterId id of the last task of the previous page, or null for the first page
+     * @param afterCreatedAt creation time of the last task of the previous page; required for createdAt sorts after the first page
+     * @param limit maximum number of tasks
+     */
+    public TaskPageQuery(Task.Status status, LocalDateTime createdFrom, LocalDateTime createdTo, Sort sort,
+                         Long afterId, LocalDateTime afterCreatedAt, int limit) {
+        this.status = status;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+        this.sort = sort;
+        this.afterId = afterId;
+        this.afterCreatedAt = afterCreatedAt;
+        this.limit = limit;
+    }
+
+    public Task.Status getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getCreatedFrom() {
+        return createdFrom;
+    }
+
+    public LocalDateTime getCreatedTo() {
+        return createdTo;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public Long getAfterId() {
+        return afterId;
+    }
+
+    public LocalDateTime getAfterCreatedAt() {
+        return afterCreatedAt;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the SQL of this query, with positional parameters in the order of {@link #args()}
+     */
+    public String sql() {
+        List<String> conditions = new ArrayList<>(4);
+        if (status != null) {
+            conditions.add("status = ?");
+        }
+        if (createdFrom != null) {
+            conditions.add("created_at >= ?");
+        }
+        if (createdTo != null) {
+            conditions.add("created_at < ?");
+        }
+        if (afterId != null) {
+            String comparison = sort.isDescending() ? "<" : ">";
+            if (sort.isByCreatedAt()) {
+                // Expanded row comparison (created_at, id) > (?, ?), which MySQL turns into index ranges
+                conditions.add("(created_at " + comparison + " ? OR (created_at = ? AND id " + comparison + " ?))");
+            } else {
+                conditions.add("id " + comparison + " ?");
+            }
+        }
+
+        StringBuilder sql = new StringBuilder(SELECT);
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY ").append(sort.orderBy).append(" LIMIT ?").toString();
+    }
+
+    /**
+     * @return the parameter values of {@link #sql()}, in order
+     */
+    public Object[] args() {
+        List<Object> args = new ArrayList<>(7);
+        if (status != null) {
+            args.add(status.name());
+        }
+        if (createdFrom != null) {
+            args.add(createdFrom);
+        }
+        if (createdTo != null) {
+            args.add(createdTo);
+        }
+        if (afterId != null) {
+            if (sort.isByCreatedAt()) {
+                args.add(afterCreatedAt);
+                args.add(afterCreatedAt);
+            }
+            args.add(afterId);
+        }
+        args.add(limit);
+        return args.toArray();
+    }
+}
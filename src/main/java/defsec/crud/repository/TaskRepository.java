@@ -1,9 +1,67 @@
 package defsec.crud.repository;
 
 import defsec.crud.entity.Task;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-}
\ No newline at end of file
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
+
+    boolean existsByTitle(String title);
+
+    /**
+     * Reads the status of a task with SELECT ... FOR UPDATE: the row stays locked until the transaction ends,
+     * so the status read is the one the following write replaces
+     * @return the status, or empty if no task has this id
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.status FROM Task t WHERE t.id = :id")
+    Optional<Task.Status> findStatusForUpdate(@Param("id") Long id);
+
+    /**
+     * Replaces the mutable fields of a task in one UPDATE, without loading it first.
+     * Bulk updates skip entity callbacks and versioning, so updatedAt is passed in and version incremented explicitly.
+     * @return number of updated rows, 0 if no task has this id
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.status = :status, "
+         + "t.updatedAt = :updatedAt, t.version = t.version + 1 WHERE t.id = :id")
+    int updateTask(@Param("id") Long id, @Param("title") String title, @Param("description") String description,
+                   @Param("status") Task.Status status, @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Like {@link #updateTask}, but only if the task still has one of the expected versions
+     * @return number of updated rows, 0 if no task has this id or its version differs
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Task t SET t.title = :title, t.description = :description, t.status = :status, "
+         + "t.updatedAt = :updatedAt, t.version = t.version + 1 WHERE t.id = :id AND t.version IN :versions")
+    int updateTaskIfVersion(@Param("id") Long id, @Param("title") String title, @Param("description") String description,
+                            @Param("status") Task.Status status, @Param("updatedAt") LocalDateTime updatedAt,
+                            @Param("versions") Collection<Long> versions);
+
+    /**
+     * Deletes a task in one DELETE, unlike {@link #deleteById} which loads the entity first
+     * @return number of deleted rows, 0 if no task has this id
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id")
+    int deleteTask(@Param("id") Long id);
+
+    /**
+     * Like {@link #deleteTask}, but only if the task still has one of the expected versions
+     * @return number of deleted rows, 0 if no task has this id or its version differs
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM Task t WHERE t.id = :id AND t.version IN :versions")
+    int deleteTaskIfVersion(@Param("id") Long id, @Param("versions") Collection<Long> versions);
+}
@@ -0,0 +1,29 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.Task;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Task repository operations that Spring Data cannot derive from a method name or a fixed query
+ */
+public interface TaskRepositoryCustom {
+
+    /**
+     * Runs the page query as native SQL, so the statement MySQL plans is exactly {@link TaskPageQuery#sql()}
+     */
+    List<Task> findPage(TaskPageQuery query);
+
+    /**
+     * Sets only the given attributes of a task in one UPDATE, without loading it first.
+     * The SET clause lists exactly the given attributes, plus the incremented version, so unchanged
+     * columns are not rewritten.
+     * @param id the task ID
+     * @param fieldUpdates new values keyed by Task attribute name; must not be empty
+     * @param expectedVersions versions the task must have for the update to apply, or null to update unconditionally
+     * @return number of updated rows, 0 if no task has this id or its version differs
+     */
+    int updateFields(Long id, Map<String, Object> fieldUpdates, Collection<Long> expectedVersions);
+}
@@ -0,0 +1,47 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Task> findPage(TaskPageQuery pageQuery) {
+        Query query = entityManager.createNativeQuery(pageQuery.sql(), Task.class);
+        Object[] args = pageQuery.args();
+        for (int i = 0; i < args.length; i++) {
+            query.setParameter(i + 1, args[i]);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public int updateFields(Long id, Map<String, Object> fieldUpdates, Collection<Long> expectedVersions) {
+        if (fieldUpdates.isEmpty()) {
+            throw new IllegalArgumentException("At least one field must be updated");
+        }
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Task> update = builder.createCriteriaUpdate(Task.class);
+        Root<Task> task = update.from(Task.class);
+        fieldUpdates.forEach(update::set);
+        // Bulk updates bypass Hibernate's versioning
+        update.set(task.<Long>get("version"), builder.sum(task.<Long>get("version"), 1L));
+        Predicate byId = builder.equal(task.get("id"), id);
+        update.where(expectedVersions == null ? byId : builder.and(byId, task.get("version").in(expectedVersions)));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
@@ -0,0 +1,107 @@
+package defsec.crud.service;
+
+import defsec.crud.entity.Task;
+import defsec.crud.exception.DuplicateKeys;
+import defsec.crud.repository.TaskIdAllocator;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Bulk task creation over plain JDBC.
+ * Tasks are written in chunks, each chunk with one title lookup, one id block reservation
+ * and one multi-row INSERT, all inside a single transaction (the id reservation commits on its own).
+ */
+@Service
+public class TaskBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskBatchService.class);
+
+    // Rows per multi-row INSERT; keeps statements and bind parameter counts well within MySQL limits
+    static final int CHUNK_SIZE = 500;
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private TaskIdAllocator taskIdAllocator;
+
+    /**
+     * Inserts the given tasks.
+     * A task whose title already exists (in the table or earlier in the same list) is skipped.
+     * @param tasks validated tasks to insert
+     * @return generated ids aligned with the input list; null for tasks skipped because of a duplicate title
+     */
+    @Transactional
+    public List<Long> createAll(List<Task> tasks) {
+        List<Long> ids = new ArrayList<>(Collections.nCopies(tasks.size(), null));
+        Set<String> seenTitles = new HashSet<>();
+        for (int start = 0; start < tasks.size(); start += CHUNK_SIZE) {
+            int end = Math.min(start + CHUNK_SIZE, tasks.size());
+            insertChunk(tasks, start, end, seenTitles, ids);
+        }
+        return ids;
+    }
+
+    private void insertChunk(List<Task> tasks, int start, int end, Set<String> seenTitles, List<Long> ids) {
+        List<String> titles = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            titles.add(tasks.get(i).getTitle());
+        }
+        Set<String> existingTitles = taskJdbcRepository.findExistingTitles(titles);
+
+        List<Integer> positions = new ArrayList<>(end - start);
+        List<Task> toInsert = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            String title = tasks.get(i).getTitle();
+            if (!existingTitles.contains(title) && seenTitles.add(title)) {
+                positions.add(i);
+                toInsert.add(tasks.get(i));
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return;
+        }
+
+        long firstId = taskIdAllocator.reserve(toInsert.size());
+        for (int k = 0; k < toInsert.size(); k++) {
+            toInsert.get(k).setId(firstId + k);
+        }
+
+        try {
+            taskJdbcRepository.insertAll(toInsert);
+            for (int k = 0; k < positions.size(); k++) {
+                ids.set(positions.get(k), toInsert.get(k).getId());
+            }
+        } catch (DuplicateKeyException e) {
+            if (DuplicateKeys.isDuplicatePrimaryKey(e)) {
+                throw e;
+            }
+            // A title collided with a concurrent insert, or with a stored title that differs only
+            // by case/accents under the column collation. MySQL rolled back just this statement,
+            // so insert the chunk row by row to find the offending titles.
+            logger.warn("Duplicate title in batch chunk of {} tasks, retrying row by row", toInsert.size());
+            for (int k = 0; k < positions.size(); k++) {
+                try {
+                    taskJdbcRepository.insert(toInsert.get(k));
+                    ids.set(positions.get(k), toInsert.get(k).getId());
+                } catch (DuplicateKeyException duplicate) {
+                    if (DuplicateKeys.isDuplicatePrimaryKey(duplicate)) {
+                        throw duplicate;
+                    }
+                    logger.debug("Skipping duplicate title in batch: '{}'", toInsert.get(k).getTitle());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package defsec.crud.service;
+
+/**
+ * Notified when a task was changed or deleted, on this node or on any other node.
+ * Notifications may be repeated, so implementations must be idempotent.
+ */
+public interface TaskChangeListener {
+
+    void onTaskChanged(long taskId);
+
+    /**
+     * Called with the change log entry of a change once it is in the log: right after the append for changes
+     * made on this node, when polling for the others. Entries of different tasks may arrive out of log order.
+     */
+    default void onChangeLogged(long logId, long taskId) {
+    }
+}
@@ -0,0 +1,218 @@
+package defsec.crud.service;
+
+import defsec.crud.repository.TaskChangeLogRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propagates task changes to {@link TaskChangeListener}s on every node.
+ * Local changes are delivered immediately and appended to the task_change_log table;
+ * each node polls that table to pick up changes made by the other nodes.
+ */
+@Service
+public class TaskChangeLogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeLogService.class);
+
+    // Maximum number of log entries read per query
+    static final int POLL_BATCH_SIZE = 1000;
+    // Entries just below the last seen id are read again on every poll: an AUTO_INCREMENT id can
+    // become visible after a higher one when inserts commit out of order
+    static final int POLL_OVERLAP = 100;
+    // Upper bound for changes kept to append again; further ones are only counted in unloggedChanges
+    static final int MAX_UNLOGGED = 10_000;
+
+    @Autowired
+    private TaskChangeLogRepository taskChangeLogRepository;
+
+    @Autowired
+    private List<TaskChangeListener> listeners;
+
+    @Value("${defsec.change-log.retention:1h}")
+    private Duration retention;
+
+    // Log id up to which entries were delivered; negative until the first poll
+    private long lastSeenId = -1;
+
+    // Changes made on this node whose append failed, appended again on every poll
+    private final Queue<Long> unlogged = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unloggedQueued = new AtomicInteger();
+    // Changes made on this node that are missing from the log: the queued ones and those that did not fit
+    private final AtomicLong unloggedChanges = new AtomicLong();
+
+    // Ids of recently delivered entries, so the overlap window is not delivered twice
+    private final Map<Long, Boolean> recentlySeen = new LinkedHashMap<>(16, 0.75f, false) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+            return size() > POLL_OVERLAP * 2;
+        }
+    };
+
+    /**
+     * Records that a task was created, changed or deleted: notifies local listeners right away and
+     * appends an entry for the other nodes. Call after the change was committed.
+     */
+    public void recordChange(long taskId) {
+        notifyListeners(taskId);
+        try {
+            notifyLogged(taskChangeLogRepository.append(taskId), taskId);
+        } catch (DataAccessException e) {
+            logger.error("Could not record change of task id: {} in the change log", taskId, e);
+            appendLater(List.of(taskId));
+        }
+    }
+
+    /**
+     * Records the creation of many tasks with one append, notifying listeners of each entry as
+     * {@link #recordChange} does
+     */
+    public void recordChanges(List<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        taskIds.forEach(this::notifyListeners);
+        try {
+            List<Long> logIds = taskChangeLogRepository.appendAll(taskIds);
+            for (int i = 0; i < taskIds.size(); i++) {
+                notifyLogged(logIds.get(i), taskIds.get(i));
+            }
+        } catch (DataAccessException e) {
+            logger.error("Could not record changes of {} tasks in the change log", taskIds.size(), e);
+            appendLater(taskIds);
+        }
+    }
+
+    /**
+     * Notifies local listeners of a change whose log entry the caller appends itself, as the reactive
+     * stack does without blocking (see ReactiveTaskChangeLogRepository)
+     */
+    public void notifyLocalChange(long taskId) {
+        notifyListeners(taskId);
+    }
+
+    /**
+     * Keeps changes whose append failed to append them again with the next poll; until then they are counted
+     * in {@link #unloggedChanges()}. Other nodes see them once the append succeeded. Beyond MAX_UNLOGGED
+     * changes are only counted: other nodes fall back to cache expiry for them, and the count stays raised.
+     */
+    public void appendLater(List<Long> taskIds) {
+        unloggedChanges.addAndGet(taskIds.size());
+        for (Long taskId : taskIds) {
+            if (unloggedQueued.incrementAndGet() <= MAX_UNLOGGED) {
+                unlogged.add(taskId);
+            } else {
+                unloggedQueued.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of changes made on this node that are not in the log because their append failed.
+     * The list ETag combines it with {@link #latestChangeId()}, which such a change leaves as it was. It only
+     * goes down once a retried append succeeded, which raised the latest id, so no pair of both repeats.
+     */
+    public long unloggedChanges() {
+        return unloggedChanges.get();
+    }
+
+    /**
+     * Returns a marker that increases with every change recorded by any node: the newest log id.
+     * Ids are allocated after the change was committed, so a change made after the marker was read
+     * always gets a higher one. Reads only the table's primary key index.
+     */
+    public long latestChangeId() {
+        return taskChangeLogRepository.latestId();
+    }
+
+    /**
+     * Delivers changes logged by any node since the previous poll
+     */
+    @Scheduled(fixedDelayString = "${defsec.change-log.poll-interval-ms:1000}")
+    public synchronized void pollChanges() {
+        if (lastSeenId < 0) {
+            // Nothing is cached yet, so earlier changes are irrelevant
+            lastSeenId = taskChangeLogRepository.latestId();
+            logger.debug("Task change log polling starts after entry id: {}", lastSeenId);
+            return;
+        }
+        appendUnlogged();
+        int read;
+        do {
+            long from = Math.max(0, lastSeenId - POLL_OVERLAP);
+            read = taskChangeLogRepository.readAfter(from, POLL_BATCH_SIZE, this::deliver);
+        } while (read == POLL_BATCH_SIZE);
+    }
+
+    /**
+     * Deletes entries older than the retention period. The newest entry is always kept, so that
+     * {@link #latestChangeId()} never goes back to a value handed out before.
+     */
+    @Scheduled(fixedDelayString = "${defsec.change-log.prune-interval-ms:600000}")
+    public void pruneChanges() {
+        long latestId = taskChangeLogRepository.latestId();
+        int deleted = taskChangeLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention), latestId);
+        logger.debug("Pruned {} task change log entries", deleted);
+    }
+
+    // Appends changes kept by appendLater; they were delivered locally when they were made
+    private void appendUnlogged() {
+        List<Long> taskIds = new ArrayList<>();
+        Long taskId;
+        while (taskIds.size() < POLL_BATCH_SIZE && (taskId = unlogged.poll()) != null) {
+            taskIds.add(taskId);
+        }
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        List<Long> logIds;
+        try {
+            logIds = taskChangeLogRepository.appendAll(taskIds);
+        } catch (DataAccessException e) {
+            logger.warn("Could not append {} changes to the change log again", taskIds.size(), e);
+            unlogged.addAll(taskIds);
+            return;
+        }
+        unloggedQueued.addAndGet(-taskIds.size());
+        unloggedChanges.addAndGet(-taskIds.size());
+        for (int i = 0; i < taskIds.size(); i++) {
+            notifyLogged(logIds.get(i), taskIds.get(i));
+        }
+        logger.info("Appended {} changes to the change log after an earlier failure", taskIds.size());
+    }
+
+    private void deliver(long logId, long taskId) {
+        if (recentlySeen.put(logId, Boolean.TRUE) == null) {
+            notifyListeners(taskId);
+            notifyLogged(logId, taskId);
+        }
+        lastSeenId = Math.max(lastSeenId, logId);
+    }
+
+    private void notifyListeners(long taskId) {
+        for (TaskChangeListener listener : listeners) {
+            listener.onTaskChanged(taskId);
+        }
+    }
+
+    private void notifyLogged(long logId, long taskId) {
+        for (TaskChangeListener listener : listeners) {
+            listener.onChangeLogged(logId, taskId);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package defsec.crud.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.config.JsonTimestamps;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.Locale;
+
+/**
+ * Writes all tasks to an output stream row by row, straight from the JDBC cursor.
+ * No Task entities are built and nothing is held beyond the current row, so heap use
+ * stays flat regardless of the number of tasks.
+ * The JSON shape matches the regular Task responses (same field names, timestamp format
+ * and omission of null values).
+ */
+@Service
+public class TaskExportService {
+
+    @Autowired
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Writes one JSON object per line (NDJSON)
+     * @return the number of exported tasks
+     */
+    public long exportNdjson(OutputStream out) throws IOException {
+        return export(out, false);
+    }
+
+    /**
+     * Writes a single JSON array of tasks
+     * @return the number of exported tasks
+     */
+    public long exportJsonArray(OutputStream out) throws IOException {
+        return export(out, true);
+    }
+
+    private long export(OutputStream out, boolean asArray) throws IOException {
+        long[] count = new long[1];
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (asArray) {
+                generator.writeStartArray();
+            }
+            taskJdbcRepository.streamAll(rs -> {
+                try {
+                    writeRow(generator, rs);
+                    if (!asArray) {
+                        generator.writeRaw('\n');
+                    }
+                    // Push the first row out immediately; afterwards let the buffers fill
+                    if (++count[0] == 1) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (asArray) {
+                generator.writeEndArray();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return count[0];
+    }
+
+    private void writeRow(JsonGenerator generator, ResultSet rs) throws IOException, SQLException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", rs.getLong("id"));
+        generator.writeStringField("title", rs.getString("title"));
+        String description = rs.getString("description");
+        if (description != null) {
+            generator.writeStringField("description", description);
+        }
+        String status = rs.getString("status");
+        if (status != null) {
+            // MySQL returns ENUM values as declared in the schema; the API uses Task.Status names
+            generator.writeStringField("status", status.toUpperCase(Locale.ROOT));
+        }
+        writeTimestamp(generator, "createdAt", rs.getTimestamp("created_at"));
+        writeTimestamp(generator, "updatedAt", rs.getTimestamp("updated_at"));
+        generator.writeEndObject();
+    }
+
+    private void writeTimestamp(JsonGenerator generator, String field, Timestamp value) throws IOException {
+        if (value != null) {
+            generator.writeFieldName(field);
+            generator.writeString(JsonTimestamps.format(value.toLocalDateTime()));
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package defsec.crud.service;
 
 import defsec.crud.entity.Task;
+import defsec.crud.repository.TaskPageQuery;
 import defsec.crud.repository.TaskRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -14,19 +22,116 @@ public class TaskService {
     @Autowired
     private TaskRepository taskRepository;
 
-    public List<Task> findAll() {
-        return taskRepository.findAll();
+    public List<Task> findPage(TaskPageQuery query) {
+        return taskRepository.findPage(query);
+    }
+
+    /**
+     * Loads the given tasks with one query, in the order of the ids; ids of missing tasks are skipped
+     */
+    public List<Task> findAllByIdInOrder(List<Long> ids) {
+        Map<Long, Task> tasksById = new HashMap<>();
+        taskRepository.findAllById(ids).forEach(task -> tasksById.put(task.getId(), task));
+        List<Task> tasks = new ArrayList<>(tasksById.size());
+        for (Long id : ids) {
+            Task task = tasksById.get(id);
+            if (task != null) {
+                tasks.add(task);
+            }
+        }
+        return tasks;
     }
 
     public Optional<Task> findById(Long id) {
         return taskRepository.findById(id);
     }
 
+    public boolean existsById(Long id) {
+        return taskRepository.existsById(id);
+    }
+
+    public boolean existsByTitle(String title) {
+        return taskRepository.existsByTitle(title);
+    }
+
     public Task save(Task task) {
         return taskRepository.save(task);
     }
 
-    public void deleteById(Long id) {
-        taskRepository.deleteById(id);
+    /**
+     * A task as stored by an update, with the status it had before. The status is read with the row locked,
+     * in the transaction of the update, so it is exactly the one the update replaced.
+     */
+    public record Updated(Task task, Task.Status previousStatus) {
+    }
+
+    /**
+     * Copies title, description and status of the given values onto the stored task
+     * @param expectedVersions versions the task must have for the update to apply, or null to update unconditionally
+     * @return the updated task, or empty if no task has this id or its version differs
+     */
+    @Transactional
+    public Optional<Updated> update(Long id, Task changes, Collection<Long> expectedVersions) {
+        Optional<Task.Status> previousStatus = taskRepository.findStatusForUpdate(id);
+        if (previousStatus.isEmpty()) {
+            return Optional.empty();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int updated = expectedVersions == null
+            ? taskRepository.updateTask(id, changes.getTitle(), changes.getDescription(), changes.getStatus(), now)
+            : taskRepository.updateTaskIfVersion(id, changes.getTitle(), changes.getDescription(),
+                                                 changes.getStatus(), now, expectedVersions);
+        // MySQL has no UPDATE ... RETURNING; the response body needs one read of the updated row
+        return updated == 0 ? Optional.empty() : updatedTask(id, previousStatus.get());
+    }
+
+    /**
+     * Sets only the given attributes of the stored task, plus updatedAt
+     * @param fieldUpdates new values keyed by Task attribute name; an empty map leaves the task unchanged
+     * @param expectedVersions versions the task must have for the update to apply, or null to update unconditionally
+     * @return the updated task, or empty if no task has this id or its version differs. The previous status
+     *         is only read, and the row locked for it, if the status is one of the updated attributes.
+     */
+    @Transactional
+    public Optional<Updated> updateFields(Long id, Map<String, Object> fieldUpdates, Collection<Long> expectedVersions) {
+        if (fieldUpdates.isEmpty()) {
+            return taskRepository.findById(id)
+                .filter(task -> expectedVersions == null || expectedVersions.contains(task.getVersion()))
+                .map(task -> new Updated(task, task.getStatus()));
+        }
+        Task.Status previousStatus = null;
+        if (fieldUpdates.containsKey("status")) {
+            Optional<Task.Status> stored = taskRepository.findStatusForUpdate(id);
+            if (stored.isEmpty()) {
+                return Optional.empty();
+            }
+            previousStatus = stored.get();
+        }
+        Map<String, Object> updates = new LinkedHashMap<>(fieldUpdates);
+        updates.put("updatedAt", LocalDateTime.now());
+        int updated = taskRepository.updateFields(id, updates, expectedVersions);
+        return updated == 0 ? Optional.empty() : updatedTask(id, previousStatus);
+    }
+
+    // Status unchanged if the update did not read it
+    private Optional<Updated> updatedTask(Long id, Task.Status previousStatus) {
+        return taskRepository.findById(id)
+            .map(task -> new Updated(task, previousStatus != null ? previousStatus : task.getStatus()));
+    }
+
+    /**
+     * @param expectedVersions versions the task must have to be deleted, or null to delete unconditionally
+     * @return the status of the deleted task, or empty if no task has this id or its version differs
+     */
+    @Transactional
+    public Optional<Task.Status> deleteById(Long id, Collection<Long> expectedVersions) {
+        Optional<Task.Status> status = taskRepository.findStatusForUpdate(id);
+        if (status.isEmpty()) {
+            return Optional.empty();
+        }
+        int deleted = expectedVersions == null
+            ? taskRepository.deleteTask(id)
+            : taskRepository.deleteTaskIfVersion(id, expectedVersions);
+        return deleted > 0 ? status : Optional.empty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,33 @@
+package defsec.crud.validation;
+
+import defsec.crud.dto.TaskPatchRequest;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class TaskPatchValidator implements ConstraintValidator<ValidTaskPatch, TaskPatchRequest> {
+
+    @Override
+    public boolean isValid(TaskPatchRequest patch, ConstraintValidatorContext context) {
+        if (patch == null) {
+            return true;
+        }
+
+        boolean valid = true;
+        context.disableDefaultConstraintViolation();
+        if (patch.isTitlePresent() && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            addViolation(context, "title", "Title is required");
+            valid = false;
+        }
+        if (patch.isStatusPresent() && patch.getStatus() == null) {
+            addViolation(context, "status", "Status must be one of: PENDING, COMPLETED");
+            valid = false;
+        }
+        return valid;
+    }
+
+    private static void addViolation(ConstraintValidatorContext context, String field, String message) {
+        context.buildConstraintViolationWithTemplate(message)
+            .addPropertyNode(field)
+            .addConstraintViolation();
+    }
+}
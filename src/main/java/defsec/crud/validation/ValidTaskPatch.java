@@ -0,0 +1,23 @@
+package defsec.crud.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Rejects patches that clear a field the task cannot be without (title, status).
+ * Violations are reported on the field, like field-level constraints.
+ */
+@Documented
+@Constraint(validatedBy = TaskPatchValidator.class)
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidTaskPatch {
+    String message() default "Invalid task patch";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,13 @@
+-- Pooled id allocation for task (see TaskIdGenerator / TaskIdAllocator).
+-- Each node reserves a block of ids by advancing next_val in a short transaction of its own,
+-- then hands ids out of the block from memory. The row lock is held only for that transaction,
+-- so nodes never contend on the AUTO_INCREMENT lock of the task table.
+CREATE TABLE task_id_sequence (
+    sequence_name VARCHAR(64) NOT NULL PRIMARY KEY,
+    next_val BIGINT NOT NULL
+) ENGINE=InnoDB;
+
+-- Start after every id handed out by AUTO_INCREMENT so far; existing ids stay valid.
+-- task.id keeps its AUTO_INCREMENT attribute, and InnoDB moves the counter past explicitly inserted ids.
+INSERT INTO task_id_sequence (sequence_name, next_val)
+SELECT 'task', COALESCE(MAX(id), 0) + 1 FROM task;
@@ -0,0 +1,9 @@
+-- Append-only log of task ids written by the application.
+-- Every node polls it to drop stale entries from its in-process task cache (see TaskChangeLogService).
+-- Rows are pruned after a retention period, so the table stays small.
+CREATE TABLE task_change_log (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id BIGINT NOT NULL,
+    changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+    INDEX idx_task_change_log_changed_at (changed_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,3 @@
+-- Optimistic-lock version of each task, incremented on every update.
+-- Single-task ETags are derived from it (see TaskFacadeImpl).
+ALTER TABLE task ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,9 @@
+-- Indexes for GET /tasks filters and sorts (see TaskPageQuery). Each one serves an equality
+-- on status and/or a range on created_at or id in index order, so pages never need a filesort.
+-- created_at is never NULL in practice (set on insert); making it NOT NULL keeps keyset paging exact.
+UPDATE task SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+ALTER TABLE task
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    ADD INDEX idx_task_status_id (status, id),
+    ADD INDEX idx_task_status_created_at_id (status, created_at, id),
+    ADD INDEX idx_task_created_at_id (created_at, id);
@@ -0,0 +1,13 @@
+-- Responses to requests sent with an Idempotency-Key header, replayed when the request is retried (see IdempotencyKeys).
+-- key_hash is the SHA-256 of the method, path and key; request_hash the SHA-256 of the request, to detect a key
+-- reused for another request. status_code is NULL while the first request runs; expires_at then bounds how long
+-- another node waits for it. Expired rows are deleted periodically, so the table stays small.
+CREATE TABLE idempotency_key (
+    key_hash BINARY(32) NOT NULL PRIMARY KEY,
+    request_hash BINARY(32) NOT NULL,
+    status_code SMALLINT NULL,
+    response_headers VARCHAR(1024) NULL,
+    response_body TEXT NULL,
+    expires_at TIMESTAMP(3) NOT NULL,
+    INDEX idx_idempotency_key_expires_at (expires_at)
+) ENGINE=InnoDB;
@@ -0,0 +1,9 @@
+-- Every task id now comes from task_id_sequence (see V2). With AUTO_INCREMENT kept, an INSERT without an id
+-- took MAX(id) + 1, which can fall inside a block a node has reserved but not used yet; that node's own insert
+-- then fails on the primary key. Without it, such an INSERT is refused instead.
+-- Writers outside the application reserve their ids first, in a transaction of their own:
+--   SELECT next_val FROM task_id_sequence WHERE sequence_name = 'task' FOR UPDATE;
+--   UPDATE task_id_sequence SET next_val = next_val + <count> WHERE sequence_name = 'task';
+--   COMMIT;
+-- and insert with ids from [next_val, next_val + count).
+ALTER TABLE task MODIFY id BIGINT NOT NULL;
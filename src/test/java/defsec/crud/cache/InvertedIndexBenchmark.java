@@ -0,0 +1,88 @@
+package defsec.crud.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures search latency of the in-memory index at one million tasks with a Zipf-distributed vocabulary,
+ * which is close to how words are spread over real titles and descriptions.
+ * Skipped unless DEFSEC_BENCHMARK=true:
+ * DEFSEC_BENCHMARK=true ./gradlew test --tests "*InvertedIndexBenchmark"
+ */
+@EnabledIfEnvironmentVariable(named = "DEFSEC_BENCHMARK", matches = "true")
+class InvertedIndexBenchmark {
+
+    private static final int TASKS = 1_000_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int WARMUP_QUERIES = 2_000;
+    private static final int QUERIES = 10_000;
+    private static final int LIMIT = 20;
+
+    private final Random random = new Random(42);
+    private final String[] words = new String[VOCABULARY];
+    private final double[] cumulativeWeights = new double[VOCABULARY];
+
+    @Test
+    void searchLatencyAtOneMillionTasks() {
+        double total = 0;
+        for (int rank = 0; rank < VOCABULARY; rank++) {
+            words[rank] = "w" + Integer.toString(rank, 36);
+            total += 1.0 / (rank + 1);
+            cumulativeWeights[rank] = total;
+        }
+
+        InvertedIndex index = new InvertedIndex();
+        long started = System.nanoTime();
+        for (int id = 1; id <= TASKS; id++) {
+            index.add(id, text(3 + random.nextInt(5)), text(5 + random.nextInt(15)));
+        }
+        index.compact();
+        long buildMillis = (System.nanoTime() - started) / 1_000_000;
+
+        for (int i = 0; i < WARMUP_QUERIES; i++) {
+            index.search(text(1 + random.nextInt(3)), LIMIT);
+        }
+        long[] nanos = new long[QUERIES];
+        long hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String query = text(1 + random.nextInt(3));
+            long start = System.nanoTime();
+            hits += index.search(query, LIMIT).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+
+        System.out.printf("Indexed %d tasks in %d ms; %d queries of 1-3 words, top %d:%n",
+                          index.size(), buildMillis, QUERIES, LIMIT);
+        System.out.printf("  p50 %.3f ms, p90 %.3f ms, p99 %.3f ms, max %.3f ms%n",
+                          percentile(nanos, 0.50), percentile(nanos, 0.90), percentile(nanos, 0.99),
+                          nanos[nanos.length - 1] / 1e6);
+        assertThat(hits).isPositive();
+    }
+
+    private String text(int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            text.append(words[zipfRank()]);
+        }
+        return text.toString();
+    }
+
+    private int zipfRank() {
+        double target = random.nextDouble() * cumulativeWeights[VOCABULARY - 1];
+        int rank = Arrays.binarySearch(cumulativeWeights, target);
+        return rank >= 0 ? rank : -rank - 1;
+    }
+
+    private static double percentile(long[] sortedNanos, double quantile) {
+        return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.round(quantile * sortedNanos.length))] / 1e6;
+    }
+}
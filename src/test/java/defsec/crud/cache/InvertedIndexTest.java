@@ -0,0 +1,105 @@
+package defsec.crud.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1L, "Write docs", "Describe the search endpoint");
+        index.add(2L, "Fix build", "The docs build fails on CI");
+        index.add(3L, "Plan release", null);
+    }
+
+    @Test
+    void searchShouldRankTitleMatchesFirst() {
+        assertThat(taskIds(index.search("docs", 10))).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void searchShouldMatchAnyWordAndRankTasksMatchingMoreWordsHigher() {
+        assertThat(taskIds(index.search("build release", 10))).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(taskIds(index.search("docs build", 10))).startsWith(2L);
+    }
+
+    @Test
+    void searchShouldIgnoreCaseAccentsAndPunctuation() {
+        index.add(4L, "Café menu", null);
+
+        assertThat(taskIds(index.search("CAFE!", 10))).containsExactly(4L);
+    }
+
+    @Test
+    void searchShouldReturnAtMostLimitHits() {
+        assertThat(index.search("docs build release", 2)).hasSize(2);
+    }
+
+    @Test
+    void searchWithUnknownWordsShouldReturnNothing() {
+        assertThat(index.search("unknown", 10)).isEmpty();
+        assertThat(index.search("", 10)).isEmpty();
+    }
+
+    @Test
+    void addShouldReplacePreviousVersion() {
+        index.add(1L, "Write guide", null);
+
+        assertThat(taskIds(index.search("docs", 10))).containsExactly(2L);
+        assertThat(taskIds(index.search("guide", 10))).containsExactly(1L);
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(index.deadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void taskUpdatedManyTimesShouldStayTopHitForItsOwnWords() {
+        for (int i = 0; i < 50; i++) {
+            index.add(1L, "Write docs", "Describe the search endpoint");
+        }
+
+        List<InvertedIndex.Hit> hits = index.search("write docs", 10);
+
+        assertThat(taskIds(hits)).startsWith(1L);
+        assertThat(hits).allSatisfy(hit -> assertThat(hit.getScore()).isPositive());
+        assertThat(taskIds(index.search("search docs", 1))).containsExactly(1L);
+    }
+
+    @Test
+    void removeShouldHideTask() {
+        assertThat(index.remove(2L)).isTrue();
+        assertThat(index.remove(2L)).isFalse();
+
+        assertThat(taskIds(index.search("build", 10))).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+
+    @Test
+    void compactShouldDropDeadDocumentsAndKeepResults() {
+        index.add(1L, "Write guide", "Describe the search endpoint");
+        index.remove(3L);
+        List<Long> before = taskIds(index.search("search docs build guide", 10));
+
+        index.compact();
+
+        assertThat(index.deadCount()).isZero();
+        assertThat(taskIds(index.search("search docs build guide", 10))).isEqualTo(before);
+        index.add(5L, "New docs", null);
+        assertThat(taskIds(index.search("docs", 10))).containsExactlyInAnyOrder(2L, 5L);
+    }
+
+    @Test
+    void tokenizeShouldSplitOnNonAlphanumericCharacters() {
+        assertThat(InvertedIndex.tokenize("Ship v2.0 -- ASAP, über-fast")).containsExactly("ship", "v2", "0", "asap", "uber", "fast");
+    }
+
+    private static List<Long> taskIds(List<InvertedIndex.Hit> hits) {
+        return hits.stream().map(InvertedIndex.Hit::getTaskId).toList();
+    }
+}
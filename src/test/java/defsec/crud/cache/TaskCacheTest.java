@@ -0,0 +1,86 @@
+package defsec.crud.cache;
+
+import defsec.crud.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private TaskCache taskCache;
+
+    @BeforeEach
+    void setUp() {
+        taskCache = new TaskCache();
+        ReflectionTestUtils.setField(taskCache, "maximumSize", 100L);
+        ReflectionTestUtils.setField(taskCache, "ttl", Duration.ofMinutes(1));
+        taskCache.init();
+    }
+
+    @Test
+    void putIfNotInvalidatedShouldCacheTaskReadWithoutChange() {
+        // Given
+        long generation = taskCache.generation(1L);
+
+        // When
+        boolean cached = taskCache.putIfNotInvalidated(task(1L, 1L), generation);
+
+        // Then
+        assertThat(cached).isTrue();
+        assertThat(taskCache.getIfPresent(1L)).hasValueSatisfying(task -> assertThat(task.getVersion()).isEqualTo(1L));
+    }
+
+    @Test
+    void putIfNotInvalidatedShouldRefuseTaskInvalidatedWhileItWasRead() {
+        // Given: the generation is taken, the database read returns version 1, then the task is updated
+        long generation = taskCache.generation(1L);
+        Task read = task(1L, 1L);
+        taskCache.onTaskChanged(1L);
+
+        // When
+        boolean cached = taskCache.putIfNotInvalidated(read, generation);
+
+        // Then
+        assertThat(cached).isFalse();
+        assertThat(taskCache.getIfPresent(1L)).isEmpty();
+    }
+
+    @Test
+    void putIfNotInvalidatedShouldNotReplaceNewerTaskWithOneReadBeforeChange() {
+        // Given: a slow read of version 1 overtaken by a read of version 2 started after the update
+        long staleGeneration = taskCache.generation(1L);
+        taskCache.onTaskChanged(1L);
+        taskCache.putIfNotInvalidated(task(1L, 2L), taskCache.generation(1L));
+
+        // When
+        taskCache.putIfNotInvalidated(task(1L, 1L), staleGeneration);
+
+        // Then
+        assertThat(taskCache.getIfPresent(1L)).hasValueSatisfying(task -> assertThat(task.getVersion()).isEqualTo(2L));
+    }
+
+    @Test
+    void invalidationShouldOnlyAffectLoadsStartedBeforeIt() {
+        // Given
+        taskCache.onTaskChanged(1L);
+        long generation = taskCache.generation(1L);
+
+        // When
+        boolean cached = taskCache.putIfNotInvalidated(task(1L, 2L), generation);
+
+        // Then
+        assertThat(cached).isTrue();
+    }
+
+    private static Task task(Long id, Long version) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setVersion(version);
+        return task;
+    }
+}
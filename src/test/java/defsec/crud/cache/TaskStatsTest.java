@@ -0,0 +1,150 @@
+package defsec.crud.cache;
+
+import defsec.crud.dto.TaskStatsResponse;
+import defsec.crud.entity.Task;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsTest {
+
+    @Mock
+    private TaskJdbcRepository taskJdbcRepository;
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+    private TaskStats taskStats;
+
+    @BeforeEach
+    void setUp() {
+        taskStats = new TaskStats(now::get);
+        ReflectionTestUtils.setField(taskStats, "taskJdbcRepository", taskJdbcRepository);
+    }
+
+    @Test
+    void snapshotShouldAddLocalChangesToReconciledCounts() {
+        // Given
+        when(taskJdbcRepository.countByStatus()).thenReturn(Map.of(Task.Status.PENDING, 10L, Task.Status.COMPLETED, 5L));
+        taskStats.reconcile();
+
+        // When
+        taskStats.recordCreated(Task.Status.PENDING);
+        taskStats.recordStatusChange(Task.Status.PENDING, Task.Status.COMPLETED);
+        taskStats.recordDeleted(Task.Status.COMPLETED);
+        TaskStatsResponse stats = taskStats.snapshot();
+
+        // Then
+        assertThat(stats.getCounts()).containsOnly(entry(Task.Status.PENDING, 10L), entry(Task.Status.COMPLETED, 5L));
+        assertThat(stats.getTotal()).isEqualTo(15L);
+        assertThat(stats.getReconciledAt()).isNotNull();
+    }
+
+    @Test
+    void reconcileShouldReplaceLocalChanges() {
+        // Given
+        when(taskJdbcRepository.countByStatus()).thenReturn(Map.of(Task.Status.PENDING, 3L));
+        taskStats.recordCreated(Task.Status.PENDING);
+        taskStats.recordCreated(Task.Status.PENDING);
+
+        // When
+        taskStats.reconcile();
+
+        // Then
+        assertThat(taskStats.snapshot().getCounts()).containsOnly(entry(Task.Status.PENDING, 3L), entry(Task.Status.COMPLETED, 0L));
+    }
+
+    @Test
+    void failedReconcileShouldKeepLocalChanges() {
+        // Given
+        when(taskJdbcRepository.countByStatus()).thenThrow(new QueryTimeoutException("timeout"));
+        taskStats.recordCreated(Task.Status.COMPLETED);
+
+        // When
+        taskStats.reconcile();
+
+        // Then
+        TaskStatsResponse stats = taskStats.snapshot();
+        assertThat(stats.getCounts()).containsEntry(Task.Status.COMPLETED, 1L);
+        assertThat(stats.getReconciledAt()).isNull();
+    }
+
+    @Test
+    void unknownPreviousStatusShouldWaitForScheduledReconcile() {
+        // When
+        taskStats.recordDeleted(null);
+        taskStats.recordStatusChange(null, Task.Status.COMPLETED);
+        taskStats.reconcileIfStale();
+
+        // Then
+        verify(taskJdbcRepository, never()).countByStatus();
+        assertThat(taskStats.snapshot().getCompletedPerMinute()).containsEntry("1m", 0.0);
+    }
+
+    @Test
+    void failedReconcileShouldBeRetriedEarly() {
+        // Given
+        when(taskJdbcRepository.countByStatus())
+            .thenThrow(new QueryTimeoutException("timeout"))
+            .thenReturn(Map.of(Task.Status.COMPLETED, 1L));
+        taskStats.reconcile();
+
+        // When
+        taskStats.reconcileIfStale();
+        taskStats.reconcileIfStale();
+
+        // Then
+        verify(taskJdbcRepository, times(2)).countByStatus();
+        assertThat(taskStats.snapshot().getCounts()).containsEntry(Task.Status.COMPLETED, 1L);
+    }
+
+    @Test
+    void ratesShouldCoverSlidingWindows() {
+        // Given: 6 creates now, 3 of them completed, and 10 creates 4 minutes ago
+        for (int i = 0; i < 10; i++) {
+            taskStats.recordCreated(Task.Status.PENDING);
+        }
+        now.addAndGet(4 * 60_000);
+        for (int i = 0; i < 3; i++) {
+            taskStats.recordCreated(Task.Status.PENDING);
+            taskStats.recordStatusChange(Task.Status.PENDING, Task.Status.COMPLETED);
+        }
+        taskStats.recordCreated(Task.Status.COMPLETED);
+        taskStats.recordCreated(Task.Status.PENDING);
+        taskStats.recordCreated(Task.Status.PENDING);
+
+        // When
+        TaskStatsResponse stats = taskStats.snapshot();
+
+        // Then
+        assertThat(stats.getCreatedPerMinute()).containsExactly(entry("1m", 6.0), entry("5m", 16 / 5.0), entry("15m", 16 / 15.0));
+        assertThat(stats.getCompletedPerMinute()).containsExactly(entry("1m", 4.0), entry("5m", 4 / 5.0), entry("15m", 4 / 15.0));
+    }
+
+    @Test
+    void ratesShouldForgetEventsOlderThanTheLongestWindow() {
+        // Given
+        taskStats.recordCreated(Task.Status.PENDING);
+
+        // When
+        now.addAndGet(16 * 60_000);
+        taskStats.recordCreated(Task.Status.PENDING);
+
+        // Then
+        assertThat(taskStats.snapshot().getCreatedPerMinute()).containsEntry("15m", 1 / 15.0);
+    }
+}
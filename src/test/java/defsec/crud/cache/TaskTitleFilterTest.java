@@ -0,0 +1,114 @@
+package defsec.crud.cache;
+
+import defsec.crud.repository.TaskJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class TaskTitleFilterTest {
+
+    @Mock
+    private TaskJdbcRepository taskJdbcRepository;
+
+    // Titles in the task table, in commit order
+    private final Queue<String> stored = new ConcurrentLinkedQueue<>();
+    private TaskTitleFilter taskTitleFilter;
+
+    @BeforeEach
+    void setUp() {
+        taskTitleFilter = new TaskTitleFilter();
+        ReflectionTestUtils.setField(taskTitleFilter, "taskJdbcRepository", taskJdbcRepository);
+        lenient().when(taskJdbcRepository.count()).thenAnswer(invocation -> (long) stored.size());
+    }
+
+    private void streamStored(Runnable duringScan) {
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(0);
+            for (String title : stored.toArray(new String[0])) {
+                consumer.accept(title);
+            }
+            duringScan.run();
+            return null;
+        }).when(taskJdbcRepository).streamTitles(any());
+    }
+
+    // A create as the facade does it: commit, then record the title
+    private void create(String title) {
+        stored.add(title);
+        taskTitleFilter.add(title);
+    }
+
+    @Test
+    void mightContainShouldAnswerTrueUntilFirstBuild() {
+        assertThat(taskTitleFilter.mightContain("Anything")).isTrue();
+    }
+
+    @Test
+    void rebuildShouldContainStoredTitlesIgnoringCaseAndAccents() {
+        // Given
+        stored.add("Café menu");
+        streamStored(() -> { });
+
+        // When
+        taskTitleFilter.rebuild();
+
+        // Then
+        assertThat(taskTitleFilter.mightContain("CAFE MENU")).isTrue();
+        assertThat(taskTitleFilter.mightContain("Tea menu")).isFalse();
+    }
+
+    @Test
+    void titleAddedDuringScanShouldBeInRebuiltFilter() {
+        // Given: a title committed after the scan read the table
+        streamStored(() -> create("Late"));
+
+        // When
+        taskTitleFilter.rebuild();
+
+        // Then
+        assertThat(taskTitleFilter.mightContain("Late")).isTrue();
+    }
+
+    @Test
+    void titlesAddedConcurrentlyWithRebuildsShouldNeverBeMissing() throws InterruptedException {
+        // Given
+        streamStored(() -> { });
+        taskTitleFilter.rebuild();
+        List<Thread> writers = new ArrayList<>();
+        for (int writer = 0; writer < 3; writer++) {
+            String prefix = "Task " + writer + "-";
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    create(prefix + i);
+                }
+            }));
+        }
+
+        // When
+        writers.forEach(Thread::start);
+        while (writers.stream().anyMatch(Thread::isAlive)) {
+            taskTitleFilter.rebuild();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        // Then
+        assertThat(stored).allMatch(taskTitleFilter::mightContain);
+    }
+}
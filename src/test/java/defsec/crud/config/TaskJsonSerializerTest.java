@@ -0,0 +1,143 @@
+package defsec.crud.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import defsec.crud.entity.Task;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TimeZone;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares TaskJsonSerializer with the bean serializer it replaces, byte for byte
+ */
+class TaskJsonSerializerTest {
+
+    private final ObjectMapper objectMapper = objectMapper(true);
+    private final ObjectMapper beanSerializerMapper = objectMapper(false);
+
+    // The application's settings, with or without JacksonConfig's Task serializer
+    private static ObjectMapper objectMapper(boolean taskSerializer) {
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder()
+            .serializationInclusion(JsonInclude.Include.NON_NULL)
+            .timeZone(TimeZone.getTimeZone("UTC"));
+        if (taskSerializer) {
+            new JacksonConfig().jsonCustomizer().customize(builder);
+        } else {
+            builder.serializers(new LocalDateTimeSerializer(JacksonConfig.FORMATTER));
+        }
+        return builder.build();
+    }
+
+    private static Task task(Long id, String title, String description, Task.Status status,
+                             LocalDateTime createdAt, LocalDateTime updatedAt) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setDescription(description);
+        task.setStatus(status);
+        task.setCreatedAt(createdAt);
+        task.setUpdatedAt(updatedAt);
+        task.setVersion(3L);
+        return task;
+    }
+
+    // Bytes and strings separately: the UTF-8 generator escapes surrogate pairs, the Writer based one does not
+    private void assertSameJson(Object value) throws Exception {
+        assertThat(objectMapper.writeValueAsBytes(value)).isEqualTo(beanSerializerMapper.writeValueAsBytes(value));
+        assertThat(objectMapper.writeValueAsString(value)).isEqualTo(beanSerializerMapper.writeValueAsString(value));
+    }
+
+    @Test
+    void shouldWriteSameJsonAsBeanSerializer() throws Exception {
+        // Given
+        Task task = task(42L, "Prepare review", "Collect findings", Task.Status.COMPLETED,
+                         LocalDateTime.of(2025, 1, 15, 14, 30, 45), LocalDateTime.of(2025, 1, 16, 9, 5, 7));
+
+        // When
+        String json = objectMapper.writeValueAsString(task);
+
+        // Then
+        assertThat(json).isEqualTo("{\"id\":42,\"title\":\"Prepare review\",\"description\":\"Collect findings\","
+            + "\"status\":\"COMPLETED\",\"createdAt\":\"2025-01-15T14:30:45Z\",\"updatedAt\":\"2025-01-16T09:05:07Z\"}");
+        assertSameJson(task);
+    }
+
+    @Test
+    void shouldOmitNullFieldsAsBeanSerializer() throws Exception {
+        assertSameJson(task(null, null, null, null, null, null));
+        assertSameJson(task(1L, "Title", null, Task.Status.PENDING, LocalDateTime.of(2025, 1, 15, 14, 30, 45), null));
+    }
+
+    @Test
+    void shouldEscapeStringsAsBeanSerializer() throws Exception {
+        assertSameJson(task(Long.MAX_VALUE, "Quote \" backslash \\ slash / tab \t newline \n control \u0001",
+                            "Unicode é ✓ 🚀 and separator \u2028", Task.Status.PENDING,
+                            LocalDateTime.of(2025, 1, 15, 14, 30, 45), null));
+    }
+
+    @Test
+    void shouldFormatTimestampsAsBeanSerializer() throws Exception {
+        LocalDateTime[] timestamps = {
+            LocalDateTime.of(2025, 1, 15, 14, 30, 45, 999_999_999),
+            LocalDateTime.of(2024, 2, 29, 0, 0, 0),
+            LocalDateTime.of(2025, 12, 31, 23, 59, 59),
+            LocalDateTime.of(1, 1, 1, 0, 0, 0),
+            LocalDateTime.of(9999, 12, 31, 23, 59, 59),
+            LocalDateTime.of(10000, 1, 1, 0, 0, 0),
+            LocalDateTime.of(0, 6, 1, 12, 0, 0),
+            LocalDateTime.of(1969, 12, 31, 23, 59, 59),
+        };
+        for (LocalDateTime timestamp : timestamps) {
+            // Twice: rendered, then from the cache
+            assertSameJson(task(1L, "Title", null, Task.Status.PENDING, timestamp, timestamp));
+            assertSameJson(task(1L, "Title", null, Task.Status.PENDING, timestamp, timestamp));
+        }
+    }
+
+    @Test
+    void shouldWriteListsAsBeanSerializer() throws Exception {
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 14, 30, 45);
+        assertSameJson(List.of(
+            task(1L, "First", "Description", Task.Status.PENDING, createdAt, null),
+            task(2L, "Second", null, Task.Status.COMPLETED, createdAt, createdAt.plusSeconds(4096)),
+            task(3L, "Third", null, Task.Status.COMPLETED, createdAt.plusSeconds(4096), createdAt)));
+    }
+
+    // A property added to Task is left out by TaskJsonSerializer until it is written there too
+    @Test
+    void shouldCoverAllTaskProperties() {
+        // When
+        List<String> properties = beanSerializerMapper.getSerializationConfig()
+            .introspect(beanSerializerMapper.constructType(Task.class))
+            .findProperties().stream()
+            .filter(BeanPropertyDefinition::couldSerialize)
+            .map(BeanPropertyDefinition::getName)
+            .toList();
+
+        // Then
+        assertThat(properties).containsExactly("id", "title", "description", "status", "createdAt", "updatedAt");
+    }
+
+    @Test
+    void shouldReuseRenderedSecond() {
+        // Given
+        LocalDateTime second = LocalDateTime.of(2025, 1, 15, 14, 30, 45);
+
+        // When
+        SerializableString first = JsonTimestamps.format(second);
+        SerializableString again = JsonTimestamps.format(second.plusNanos(500_000_000));
+
+        // Then
+        assertThat(again).isSameAs(first);
+        assertThat(first.getValue()).isEqualTo("2025-01-15T14:30:45Z");
+        assertThat(JsonTimestamps.format(second.plusSeconds(4096)).getValue()).isEqualTo("2025-01-15T15:39:01Z");
+    }
+}
@@ -0,0 +1,185 @@
+package defsec.crud.config;
+
+import defsec.DefsecApplication;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares throughput and latency of GET /tasks on Tomcat's platform worker pool and on virtual threads,
+ * with 1000 concurrent clients and every connection checkout held for 50 ms to simulate a slow database.
+ *
+ * The Hikari pool is sized above the worker pool so that, as during a slow-database spike in production,
+ * threads run out before connections do. MySQL must accept that many connections, e.g.
+ * {@code SET GLOBAL max_connections = 1000}. Skipped unless DEFSEC_BENCHMARK=true:
+ * DEFSEC_BENCHMARK=true DEFSEC_TEST_DATASOURCE_URL=jdbc:mysql://localhost:3306/defsecdb \
+ *   ./gradlew test --tests "*VirtualThreadBenchmark"
+ */
+@EnabledIfEnvironmentVariable(named = "DEFSEC_BENCHMARK", matches = "true")
+@EnabledIfEnvironmentVariable(named = "DEFSEC_TEST_DATASOURCE_URL", matches = ".+")
+class VirtualThreadBenchmark {
+
+    private static final int CLIENTS = 1000;
+    private static final int POOL_SIZE = 800;
+    private static final long DATABASE_LATENCY_MILLIS = 50;
+    private static final Duration WARMUP = Duration.ofSeconds(10);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(30);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    @Test
+    void platformVersusVirtualThreadsWithSlowDatabase() throws Exception {
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        System.out.printf("%d clients, %d ms per connection checkout, %d connections, GET /tasks?limit=10:%n",
+                          CLIENTS, DATABASE_LATENCY_MILLIS, POOL_SIZE);
+        System.out.println("  platform: " + platform);
+        System.out.println("  virtual:  " + virtual);
+        assertThat(virtual.requests).isPositive();
+        assertThat(platform.requests).isPositive();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DefsecApplication.class, SlowDatabase.class)
+                .properties(
+                    "server.port=0",
+                    "spring.datasource.url=" + System.getenv("DEFSEC_TEST_DATASOURCE_URL"),
+                    "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                    "spring.datasource.hikari.minimum-idle=" + POOL_SIZE,
+                    "defsec.threads.virtual.enabled=" + virtualThreads,
+                    "logging.level.defsec=WARN")
+                .run()) {
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                + "/tasks?limit=10");
+            load(uri, WARMUP);
+            return load(uri, MEASUREMENT);
+        }
+    }
+
+    // Closed loop: each client sends its next request as soon as the previous one completes
+    private static Result load(URI uri, Duration duration) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<long[]>> clients = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.add(executor.submit(() -> {
+                    long[] nanos = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            if (httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == nanos.length) {
+                            nanos = Arrays.copyOf(nanos, count * 2);
+                        }
+                        nanos[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(nanos, count);
+                }));
+            }
+        }
+        long[] all = new long[0];
+        for (Future<long[]> client : clients) {
+            long[] nanos = client.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + nanos.length);
+            System.arraycopy(nanos, 0, all, offset, nanos.length);
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get(), duration);
+    }
+
+    @TestConfiguration
+    static class SlowDatabase {
+
+        // Holds each checked-out connection before handing it out, as a slow first statement would
+        @Bean
+        static BeanPostProcessor slowDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection connection = super.getConnection();
+                            try {
+                                Thread.sleep(DATABASE_LATENCY_MILLIS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return connection;
+                        }
+                    };
+                }
+            };
+        }
+    }
+
+    private static final class Result {
+
+        private final long requests;
+        private final long errors;
+        private final double perSecond;
+        private final double p50Millis;
+        private final double p99Millis;
+        private final double maxMillis;
+
+        Result(long[] sortedNanos, long errors, Duration duration) {
+            this.requests = sortedNanos.length;
+            this.errors = errors;
+            this.perSecond = requests / (duration.toMillis() / 1000.0);
+            this.p50Millis = percentile(sortedNanos, 0.50);
+            this.p99Millis = percentile(sortedNanos, 0.99);
+            this.maxMillis = sortedNanos.length > 0 ? sortedNanos[sortedNanos.length - 1] / 1e6 : 0;
+        }
+
+        private static double percentile(long[] sortedNanos, double quantile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            return sortedNanos[(int) Math.min(sortedNanos.length - 1, Math.ceil(quantile * sortedNanos.length) - 1)] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, max %.1f ms, %d errors",
+                                 perSecond, p50Millis, p99Millis, maxMillis, errors);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package defsec.crud.config;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * VirtualThreadPinningTest on MySQL, where JDBC calls go through Connector/J. Needs the same database as
+ * TaskStatementCountMySqlTest:
+ * DEFSEC_TEST_DATASOURCE_URL=jdbc:mysql://localhost:3306/defsecdb ./gradlew test --tests "*VirtualThreadPinningMySqlTest"
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=${DEFSEC_TEST_DATASOURCE_URL}",
+    "defsec.threads.virtual.enabled=true",
+    "spring.datasource.hikari.maximum-pool-size=4"
+})
+@ActiveProfiles(inheritProfiles = false)
+@EnabledIfEnvironmentVariable(named = "DEFSEC_TEST_DATASOURCE_URL", matches = ".+")
+class VirtualThreadPinningMySqlTest extends VirtualThreadPinningTest {
+}
@@ -0,0 +1,120 @@
+package defsec.crud.config;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs concurrent requests against every task endpoint on virtual threads and fails if any of them blocked
+ * while pinned to its carrier thread, as recorded by JFR. Runs on in-memory H2 (profile "h2"), which checks the
+ * application's own code and connection pool; VirtualThreadPinningMySqlTest repeats it with MySQL Connector/J.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "defsec.threads.virtual.enabled=true",
+    // Fewer connections than concurrent requests, so requests also wait on the pool
+    "spring.datasource.hikari.maximum-pool-size=4"
+})
+@ActiveProfiles("h2")
+class VirtualThreadPinningTest {
+
+    private static final int CLIENTS = 32;
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+
+    @Test
+    void taskEndpointsShouldNotPinCarrierThreads() throws Exception {
+        // Reserves the first id block alone: creates that all wait for a new block would otherwise hold every
+        // pooled connection while the reservation waits for one more
+        exerciseTaskEndpoints();
+
+        Path file = Files.createTempFile("virtual-thread-pinning", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            recording.start();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> results = new ArrayList<>();
+                for (int i = 0; i < CLIENTS; i++) {
+                    results.add(clients.submit(() -> {
+                        exerciseTaskEndpoints();
+                        return null;
+                    }));
+                }
+                for (Future<?> result : results) {
+                    result.get();
+                }
+            }
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> pinned = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+                .toList();
+            assertThat(pinned)
+                .as("pinned virtual threads:%n%s", pinned.stream().map(VirtualThreadPinningTest::describe)
+                    .collect(Collectors.joining("\n")))
+                .isEmpty();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void exerciseTaskEndpoints() throws Exception {
+        String created = send("POST", "/tasks", "{\"title\":\"pinning " + UUID.randomUUID() + "\",\"status\":\"PENDING\"}", 200);
+        Matcher id = ID.matcher(created);
+        assertThat(id.find()).isTrue();
+        String path = "/tasks/" + id.group(1);
+        send("GET", path, null, 200);
+        send("GET", "/tasks?limit=10", null, 200);
+        send("PATCH", path, "{\"status\":\"COMPLETED\"}", 200);
+        send("GET", "/tasks/stats", null, 200);
+        send("DELETE", path, null, 200);
+    }
+
+    private String send(String method, String path, String body, int expectedStatus) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .method(method, body != null ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody());
+        if (body != null) {
+            request.header("Content-Type", "application/json");
+        }
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(response.statusCode()).as("%s %s: %s", method, path, response.body()).isEqualTo(expectedStatus);
+        return response.body();
+    }
+
+    private static String describe(RecordedEvent event) {
+        List<RecordedFrame> frames = event.getStackTrace() != null ? event.getStackTrace().getFrames() : List.of();
+        return frames.stream()
+            .limit(20)
+            .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber())
+            .collect(Collectors.joining("\n", event.getDuration() + " pinned\n", ""));
+    }
+}
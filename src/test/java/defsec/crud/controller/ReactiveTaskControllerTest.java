@@ -0,0 +1,183 @@
+package defsec.crud.controller;
+
+import defsec.crud.config.JacksonConfig;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.exception.PreconditionFailedException;
+import defsec.crud.facade.ReactiveTaskFacade;
+import defsec.crud.facade.TaskFacadeImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The reactive controller must answer exactly like {@link TaskController}: same parameters, headers and error bodies.
+ */
+@WebFluxTest(ReactiveTaskController.class)
+@ActiveProfiles("reactive")
+@Import(JacksonConfig.class)
+class ReactiveTaskControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveTaskFacade taskFacade;
+
+    private Task testTask;
+
+    @BeforeEach
+    void setUp() {
+        testTask = new Task();
+        testTask.setId(1L);
+        testTask.setTitle("Test Task");
+        testTask.setDescription("Test Description");
+        testTask.setStatus(Task.Status.PENDING);
+        testTask.setCreatedAt(LocalDateTime.of(2025, 1, 15, 14, 30, 45));
+        testTask.setVersion(0L);
+    }
+
+    @Test
+    void getAllTasksShouldPassParametersAndReturnHeaders() {
+        // Given
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull())).thenReturn(Mono.just(
+                ResponseEntity.ok().header(TaskFacadeImpl.NEXT_CURSOR_HEADER, "def").eTag("\"tasks.1\"").body(List.of(testTask))));
+
+        // When & Then
+        webTestClient.get().uri("/tasks?after=abc&limit=1&status=PENDING&sort=-id").exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(TaskFacadeImpl.NEXT_CURSOR_HEADER, "def")
+                .expectHeader().valueEquals("ETag", "\"tasks.1\"")
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1)
+                .jsonPath("$[0].status").isEqualTo("PENDING")
+                .jsonPath("$[0].createdAt").isEqualTo("2025-01-15T14:30:45Z");
+        ArgumentCaptor<TaskListRequest> requestCaptor = ArgumentCaptor.forClass(TaskListRequest.class);
+        verify(taskFacade).getAllTasks(requestCaptor.capture(), isNull());
+        assertThat(requestCaptor.getValue().getAfter()).isEqualTo("abc");
+        assertThat(requestCaptor.getValue().getLimit()).isEqualTo(1);
+        assertThat(requestCaptor.getValue().getStatus()).isEqualTo("PENDING");
+        assertThat(requestCaptor.getValue().getSort()).isEqualTo("-id");
+    }
+
+    @Test
+    void getAllTasksWithInvalidCursorShouldReturnBadRequest() {
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull()))
+                .thenReturn(Mono.error(new InvalidParameterException("Invalid cursor: 'bogus'", "after")));
+
+        webTestClient.get().uri("/tasks?after=bogus").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Invalid Parameter")
+                .jsonPath("$.field").isEqualTo("after");
+    }
+
+    @Test
+    void searchTasksWithNonNumericLimitShouldReturnBadRequest() {
+        webTestClient.get().uri("/tasks/search?q=docs&limit=abc").exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Invalid Parameter")
+                .jsonPath("$.message").isEqualTo("Invalid limit: 'abc'. Expected a valid integer.")
+                .jsonPath("$.field").isEqualTo("limit");
+        verify(taskFacade, never()).searchTasks(any(), any());
+    }
+
+    @Test
+    void getTaskByIdShouldPassIfNoneMatchAndReturnNotModified() {
+        when(taskFacade.getTaskById(1L, "\"1.0\"")).thenReturn(Mono.just(ResponseEntity.status(304).eTag("\"1.0\"").build()));
+
+        webTestClient.get().uri("/tasks/1").header("If-None-Match", "\"1.0\"").exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals("ETag", "\"1.0\"")
+                .expectBody().isEmpty();
+    }
+
+    @Test
+    void createTaskWithInvalidTitleShouldReturnFieldErrors() {
+        TaskRequest invalidTaskRequest = new TaskRequest();
+        invalidTaskRequest.setTitle("");
+
+        webTestClient.post().uri("/tasks").contentType(MediaType.APPLICATION_JSON).bodyValue(invalidTaskRequest).exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.title").exists();
+        verify(taskFacade, never()).createTask(any());
+    }
+
+    @Test
+    void createTaskWithDuplicateTitleShouldReturnConflict() {
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("Duplicate Task");
+        taskRequest.setStatus("PENDING");
+        when(taskFacade.createTask(any(Task.class))).thenReturn(Mono.error(new ConflictException(
+                "A task with the title 'Duplicate Task' already exists", "title", "Duplicate Task")));
+
+        webTestClient.post().uri("/tasks").contentType(MediaType.APPLICATION_JSON).bodyValue(taskRequest).exchange()
+                .expectStatus().isEqualTo(409)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Conflict")
+                .jsonPath("$.message").isEqualTo("A task with the title 'Duplicate Task' already exists")
+                .jsonPath("$.field").isEqualTo("title");
+    }
+
+    @Test
+    void updateTaskWithStaleIfMatchShouldReturnPreconditionFailed() {
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("Updated Task");
+        taskRequest.setStatus("COMPLETED");
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), eq("\"1.0\""))).thenReturn(Mono.error(
+                new PreconditionFailedException("Task with id 1 has been modified", "If-Match")));
+
+        webTestClient.put().uri("/tasks/1").header("If-Match", "\"1.0\"")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(taskRequest).exchange()
+                .expectStatus().isEqualTo(412)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Precondition Failed")
+                .jsonPath("$.field").isEqualTo("If-Match");
+    }
+
+    @Test
+    void exportTasksShouldStreamNdjson() {
+        Task second = new Task();
+        second.setId(2L);
+        second.setTitle("Second");
+        second.setStatus(Task.Status.COMPLETED);
+        when(taskFacade.exportTasks("ndjson")).thenReturn(Mono.just(
+                ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(Flux.just(testTask, second))));
+
+        List<Task> exported = webTestClient.get().uri("/tasks/export").exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Task.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(exported).extracting(Task::getId).containsExactly(1L, 2L);
+    }
+}
@@ -1,38 +1,71 @@
 package defsec.crud.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import defsec.crud.config.BinaryFormatConfig;
 import defsec.crud.config.JacksonConfig;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
 import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
 import defsec.crud.entity.Task;
 import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.exception.PreconditionFailedException;
+import defsec.crud.exception.TooManyRequestsException;
+import defsec.crud.facade.IdempotencyKeys;
 import defsec.crud.facade.TaskFacade;
+import defsec.crud.facade.TaskFacadeImpl;
+import defsec.crud.repository.IdempotencyKeyRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.mockito.ArgumentCaptor;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(TaskController.class)
-@Import(JacksonConfig.class)
+@Import({JacksonConfig.class, BinaryFormatConfig.class, IdempotencyKeys.class})
 class TaskControllerTest {
 
     @Autowired
@@ -41,6 +74,9 @@ class TaskControllerTest {
     @MockBean
     private TaskFacade taskFacade;
 
+    @MockBean
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -62,7 +98,7 @@ class TaskControllerTest {
     void getAllTasksShouldReturnListOfTasks() throws Exception {
         // Given
         List<Task> tasks = Arrays.asList(testTask);
-        when(taskFacade.getAllTasks()).thenReturn(tasks);
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull())).thenReturn(ResponseEntity.ok(tasks));
 
         // When & Then
         mockMvc.perform(get("/tasks"))
@@ -75,10 +111,141 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$[0].status").value("PENDING"));
     }
 
+    @Test
+    void getAllTasksShouldPassCursorAndLimitAndReturnNextCursorHeader() throws Exception {
+        // Given
+        List<Task> tasks = Arrays.asList(testTask);
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull())).thenReturn(
+                ResponseEntity.ok().header(TaskFacadeImpl.NEXT_CURSOR_HEADER, "def").body(tasks));
+
+        // When & Then
+        mockMvc.perform(get("/tasks").param("after", "abc").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TaskFacadeImpl.NEXT_CURSOR_HEADER, "def"))
+                .andExpect(jsonPath("$[0].id").value(1));
+        ArgumentCaptor<TaskListRequest> requestCaptor = ArgumentCaptor.forClass(TaskListRequest.class);
+        verify(taskFacade).getAllTasks(requestCaptor.capture(), isNull());
+        assertThat(requestCaptor.getValue().getAfter()).isEqualTo("abc");
+        assertThat(requestCaptor.getValue().getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    void getAllTasksShouldPassFiltersAndSort() throws Exception {
+        // Given
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull())).thenReturn(ResponseEntity.ok(List.of()));
+
+        // When
+        mockMvc.perform(get("/tasks")
+                        .param("status", "PENDING")
+                        .param("createdFrom", "2025-01-15T00:00:00Z")
+                        .param("createdTo", "2025-01-16T00:00:00Z")
+                        .param("sort", "-createdAt"))
+                .andExpect(status().isOk());
+
+        // Then
+        ArgumentCaptor<TaskListRequest> requestCaptor = ArgumentCaptor.forClass(TaskListRequest.class);
+        verify(taskFacade).getAllTasks(requestCaptor.capture(), isNull());
+        TaskListRequest request = requestCaptor.getValue();
+        assertThat(request.getStatus()).isEqualTo("PENDING");
+        assertThat(request.getCreatedFrom()).isEqualTo("2025-01-15T00:00:00Z");
+        assertThat(request.getCreatedTo()).isEqualTo("2025-01-16T00:00:00Z");
+        assertThat(request.getSort()).isEqualTo("-createdAt");
+    }
+
+    @Test
+    void searchTasksShouldPassQueryAndLimit() throws Exception {
+        // Given
+        when(taskFacade.searchTasks("test docs", 5)).thenReturn(ResponseEntity.ok(List.of(testTask)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/search").param("q", "test docs").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].title").value("Test Task"));
+    }
+
+    @Test
+    void searchTasksWithoutQueryShouldReturnBadRequest() throws Exception {
+        // Given
+        when(taskFacade.searchTasks(null, null))
+                .thenThrow(new InvalidParameterException("Invalid q: ''. Expected at least one word.", "q"));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/search"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("q"));
+    }
+
+    @Test
+    void getTaskStatsShouldReturnCountsAndRates() throws Exception {
+        // Given
+        Map<Task.Status, Long> counts = new EnumMap<>(Task.Status.class);
+        counts.put(Task.Status.PENDING, 12L);
+        counts.put(Task.Status.COMPLETED, 30L);
+        TaskStatsResponse stats = new TaskStatsResponse(counts, 42L, Map.of("1m", 2.0), Map.of("1m", 1.0),
+                LocalDateTime.of(2025, 1, 15, 14, 30, 45));
+        when(taskFacade.getTaskStats()).thenReturn(ResponseEntity.ok(stats));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.counts.PENDING").value(12))
+                .andExpect(jsonPath("$.counts.COMPLETED").value(30))
+                .andExpect(jsonPath("$.total").value(42))
+                .andExpect(jsonPath("$.createdPerMinute['1m']").value(2.0))
+                .andExpect(jsonPath("$.completedPerMinute['1m']").value(1.0))
+                .andExpect(jsonPath("$.reconciledAt").value("2025-01-15T14:30:45Z"));
+    }
+
+    @Test
+    void getAllTasksWithInvalidCursorShouldReturnBadRequest() throws Exception {
+        // Given
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull()))
+                .thenThrow(new InvalidParameterException("Invalid cursor: 'bogus'", "after"));
+
+        // When & Then
+        mockMvc.perform(get("/tasks").param("after", "bogus"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Invalid Parameter"))
+                .andExpect(jsonPath("$.field").value("after"));
+    }
+
+    @Test
+    void exportTasksShouldStreamBodyWithExportTimeout() throws Exception {
+        // Given
+        StreamingResponseBody body = out -> out.write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+        when(taskFacade.exportTasks("ndjson")).thenReturn(
+                ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/tasks/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(Duration.ofMinutes(30).toMillis());
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
+    }
+
+    @Test
+    void exportTasksWithInvalidFormatShouldReturnBadRequest() throws Exception {
+        // Given
+        when(taskFacade.exportTasks("xml"))
+                .thenThrow(new InvalidParameterException("Invalid format: 'xml'. Expected one of: ndjson, json.", "format"));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.field").value("format"));
+    }
+
     @Test
     void getTaskByIdWhenTaskExistsShouldReturnTask() throws Exception {
         // Given
-        when(taskFacade.getTaskById(1L)).thenReturn(ResponseEntity.ok(testTask));
+        when(taskFacade.getTaskById(1L, null)).thenReturn(ResponseEntity.ok(testTask));
 
         // When & Then
         mockMvc.perform(get("/tasks/1"))
@@ -88,10 +255,23 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
+    @Test
+    void getTaskByIdShouldPassIfNoneMatchAndReturnNotModified() throws Exception {
+        // Given
+        when(taskFacade.getTaskById(1L, "\"1.0\"")).thenReturn(
+                ResponseEntity.status(304).eTag("\"1.0\"").build());
+
+        // When & Then
+        mockMvc.perform(get("/tasks/1").header("If-None-Match", "\"1.0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1.0\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     void getTaskByIdWhenTaskNotExistsShouldReturnNotFound() throws Exception {
         // Given
-        when(taskFacade.getTaskById(999L)).thenReturn(ResponseEntity.notFound().build());
+        when(taskFacade.getTaskById(999L, null)).thenReturn(ResponseEntity.notFound().build());
 
         // When & Then
         mockMvc.perform(get("/tasks/999"))
@@ -118,6 +298,231 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.title").value("Test Task"));
     }
 
+    @Test
+    void createTaskWithPreferRespondAsyncShouldReturnAccepted() throws Exception {
+        // Given
+        when(taskFacade.createTaskAsync(any(Task.class))).thenReturn(ResponseEntity.accepted()
+                .location(URI.create("/tasks/requests/abc"))
+                .body(TaskCreateStatus.pending("abc", "New Task")));
+
+        // When & Then
+        mockMvc.perform(post("/tasks")
+                        .header("Prefer", "wait=5, respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New Task\",\"status\":\"PENDING\"}"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/tasks/requests/abc"))
+                .andExpect(jsonPath("$.requestId").value("abc"))
+                .andExpect(jsonPath("$.state").value("PENDING"));
+        verify(taskFacade, never()).createTask(any());
+    }
+
+    @Test
+    void createTaskWithPreferRespondAsyncShouldReturnTooManyRequestsWhenQueueIsFull() throws Exception {
+        // Given
+        when(taskFacade.createTaskAsync(any(Task.class)))
+                .thenThrow(new TooManyRequestsException("Too many tasks are waiting to be created; retry later", 1));
+
+        // When & Then
+        mockMvc.perform(post("/tasks")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"New Task\",\"status\":\"PENDING\"}"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+    }
+
+    @Test
+    void getCreateStatusShouldReturnStatusFromFacade() throws Exception {
+        // Given
+        when(taskFacade.getCreateStatus("abc"))
+                .thenReturn(ResponseEntity.ok(TaskCreateStatus.conflict("abc", "Duplicate Task")));
+
+        // When & Then
+        mockMvc.perform(get("/tasks/requests/abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("CONFLICT"))
+                .andExpect(jsonPath("$.errors.title").value("A task with the title 'Duplicate Task' already exists"));
+    }
+
+    @Test
+    void createTaskWithRepeatedIdempotencyKeyShouldReplayFirstResponse() throws Exception {
+        // Given
+        when(idempotencyKeyRepository.claim(any(), any(), any())).thenReturn(true);
+        when(taskFacade.createTask(any(Task.class))).thenReturn(testTask);
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/tasks")
+                            .header(IdempotencyKeys.HEADER, "create-replay")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\":\"Test Task\",\"status\":\"PENDING\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(jsonPath("$.id").value(1))
+                    .andExpect(jsonPath("$.createdAt").value("2025-01-15T14:30:45Z"));
+        }
+
+        // Then
+        verify(taskFacade, times(1)).createTask(any(Task.class));
+        verify(idempotencyKeyRepository).complete(any(), eq(200), any(), any(), any());
+        mockMvc.perform(post("/tasks")
+                        .header(IdempotencyKeys.HEADER, "create-replay")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Test Task\",\"status\":\"PENDING\"}"))
+                .andExpect(header().string(IdempotencyKeys.REPLAYED_HEADER, "true"));
+    }
+
+    @Test
+    void updateTaskWithIdempotencyKeyReusedForDifferentBodyShouldReturnUnprocessableEntity() throws Exception {
+        // Given
+        when(idempotencyKeyRepository.claim(any(), any(), any())).thenReturn(true);
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), isNull()))
+                .thenReturn(ResponseEntity.ok(testTask));
+        mockMvc.perform(put("/tasks/1")
+                        .header(IdempotencyKeys.HEADER, "update-mismatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Test Task\",\"status\":\"PENDING\"}"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(put("/tasks/1")
+                        .header(IdempotencyKeys.HEADER, "update-mismatch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Other Task\",\"status\":\"PENDING\"}"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.field").value("Idempotency-Key"));
+        verify(taskFacade, times(1)).updateTask(eq(1L), any(TaskRequest.class), isNull());
+    }
+
+    @Test
+    void prefersShouldFindPreferenceAmongOthers() {
+        assertThat(TaskController.prefers("respond-async", "respond-async")).isTrue();
+        assertThat(TaskController.prefers("return=minimal, Respond-Async; foo=bar", "respond-async")).isTrue();
+        assertThat(TaskController.prefers("return=minimal", "respond-async")).isFalse();
+        assertThat(TaskController.prefers("respond-asynchronously", "respond-async")).isFalse();
+        assertThat(TaskController.prefers(null, "respond-async")).isFalse();
+    }
+
+    @Test
+    void getTaskByIdShouldReturnCborWhenAccepted() throws Exception {
+        // Given
+        when(taskFacade.getTaskById(1L, null)).thenReturn(ResponseEntity.ok(testTask));
+
+        // When
+        byte[] body = mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode json = objectMapper.readTree(objectMapper.writeValueAsBytes(testTask));
+        assertThat(new CBORMapper().readTree(body)).isEqualTo(json);
+    }
+
+    @Test
+    void getTaskByIdShouldTagJsonAndCborBodiesDifferently() throws Exception {
+        // Given
+        when(taskFacade.getTaskById(1L, null)).thenReturn(ResponseEntity.ok().eTag("\"1.3\"").body(testTask));
+
+        // When
+        String json = mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String cbor = mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        String smile = mockMvc.perform(get("/tasks/1").accept(BinaryFormatConfig.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Then
+        assertThat(json).isEqualTo("\"1.3\"");
+        assertThat(cbor).isEqualTo("\"1.3.cbor\"");
+        assertThat(smile).isEqualTo("\"1.3.smile\"");
+    }
+
+    @Test
+    void getTaskByIdShouldOnlyPassTagsOfTheNegotiatedFormatToFacade() throws Exception {
+        // Given
+        when(taskFacade.getTaskById(eq(1L), any())).thenReturn(
+                ResponseEntity.status(304).eTag("\"1.3\"").build());
+
+        // When
+        mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR)
+                        .header("If-None-Match", "\"1.2\", \"1.3.cbor\", \"1.4.smile\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"1.3.cbor\""));
+        mockMvc.perform(get("/tasks/1").accept(MediaType.APPLICATION_CBOR).header("If-None-Match", "\"1.3\""));
+
+        // Then: the JSON tag cannot validate a CBOR body
+        verify(taskFacade).getTaskById(1L, "\"1.3\"");
+        verify(taskFacade).getTaskById(1L, null);
+    }
+
+    @Test
+    void updateTaskShouldAcceptIfMatchOfAnyFormat() throws Exception {
+        // Given
+        TaskRequest updateRequest = new TaskRequest();
+        updateRequest.setTitle("Updated Task");
+        updateRequest.setStatus("PENDING");
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), eq("\"1.3\", \"1.3\"")))
+                .thenReturn(ResponseEntity.ok().eTag("\"1.4\"").body(testTask));
+
+        // When & Then
+        mockMvc.perform(put("/tasks/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .header("If-Match", "\"1.3.cbor\", \"1.3\"")
+                        .content(objectMapper.writeValueAsString(updateRequest)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"1.4.smile\""));
+    }
+
+    @Test
+    void getAllTasksShouldReturnJsonByDefault() throws Exception {
+        // Given
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull())).thenReturn(ResponseEntity.ok(List.of(testTask)));
+
+        // When & Then
+        mockMvc.perform(get("/tasks").accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().stringValues("Vary", hasItem("Accept")));
+    }
+
+    @Test
+    void createTaskShouldReadAndWriteSmile() throws Exception {
+        // Given
+        SmileMapper smileMapper = new SmileMapper();
+        TaskRequest newTaskRequest = new TaskRequest();
+        newTaskRequest.setTitle("New Task");
+        newTaskRequest.setDescription("New Description");
+        newTaskRequest.setStatus("COMPLETED");
+        when(taskFacade.createTask(any(Task.class))).thenReturn(testTask);
+
+        // When
+        byte[] body = mockMvc.perform(post("/tasks")
+                        .contentType(BinaryFormatConfig.APPLICATION_SMILE)
+                        .accept(BinaryFormatConfig.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(newTaskRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormatConfig.APPLICATION_SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        ArgumentCaptor<Task> taskCaptor = ArgumentCaptor.forClass(Task.class);
+        verify(taskFacade).createTask(taskCaptor.capture());
+        assertThat(taskCaptor.getValue().getTitle()).isEqualTo("New Task");
+        assertThat(taskCaptor.getValue().getStatus()).isEqualTo(Task.Status.COMPLETED);
+        JsonNode response = smileMapper.readTree(body);
+        assertThat(response.get("id").asLong()).isEqualTo(1L);
+        assertThat(response.get("createdAt").asText()).isEqualTo("2025-01-15T14:30:45Z");
+        assertThat(response.has("version")).isFalse();
+    }
+
     @Test
     void createTaskWithDuplicateTitleShouldReturnConflict() throws Exception {
         // Given
@@ -205,7 +610,7 @@ class TaskControllerTest {
         testTask.setTitle("Updated Task");
         testTask.setStatus(Task.Status.COMPLETED);
 
-        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class)))
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), isNull()))
                 .thenReturn(ResponseEntity.ok(testTask));
 
         // When & Then
@@ -225,7 +630,7 @@ class TaskControllerTest {
         updatedTaskRequest.setTitle("Updated Task");
         updatedTaskRequest.setDescription("Updated Description");
 
-        when(taskFacade.updateTask(eq(999L), any(TaskRequest.class)))
+        when(taskFacade.updateTask(eq(999L), any(TaskRequest.class), isNull()))
                 .thenReturn(ResponseEntity.notFound().build());
 
         // When & Then
@@ -242,7 +647,7 @@ class TaskControllerTest {
         updatedTaskRequest.setTitle("Duplicate Title");
         updatedTaskRequest.setDescription("Description");
 
-        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class)))
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), isNull()))
                 .thenThrow(new ConflictException(
                     "A task with the title 'Duplicate Title' already exists",
                     "title",
@@ -260,10 +665,82 @@ class TaskControllerTest {
                 .andExpect(jsonPath("$.field").value("title"));
     }
 
+    @Test
+    void patchTaskShouldPassOnlyPresentFields() throws Exception {
+        // Given
+        testTask.setStatus(Task.Status.COMPLETED);
+        when(taskFacade.patchTask(eq(1L), any(TaskPatchRequest.class), isNull()))
+                .thenReturn(ResponseEntity.ok(testTask));
+
+        // When & Then
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"status\":\"COMPLETED\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"));
+
+        ArgumentCaptor<TaskPatchRequest> patchCaptor = ArgumentCaptor.forClass(TaskPatchRequest.class);
+        verify(taskFacade).patchTask(eq(1L), patchCaptor.capture(), isNull());
+        assertThat(patchCaptor.getValue().toFieldUpdates()).containsOnly(entry("status", Task.Status.COMPLETED));
+    }
+
+    @Test
+    void patchTaskWithNullDescriptionShouldClearIt() throws Exception {
+        // Given
+        when(taskFacade.patchTask(eq(1L), any(TaskPatchRequest.class), isNull()))
+                .thenReturn(ResponseEntity.ok(testTask));
+
+        // When & Then
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"description\":null}"))
+                .andExpect(status().isOk());
+
+        ArgumentCaptor<TaskPatchRequest> patchCaptor = ArgumentCaptor.forClass(TaskPatchRequest.class);
+        verify(taskFacade).patchTask(eq(1L), patchCaptor.capture(), isNull());
+        assertThat(patchCaptor.getValue().toFieldUpdates()).containsOnlyKeys("description").containsEntry("description", null);
+    }
+
+    @Test
+    void patchTaskWithNullTitleShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"title\":null}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.title").value("Title is required"));
+
+        verify(taskFacade, never()).patchTask(any(), any(), any());
+    }
+
+    @Test
+    void patchTaskWithInvalidStatusShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(patch("/tasks/1")
+                        .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                        .content("{\"status\":\"DONE\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value("Status must be one of: PENDING, COMPLETED"));
+    }
+
+    @Test
+    void updateTaskWithOutdatedIfMatchShouldReturnPreconditionFailed() throws Exception {
+        // Given
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), eq("\"1.2\"")))
+                .thenThrow(new PreconditionFailedException("Task 1 was modified since the given ETag was issued", "If-Match"));
+
+        // When & Then
+        mockMvc.perform(put("/tasks/1")
+                        .header("If-Match", "\"1.2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new TaskRequest("Updated Task", null, "PENDING"))))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Precondition Failed"))
+                .andExpect(jsonPath("$.field").value("If-Match"));
+    }
+
     @Test
     void deleteTaskWhenTaskExistsShouldReturnOk() throws Exception {
         // Given
-        when(taskFacade.deleteTask(1L)).thenReturn(ResponseEntity.ok().build());
+        when(taskFacade.deleteTask(1L, null)).thenReturn(ResponseEntity.ok().build());
 
         // When & Then
         mockMvc.perform(delete("/tasks/1"))
@@ -273,7 +750,7 @@ class TaskControllerTest {
     @Test
     void deleteTaskWhenTaskNotExistsShouldReturnNotFound() throws Exception {
         // Given
-        when(taskFacade.deleteTask(999L)).thenReturn(ResponseEntity.notFound().build());
+        when(taskFacade.deleteTask(999L, null)).thenReturn(ResponseEntity.notFound().build());
 
         // When & Then
         mockMvc.perform(delete("/tasks/999"))
@@ -283,7 +760,7 @@ class TaskControllerTest {
     @Test
     void getTaskByIdShouldIncludeTimestampsInResponse() throws Exception {
         // Given
-        when(taskFacade.getTaskById(1L)).thenReturn(ResponseEntity.ok(testTask));
+        when(taskFacade.getTaskById(1L, null)).thenReturn(ResponseEntity.ok(testTask));
 
         // When & Then
         mockMvc.perform(get("/tasks/1"))
@@ -297,7 +774,7 @@ class TaskControllerTest {
     void getAllTasksShouldIncludeTimestampsInResponse() throws Exception {
         // Given
         List<Task> tasks = Arrays.asList(testTask);
-        when(taskFacade.getAllTasks()).thenReturn(tasks);
+        when(taskFacade.getAllTasks(any(TaskListRequest.class), isNull())).thenReturn(ResponseEntity.ok(tasks));
 
         // When & Then
         mockMvc.perform(get("/tasks"))
@@ -354,7 +831,7 @@ class TaskControllerTest {
         updatedTask.setUpdatedAt(LocalDateTime.of(2025, 1, 15, 16, 0, 0)); // New update time
 
         
-        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class)))
+        when(taskFacade.updateTask(eq(1L), any(TaskRequest.class), isNull()))
                 .thenReturn(ResponseEntity.ok(updatedTask));
 
         // When & Then
@@ -0,0 +1,18 @@
+package defsec.crud.controller;
+
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * The statement counts of TaskStatementCountTest on MySQL with the Flyway schema, e.g. the docker-compose one:
+ * DEFSEC_TEST_DATASOURCE_URL=jdbc:mysql://localhost:3306/defsecdb ./gradlew test
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=${DEFSEC_TEST_DATASOURCE_URL}",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles(inheritProfiles = false)
+@EnabledIfEnvironmentVariable(named = "DEFSEC_TEST_DATASOURCE_URL", matches = ".+")
+class TaskStatementCountMySqlTest extends TaskStatementCountTest {
+}
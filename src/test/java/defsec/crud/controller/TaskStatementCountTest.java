@@ -0,0 +1,216 @@
+package defsec.crud.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.entity.Task;
+import defsec.crud.repository.TaskRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pins the number of SQL statements each task endpoint sends through JPA.
+ * Runs on in-memory H2 (profile "h2"); TaskStatementCountMySqlTest repeats it on MySQL.
+ *
+ * Id block reservations and change-log reads and appends use their own JDBC statements and are not counted.
+ * Updates and deletes first read the previous status with SELECT ... FOR UPDATE, for the task statistics;
+ * a patch only does so if it sets the status.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class TaskStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Keeps the duplicate pre-check deterministic: every title is treated as unseen
+    @MockBean
+    private TaskTitleFilter taskTitleFilter;
+
+    private Statistics statistics;
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAllByIdInBatch(createdIds);
+    }
+
+    @Test
+    void createTaskShouldIssueOneInsert() throws Exception {
+        TaskRequest request = new TaskRequest(uniqueTitle(), null, "PENDING");
+
+        long statements = countStatements(() -> {
+            String body = mockMvc.perform(post("/tasks")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+            createdIds.add(objectMapper.readTree(body).get("id").asLong());
+        });
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void getTaskByIdShouldIssueOneSelectAndNoneWhenCached() throws Exception {
+        Task task = createTask();
+
+        long miss = countStatements(() -> mockMvc.perform(get("/tasks/{id}", task.getId()))
+            .andExpect(status().isOk()));
+        long hit = countStatements(() -> mockMvc.perform(get("/tasks/{id}", task.getId()))
+            .andExpect(status().isOk()));
+
+        assertThat(miss).isEqualTo(1);
+        assertThat(hit).isZero();
+    }
+
+    @Test
+    void getAllTasksShouldIssueOneSelect() throws Exception {
+        createTask();
+
+        long statements = countStatements(() -> mockMvc.perform(get("/tasks").param("limit", "10"))
+            .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void getAllTasksWithCurrentETagShouldNotQueryTasks() throws Exception {
+        createTask();
+        String etag = mockMvc.perform(get("/tasks").param("limit", "10"))
+            .andReturn().getResponse().getHeader("ETag");
+
+        long statements = countStatements(() -> mockMvc.perform(get("/tasks").param("limit", "10")
+                .header("If-None-Match", etag))
+            .andExpect(status().isNotModified()));
+
+        assertThat(statements).isZero();
+    }
+
+    @Test
+    void updateTaskShouldLockTheRowThenIssueUpdateAndOneSelectForTheResponse() throws Exception {
+        Task task = createTask();
+
+        long statements = countStatements(() -> mockMvc.perform(put("/tasks/{id}", task.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequest(uniqueTitle(), "Updated", "COMPLETED"))))
+            .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    @Test
+    void patchTaskOfStatusShouldLockTheRowThenIssueUpdateAndOneSelectForTheResponse() throws Exception {
+        Task task = createTask();
+
+        long statements = countStatements(() -> mockMvc.perform(patch("/tasks/{id}", task.getId())
+                .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"status\":\"COMPLETED\"}"))
+            .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(3);
+    }
+
+    @Test
+    void patchTaskOfDescriptionShouldIssueUpdateAndOneSelectForTheResponse() throws Exception {
+        Task task = createTask();
+
+        long statements = countStatements(() -> mockMvc.perform(patch("/tasks/{id}", task.getId())
+                .contentType(TaskController.MERGE_PATCH_JSON_VALUE)
+                .content("{\"description\":\"Patched\"}"))
+            .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(2);
+    }
+
+    @Test
+    void updateMissingTaskShouldIssueOnlyTheLockingSelect() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(put("/tasks/{id}", Long.MAX_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TaskRequest(uniqueTitle(), null, "PENDING"))))
+            .andExpect(status().isNotFound()));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    @Test
+    void deleteTaskShouldLockTheRowThenIssueOneDelete() throws Exception {
+        Task task = createTask();
+
+        long statements = countStatements(() -> mockMvc.perform(delete("/tasks/{id}", task.getId()))
+            .andExpect(status().isOk()));
+
+        assertThat(statements).isEqualTo(2);
+        assertThat(taskRepository.existsById(task.getId())).isFalse();
+    }
+
+    @Test
+    void deleteMissingTaskShouldIssueOnlyTheLockingSelect() throws Exception {
+        long statements = countStatements(() -> mockMvc.perform(delete("/tasks/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound()));
+
+        assertThat(statements).isEqualTo(1);
+    }
+
+    private long countStatements(Request request) throws Exception {
+        statistics.clear();
+        request.perform();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Task createTask() {
+        Task task = new Task();
+        task.setTitle(uniqueTitle());
+        task.setStatus(Task.Status.PENDING);
+        Task saved = taskRepository.save(task);
+        createdIds.add(saved.getId());
+        return saved;
+    }
+
+    private static String uniqueTitle() {
+        return "statement-count-" + UUID.randomUUID();
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
@@ -0,0 +1,233 @@
+package defsec.crud.datasource;
+
+import defsec.crud.repository.TaskChangeLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes reads between three in-memory H2 databases standing in for a primary and two replicas. Replication
+ * is simulated by copying change log entries to the replicas; each database knows its own name, so a read
+ * tells where it ran.
+ */
+class ReadRouterTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(1);
+
+    private final String prefix = "read_router_" + UUID.randomUUID().toString().replace("-", "") + "_";
+    private final Map<String, JdbcTemplate> databases = Map.of(
+        "primary", database("primary"),
+        "replica-1", database("replica-1"),
+        "replica-2", database("replica-2"));
+
+    private long now;
+    private ReadRouter readRouter;
+    private JdbcTemplate jdbcTemplate;
+
+    private JdbcTemplate database(String name) {
+        JdbcTemplate database = new JdbcTemplate(new DriverManagerDataSource(url(name), "sa", ""));
+        database.execute("CREATE TABLE task_change_log (id BIGINT PRIMARY KEY, task_id BIGINT NOT NULL)");
+        database.execute("CREATE TABLE whoami (name VARCHAR(20) NOT NULL)");
+        database.update("INSERT INTO whoami (name) VALUES (?)", name);
+        return database;
+    }
+
+    private String url(String name) {
+        return "jdbc:h2:mem:" + prefix + name.replace('-', '_') + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private void startRouter(boolean hedgeEnabled) {
+        readRouter = new ReadRouter();
+        DataSourceProperties dataSourceProperties = new DataSourceProperties();
+        dataSourceProperties.setUrl(url("primary"));
+        dataSourceProperties.setUsername("sa");
+        ReflectionTestUtils.setField(readRouter, "replicaUrls", List.of(url("replica-1"), url("replica-2")));
+        ReflectionTestUtils.setField(readRouter, "maximumPoolSize", 2);
+        ReflectionTestUtils.setField(readRouter, "maxLag", MAX_LAG);
+        ReflectionTestUtils.setField(readRouter, "lagCheckIntervalMillis", 100L);
+        ReflectionTestUtils.setField(readRouter, "hedgeEnabled", hedgeEnabled);
+        ReflectionTestUtils.setField(readRouter, "hedgeMinDelay", Duration.ZERO);
+        ReflectionTestUtils.setField(readRouter, "dataSourceProperties", dataSourceProperties);
+        ReflectionTestUtils.setField(readRouter, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(readRouter, "clock", (LongSupplier) () -> now);
+        readRouter.init();
+
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+            new DriverManagerDataSource(url("primary"), "sa", ""), readRouter.replicaDataSources());
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        TaskChangeLogRepository taskChangeLogRepository = new TaskChangeLogRepository();
+        ReflectionTestUtils.setField(taskChangeLogRepository, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(readRouter, "taskChangeLogRepository", taskChangeLogRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (readRouter != null) {
+            readRouter.close();
+        }
+        databases.values().forEach(database -> database.execute("SHUTDOWN"));
+    }
+
+    private void logChange(long logId, long taskId, String... names) {
+        for (String name : names) {
+            databases.get(name).update("INSERT INTO task_change_log (id, task_id) VALUES (?, ?)", logId, taskId);
+        }
+    }
+
+    private void checkReplicasAt(long millis) {
+        now = millis;
+        readRouter.checkReplicas();
+    }
+
+    private String readWhoami(long requiredPosition) {
+        return readRouter.read(requiredPosition, this::whoami, name -> false);
+    }
+
+    private String whoami() {
+        return jdbcTemplate.queryForObject("SELECT name FROM whoami", String.class);
+    }
+
+    @Test
+    void readsShouldAlternateBetweenCaughtUpReplicasAndWritesStayOnPrimary() {
+        // Given
+        logChange(1, 10, "primary", "replica-1", "replica-2");
+        startRouter(false);
+        checkReplicasAt(0);
+
+        // When
+        List<String> readers = List.of(readWhoami(0), readWhoami(0));
+
+        // Then
+        assertThat(readers).containsExactly("replica-1", "replica-2");
+        assertThat(whoami()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsShouldUsePrimaryBeforeFirstLagCheck() {
+        // Given
+        startRouter(false);
+
+        // When / Then
+        assertThat(readWhoami(0)).isEqualTo("primary");
+    }
+
+    @Test
+    void readOfChangedTaskShouldUsePrimaryUntilReplicaHasTheChange() {
+        // Given: replicas caught up, then task 42 changed on this node
+        logChange(1, 10, "primary", "replica-1", "replica-2");
+        startRouter(false);
+        checkReplicasAt(0);
+        logChange(2, 42, "primary");
+        readRouter.onChangeLogged(2, 42);
+        checkReplicasAt(100);
+
+        // When / Then: other tasks may still be read from either replica
+        assertThat(readWhoami(readRouter.taskPosition(42))).isEqualTo("primary");
+        assertThat(readWhoami(readRouter.taskPosition(10))).startsWith("replica-");
+
+        // When: the change reaches replica-2
+        logChange(2, 42, "replica-2");
+        checkReplicasAt(200);
+
+        // Then
+        assertThat(readWhoami(readRouter.taskPosition(42))).isEqualTo("replica-2");
+        assertThat(readWhoami(readRouter.taskPosition(42))).isEqualTo("replica-2");
+        assertThat(readRouter.newestPosition()).isEqualTo(2);
+    }
+
+    @Test
+    void replicaLaggingMoreThanMaxLagShouldBeSkipped() {
+        // Given: replica-2 stops applying changes at t=0
+        logChange(1, 10, "primary", "replica-1", "replica-2");
+        startRouter(false);
+        checkReplicasAt(0);
+        logChange(2, 11, "primary", "replica-1");
+        checkReplicasAt(MAX_LAG.toMillis() + 100);
+
+        // When
+        List<String> readers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            readers.add(readWhoami(0));
+        }
+
+        // Then
+        assertThat(readers).containsOnly("replica-1");
+    }
+
+    @Test
+    void rejectedReplicaResultShouldBeReadAgainOnPrimary() {
+        // Given
+        logChange(1, 10, "primary", "replica-1", "replica-2");
+        startRouter(false);
+        checkReplicasAt(0);
+
+        // When
+        String reader = readRouter.read(0, this::whoami, name -> name.startsWith("replica-"));
+
+        // Then
+        assertThat(reader).isEqualTo("primary");
+    }
+
+    @Test
+    void failedReplicaShouldBeSkippedUntilItsNextLagCheck() {
+        // Given
+        logChange(1, 10, "primary", "replica-1", "replica-2");
+        startRouter(false);
+        checkReplicasAt(0);
+        databases.get("replica-1").execute("DROP TABLE whoami");
+
+        // When: the read on replica-1 fails, then replica-1 is skipped
+        List<String> readers = List.of(readWhoami(0), readWhoami(0), readWhoami(0));
+
+        // Then
+        assertThat(readers).containsExactly("primary", "replica-2", "replica-2");
+    }
+
+    @Test
+    void slowReplicaReadShouldBeHedgedToSecondReplica() {
+        // Given: recent replica reads took 1 ms, and replica-1 (asked first) now takes 5 s
+        logChange(1, 10, "primary", "replica-1", "replica-2");
+        startRouter(true);
+        LatencySamples readLatencies = (LatencySamples) ReflectionTestUtils.getField(readRouter, "readLatencies");
+        for (int i = 0; i < ReadRouter.MIN_LATENCY_SAMPLES; i++) {
+            readLatencies.record(Duration.ofMillis(1).toNanos());
+        }
+        checkReplicasAt(0);
+
+        // When
+        long start = System.nanoTime();
+        String reader = readRouter.read(0, () -> {
+            String name = whoami();
+            if (name.equals("replica-1")) {
+                sleep(Duration.ofSeconds(5));
+            }
+            return name;
+        }, name -> false);
+
+        // Then
+        assertThat(reader).isEqualTo("replica-2");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
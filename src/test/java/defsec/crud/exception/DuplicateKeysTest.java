@@ -0,0 +1,93 @@
+package defsec.crud.exception;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class DuplicateKeysTest {
+
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:duplicate-keys;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE task (id BIGINT NOT NULL PRIMARY KEY, title VARCHAR(255) NOT NULL UNIQUE)");
+            statement.execute("INSERT INTO task (id, title) VALUES (1, 'Existing')");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE task");
+        }
+        connection.close();
+    }
+
+    private SQLException insert(long id, String title) {
+        return catchThrowableOfType(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO task (id, title) VALUES (" + id + ", '" + title + "')");
+            }
+        }, SQLException.class);
+    }
+
+    @Test
+    void duplicateTitleShouldNotBeReportedAsPrimaryKeyViolation() {
+        // When
+        DuplicateKeyException ex = new DuplicateKeyException("insert", insert(2, "Existing"));
+
+        // Then
+        assertThat(DuplicateKeys.isDuplicateKey(ex)).isTrue();
+        assertThat(DuplicateKeys.isDuplicateTitle(ex)).isTrue();
+        assertThat(DuplicateKeys.isDuplicatePrimaryKey(ex)).isFalse();
+    }
+
+    @Test
+    void duplicateIdShouldNotBeReportedAsDuplicateTitle() {
+        // When
+        DuplicateKeyException ex = new DuplicateKeyException("insert", insert(1, "New"));
+
+        // Then
+        assertThat(DuplicateKeys.isDuplicateKey(ex)).isTrue();
+        assertThat(DuplicateKeys.isDuplicatePrimaryKey(ex)).isTrue();
+        assertThat(DuplicateKeys.isDuplicateTitle(ex)).isFalse();
+    }
+
+    @Test
+    void shouldTellMySqlKeysApart() {
+        // Given
+        SQLException primary = new SQLException("Duplicate entry '5' for key 'task.PRIMARY'", "23000", 1062);
+        SQLException title = new SQLException("Duplicate entry 'Existing' for key 'task.title'", "23000", 1062);
+
+        // Then
+        assertThat(DuplicateKeys.isDuplicatePrimaryKey(primary)).isTrue();
+        assertThat(DuplicateKeys.isDuplicateTitle(primary)).isFalse();
+        assertThat(DuplicateKeys.isDuplicatePrimaryKey(title)).isFalse();
+        assertThat(DuplicateKeys.isDuplicateTitle(title)).isTrue();
+    }
+
+    @Test
+    void otherConstraintViolationShouldNotBeDuplicate() {
+        // When
+        SQLException ex = catchThrowableOfType(() -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("INSERT INTO task (id, title) VALUES (3, NULL)");
+            }
+        }, SQLException.class);
+
+        // Then
+        assertThat(DuplicateKeys.isDuplicateKey(ex)).isFalse();
+        assertThat(DuplicateKeys.isDuplicatePrimaryKey(ex)).isFalse();
+    }
+}
@@ -0,0 +1,236 @@
+package defsec.crud.facade;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.IdempotencyKeyMismatchException;
+import defsec.crud.repository.IdempotencyKeyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two IdempotencyKeys instances, each with its own cache, share one in-memory H2 database, standing in for
+ * two nodes.
+ */
+class IdempotencyKeysTest {
+
+    private static final String SCOPE = "POST /tasks";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger runs = new AtomicInteger();
+
+    private JdbcTemplate jdbcTemplate;
+    private IdempotencyKeys node;
+    private IdempotencyKeys otherNode;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:h2:mem:idempotency_" + UUID.randomUUID().toString().replace("-", "") + ";DB_CLOSE_DELAY=-1";
+        jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(url, "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE idempotency_key (key_hash BINARY(32) NOT NULL PRIMARY KEY,"
+            + " request_hash BINARY(32) NOT NULL, status_code SMALLINT NULL, response_headers VARCHAR(1024) NULL,"
+            + " response_body CLOB NULL, expires_at TIMESTAMP(3) NOT NULL)");
+        node = idempotencyKeys(Duration.ofSeconds(5));
+        otherNode = idempotencyKeys(Duration.ofSeconds(5));
+    }
+
+    private IdempotencyKeys idempotencyKeys(Duration waitTimeout) {
+        IdempotencyKeyRepository repository = new IdempotencyKeyRepository();
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        IdempotencyKeys idempotencyKeys = new IdempotencyKeys();
+        ReflectionTestUtils.setField(idempotencyKeys, "ttl", Duration.ofHours(1));
+        ReflectionTestUtils.setField(idempotencyKeys, "lease", Duration.ofSeconds(30));
+        ReflectionTestUtils.setField(idempotencyKeys, "waitTimeout", waitTimeout);
+        ReflectionTestUtils.setField(idempotencyKeys, "cacheMaximumSize", 100L);
+        ReflectionTestUtils.setField(idempotencyKeys, "idempotencyKeyRepository", repository);
+        ReflectionTestUtils.setField(idempotencyKeys, "objectMapper", objectMapper);
+        idempotencyKeys.init();
+        return idempotencyKeys;
+    }
+
+    private Supplier<ResponseEntity<?>> created(long id) {
+        return () -> {
+            runs.incrementAndGet();
+            return ResponseEntity.ok()
+                .eTag("\"1.0\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("id", id));
+        };
+    }
+
+    private Supplier<ResponseEntity<?>> blocked(CountDownLatch started, CountDownLatch proceed) {
+        return () -> {
+            started.countDown();
+            try {
+                proceed.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return created(1L).get();
+        };
+    }
+
+    // Replayed bodies are JSON trees
+    private static long idOf(ResponseEntity<?> replayed) {
+        return ((JsonNode) replayed.getBody()).get("id").asLong();
+    }
+
+    @Test
+    void shouldReplayFirstResponseWithoutRunningAgain() {
+        // Given
+        ResponseEntity<?> first = node.execute("key-1", SCOPE, "request", created(1L));
+
+        // When
+        ResponseEntity<?> replayed = node.execute("key-1", SCOPE, "request", created(2L));
+
+        // Then
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(first.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isNull();
+        assertThat(replayed.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(replayed.getHeaders().getETag()).isEqualTo("\"1.0\"");
+        assertThat(replayed.getHeaders().getContentType()).isNull();
+        assertThat(replayed.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(idOf(replayed)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldReplayResponseStoredByAnotherNode() {
+        // Given
+        node.execute("key-1", SCOPE, "request", created(1L));
+
+        // When
+        ResponseEntity<?> replayed = otherNode.execute("key-1", SCOPE, "request", created(2L));
+
+        // Then
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(replayed.getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isEqualTo("true");
+        assertThat(idOf(replayed)).isEqualTo(1L);
+    }
+
+    @Test
+    void shouldRefuseKeyReusedForDifferentRequest() {
+        // Given
+        node.execute("key-1", SCOPE, "request", created(1L));
+
+        // When & Then
+        assertThatThrownBy(() -> node.execute("key-1", SCOPE, "other request", created(2L)))
+            .isInstanceOf(IdempotencyKeyMismatchException.class);
+        assertThatThrownBy(() -> otherNode.execute("key-1", SCOPE, "other request", created(2L)))
+            .isInstanceOf(IdempotencyKeyMismatchException.class);
+        // The same key on another resource is a different key
+        node.execute("key-1", "PUT /tasks/1", "other request", created(2L));
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldMakeConcurrentDuplicatesWaitForFirstRequest() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(
+            () -> node.execute("key-1", SCOPE, "request", blocked(started, proceed)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        CompletableFuture<ResponseEntity<?>> sameNode = CompletableFuture.supplyAsync(
+            () -> node.execute("key-1", SCOPE, "request", created(2L)));
+        CompletableFuture<ResponseEntity<?>> otherNodeDuplicate = CompletableFuture.supplyAsync(
+            () -> otherNode.execute("key-1", SCOPE, "request", created(3L)));
+        Thread.sleep(200);
+        assertThat(sameNode).isNotDone();
+        assertThat(otherNodeDuplicate).isNotDone();
+        proceed.countDown();
+
+        // Then
+        assertThat(first.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER)).isNull();
+        assertThat(sameNode.get(5, TimeUnit.SECONDS).getHeaders().getFirst(IdempotencyKeys.REPLAYED_HEADER))
+            .isEqualTo("true");
+        assertThat(idOf(otherNodeDuplicate.get(5, TimeUnit.SECONDS))).isEqualTo(1L);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAnswerConflictWhenFirstRequestRunsPastWaitTimeout() throws Exception {
+        // Given
+        IdempotencyKeys impatientNode = idempotencyKeys(Duration.ofMillis(200));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(1);
+        CompletableFuture<ResponseEntity<?>> first = CompletableFuture.supplyAsync(
+            () -> node.execute("key-1", SCOPE, "request", blocked(started, proceed)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When & Then
+        assertThatThrownBy(() -> impatientNode.execute("key-1", SCOPE, "request", created(2L)))
+            .isInstanceOf(ConflictException.class);
+        proceed.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleaseKeyWhenRequestFails() {
+        // Given
+        assertThatThrownBy(() -> node.execute("key-1", SCOPE, "request", () -> {
+            throw new IllegalStateException("Database is down");
+        })).isInstanceOf(IllegalStateException.class);
+        node.execute("key-2", SCOPE, "request", () -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+
+        // When
+        otherNode.execute("key-1", SCOPE, "request", created(1L));
+        otherNode.execute("key-2", SCOPE, "request", created(2L));
+
+        // Then
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldRunAgainAfterLeaseOfAbandonedClaimEnds() throws Exception {
+        // Given: a claim whose node stopped before completing it
+        IdempotencyKeyRepository repository = new IdempotencyKeyRepository();
+        ReflectionTestUtils.setField(repository, "jdbcTemplate", jdbcTemplate);
+        MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+        byte[] keyHash = sha256.digest((SCOPE + "\nkey-1").getBytes(StandardCharsets.UTF_8));
+        byte[] requestHash = sha256.digest(objectMapper.writeValueAsBytes("request"));
+        repository.claim(keyHash, requestHash, LocalDateTime.now().minusSeconds(1));
+
+        // When
+        ResponseEntity<?> response = node.execute("key-1", SCOPE, "request", created(2L));
+
+        // Then
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(response.getBody()).isEqualTo(Map.of("id", 2L));
+        assertThat(repository.find(keyHash).get().statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void shouldRunEveryRequestWithoutKey() {
+        // When
+        node.execute(null, SCOPE, "request", created(1L));
+        node.execute(null, SCOPE, "request", created(1L));
+
+        // Then
+        assertThat(runs.get()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotency_key", Integer.class)).isZero();
+    }
+}
@@ -0,0 +1,174 @@
+package defsec.crud.facade;
+
+import defsec.crud.cache.TaskCache;
+import defsec.crud.cache.TaskSearchIndex;
+import defsec.crud.cache.TaskStats;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.dto.TaskRequest;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.exception.PreconditionFailedException;
+import defsec.crud.repository.ReactiveTaskChangeLogRepository;
+import defsec.crud.repository.ReactiveTaskIdAllocator;
+import defsec.crud.repository.ReactiveTaskRepository;
+import defsec.crud.service.TaskChangeLogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveTaskFacadeImplTest {
+
+    @Mock
+    private ReactiveTaskRepository taskRepository;
+
+    @Mock
+    private ReactiveTaskChangeLogRepository taskChangeLogRepository;
+
+    @Mock
+    private ReactiveTaskIdAllocator taskIdAllocator;
+
+    @Mock
+    private TransactionalOperator reactiveTransactionalOperator;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskChangeLogService taskChangeLogService;
+
+    @Mock
+    private TaskTitleFilter taskTitleFilter;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStats taskStats;
+
+    @InjectMocks
+    private ReactiveTaskFacadeImpl taskFacade;
+
+    @Test
+    void createTaskShouldInsertWithAllocatedIdAndRecordChange() {
+        // Given
+        Task task = task("New Task");
+        when(taskTitleFilter.mightContain("New Task")).thenReturn(false);
+        when(taskIdAllocator.nextId()).thenReturn(Mono.just(5L));
+        when(taskRepository.insert(eq(task), any(LocalDateTime.class))).thenReturn(Mono.just(task));
+        when(taskChangeLogRepository.append(5L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(taskFacade.createTask(task))
+            .assertNext(created -> assertThat(created.getId()).isEqualTo(5L))
+            .verifyComplete();
+        verify(taskRepository, never()).existsByTitle(any());
+        verify(taskStats).recordCreated(Task.Status.PENDING);
+        verify(taskChangeLogService).notifyLocalChange(5L);
+    }
+
+    @Test
+    void createTaskWithDuplicateTitleShouldSignalConflict() {
+        // Given: the title filter could not rule the title out and the unique index rejects the insert
+        Task task = task("Duplicate Task");
+        when(taskTitleFilter.mightContain("Duplicate Task")).thenReturn(true);
+        when(taskRepository.existsByTitle("Duplicate Task")).thenReturn(Mono.just(false));
+        when(taskIdAllocator.nextId()).thenReturn(Mono.just(5L));
+        when(taskRepository.insert(eq(task), any(LocalDateTime.class)))
+            .thenReturn(Mono.error(new DuplicateKeyException("Duplicate entry")));
+
+        // When & Then
+        StepVerifier.create(taskFacade.createTask(task))
+            .expectErrorSatisfies(ex -> assertThat(ex)
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("A task with the title 'Duplicate Task' already exists"))
+            .verify();
+        verify(taskChangeLogService, never()).notifyLocalChange(anyLong());
+    }
+
+    @Test
+    void updateTaskWithOutdatedIfMatchShouldSignalPreconditionFailed() {
+        // Given
+        TaskRequest taskRequest = new TaskRequest();
+        taskRequest.setTitle("Updated Task");
+        taskRequest.setStatus("COMPLETED");
+        when(taskRepository.findStatusForUpdate(1L)).thenReturn(Mono.just(Task.Status.PENDING));
+        when(taskRepository.update(eq(1L), any(Task.class), any(LocalDateTime.class), eq(List.of(3L))))
+            .thenReturn(Mono.just(0L));
+        when(reactiveTransactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.existsById(1L)).thenReturn(Mono.just(true));
+
+        // When & Then
+        StepVerifier.create(taskFacade.updateTask(1L, taskRequest, "\"1.3\""))
+            .expectError(PreconditionFailedException.class)
+            .verify();
+        verify(taskChangeLogService, never()).notifyLocalChange(anyLong());
+    }
+
+    @Test
+    void deleteTaskWhenTaskNotExistsShouldReturnNotFound() {
+        // Given
+        when(taskRepository.findStatusForUpdate(999L)).thenReturn(Mono.empty());
+        when(reactiveTransactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When & Then
+        StepVerifier.create(taskFacade.deleteTask(999L, null))
+            .assertNext(response -> assertThat(response).isEqualTo(ResponseEntity.notFound().build()))
+            .verifyComplete();
+        verify(taskStats, never()).recordDeleted(any());
+        verify(taskRepository, never()).delete(anyLong(), any());
+    }
+
+    @Test
+    void deleteTaskShouldRecordStatusReadWithTheDelete() {
+        // Given
+        when(taskRepository.findStatusForUpdate(1L)).thenReturn(Mono.just(Task.Status.COMPLETED));
+        when(taskRepository.delete(1L, null)).thenReturn(Mono.just(1L));
+        when(reactiveTransactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskChangeLogRepository.append(1L)).thenReturn(Mono.empty());
+
+        // When & Then
+        StepVerifier.create(taskFacade.deleteTask(1L, null))
+            .assertNext(response -> assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK))
+            .verifyComplete();
+        verify(taskStats).recordDeleted(Task.Status.COMPLETED);
+        verify(taskCache, never()).getIfPresent(anyLong());
+    }
+
+    @Test
+    void exportTasksWithInvalidFormatShouldSignalInvalidParameter() {
+        StepVerifier.create(taskFacade.exportTasks("xml"))
+            .expectErrorSatisfies(ex -> assertThat(ex)
+                .isInstanceOf(InvalidParameterException.class)
+                .extracting("parameter").isEqualTo("format"))
+            .verify();
+        verify(taskRepository, never()).findAll();
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(Task.Status.PENDING);
+        return task;
+    }
+}
@@ -1,26 +1,59 @@
 package defsec.crud.facade;
 
+import defsec.crud.cache.TaskCache;
+import defsec.crud.cache.TaskSearchIndex;
+import defsec.crud.cache.TaskStats;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.datasource.ReadRouter;
+import defsec.crud.dto.TaskBatchItemResult;
+import defsec.crud.dto.TaskBatchResponse;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.dto.TaskCursor;
+import defsec.crud.dto.TaskListRequest;
+import defsec.crud.dto.TaskPatchRequest;
 import defsec.crud.dto.TaskRequest;
+import defsec.crud.dto.TaskStatsResponse;
 import defsec.crud.entity.Task;
 import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.InvalidParameterException;
+import defsec.crud.exception.PreconditionFailedException;
+import defsec.crud.repository.TaskPageQuery;
+import defsec.crud.service.TaskBatchService;
+import defsec.crud.service.TaskChangeLogService;
+import defsec.crud.service.TaskExportService;
 import defsec.crud.service.TaskService;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -31,6 +64,34 @@ class TaskFacadeImplTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskExportService taskExportService;
+
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TaskChangeLogService taskChangeLogService;
+
+    @Mock
+    private TaskTitleFilter taskTitleFilter;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStats taskStats;
+
+    // No replicas configured, so reads run on the primary unchanged
+    @Spy
+    private ReadRouter readRouter = new ReadRouter();
+
+    @Mock
+    private TaskWriteBehind taskWriteBehind;
+
     @InjectMocks
     private TaskFacadeImpl taskFacade;
 
@@ -45,8 +106,13 @@ class TaskFacadeImplTest {
         existingTask.setTitle("Existing Task");
         existingTask.setDescription("Existing Description");
         existingTask.setStatus(Task.Status.PENDING);
+        existingTask.setVersion(3L);
         // Note: In real scenarios, timestamps would be set by JPA lifecycle methods
 
+        // Batch validation uses the real Bean Validation provider
+        ReflectionTestUtils.setField(taskFacade, "validator",
+            Validation.buildDefaultValidatorFactory().getValidator());
+
         // Create a task request for testing
         taskRequest = new TaskRequest();
         taskRequest.setTitle("New Task");
@@ -55,17 +121,367 @@ class TaskFacadeImplTest {
     }
 
     @Test
-    void getAllTasksShouldReturnAllTasks() {
+    void getAllTasksShouldReturnFirstPage() {
         // Given
         List<Task> expectedTasks = Arrays.asList(existingTask);
-        when(taskService.findAll()).thenReturn(expectedTasks);
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(expectedTasks);
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(new TaskListRequest(), null);
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(expectedTasks);
+        assertThat(response.getHeaders().containsKey(TaskFacadeImpl.NEXT_CURSOR_HEADER)).isFalse();
+        TaskPageQuery query = capturePageQuery();
+        assertThat(query.getSort()).isEqualTo(TaskPageQuery.Sort.ID);
+        assertThat(query.getAfterId()).isNull();
+        assertThat(query.getStatus()).isNull();
+        assertThat(query.getLimit()).isEqualTo(TaskFacadeImpl.DEFAULT_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void getAllTasksShouldReturnETagFromChangeMarker() {
+        // Given
+        when(taskChangeLogService.latestChangeId()).thenReturn(42L);
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(List.of(existingTask));
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(listRequest(null, 10), null);
+
+        // Then
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"tasks.42.id.....10\"");
+    }
+
+    @Test
+    void getAllTasksShouldIncludeFiltersInETag() {
+        // Given
+        when(taskChangeLogService.latestChangeId()).thenReturn(42L);
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(List.of(existingTask));
+        TaskListRequest request = listRequest(null, 10);
+        request.setStatus("PENDING");
+        request.setSort("-createdAt");
+        request.setCreatedFrom("2025-01-15T00:00:00Z");
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(request, null);
+
+        // Then
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"tasks.42.-createdAt.PENDING.2025-01-15T00:00...10\"");
+    }
+
+    @Test
+    void getAllTasksWithCurrentETagShouldReturnNotModifiedWithoutQueryingTasks() {
+        // Given
+        when(taskChangeLogService.latestChangeId()).thenReturn(42L);
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(listRequest(null, 10), "\"tasks.42.id.....10\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(304);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"tasks.42.id.....10\"");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithStaleETagShouldReturnPage() {
+        // Given
+        when(taskChangeLogService.latestChangeId()).thenReturn(43L);
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(List.of(existingTask));
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(listRequest(null, 10), "\"tasks.42.id.....10\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).containsExactly(existingTask);
+    }
+
+    @Test
+    void getAllTasksWithUnloggedChangesShouldNotMatchETagOfSameChangeMarker() {
+        // Given
+        when(taskChangeLogService.latestChangeId()).thenReturn(42L);
+        when(taskChangeLogService.unloggedChanges()).thenReturn(2L);
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(List.of(existingTask));
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(listRequest(null, 10), "\"tasks.42.id.....10\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"tasks.42+2.id.....10\"");
+    }
+
+    @Test
+    void getAllTasksWhenMoreTasksExistShouldReturnNextCursor() {
+        // Given
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        secondTask.setTitle("Second Task");
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(Arrays.asList(existingTask, secondTask));
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(listRequest(null, 1), null);
+
+        // Then
+        assertThat(response.getBody()).containsExactly(existingTask);
+        String nextCursor = response.getHeaders().getFirst(TaskFacadeImpl.NEXT_CURSOR_HEADER);
+        assertThat(nextCursor).isNotNull();
+        assertThat(TaskCursor.decode(nextCursor).getLastId()).isEqualTo(1L);
+        assertThat(capturePageQuery().getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void getAllTasksSortedByCreatedAtShouldReturnCursorWithLastCreatedAt() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 15, 10, 30);
+        existingTask.setCreatedAt(createdAt);
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(Arrays.asList(existingTask, secondTask));
+        TaskListRequest request = listRequest(null, 1);
+        request.setSort("-createdAt");
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(request, null);
+
+        // Then
+        TaskCursor next = TaskCursor.decode(response.getHeaders().getFirst(TaskFacadeImpl.NEXT_CURSOR_HEADER));
+        assertThat(next.getSort()).isEqualTo("-createdAt");
+        assertThat(next.getLastId()).isEqualTo(1L);
+        assertThat(next.getLastCreatedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void getAllTasksShouldContinueAfterCursor() {
+        // Given
+        String after = new TaskCursor(1L).encode();
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(Arrays.asList());
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(listRequest(after, 10), null);
+
+        // Then
+        assertThat(response.getBody()).isEmpty();
+        TaskPageQuery query = capturePageQuery();
+        assertThat(query.getAfterId()).isEqualTo(1L);
+        assertThat(query.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    void getAllTasksShouldPassFiltersToQuery() {
+        // Given
+        LocalDateTime lastCreatedAt = LocalDateTime.of(2025, 1, 15, 12, 0);
+        TaskListRequest request = listRequest(new TaskCursor("createdAt", 7L, lastCreatedAt).encode(), 10);
+        request.setStatus("COMPLETED");
+        request.setSort("createdAt");
+        request.setCreatedFrom("2025-01-15T00:00:00Z");
+        request.setCreatedTo("2025-01-16T00:00:00Z");
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(Arrays.asList());
+
+        // When
+        taskFacade.getAllTasks(request, null);
+
+        // Then
+        TaskPageQuery query = capturePageQuery();
+        assertThat(query.getStatus()).isEqualTo(Task.Status.COMPLETED);
+        assertThat(query.getSort()).isEqualTo(TaskPageQuery.Sort.CREATED_AT);
+        assertThat(query.getCreatedFrom()).isEqualTo(LocalDateTime.of(2025, 1, 15, 0, 0));
+        assertThat(query.getCreatedTo()).isEqualTo(LocalDateTime.of(2025, 1, 16, 0, 0));
+        assertThat(query.getAfterId()).isEqualTo(7L);
+        assertThat(query.getAfterCreatedAt()).isEqualTo(lastCreatedAt);
+    }
+
+    @Test
+    void getAllTasksShouldCapPageSize() {
+        // Given
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(Arrays.asList());
+
+        // When
+        taskFacade.getAllTasks(listRequest(null, TaskFacadeImpl.MAX_PAGE_SIZE * 10), null);
+
+        // Then
+        assertThat(capturePageQuery().getLimit()).isEqualTo(TaskFacadeImpl.MAX_PAGE_SIZE + 1);
+    }
+
+    @Test
+    void getAllTasksWithNonPositiveLimitShouldThrowInvalidParameterException() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(listRequest(null, 0), null))
+            .isInstanceOf(InvalidParameterException.class);
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithMalformedCursorShouldThrowInvalidParameterException() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(listRequest("not-a-cursor", null), null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasMessage("Invalid cursor: 'not-a-cursor'");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithCursorOfOtherSortShouldThrowInvalidParameterException() {
+        // Given
+        TaskListRequest request = listRequest(new TaskCursor(1L).encode(), null);
+        request.setSort("-createdAt");
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(request, null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasFieldOrPropertyWithValue("parameter", "after");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithInvalidStatusShouldThrowInvalidParameterException() {
+        // Given
+        TaskListRequest request = new TaskListRequest();
+        request.setStatus("DONE");
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(request, null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasMessage("Invalid status: 'DONE'. Expected one of: PENDING, COMPLETED.");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithInvalidSortShouldThrowInvalidParameterException() {
+        // Given
+        TaskListRequest request = new TaskListRequest();
+        request.setSort("title");
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(request, null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasFieldOrPropertyWithValue("parameter", "sort");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithMalformedTimestampShouldThrowInvalidParameterException() {
+        // Given
+        TaskListRequest request = new TaskListRequest();
+        request.setSort("createdAt");
+        request.setCreatedFrom("yesterday");
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(request, null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasFieldOrPropertyWithValue("parameter", "createdFrom");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void getAllTasksWithCreatedRangeAndIdSortShouldThrowInvalidParameterException() {
+        // Given
+        TaskListRequest request = new TaskListRequest();
+        request.setCreatedFrom("2025-01-15T00:00:00Z");
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.getAllTasks(request, null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasFieldOrPropertyWithValue("parameter", "sort");
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void searchTasksShouldReturnTasksInRankOrder() {
+        // Given
+        Task secondTask = new Task();
+        secondTask.setId(2L);
+        when(taskSearchIndex.search("docs", TaskFacadeImpl.DEFAULT_SEARCH_LIMIT)).thenReturn(List.of(2L, 1L));
+        when(taskService.findAllByIdInOrder(List.of(2L, 1L))).thenReturn(List.of(secondTask, existingTask));
 
         // When
-        List<Task> actualTasks = taskFacade.getAllTasks();
+        ResponseEntity<List<Task>> response = taskFacade.searchTasks("docs", null);
 
         // Then
-        assertThat(actualTasks).isEqualTo(expectedTasks);
-        verify(taskService).findAll();
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).containsExactly(secondTask, existingTask);
+    }
+
+    @Test
+    void searchTasksWithoutMatchesShouldNotQueryTasks() {
+        // Given
+        when(taskSearchIndex.search("nothing", 5)).thenReturn(List.of());
+
+        // When
+        ResponseEntity<List<Task>> response = taskFacade.searchTasks("nothing", 5);
+
+        // Then
+        assertThat(response.getBody()).isEmpty();
+        verify(taskService, never()).findAllByIdInOrder(any());
+    }
+
+    @Test
+    void searchTasksShouldCapLimit() {
+        // Given
+        when(taskSearchIndex.search("docs", TaskFacadeImpl.MAX_SEARCH_LIMIT)).thenReturn(List.of());
+
+        // When
+        taskFacade.searchTasks("docs", TaskFacadeImpl.MAX_SEARCH_LIMIT * 10);
+
+        // Then
+        verify(taskSearchIndex).search("docs", TaskFacadeImpl.MAX_SEARCH_LIMIT);
+    }
+
+    @Test
+    void searchTasksWithoutWordsShouldThrowInvalidParameterException() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.searchTasks(" -- ", null))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasFieldOrPropertyWithValue("parameter", "q");
+        verify(taskSearchIndex, never()).search(any(), anyInt());
+    }
+
+    @Test
+    void searchTasksWithNonPositiveLimitShouldThrowInvalidParameterException() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.searchTasks("docs", 0))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasFieldOrPropertyWithValue("parameter", "limit");
+    }
+
+    @Test
+    void exportTasksAsNdjsonShouldStreamThroughExportService() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = taskFacade.exportTasks("ndjson");
+        response.getBody().writeTo(out);
+
+        // Then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        verify(taskExportService).exportNdjson(out);
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void exportTasksAsJsonShouldWriteArray() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        ResponseEntity<StreamingResponseBody> response = taskFacade.exportTasks("json");
+        response.getBody().writeTo(out);
+
+        // Then
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        verify(taskExportService).exportJsonArray(out);
+    }
+
+    @Test
+    void exportTasksWithUnknownFormatShouldThrowInvalidParameterException() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.exportTasks("xml"))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasMessage("Invalid format: 'xml'. Expected one of: ndjson, json.");
     }
 
     @Test
@@ -74,7 +490,7 @@ class TaskFacadeImplTest {
         when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
 
         // When
-        ResponseEntity<Task> response = taskFacade.getTaskById(1L);
+        ResponseEntity<Task> response = taskFacade.getTaskById(1L, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -82,13 +498,80 @@ class TaskFacadeImplTest {
         verify(taskService).findById(1L);
     }
 
+    @Test
+    void getTaskByIdShouldReturnETagFromVersion() {
+        // Given
+        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.getTaskById(1L, null);
+
+        // Then
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.3\"");
+    }
+
+    @Test
+    void getTaskByIdWithMatchingIfNoneMatchShouldReturnNotModified() {
+        // Given
+        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.getTaskById(1L, "\"0.1\", W/\"1.3\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(304);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.3\"");
+    }
+
+    @Test
+    void getTaskByIdWithOutdatedIfNoneMatchShouldReturnTask() {
+        // Given
+        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.getTaskById(1L, "\"1.2\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(existingTask);
+    }
+
+    @Test
+    void getTaskByIdWhenTaskIsCachedShouldNotQueryDatabase() {
+        // Given
+        when(taskCache.getIfPresent(1L)).thenReturn(Optional.of(existingTask));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.getTaskById(1L, null);
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody()).isEqualTo(existingTask);
+        verify(taskService, never()).findById(any());
+    }
+
+    @Test
+    void getTaskByIdWhenTaskIsNotCachedShouldLoadAndCacheIt() {
+        // Given
+        when(taskCache.getIfPresent(1L)).thenReturn(Optional.empty());
+        when(taskCache.generation(1L)).thenReturn(7L);
+        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
+
+        // When
+        taskFacade.getTaskById(1L, null);
+
+        // Then
+        verify(taskCache).putIfNotInvalidated(existingTask, 7L);
+    }
+
     @Test
     void getTaskByIdWhenTaskNotExistsShouldReturnNotFound() {
         // Given
         when(taskService.findById(999L)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<Task> response = taskFacade.getTaskById(999L);
+        ResponseEntity<Task> response = taskFacade.getTaskById(999L, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
@@ -119,21 +602,25 @@ class TaskFacadeImplTest {
         assertThat(result.getDescription()).isEqualTo("New Description");
         assertThat(result.getStatus()).isEqualTo(Task.Status.PENDING);
         
-        // Verify the task was saved
+        // Verify the task was saved, indexed for search and counted
         ArgumentCaptor<Task> taskCaptor = ArgumentCaptor.forClass(Task.class);
         verify(taskService).save(taskCaptor.capture());
+        verify(taskSearchIndex).index(savedTask);
+        verify(taskStats).recordCreated(Task.Status.PENDING);
         Task capturedTask = taskCaptor.getValue();
         assertThat(capturedTask.getTitle()).isEqualTo("New Task");
         assertThat(capturedTask.getDescription()).isEqualTo("New Description");
         assertThat(capturedTask.getStatus()).isEqualTo(Task.Status.PENDING);
+
+        // Creates move the collection ETag
+        verify(taskChangeLogService).recordChange(2L);
     }
 
     @Test
     void createTaskWithDuplicateTitleShouldThrowConflictException() {
         // Given
         Task taskToCreate = taskRequest.toEntity();
-        DataIntegrityViolationException duplicateException = 
-            new DataIntegrityViolationException("Duplicate entry 'New Task' for key 'title'");
+        DataIntegrityViolationException duplicateException = duplicateTitleException();
         when(taskService.save(any(Task.class))).thenThrow(duplicateException);
 
         // When & Then
@@ -142,6 +629,151 @@ class TaskFacadeImplTest {
             .hasMessage("A task with the title 'New Task' already exists");
     }
 
+    @Test
+    void createTaskWithTakenIdShouldNotReportDuplicateTitle() {
+        // Given
+        Task taskToCreate = taskRequest.toEntity();
+        DataIntegrityViolationException primaryKeyException = new DataIntegrityViolationException(
+            "could not execute statement",
+            new SQLIntegrityConstraintViolationException("Duplicate entry '7' for key 'task.PRIMARY'", "23000", 1062));
+        when(taskService.save(any(Task.class))).thenThrow(primaryKeyException);
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.createTask(taskToCreate)).isSameAs(primaryKeyException);
+    }
+
+    @Test
+    void createTaskWithTitleKnownToFilterAndStoredShouldThrowConflictWithoutInsert() {
+        // Given
+        Task taskToCreate = taskRequest.toEntity();
+        when(taskTitleFilter.mightContain("New Task")).thenReturn(true);
+        when(taskService.existsByTitle("New Task")).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.createTask(taskToCreate))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("A task with the title 'New Task' already exists");
+        verify(taskService, never()).save(any(Task.class));
+    }
+
+    @Test
+    void createTaskWithTitleUnknownToFilterShouldSkipLookupAndRecordTitle() {
+        // Given
+        Task taskToCreate = taskRequest.toEntity();
+        taskToCreate.setId(2L);
+        when(taskTitleFilter.mightContain("New Task")).thenReturn(false);
+        when(taskService.save(any(Task.class))).thenReturn(taskToCreate);
+
+        // When
+        taskFacade.createTask(taskToCreate);
+
+        // Then
+        verify(taskService, never()).existsByTitle(any());
+        verify(taskTitleFilter).add("New Task");
+    }
+
+    @Test
+    void createTaskWithFilterFalsePositiveShouldSave() {
+        // Given
+        Task taskToCreate = taskRequest.toEntity();
+        when(taskTitleFilter.mightContain("New Task")).thenReturn(true);
+        when(taskService.existsByTitle("New Task")).thenReturn(false);
+        taskToCreate.setId(2L);
+        when(taskService.save(any(Task.class))).thenReturn(taskToCreate);
+
+        // When
+        Task result = taskFacade.createTask(taskToCreate);
+
+        // Then
+        assertThat(result.getTitle()).isEqualTo("New Task");
+    }
+
+    @Test
+    void createTaskAsyncShouldQueueTaskAndReturnStatusUrl() {
+        // Given
+        Task taskToCreate = taskRequest.toEntity();
+        when(taskWriteBehind.submit(taskToCreate)).thenReturn(TaskCreateStatus.pending("abc", "New Task"));
+
+        // When
+        ResponseEntity<TaskCreateStatus> response = taskFacade.createTaskAsync(taskToCreate);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.ACCEPTED);
+        assertThat(response.getHeaders().getLocation()).hasToString("/tasks/requests/abc");
+        assertThat(response.getHeaders().getFirst(TaskFacadeImpl.PREFERENCE_APPLIED_HEADER)).isEqualTo("respond-async");
+        assertThat(response.getBody().getState()).isEqualTo(TaskCreateStatus.State.PENDING);
+        verify(taskService, never()).save(any());
+    }
+
+    @Test
+    void getCreateStatusShouldReturnStatusOrNotFound() {
+        // Given
+        when(taskWriteBehind.status("abc")).thenReturn(Optional.of(TaskCreateStatus.created("abc", 7L, "New Task")));
+        when(taskWriteBehind.status("expired")).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<TaskCreateStatus> found = taskFacade.getCreateStatus("abc");
+        ResponseEntity<TaskCreateStatus> notFound = taskFacade.getCreateStatus("expired");
+
+        // Then
+        assertThat(found.getBody().getTaskId()).isEqualTo(7L);
+        assertThat(notFound.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+    }
+
+    @Test
+    void createTasksShouldReportCreatedConflictAndInvalidItemsInRequestOrder() {
+        // Given
+        TaskRequest invalidRequest = new TaskRequest();
+        invalidRequest.setTitle("");
+        TaskRequest duplicateRequest = new TaskRequest("Duplicate Task", null, "COMPLETED");
+        when(taskBatchService.createAll(any())).thenReturn(Arrays.asList(10L, null));
+
+        // When
+        ResponseEntity<TaskBatchResponse> response =
+            taskFacade.createTasks(Arrays.asList(taskRequest, invalidRequest, duplicateRequest));
+
+        // Then
+        TaskBatchResponse body = response.getBody();
+        assertThat(body).isNotNull();
+        assertThat(body.getCreated()).isEqualTo(1);
+        assertThat(body.getConflicts()).isEqualTo(1);
+        assertThat(body.getInvalid()).isEqualTo(1);
+        assertThat(body.getResults()).extracting(TaskBatchItemResult::getOutcome).containsExactly(
+            TaskBatchItemResult.Outcome.CREATED, TaskBatchItemResult.Outcome.INVALID, TaskBatchItemResult.Outcome.CONFLICT);
+        assertThat(body.getResults().get(0).getId()).isEqualTo(10L);
+        assertThat(body.getResults().get(1).getErrors()).containsKey("title");
+        assertThat(body.getResults().get(2).getTitle()).isEqualTo("Duplicate Task");
+
+        // Only the valid items reach the service
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Task>> tasksCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(taskBatchService).createAll(tasksCaptor.capture());
+        assertThat(tasksCaptor.getValue()).extracting(Task::getTitle).containsExactly("New Task", "Duplicate Task");
+        verify(taskChangeLogService).recordChanges(List.of(10L));
+    }
+
+    @Test
+    void createTasksWithOnlyInvalidItemsShouldNotCallService() {
+        // Given
+        TaskRequest invalidRequest = new TaskRequest("Title", "Description", "UNKNOWN");
+
+        // When
+        ResponseEntity<TaskBatchResponse> response = taskFacade.createTasks(Arrays.asList(invalidRequest, null));
+
+        // Then
+        assertThat(response.getBody().getInvalid()).isEqualTo(2);
+        assertThat(response.getBody().getResults().get(0).getErrors()).containsKey("status");
+        verify(taskBatchService, never()).createAll(any());
+    }
+
+    @Test
+    void createTasksWithEmptyBatchShouldThrowInvalidParameterException() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.createTasks(List.of()))
+            .isInstanceOf(InvalidParameterException.class)
+            .hasMessage("A batch must contain at least one task");
+    }
+
     @Test
     void updateTaskWhenTaskExistsShouldUpdateAndReturnWithUpdatedTimestamp() {
         // Given
@@ -150,9 +782,7 @@ class TaskFacadeImplTest {
         updateRequest.setDescription("Updated Description");
         updateRequest.setStatus("COMPLETED");
 
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
-        
-        // Create updated task to return from save
+        // Create updated task to return from update
         Task updatedTask = new Task();
         updatedTask.setId(1L);
         updatedTask.setTitle("Updated Task");
@@ -160,10 +790,10 @@ class TaskFacadeImplTest {
         updatedTask.setStatus(Task.Status.COMPLETED);
         // In real scenarios, JPA would handle timestamps
         
-        when(taskService.save(any(Task.class))).thenReturn(updatedTask);
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenReturn(Optional.of(updated(updatedTask)));
 
         // When
-        ResponseEntity<Task> response = taskFacade.updateTask(1L, updateRequest);
+        ResponseEntity<Task> response = taskFacade.updateTask(1L, updateRequest, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -173,54 +803,237 @@ class TaskFacadeImplTest {
         assertThat(responseBody.getDescription()).isEqualTo("Updated Description");
         assertThat(responseBody.getStatus()).isEqualTo(Task.Status.COMPLETED);
 
-        // Verify the task was found and saved
-        verify(taskService).findById(1L);
-        verify(taskService).save(any(Task.class));
+        // Verify the task was updated without loading it first, and the change was propagated
+        verify(taskService, never()).findById(any());
+        verify(taskChangeLogService).recordChange(1L);
     }
 
     @Test
     void updateTaskWhenTaskNotExistsShouldReturnNotFound() {
         // Given
-        when(taskService.findById(999L)).thenReturn(Optional.empty());
+        when(taskService.update(eq(999L), any(Task.class), isNull())).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<Task> response = taskFacade.updateTask(999L, taskRequest);
+        ResponseEntity<Task> response = taskFacade.updateTask(999L, taskRequest, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
         assertThat(response.getBody()).isNull();
-        verify(taskService).findById(999L);
-        verify(taskService, never()).save(any(Task.class));
+        verify(taskChangeLogService, never()).recordChange(anyLong());
     }
 
     @Test
     void updateTaskWithDuplicateTitleShouldThrowConflictException() {
         // Given
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
-        DataIntegrityViolationException duplicateException = 
-            new DataIntegrityViolationException("Duplicate entry 'New Task' for key 'title'");
-        when(taskService.save(any(Task.class))).thenThrow(duplicateException);
+        DataIntegrityViolationException duplicateException = duplicateTitleException();
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenThrow(duplicateException);
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.updateTask(1L, taskRequest, null))
+            .isInstanceOf(ConflictException.class)
+            .hasMessage("A task with the title 'New Task' already exists");
+    }
+
+    @Test
+    void updateTaskWithIfMatchShouldUpdateOnlyExpectedVersionAndReturnNewETag() {
+        // Given
+        Task updatedTask = taskRequest.toEntity();
+        updatedTask.setId(1L);
+        updatedTask.setVersion(4L);
+        when(taskService.update(eq(1L), any(Task.class), eq(List.of(3L)))).thenReturn(Optional.of(updated(updatedTask)));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.updateTask(1L, taskRequest, "\"1.3\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"1.4\"");
+    }
+
+    @Test
+    void updateTaskWithOutdatedIfMatchShouldThrowPreconditionFailed() {
+        // Given
+        when(taskService.update(eq(1L), any(Task.class), eq(List.of(2L)))).thenReturn(Optional.empty());
+        when(taskService.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.updateTask(1L, taskRequest, "\"1.2\""))
+            .isInstanceOf(PreconditionFailedException.class)
+            .hasMessage("Task 1 was modified since the given ETag was issued");
+        verify(taskChangeLogService, never()).recordChange(anyLong());
+    }
+
+    @Test
+    void updateTaskWithIfMatchWhenTaskNotExistsShouldReturnNotFound() {
+        // Given
+        when(taskService.update(eq(999L), any(Task.class), eq(List.of(2L)))).thenReturn(Optional.empty());
+        when(taskService.existsById(999L)).thenReturn(false);
+
+        // When
+        ResponseEntity<Task> response = taskFacade.updateTask(999L, taskRequest, "\"999.2\"");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(404);
+    }
+
+    @Test
+    void updateTaskWithWeakOrForeignIfMatchShouldThrowPreconditionFailedWithoutWriting() {
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.updateTask(1L, taskRequest, "W/\"1.3\", \"2.3\""))
+            .isInstanceOf(PreconditionFailedException.class);
+        verify(taskService, never()).update(any(), any(), any());
+    }
+
+    @Test
+    void updateTaskWithWildcardIfMatchShouldUpdateUnconditionally() {
+        // Given
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenReturn(Optional.of(updated(existingTask)));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.updateTask(1L, taskRequest, "*");
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+    }
+
+    @Test
+    void patchTaskWithOutdatedIfMatchShouldThrowPreconditionFailed() {
+        // Given
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setStatus("COMPLETED");
+        when(taskService.updateFields(1L, Map.of("status", Task.Status.COMPLETED), List.of(2L)))
+            .thenReturn(Optional.empty());
+        when(taskService.existsById(1L)).thenReturn(true);
 
         // When & Then
-        assertThatThrownBy(() -> taskFacade.updateTask(1L, taskRequest))
+        assertThatThrownBy(() -> taskFacade.patchTask(1L, patchRequest, "\"1.2\""))
+            .isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void deleteTaskWithOutdatedIfMatchShouldThrowPreconditionFailed() {
+        // Given
+        when(taskService.deleteById(1L, List.of(2L))).thenReturn(Optional.empty());
+        when(taskService.existsById(1L)).thenReturn(true);
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.deleteTask(1L, "\"1.2\""))
+            .isInstanceOf(PreconditionFailedException.class);
+        verify(taskChangeLogService, never()).recordChange(anyLong());
+    }
+
+    @Test
+    void patchTaskShouldUpdateOnlyPresentFields() {
+        // Given
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setStatus("COMPLETED");
+        existingTask.setStatus(Task.Status.COMPLETED);
+        when(taskService.updateFields(1L, Map.of("status", Task.Status.COMPLETED), null))
+            .thenReturn(Optional.of(new TaskService.Updated(existingTask, Task.Status.PENDING)));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.patchTask(1L, patchRequest, null);
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        assertThat(response.getBody().getStatus()).isEqualTo(Task.Status.COMPLETED);
+        verify(taskChangeLogService).recordChange(1L);
+        verify(taskSearchIndex).index(response.getBody());
+        verify(taskStats).recordStatusChange(Task.Status.PENDING, Task.Status.COMPLETED);
+        verify(taskTitleFilter, never()).add(any());
+    }
+
+    @Test
+    void updateTaskShouldCountStatusChangeFromStatusReadByTheUpdate() {
+        // Given: the cache still holds a status that the update did not replace
+        Task cached = new Task();
+        cached.setId(1L);
+        cached.setStatus(Task.Status.COMPLETED);
+        Task updated = new Task();
+        updated.setId(1L);
+        updated.setTitle("New Task");
+        updated.setStatus(Task.Status.COMPLETED);
+        taskRequest.setStatus("COMPLETED");
+        lenient().when(taskCache.getIfPresent(1L)).thenReturn(Optional.of(cached));
+        when(taskService.update(eq(1L), any(Task.class), isNull()))
+            .thenReturn(Optional.of(new TaskService.Updated(updated, Task.Status.PENDING)));
+
+        // When
+        taskFacade.updateTask(1L, taskRequest, null);
+
+        // Then
+        verify(taskStats).recordStatusChange(Task.Status.PENDING, Task.Status.COMPLETED);
+    }
+
+    @Test
+    void getTaskStatsShouldReturnSnapshot() {
+        // Given
+        TaskStatsResponse snapshot = new TaskStatsResponse(Map.of(Task.Status.PENDING, 1L), 1L, Map.of(), Map.of(), null);
+        when(taskStats.snapshot()).thenReturn(snapshot);
+
+        // When
+        ResponseEntity<TaskStatsResponse> response = taskFacade.getTaskStats();
+
+        // Then
+        assertThat(response.getBody()).isSameAs(snapshot);
+        verify(taskService, never()).findPage(any());
+    }
+
+    @Test
+    void patchTaskWhenTaskNotExistsShouldReturnNotFound() {
+        // Given
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setStatus("COMPLETED");
+        when(taskService.updateFields(eq(999L), any(), isNull())).thenReturn(Optional.empty());
+
+        // When
+        ResponseEntity<Task> response = taskFacade.patchTask(999L, patchRequest, null);
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(404);
+        verify(taskChangeLogService, never()).recordChange(anyLong());
+    }
+
+    @Test
+    void patchTaskWithDuplicateTitleShouldThrowConflictException() {
+        // Given
+        TaskPatchRequest patchRequest = new TaskPatchRequest();
+        patchRequest.setTitle("New Task");
+        when(taskService.updateFields(eq(1L), any(), isNull())).thenThrow(duplicateTitleException());
+
+        // When & Then
+        assertThatThrownBy(() -> taskFacade.patchTask(1L, patchRequest, null))
             .isInstanceOf(ConflictException.class)
             .hasMessage("A task with the title 'New Task' already exists");
     }
 
+    @Test
+    void patchTaskWithEmptyPatchShouldNotRecordChange() {
+        // Given
+        when(taskService.updateFields(1L, Map.of(), null)).thenReturn(Optional.of(updated(existingTask)));
+
+        // When
+        ResponseEntity<Task> response = taskFacade.patchTask(1L, new TaskPatchRequest(), null);
+
+        // Then
+        assertThat(response.getStatusCodeValue()).isEqualTo(200);
+        verify(taskChangeLogService, never()).recordChange(anyLong());
+    }
+
     @Test
     void updateTaskShouldPreserveCreatedAtTimestamp() {
         // Given
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
-        
-        // Mock the save to verify that the facade correctly calls updateEntity
-        when(taskService.save(any(Task.class))).thenAnswer(invocation -> {
-            Task taskToSave = invocation.getArgument(0);
-            // Return the updated task (in real scenarios, JPA would handle timestamps)
-            return taskToSave;
+        // Mock the update to apply the changes to the stored task, as the UPDATE statement would
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenAnswer(invocation -> {
+            Task changes = invocation.getArgument(1);
+            existingTask.setTitle(changes.getTitle());
+            existingTask.setDescription(changes.getDescription());
+            existingTask.setStatus(changes.getStatus());
+            return Optional.of(updated(existingTask));
         });
 
         // When
-        ResponseEntity<Task> response = taskFacade.updateTask(1L, taskRequest);
+        ResponseEntity<Task> response = taskFacade.updateTask(1L, taskRequest, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -231,39 +1044,50 @@ class TaskFacadeImplTest {
         assertThat(responseBody.getTitle()).isEqualTo("New Task");
         assertThat(responseBody.getDescription()).isEqualTo("New Description");
         assertThat(responseBody.getStatus()).isEqualTo(Task.Status.PENDING);
-        
-        verify(taskService).findById(1L);
-        verify(taskService).save(any(Task.class));
+        assertThat(responseBody.getId()).isEqualTo(1L);
     }
 
     @Test
     void deleteTaskWhenTaskExistsShouldReturnOk() {
         // Given
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
+        when(taskService.deleteById(1L, null)).thenReturn(Optional.of(Task.Status.PENDING));
 
         // When
-        ResponseEntity<Void> response = taskFacade.deleteTask(1L);
+        ResponseEntity<Void> response = taskFacade.deleteTask(1L, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
         assertThat(response.getBody()).isNull();
-        verify(taskService).findById(1L);
-        verify(taskService).deleteById(1L);
+        verify(taskService, never()).findById(any());
+        verify(taskSearchIndex).remove(1L);
+        verify(taskStats).recordDeleted(Task.Status.PENDING);
+        verify(taskChangeLogService).recordChange(1L);
+    }
+
+    @Test
+    void deleteTaskShouldCountStatusReadByTheDelete() {
+        // Given
+        when(taskService.deleteById(1L, null)).thenReturn(Optional.of(Task.Status.COMPLETED));
+
+        // When
+        taskFacade.deleteTask(1L, null);
+
+        // Then
+        verify(taskStats).recordDeleted(Task.Status.COMPLETED);
     }
 
     @Test
     void deleteTaskWhenTaskNotExistsShouldReturnNotFound() {
         // Given
-        when(taskService.findById(999L)).thenReturn(Optional.empty());
+        when(taskService.deleteById(999L, null)).thenReturn(Optional.empty());
 
         // When
-        ResponseEntity<Void> response = taskFacade.deleteTask(999L);
+        ResponseEntity<Void> response = taskFacade.deleteTask(999L, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(404);
         assertThat(response.getBody()).isNull();
-        verify(taskService).findById(999L);
-        verify(taskService, never()).deleteById(any());
+        verify(taskChangeLogService, never()).recordChange(anyLong());
     }
 
     @Test
@@ -343,18 +1167,16 @@ class TaskFacadeImplTest {
         updateRequest.setDescription(null); // Setting description to null
         updateRequest.setStatus("COMPLETED");
 
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
-        
         Task updatedTask = new Task();
         updatedTask.setId(1L);
         updatedTask.setTitle("Updated Task");
         updatedTask.setDescription(null);
         updatedTask.setStatus(Task.Status.COMPLETED);
         
-        when(taskService.save(any(Task.class))).thenReturn(updatedTask);
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenReturn(Optional.of(updated(updatedTask)));
 
         // When
-        ResponseEntity<Task> response = taskFacade.updateTask(1L, updateRequest);
+        ResponseEntity<Task> response = taskFacade.updateTask(1L, updateRequest, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -397,18 +1219,16 @@ class TaskFacadeImplTest {
         statusChangeRequest.setDescription("Existing Description"); // Keep same description
         statusChangeRequest.setStatus("COMPLETED"); // Change status only
 
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
-        
         Task updatedTask = new Task();
         updatedTask.setId(1L);
         updatedTask.setTitle("Existing Task");
         updatedTask.setDescription("Existing Description");
         updatedTask.setStatus(Task.Status.COMPLETED); // Status changed
         
-        when(taskService.save(any(Task.class))).thenReturn(updatedTask);
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenReturn(Optional.of(updated(updatedTask)));
 
         // When
-        ResponseEntity<Task> response = taskFacade.updateTask(1L, statusChangeRequest);
+        ResponseEntity<Task> response = taskFacade.updateTask(1L, statusChangeRequest, null);
 
         // Then
         assertThat(response.getStatusCodeValue()).isEqualTo(200);
@@ -416,9 +1236,9 @@ class TaskFacadeImplTest {
         assertThat(responseBody).isNotNull();
         assertThat(responseBody.getStatus()).isEqualTo(Task.Status.COMPLETED);
         
-        // Verify that the original task was updated with new status
+        // Verify that the stored task was updated with new status
         ArgumentCaptor<Task> taskCaptor = ArgumentCaptor.forClass(Task.class);
-        verify(taskService).save(taskCaptor.capture());
+        verify(taskService).update(eq(1L), taskCaptor.capture(), isNull());
         Task capturedTask = taskCaptor.getValue();
         assertThat(capturedTask.getStatus()).isEqualTo(Task.Status.COMPLETED);
     }
@@ -456,14 +1276,14 @@ class TaskFacadeImplTest {
     @Test
     void getAllTasksShouldReturnEmptyListWhenNoTasks() {
         // Given
-        when(taskService.findAll()).thenReturn(Arrays.asList());
+        when(taskService.findPage(any(TaskPageQuery.class))).thenReturn(Arrays.asList());
 
         // When
-        List<Task> actualTasks = taskFacade.getAllTasks();
+        ResponseEntity<List<Task>> response = taskFacade.getAllTasks(new TaskListRequest(), null);
 
         // Then
-        assertThat(actualTasks).isEmpty();
-        verify(taskService).findAll();
+        assertThat(response.getBody()).isEmpty();
+        assertThat(capturePageQuery().getLimit()).isEqualTo(TaskFacadeImpl.DEFAULT_PAGE_SIZE + 1);
     }
 
     @Test
@@ -483,14 +1303,36 @@ class TaskFacadeImplTest {
     @Test
     void updateTaskWithGenericDataIntegrityViolationShouldRethrow() {
         // Given
-        when(taskService.findById(1L)).thenReturn(Optional.of(existingTask));
         DataIntegrityViolationException genericException = 
             new DataIntegrityViolationException("Some other constraint violation");
-        when(taskService.save(any(Task.class))).thenThrow(genericException);
+        when(taskService.update(eq(1L), any(Task.class), isNull())).thenThrow(genericException);
 
         // When & Then
-        assertThatThrownBy(() -> taskFacade.updateTask(1L, taskRequest))
+        assertThatThrownBy(() -> taskFacade.updateTask(1L, taskRequest, null))
             .isInstanceOf(DataIntegrityViolationException.class)
             .hasMessage("Some other constraint violation");
     }
-} 
\ No newline at end of file
+
+    // An update that left the status as it was
+    private static TaskService.Updated updated(Task task) {
+        return new TaskService.Updated(task, task.getStatus());
+    }
+
+    private static DataIntegrityViolationException duplicateTitleException() {
+        return new DataIntegrityViolationException("could not execute statement",
+            new SQLIntegrityConstraintViolationException("Duplicate entry 'New Task' for key 'title'", "23000", 1062));
+    }
+
+    private static TaskListRequest listRequest(String after, Integer limit) {
+        TaskListRequest request = new TaskListRequest();
+        request.setAfter(after);
+        request.setLimit(limit);
+        return request;
+    }
+
+    private TaskPageQuery capturePageQuery() {
+        ArgumentCaptor<TaskPageQuery> captor = ArgumentCaptor.forClass(TaskPageQuery.class);
+        verify(taskService).findPage(captor.capture());
+        return captor.getValue();
+    }
+}
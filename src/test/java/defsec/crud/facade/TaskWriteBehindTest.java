@@ -0,0 +1,184 @@
+package defsec.crud.facade;
+
+import defsec.crud.cache.TaskSearchIndex;
+import defsec.crud.cache.TaskStats;
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.dto.TaskCreateStatus;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.TooManyRequestsException;
+import defsec.crud.service.TaskBatchService;
+import defsec.crud.service.TaskChangeLogService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWriteBehindTest {
+
+    @Mock
+    private TaskBatchService taskBatchService;
+
+    @Mock
+    private TaskTitleFilter taskTitleFilter;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStats taskStats;
+
+    @Mock
+    private TaskChangeLogService taskChangeLogService;
+
+    @InjectMocks
+    private TaskWriteBehind writeBehind;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(writeBehind, "capacity", 3);
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 10);
+        // Long enough that only a full batch or close() ends the wait for more tasks
+        ReflectionTestUtils.setField(writeBehind, "maxDelay", Duration.ofHours(1));
+        ReflectionTestUtils.setField(writeBehind, "statusRetention", Duration.ofMinutes(10));
+        ReflectionTestUtils.setField(writeBehind, "statusCapacity", 100L);
+        ReflectionTestUtils.setField(writeBehind, "meterRegistry", new SimpleMeterRegistry());
+        writeBehind.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        writeBehind.close();
+    }
+
+    private static Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(Task.Status.PENDING);
+        return task;
+    }
+
+    @Test
+    void shouldWriteQueuedTasksInOneBatchAndReportOutcomes() {
+        // Given
+        when(taskBatchService.createAll(any())).thenReturn(Arrays.asList(1L, null, 3L));
+        TaskCreateStatus first = writeBehind.submit(task("First"));
+        TaskCreateStatus duplicate = writeBehind.submit(task("Duplicate"));
+        TaskCreateStatus third = writeBehind.submit(task("Third"));
+        assertThat(writeBehind.status(first.getRequestId()).get().getState()).isEqualTo(TaskCreateStatus.State.PENDING);
+
+        // When
+        writeBehind.close();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Task>> tasksCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(taskBatchService).createAll(tasksCaptor.capture());
+        assertThat(tasksCaptor.getValue()).extracting(Task::getTitle).containsExactly("First", "Duplicate", "Third");
+
+        TaskCreateStatus created = writeBehind.status(first.getRequestId()).get();
+        assertThat(created.getState()).isEqualTo(TaskCreateStatus.State.CREATED);
+        assertThat(created.getTaskId()).isEqualTo(1L);
+        TaskCreateStatus conflict = writeBehind.status(duplicate.getRequestId()).get();
+        assertThat(conflict.getState()).isEqualTo(TaskCreateStatus.State.CONFLICT);
+        assertThat(conflict.getErrors()).containsKey("title");
+        assertThat(writeBehind.status(third.getRequestId()).get().getTaskId()).isEqualTo(3L);
+
+        verify(taskTitleFilter).add("First");
+        verify(taskTitleFilter, never()).add("Duplicate");
+        verify(taskChangeLogService).recordChanges(List.of(1L, 3L));
+    }
+
+    @Test
+    void shouldWriteFullBatchWithoutWaitingForMaxDelay() {
+        // Given
+        writeBehind.close();
+        ReflectionTestUtils.setField(writeBehind, "batchSize", 2);
+        writeBehind.init();
+        when(taskBatchService.createAll(any())).thenReturn(Arrays.asList(1L, 2L));
+
+        // When
+        writeBehind.submit(task("First"));
+        writeBehind.submit(task("Second"));
+
+        // Then
+        verify(taskChangeLogService, timeout(5000)).recordChanges(List.of(1L, 2L));
+    }
+
+    @Test
+    void shouldRefuseTasksBeyondCapacity() {
+        // Given
+        when(taskBatchService.createAll(any())).thenReturn(Arrays.asList(1L, 2L, 3L));
+        for (int i = 0; i < 3; i++) {
+            writeBehind.submit(task("Task " + i));
+        }
+
+        // When & Then
+        assertThatThrownBy(() -> writeBehind.submit(task("One too many")))
+            .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void shouldEvictOldestStatusesBeyondStatusCapacity() {
+        // Given
+        writeBehind.close();
+        ReflectionTestUtils.setField(writeBehind, "statusCapacity", 2L);
+        writeBehind.init();
+        when(taskBatchService.createAll(any())).thenReturn(Arrays.asList(1L, 2L, 3L));
+
+        // When
+        TaskCreateStatus first = writeBehind.submit(task("First"));
+        TaskCreateStatus second = writeBehind.submit(task("Second"));
+        TaskCreateStatus third = writeBehind.submit(task("Third"));
+        writeBehind.close();
+
+        // Then
+        assertThat(writeBehind.status(first.getRequestId())).isEmpty();
+        assertThat(writeBehind.status(second.getRequestId())).isPresent();
+        assertThat(writeBehind.status(third.getRequestId()).get().getTaskId()).isEqualTo(3L);
+    }
+
+    @Test
+    void shouldReportFailureWhenBatchCannotBeWritten() {
+        // Given
+        when(taskBatchService.createAll(any())).thenThrow(new DataAccessResourceFailureException("Database is down"));
+        TaskCreateStatus status = writeBehind.submit(task("First"));
+
+        // When
+        writeBehind.close();
+
+        // Then
+        assertThat(writeBehind.status(status.getRequestId()).get().getState()).isEqualTo(TaskCreateStatus.State.FAILED);
+        verify(taskChangeLogService, never()).recordChanges(any());
+    }
+
+    @Test
+    void shouldRefuseTasksAfterClose() {
+        // When
+        writeBehind.close();
+
+        // Then
+        assertThatThrownBy(() -> writeBehind.submit(task("Late")))
+            .isInstanceOf(TooManyRequestsException.class);
+        assertThat(writeBehind.status("unknown")).isEmpty();
+    }
+}
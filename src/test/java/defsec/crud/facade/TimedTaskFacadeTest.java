@@ -0,0 +1,88 @@
+package defsec.crud.facade;
+
+import defsec.crud.entity.Task;
+import defsec.crud.exception.ConflictException;
+import defsec.crud.exception.InvalidParameterException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimedTaskFacadeTest {
+
+    @Mock
+    private TaskFacadeImpl delegate;
+
+    private MeterRegistry meterRegistry;
+    private TimedTaskFacade facade;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        facade = new TimedTaskFacade();
+        ReflectionTestUtils.setField(facade, "delegate", delegate);
+        ReflectionTestUtils.setField(facade, "meterRegistry", meterRegistry);
+        facade.init();
+    }
+
+    @Test
+    void registersEveryOperationAndOutcomeUpFront() {
+        assertThat(meterRegistry.find(TaskFacadeTimers.METRIC_NAME).timers())
+            .hasSize(TaskFacadeTimers.Operation.values().length * TaskFacadeTimers.Outcome.values().length);
+    }
+
+    @Test
+    void getTaskById_recordsOkAndNotFound() {
+        Task task = new Task();
+        when(delegate.getTaskById(1L, null)).thenReturn(ResponseEntity.ok(task));
+        when(delegate.getTaskById(2L, null)).thenReturn(ResponseEntity.notFound().build());
+
+        assertThat(facade.getTaskById(1L, null).getBody()).isSameAs(task);
+        facade.getTaskById(2L, null);
+
+        assertThat(count("getTaskById", "ok")).isEqualTo(1);
+        assertThat(count("getTaskById", "not_found")).isEqualTo(1);
+    }
+
+    @Test
+    void createTask_recordsConflictAndRethrows() {
+        ConflictException conflict = new ConflictException("Task title already exists", "title", "Duplicate");
+        when(delegate.createTask(any(Task.class))).thenThrow(conflict);
+
+        assertThatThrownBy(() -> facade.createTask(new Task())).isSameAs(conflict);
+
+        assertThat(count("createTask", "conflict")).isEqualTo(1);
+        assertThat(count("createTask", "ok")).isZero();
+    }
+
+    @Test
+    void deleteTask_recordsInvalidAndError() {
+        when(delegate.deleteTask(1L, "bad")).thenThrow(new InvalidParameterException("Invalid If-Match", "If-Match"));
+        when(delegate.deleteTask(2L, null)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertThatThrownBy(() -> facade.deleteTask(1L, "bad")).isInstanceOf(InvalidParameterException.class);
+        assertThatThrownBy(() -> facade.deleteTask(2L, null)).isInstanceOf(IllegalStateException.class);
+
+        assertThat(count("deleteTask", "invalid")).isEqualTo(1);
+        assertThat(count("deleteTask", "error")).isEqualTo(1);
+    }
+
+    private long count(String operation, String outcome) {
+        return meterRegistry.get(TaskFacadeTimers.METRIC_NAME)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .timer()
+            .count();
+    }
+}
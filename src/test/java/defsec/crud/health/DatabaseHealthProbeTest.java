@@ -0,0 +1,146 @@
+package defsec.crud.health;
+
+import com.zaxxer.hikari.HikariDataSource;
+import defsec.crud.health.DatabaseHealthProbe.Readiness;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the probe against an in-memory H2 database, with the request pool as a small Hikari pool on the same database.
+ */
+class DatabaseHealthProbeTest {
+
+    private static final Instant NOW = Instant.parse("2025-01-15T14:30:45Z");
+
+    private final String url = "jdbc:h2:mem:health_" + UUID.randomUUID().toString().replace("-", "") + ";DB_CLOSE_DELAY=-1";
+    private HikariDataSource pool;
+    private DatabaseHealthProbe probe;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        // Starts the pool
+        pool.getConnection().close();
+
+        probe = new DatabaseHealthProbe();
+        ReflectionTestUtils.setField(probe, "probeTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(probe, "maxAge", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(probe, "maxPoolUsage", 0.9);
+        ReflectionTestUtils.setField(probe, "dataSource", pool);
+        ReflectionTestUtils.setField(probe, "probeDataSource", new DriverManagerDataSource(url, "sa", ""));
+        ReflectionTestUtils.setField(probe, "clock", Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @AfterEach
+    void tearDown() {
+        probe.close();
+        pool.close();
+    }
+
+    @Test
+    void shouldNotBeReadyBeforeFirstCheck() {
+        // When
+        Readiness readiness = probe.readiness();
+
+        // Then
+        assertThat(readiness.ready()).isFalse();
+        assertThat(readiness.reason()).isEqualTo("Database is down");
+    }
+
+    @Test
+    void shouldBeReadyWhenDatabaseIsUpAndPoolHasRoom() throws Exception {
+        // Given
+        probe.probe();
+
+        // When
+        Readiness readiness;
+        try (Connection inUse = pool.getConnection()) {
+            readiness = probe.readiness();
+        }
+
+        // Then
+        assertThat(readiness.ready()).isTrue();
+        assertThat(readiness.database().up()).isTrue();
+        assertThat(readiness.database().checkedAt()).isEqualTo(NOW);
+        assertThat(readiness.pool().active()).isEqualTo(1);
+        assertThat(readiness.pool().max()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotBeReadyWhenPoolIsSaturated() throws Exception {
+        // Given
+        probe.probe();
+
+        // When
+        Readiness readiness;
+        try (Connection first = pool.getConnection(); Connection second = pool.getConnection()) {
+            readiness = probe.readiness();
+        }
+
+        // Then
+        assertThat(readiness.ready()).isFalse();
+        assertThat(readiness.reason()).isEqualTo("Connection pool is saturated");
+        assertThat(readiness.database().up()).isTrue();
+        assertThat(probe.readiness().ready()).isTrue();
+    }
+
+    @Test
+    void shouldReportDownWhenDatabaseIsUnreachable() {
+        // Given
+        ReflectionTestUtils.setField(probe, "probeDataSource",
+            new DriverManagerDataSource("jdbc:h2:mem:missing_" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", ""));
+
+        // When
+        probe.probe();
+
+        // Then
+        assertThat(probe.databaseHealth().up()).isFalse();
+        assertThat(probe.databaseHealth().error()).isNotBlank();
+        assertThat(probe.readiness().ready()).isFalse();
+    }
+
+    @Test
+    void shouldReportDownWhenLastCheckIsTooOld() {
+        // Given
+        probe.probe();
+
+        // When
+        ReflectionTestUtils.setField(probe, "clock", Clock.fixed(NOW.plusSeconds(6), ZoneOffset.UTC));
+
+        // Then
+        assertThat(probe.databaseHealth().up()).isFalse();
+        assertThat(probe.databaseHealth().checkedAt()).isEqualTo(NOW);
+        assertThat(probe.readiness().ready()).isFalse();
+    }
+
+    @Test
+    void shouldReopenConnectionAfterFailedCheck() throws Exception {
+        // Given
+        probe.probe();
+        ((Connection) ReflectionTestUtils.getField(probe, "connection")).close();
+
+        // When
+        probe.probe();
+        boolean upAfterFailure = probe.databaseHealth().up();
+        probe.probe();
+
+        // Then
+        assertThat(upAfterFailure).isFalse();
+        assertThat(probe.databaseHealth().up()).isTrue();
+    }
+}
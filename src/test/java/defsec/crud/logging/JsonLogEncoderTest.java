@@ -0,0 +1,85 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonLogEncoderTest {
+
+    private final Logger logger = new LoggerContext().getLogger("defsec.crud.facade.TaskFacadeImpl");
+    private final JsonLogEncoder encoder = new JsonLogEncoder();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private LoggingEvent event(Level level, String message, Throwable throwable, Object... arguments) {
+        LoggingEvent event = new LoggingEvent(JsonLogEncoderTest.class.getName(), logger, level, message, throwable,
+                                              arguments);
+        event.setTimeStamp(Instant.parse("2025-01-15T14:30:45.007Z").toEpochMilli());
+        return event;
+    }
+
+    @Test
+    void shouldWriteEventAsOneLineOfJson() throws Exception {
+        // Given
+        LoggingEvent event = event(Level.INFO, "Creating new task with title: '{}'", null,
+                                   "Quotes \" backslash \\ newline \n tab \t bell \u0007 snowman \u2603 emoji \uD83D\uDE00");
+        event.setMDCPropertyMap(Map.of("taskTitle", "Line\nbreak"));
+
+        // When
+        String line = new String(encoder.encode(event), StandardCharsets.UTF_8);
+
+        // Then
+        assertThat(line).endsWith("}\n");
+        assertThat(line.indexOf('\n')).isEqualTo(line.length() - 1);
+        JsonNode json = objectMapper.readTree(line);
+        assertThat(json.get("@timestamp").asText()).isEqualTo("2025-01-15T14:30:45.007Z");
+        assertThat(json.get("level").asText()).isEqualTo("INFO");
+        assertThat(json.get("logger_name").asText()).isEqualTo("defsec.crud.facade.TaskFacadeImpl");
+        assertThat(json.get("message").asText()).isEqualTo(event.getFormattedMessage());
+        assertThat(json.get("taskTitle").asText()).isEqualTo("Line\nbreak");
+        assertThat(json.has("stack_trace")).isFalse();
+    }
+
+    @Test
+    void shouldWriteStackTrace() throws Exception {
+        // Given
+        LoggingEvent event = event(Level.ERROR, "Database error while creating task", new IllegalStateException("boom"));
+        event.setMDCPropertyMap(Map.of());
+
+        // When
+        JsonNode json = objectMapper.readTree(encoder.encode(event));
+
+        // Then
+        assertThat(json.get("level").asText()).isEqualTo("ERROR");
+        assertThat(json.get("stack_trace").asText())
+            .startsWith("java.lang.IllegalStateException: boom")
+            .contains("at defsec.crud.logging.JsonLogEncoderTest");
+    }
+
+    @Test
+    void shouldReuseCachedSecondAcrossEvents() throws Exception {
+        // Given
+        LoggingEvent first = event(Level.INFO, "first", null);
+        first.setMDCPropertyMap(Map.of());
+        LoggingEvent second = event(Level.INFO, "second", null);
+        second.setMDCPropertyMap(Map.of());
+        second.setTimeStamp(Instant.parse("2025-01-15T14:30:46.120Z").toEpochMilli());
+
+        // When
+        JsonNode firstJson = objectMapper.readTree(encoder.encode(first));
+        JsonNode secondJson = objectMapper.readTree(encoder.encode(second));
+
+        // Then
+        assertThat(firstJson.get("@timestamp").asText()).isEqualTo("2025-01-15T14:30:45.007Z");
+        assertThat(secondJson.get("@timestamp").asText()).isEqualTo("2025-01-15T14:30:46.120Z");
+    }
+}
@@ -0,0 +1,186 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferAppenderTest {
+
+    // Records events, optionally waiting for the test before taking the first one
+    private static class RecordingAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+        final List<ILoggingEvent> events = new CopyOnWriteArrayList<>();
+        final CountDownLatch firstTaken = new CountDownLatch(1);
+        CountDownLatch proceed = new CountDownLatch(0);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            firstTaken.countDown();
+            try {
+                proceed.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            events.add(event);
+        }
+    }
+
+    private final RecordingAppender delegate = new RecordingAppender();
+    private RingBufferAppender appender;
+    private Logger logger;
+
+    @BeforeEach
+    void setUp() {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        delegate.setContext(context);
+        delegate.setName("RECORDING");
+        delegate.start();
+        appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setName("RING");
+        appender.addAppender(delegate);
+        logger = context.getLogger("defsec.crud.logging.test." + UUID.randomUUID().toString().replace("-", ""));
+        logger.setLevel(Level.INFO);
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        delegate.proceed.countDown();
+        appender.stop();
+        logger.detachAndStopAllAppenders();
+    }
+
+    @Test
+    void shouldWriteEventsInOrderOnWorkerThread() {
+        // Given
+        appender.start();
+
+        // When
+        logger.info("Created task {}", 1);
+        logger.warn("Attempted to create task with duplicate title: '{}'", "Title");
+        appender.stop();
+
+        // Then
+        assertThat(delegate.events).extracting(ILoggingEvent::getFormattedMessage)
+            .containsExactly("Created task 1", "Attempted to create task with duplicate title: 'Title'");
+        assertThat(delegate.events.get(0).getThreadName()).isEqualTo(Thread.currentThread().getName());
+        assertThat(appender.getEnqueuedCount()).isEqualTo(2);
+        assertThat(appender.getDroppedCount()).isZero();
+        assertThat(appender.getFlushCount()).isPositive();
+        // The worker stops the attached appenders once the buffer is written
+        assertThat(delegate.isStarted()).isFalse();
+    }
+
+    @Test
+    void shouldDropEventsWithoutBlockingWhenBufferIsFull() throws Exception {
+        // Given: the worker holds the first event while the disk is "stalled"
+        delegate.proceed = new CountDownLatch(1);
+        appender.setBufferSize(4);
+        appender.start();
+        logger.info("Event 0");
+        assertThat(delegate.firstTaken.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        long started = System.nanoTime();
+        for (int i = 1; i <= 10; i++) {
+            logger.info("Event {}", i);
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        delegate.proceed.countDown();
+        appender.stop();
+
+        // Then
+        assertThat(elapsedMillis).isLessThan(1000);
+        assertThat(appender.getEnqueuedCount()).isEqualTo(5);
+        assertThat(appender.getDroppedCount()).isEqualTo(6);
+        assertThat(delegate.events).extracting(ILoggingEvent::getFormattedMessage).containsExactly(
+            "Event 0", "Event 1", "Event 2", "Event 3", "Event 4",
+            "Dropped 6 log events: the buffer of [RING] was full");
+    }
+
+    @Test
+    void eventAfterIdlePeriodShouldWakeWorker() throws Exception {
+        // Given: a worker parked on the empty buffer for longer than the test waits
+        appender.setIdleWaitMillis(60_000);
+        appender.start();
+        logger.info("Event 0");
+        awaitEvents(1);
+        Thread.sleep(50);
+
+        // When
+        long started = System.nanoTime();
+        logger.info("Event 1");
+        awaitEvents(2);
+
+        // Then
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started)).isLessThan(5_000);
+        assertThat(delegate.events).extracting(ILoggingEvent::getFormattedMessage).containsExactly("Event 0", "Event 1");
+    }
+
+    @Test
+    void ringBufferShouldTellFirstElementAfterDrain() {
+        // Given
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(4);
+
+        // When & Then
+        assertThat(buffer.isFirstAfterDrain(buffer.add(1))).isTrue();
+        assertThat(buffer.isFirstAfterDrain(buffer.add(2))).isFalse();
+        buffer.drain(element -> { }, 4);
+        assertThat(buffer.isFirstAfterDrain(buffer.add(3))).isTrue();
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (delegate.events.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(delegate.events).hasSize(count);
+    }
+
+    @Test
+    void shouldNotStartWithoutAttachedAppender() {
+        // Given
+        RingBufferAppender unattached = new RingBufferAppender();
+        unattached.setContext(logger.getLoggerContext());
+
+        // When
+        unattached.start();
+
+        // Then
+        assertThat(unattached.isStarted()).isFalse();
+    }
+
+    @Test
+    void ringBufferShouldRoundCapacityUpAndRefuseWhenFull() {
+        // Given
+        LogRingBuffer<Integer> buffer = new LogRingBuffer<>(3);
+        List<Integer> drained = new CopyOnWriteArrayList<>();
+
+        // When & Then
+        assertThat(buffer.capacity()).isEqualTo(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.drain(drained::add, 3)).isEqualTo(3);
+        assertThat(buffer.offer(5)).isTrue();
+        assertThat(buffer.drain(drained::add, 10)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+        assertThat(buffer.size()).isZero();
+    }
+}
@@ -0,0 +1,81 @@
+package defsec.crud.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    private SamplingTurboFilter filter(String sampling) {
+        SamplingTurboFilter filter = new SamplingTurboFilter();
+        filter.setContext(context);
+        filter.setSampling(sampling);
+        filter.start();
+        return filter;
+    }
+
+    private static FilterReply info(SamplingTurboFilter filter, Logger logger) {
+        return filter.decide(null, logger, Level.INFO, "Successfully created task with id: {}", new Object[] {1L}, null);
+    }
+
+    @Test
+    void shouldApplyRateOfMostSpecificConfiguredLogger() {
+        // Given
+        SamplingTurboFilter filter = filter("defsec.crud.facade=0, defsec.crud.facade.TaskFacadeImpl=1");
+
+        // When & Then
+        assertThat(info(filter, context.getLogger("defsec.crud.facade.TimedTaskFacade"))).isEqualTo(FilterReply.DENY);
+        assertThat(info(filter, context.getLogger("defsec.crud.facade.TaskFacadeImpl"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(info(filter, context.getLogger("defsec.crud.service.TaskService"))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOutCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepWarningsErrorsAndEnabledChecks() {
+        // Given
+        SamplingTurboFilter filter = filter("defsec=0");
+        Logger logger = context.getLogger("defsec.crud.facade.TaskFacadeImpl");
+
+        // When & Then
+        assertThat(filter.decide(null, logger, Level.WARN, "Attempted to create task with duplicate title: '{}'",
+            new Object[] {"Title"}, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(null, logger, Level.INFO, "Export failed", null, new IllegalStateException()))
+            .isEqualTo(FilterReply.NEUTRAL);
+        // isInfoEnabled() asks with a null format
+        assertThat(filter.decide(null, logger, Level.INFO, null, null, null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOutCount()).isZero();
+    }
+
+    @Test
+    void shouldKeepRoughlyConfiguredFractionOfInfoEvents() {
+        // Given
+        SamplingTurboFilter filter = filter("defsec.crud.facade=0.25");
+        Logger logger = context.getLogger("defsec.crud.facade.TaskFacadeImpl");
+
+        // When
+        int kept = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (info(filter, logger) == FilterReply.NEUTRAL) {
+                kept++;
+            }
+        }
+
+        // Then
+        assertThat(kept).isBetween(2000, 3000);
+        assertThat(filter.getSampledOutCount()).isEqualTo(10_000 - kept);
+    }
+
+    @Test
+    void shouldNotStartWithInvalidSampling() {
+        assertThat(filter("defsec.crud.facade=2").isStarted()).isFalse();
+        assertThat(filter("defsec.crud.facade").isStarted()).isFalse();
+        assertThat(filter("").isStarted()).isTrue();
+        assertThat(filter(null).isStarted()).isTrue();
+    }
+}
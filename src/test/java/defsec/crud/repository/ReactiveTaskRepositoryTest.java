@@ -0,0 +1,192 @@
+package defsec.crud.repository;
+
+import defsec.crud.config.ReactiveConfig;
+import defsec.crud.entity.Task;
+import defsec.crud.exception.DuplicateKeys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the reactive repositories against an in-memory H2 database in MySQL mode.
+ * The schema mirrors the Flyway migrations, except that status is a VARCHAR: the migrations use MySQL-only syntax.
+ */
+@DataR2dbcTest(properties = {
+    "spring.r2dbc.url=r2dbc:h2:mem:///reactive_tasks;MODE=MySQL;DB_CLOSE_DELAY=-1",
+    "spring.flyway.enabled=false",
+    "spring.jpa.properties.defsec.task-id.block-size=10"
+})
+@ActiveProfiles("reactive")
+@Import({ReactiveTaskRepository.class, ReactiveTaskIdAllocator.class, ReactiveTaskChangeLogRepository.class,
+    ReactiveConfig.class})
+class ReactiveTaskRepositoryTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 14, 30, 45);
+
+    @Autowired
+    private ReactiveTaskRepository taskRepository;
+
+    @Autowired
+    private ReactiveTaskIdAllocator taskIdAllocator;
+
+    @Autowired
+    private ReactiveTaskChangeLogRepository changeLogRepository;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void createSchema() {
+        Flux.concat(
+                sql("DROP TABLE IF EXISTS task"),
+                sql("DROP TABLE IF EXISTS task_id_sequence"),
+                sql("DROP TABLE IF EXISTS task_change_log"),
+                sql("CREATE TABLE task (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL UNIQUE, "
+                    + "description VARCHAR(1000), status VARCHAR(16) DEFAULT 'PENDING', "
+                    + "created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, version BIGINT NOT NULL DEFAULT 0)"),
+                sql("CREATE TABLE task_id_sequence (sequence_name VARCHAR(64) NOT NULL PRIMARY KEY, next_val BIGINT NOT NULL)"),
+                sql("INSERT INTO task_id_sequence (sequence_name, next_val) VALUES ('task', 1)"),
+                sql("CREATE TABLE task_change_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, task_id BIGINT NOT NULL, "
+                    + "changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))"))
+            .blockLast();
+    }
+
+    @Test
+    void insertedTaskShouldBeFoundById() {
+        Task task = insert("Write docs", Task.Status.PENDING, CREATED_AT);
+
+        Task found = taskRepository.findById(task.getId()).block();
+
+        assertThat(found).isNotNull();
+        assertThat(found.getTitle()).isEqualTo("Write docs");
+        assertThat(found.getStatus()).isEqualTo(Task.Status.PENDING);
+        assertThat(found.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(found.getVersion()).isZero();
+        assertThat(taskRepository.existsByTitle("Write docs").block()).isTrue();
+        assertThat(taskRepository.existsById(task.getId() + 1).block()).isFalse();
+    }
+
+    @Test
+    void findPageShouldFilterByStatusAfterTheCursor() {
+        for (int i = 0; i < 6; i++) {
+            insert("Task " + i, i % 2 == 0 ? Task.Status.PENDING : Task.Status.COMPLETED, CREATED_AT.plusMinutes(i));
+        }
+        List<Task> firstPage = taskRepository.findPage(
+            new TaskPageQuery(Task.Status.PENDING, null, null, TaskPageQuery.Sort.ID, null, null, 2)).collectList().block();
+        Task last = firstPage.get(firstPage.size() - 1);
+
+        List<Task> secondPage = taskRepository.findPage(
+            new TaskPageQuery(Task.Status.PENDING, null, null, TaskPageQuery.Sort.ID, last.getId(), null, 2))
+            .collectList().block();
+
+        assertThat(firstPage).extracting(Task::getTitle).containsExactly("Task 0", "Task 2");
+        assertThat(secondPage).extracting(Task::getTitle).containsExactly("Task 4");
+    }
+
+    @Test
+    void updateShouldOnlyApplyToExpectedVersions() {
+        Task task = insert("Versioned", Task.Status.PENDING, CREATED_AT);
+        Task changes = new Task();
+        changes.setTitle("Versioned");
+        changes.setStatus(Task.Status.COMPLETED);
+
+        long stale = taskRepository.update(task.getId(), changes, CREATED_AT.plusHours(1), List.of(5L)).block();
+        long applied = taskRepository.update(task.getId(), changes, CREATED_AT.plusHours(1), List.of(0L)).block();
+        long patched = taskRepository.updateFields(task.getId(), Map.of("description", "done"), List.of(1L)).block();
+
+        assertThat(stale).isZero();
+        assertThat(applied).isEqualTo(1);
+        assertThat(patched).isEqualTo(1);
+        Task stored = taskRepository.findById(task.getId()).block();
+        assertThat(stored.getStatus()).isEqualTo(Task.Status.COMPLETED);
+        assertThat(stored.getDescription()).isEqualTo("done");
+        assertThat(stored.getVersion()).isEqualTo(2);
+        assertThat(taskRepository.delete(task.getId(), List.of(1L)).block()).isZero();
+        assertThat(taskRepository.delete(task.getId(), List.of(2L)).block()).isEqualTo(1);
+    }
+
+    @Test
+    void duplicateTitleShouldBeReportedAsDuplicateKey() {
+        insert("Unique", Task.Status.PENDING, CREATED_AT);
+
+        StepVerifier.create(taskIdAllocator.nextId().flatMap(id -> taskRepository.insert(task(id, "Unique"), CREATED_AT)))
+            .expectErrorSatisfies(ex -> assertThat(DuplicateKeys.isDuplicateKey(ex)).isTrue())
+            .verify();
+    }
+
+    @Test
+    void concurrentNextIdShouldHandOutDistinctIds() {
+        // 100 ids from blocks of 10: callers that find a block used up share one reservation, so at most
+        // 10 blocks are reserved (fewer if a block is left over from an earlier test)
+        List<Long> ids = Flux.range(0, 100)
+            .flatMap(i -> taskIdAllocator.nextId(), 32)
+            .collectList()
+            .block();
+
+        assertThat(Set.copyOf(ids)).hasSize(100);
+        Long nextVal = databaseClient.sql("SELECT next_val FROM task_id_sequence WHERE sequence_name = 'task'")
+            .map(row -> row.get(0, Long.class)).one().block();
+        assertThat(nextVal).isLessThanOrEqualTo(101);
+    }
+
+    @Test
+    void findAllShouldEmitOnlyWhatIsRequested() {
+        for (int i = 0; i < 20; i++) {
+            insert("Export " + i, Task.Status.PENDING, CREATED_AT);
+        }
+
+        StepVerifier.create(taskRepository.findAll(), 0)
+            .thenRequest(3)
+            .expectNextCount(3)
+            .expectNoEvent(Duration.ofMillis(100))
+            .thenRequest(17)
+            .expectNextCount(17)
+            .verifyComplete();
+    }
+
+    @Test
+    void latestIdShouldFollowAppends() {
+        assertThat(changeLogRepository.latestId().block()).isZero();
+
+        changeLogRepository.append(7L).then(changeLogRepository.appendAll(List.of(8L, 9L))).block();
+
+        assertThat(changeLogRepository.latestId().block()).isEqualTo(3);
+    }
+
+    private Task insert(String title, Task.Status status, LocalDateTime createdAt) {
+        return taskIdAllocator.nextId()
+            .flatMap(id -> {
+                Task task = task(id, title);
+                task.setStatus(status);
+                return taskRepository.insert(task, createdAt);
+            })
+            .block();
+    }
+
+    private static Task task(long id, String title) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle(title);
+        task.setStatus(Task.Status.PENDING);
+        return task;
+    }
+
+    private Mono<Void> sql(String statement) {
+        return databaseClient.sql(statement).then();
+    }
+}
@@ -0,0 +1,72 @@
+package defsec.crud.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskChangeLogRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskChangeLogRepository taskChangeLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:task-change-log;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        // changed_at is generated too, as in the migration
+        jdbcTemplate.execute("CREATE TABLE task_change_log (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+            + "task_id BIGINT NOT NULL, changed_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3))");
+        taskChangeLogRepository = new TaskChangeLogRepository();
+        ReflectionTestUtils.setField(taskChangeLogRepository, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE task_change_log");
+    }
+
+    @Test
+    void appendShouldReturnIdOfNewEntry() {
+        // When
+        long first = taskChangeLogRepository.append(7L);
+        long second = taskChangeLogRepository.append(7L);
+
+        // Then
+        assertThat(second).isGreaterThan(first);
+        assertThat(taskChangeLogRepository.latestId()).isEqualTo(second);
+    }
+
+    @Test
+    void appendAllShouldReturnIdOfEachEntryInTaskOrder() {
+        // Given
+        taskChangeLogRepository.append(1L);
+
+        // When
+        List<Long> ids = taskChangeLogRepository.appendAll(List.of(30L, 10L, 20L));
+
+        // Then
+        assertThat(ids).hasSize(3);
+        for (int i = 0; i < ids.size(); i++) {
+            assertThat(jdbcTemplate.queryForObject("SELECT task_id FROM task_change_log WHERE id = ?", Long.class,
+                                                   ids.get(i)))
+                .isEqualTo(List.of(30L, 10L, 20L).get(i));
+        }
+    }
+
+    @Test
+    void appendAllOfNoTaskShouldNotInsert() {
+        // When
+        List<Long> ids = taskChangeLogRepository.appendAll(List.of());
+
+        // Then
+        assertThat(ids).isEmpty();
+        assertThat(taskChangeLogRepository.latestId()).isZero();
+    }
+}
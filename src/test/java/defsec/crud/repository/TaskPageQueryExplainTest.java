@@ -0,0 +1,111 @@
+package defsec.crud.repository;
+
+import defsec.crud.cache.TaskTitleFilter;
+import defsec.crud.entity.Task;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks with EXPLAIN that every filter and sort combination of GET /tasks reads an index in order,
+ * on the first page and after a cursor, so no page ever needs a filesort or a full scan.
+ * Needs a MySQL database with the Flyway schema, e.g. the docker-compose one:
+ * DEFSEC_TEST_DATASOURCE_URL=jdbc:mysql://localhost:3306/defsecdb ./gradlew test
+ */
+@SpringBootTest(properties = "spring.datasource.url=${DEFSEC_TEST_DATASOURCE_URL}")
+@EnabledIfEnvironmentVariable(named = "DEFSEC_TEST_DATASOURCE_URL", matches = ".+")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TaskPageQueryExplainTest {
+
+    private static final int ROWS = 2000;
+    private static final LocalDateTime FROM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final LocalDateTime TO = FROM.plusDays(7);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private TaskTitleFilter taskTitleFilter;
+
+    private final List<Long> createdIds = new ArrayList<>();
+
+    @BeforeAll
+    void insertTasks() {
+        List<Task> tasks = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Task task = new Task();
+            task.setTitle("explain-" + UUID.randomUUID());
+            task.setStatus(i % 2 == 0 ? Task.Status.PENDING : Task.Status.COMPLETED);
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks).forEach(task -> createdIds.add(task.getId()));
+
+        // Spread creation times over two weeks so the created_at range selects about half the rows
+        List<Object[]> createdAts = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            createdAts.add(new Object[] {FROM.minusDays(7).plusMinutes(i * 10L), createdIds.get(i)});
+        }
+        jdbcTemplate.batchUpdate("UPDATE task SET created_at = ? WHERE id = ?", createdAts);
+        jdbcTemplate.execute("ANALYZE TABLE task");
+    }
+
+    @AfterAll
+    void deleteTasks() {
+        taskRepository.deleteAllByIdInBatch(createdIds);
+    }
+
+    static Stream<Arguments> pageQueries() {
+        Task.Status pending = Task.Status.PENDING;
+        LocalDateTime cursorAt = FROM.plusDays(1);
+        return Stream.of(
+            Arguments.of(query(null, null, null, TaskPageQuery.Sort.ID, null, null), "PRIMARY"),
+            Arguments.of(query(null, null, null, TaskPageQuery.Sort.ID, 1L, null), "PRIMARY"),
+            Arguments.of(query(null, null, null, TaskPageQuery.Sort.ID_DESC, Long.MAX_VALUE, null), "PRIMARY"),
+            Arguments.of(query(pending, null, null, TaskPageQuery.Sort.ID, null, null), "idx_task_status_id"),
+            Arguments.of(query(pending, null, null, TaskPageQuery.Sort.ID_DESC, 1L, null), "idx_task_status_id"),
+            Arguments.of(query(null, null, null, TaskPageQuery.Sort.CREATED_AT, null, null), "idx_task_created_at_id"),
+            Arguments.of(query(null, FROM, TO, TaskPageQuery.Sort.CREATED_AT, 1L, cursorAt), "idx_task_created_at_id"),
+            Arguments.of(query(null, FROM, TO, TaskPageQuery.Sort.CREATED_AT_DESC, 1L, cursorAt), "idx_task_created_at_id"),
+            Arguments.of(query(pending, null, null, TaskPageQuery.Sort.CREATED_AT, null, null), "idx_task_status_created_at_id"),
+            Arguments.of(query(pending, FROM, TO, TaskPageQuery.Sort.CREATED_AT, null, null), "idx_task_status_created_at_id"),
+            Arguments.of(query(pending, FROM, TO, TaskPageQuery.Sort.CREATED_AT_DESC, 1L, cursorAt), "idx_task_status_created_at_id")
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("pageQueries")
+    void pageQueryShouldReadIndexInOrder(TaskPageQuery query, String expectedKey) {
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("EXPLAIN " + query.sql(), query.args());
+
+        assertThat(plan).hasSize(1);
+        Map<String, Object> row = plan.get(0);
+        assertThat(row.get("key")).as(query.sql()).isEqualTo(expectedKey);
+        assertThat(row.get("type")).as(query.sql()).isNotEqualTo("ALL");
+        assertThat(String.valueOf(row.get("Extra"))).as(query.sql()).doesNotContain("Using filesort");
+    }
+
+    private static TaskPageQuery query(Task.Status status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                       TaskPageQuery.Sort sort, Long afterId, LocalDateTime afterCreatedAt) {
+        return new TaskPageQuery(status, createdFrom, createdTo, sort, afterId, afterCreatedAt, 51);
+    }
+}
@@ -0,0 +1,134 @@
+package defsec.crud.repository;
+
+import defsec.crud.entity.Task;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks TaskRepositoryCustomImpl.findPage page by page on H2 in MySQL mode (profile "h2"), the way GET /tasks
+ * continues after a cursor: one row more than the page size, then from the last task of the page.
+ * Tasks 2, 3 and 4 share a creation time, so the keyset has to fall back to the id within a tie.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class TaskRepositoryPageTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 15, 10, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void insertTasks() {
+        // Rolled back after each test
+        insert(1, Task.Status.PENDING, T0);
+        insert(2, Task.Status.COMPLETED, T0.plusMinutes(1));
+        insert(3, Task.Status.PENDING, T0.plusMinutes(1));
+        insert(4, Task.Status.PENDING, T0.plusMinutes(1));
+        insert(5, Task.Status.COMPLETED, T0.plusMinutes(2));
+        insert(6, Task.Status.PENDING, T0.minusMinutes(1));
+        insert(7, Task.Status.COMPLETED, T0.plusMinutes(3));
+    }
+
+    private void insert(long id, Task.Status status, LocalDateTime createdAt) {
+        jdbcTemplate.update("INSERT INTO task (id, title, status, created_at, updated_at) VALUES (?, ?, ?, ?, ?)",
+                            id, "page-" + id, status.name(), createdAt, createdAt);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 10})
+    void idSortsShouldReturnEveryTaskOnceAcrossPages(int pageSize) {
+        assertThat(allPages(null, null, null, TaskPageQuery.Sort.ID, pageSize)).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(allPages(null, null, null, TaskPageQuery.Sort.ID_DESC, pageSize)).containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 3, 10})
+    void createdAtSortsShouldOrderTiesByIdAcrossPages(int pageSize) {
+        assertThat(allPages(null, null, null, TaskPageQuery.Sort.CREATED_AT, pageSize))
+            .containsExactly(6L, 1L, 2L, 3L, 4L, 5L, 7L);
+        assertThat(allPages(null, null, null, TaskPageQuery.Sort.CREATED_AT_DESC, pageSize))
+            .containsExactly(7L, 5L, 4L, 3L, 2L, 1L, 6L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 10})
+    void createdRangeShouldIncludeFromAndExcludeTo(int pageSize) {
+        LocalDateTime from = T0.plusMinutes(1);
+        LocalDateTime to = T0.plusMinutes(3);
+
+        assertThat(allPages(null, from, to, TaskPageQuery.Sort.CREATED_AT, pageSize)).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(allPages(null, from, to, TaskPageQuery.Sort.CREATED_AT_DESC, pageSize)).containsExactly(5L, 4L, 3L, 2L);
+        assertThat(allPages(null, from, null, TaskPageQuery.Sort.CREATED_AT, pageSize)).containsExactly(2L, 3L, 4L, 5L, 7L);
+        assertThat(allPages(null, null, from, TaskPageQuery.Sort.CREATED_AT_DESC, pageSize)).containsExactly(1L, 6L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 2, 10})
+    void statusShouldCombineWithRangeAndTies(int pageSize) {
+        assertThat(allPages(Task.Status.PENDING, T0, T0.plusMinutes(2), TaskPageQuery.Sort.CREATED_AT, pageSize))
+            .containsExactly(1L, 3L, 4L);
+        assertThat(allPages(Task.Status.PENDING, null, null, TaskPageQuery.Sort.ID_DESC, pageSize))
+            .containsExactly(6L, 4L, 3L, 1L);
+    }
+
+    @Test
+    void pageShouldContainOneExtraRowWhenMoreTasksFollow() {
+        // Given: the second page of two, ending inside the tie of tasks 2, 3 and 4
+        TaskPageQuery query = new TaskPageQuery(null, null, null, TaskPageQuery.Sort.CREATED_AT, 1L, T0, 3);
+
+        // When
+        List<Task> rows = taskRepository.findPage(query);
+
+        // Then
+        assertThat(rows).extracting(Task::getId).containsExactly(2L, 3L, 4L);
+        assertThat(rows.get(0).getCreatedAt()).isEqualTo(T0.plusMinutes(1));
+        assertThat(rows.get(0).getStatus()).isEqualTo(Task.Status.COMPLETED);
+    }
+
+    @Test
+    void pageAfterLastTaskShouldBeEmpty() {
+        assertThat(taskRepository.findPage(
+            new TaskPageQuery(null, null, null, TaskPageQuery.Sort.CREATED_AT_DESC, 6L, T0.minusMinutes(1), 3)))
+            .isEmpty();
+        assertThat(taskRepository.findPage(new TaskPageQuery(null, null, null, TaskPageQuery.Sort.ID, 7L, null, 3)))
+            .isEmpty();
+    }
+
+    // The ids of all pages, continuing after the last task of each page as the list cursor does
+    private List<Long> allPages(Task.Status status, LocalDateTime createdFrom, LocalDateTime createdTo,
+                                TaskPageQuery.Sort sort, int pageSize) {
+        List<Long> ids = new ArrayList<>();
+        Long afterId = null;
+        LocalDateTime afterCreatedAt = null;
+        while (true) {
+            List<Task> rows = taskRepository.findPage(
+                new TaskPageQuery(status, createdFrom, createdTo, sort, afterId, afterCreatedAt, pageSize + 1));
+            List<Task> page = rows.size() > pageSize ? rows.subList(0, pageSize) : rows;
+            page.forEach(task -> ids.add(task.getId()));
+            if (rows.size() <= pageSize) {
+                return ids;
+            }
+            Task last = page.get(page.size() - 1);
+            afterId = last.getId();
+            afterCreatedAt = sort.isByCreatedAt() ? last.getCreatedAt() : null;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package defsec.crud.service;
+
+import defsec.crud.entity.Task;
+import defsec.crud.repository.TaskIdAllocator;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchServiceTest {
+
+    @Mock
+    private TaskJdbcRepository taskJdbcRepository;
+
+    @Mock
+    private TaskIdAllocator taskIdAllocator;
+
+    @InjectMocks
+    private TaskBatchService taskBatchService;
+
+    @Test
+    void createAllShouldSkipExistingAndRepeatedTitles() {
+        // Given
+        List<Task> tasks = Arrays.asList(task("A"), task("B"), task("A"), task("C"));
+        when(taskJdbcRepository.findExistingTitles(any())).thenReturn(Set.of("B"));
+        when(taskIdAllocator.reserve(2)).thenReturn(100L);
+
+        // When
+        List<Long> ids = taskBatchService.createAll(tasks);
+
+        // Then
+        assertThat(ids).containsExactly(100L, null, null, 101L);
+        verify(taskJdbcRepository).insertAll(Arrays.asList(tasks.get(0), tasks.get(3)));
+    }
+
+    @Test
+    void createAllShouldInsertInChunks() {
+        // Given
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < TaskBatchService.CHUNK_SIZE + 1; i++) {
+            tasks.add(task("Task " + i));
+        }
+        when(taskJdbcRepository.findExistingTitles(any())).thenReturn(Set.of());
+        when(taskIdAllocator.reserve(TaskBatchService.CHUNK_SIZE)).thenReturn(1L);
+        when(taskIdAllocator.reserve(1)).thenReturn(1001L);
+
+        // When
+        List<Long> ids = taskBatchService.createAll(tasks);
+
+        // Then
+        assertThat(ids).hasSize(TaskBatchService.CHUNK_SIZE + 1).doesNotContainNull();
+        assertThat(ids.get(TaskBatchService.CHUNK_SIZE)).isEqualTo(1001L);
+        verify(taskJdbcRepository, times(2)).findExistingTitles(any());
+        verify(taskJdbcRepository, times(2)).insertAll(anyList());
+    }
+
+    @Test
+    void createAllShouldFallBackToSingleRowInsertsWhenChunkHitsDuplicate() {
+        // Given
+        Task first = task("A");
+        Task second = task("a");
+        when(taskJdbcRepository.findExistingTitles(any())).thenReturn(Set.of());
+        when(taskIdAllocator.reserve(2)).thenReturn(7L);
+        doThrow(new DuplicateKeyException("Duplicate entry")).when(taskJdbcRepository).insertAll(anyList());
+        doNothing().when(taskJdbcRepository).insert(first);
+        doThrow(new DuplicateKeyException("Duplicate entry")).when(taskJdbcRepository).insert(second);
+
+        // When
+        List<Long> ids = taskBatchService.createAll(Arrays.asList(first, second));
+
+        // Then
+        assertThat(ids).containsExactly(7L, null);
+        verify(taskJdbcRepository).insert(first);
+    }
+
+    @Test
+    void createAllShouldNotTreatPrimaryKeyViolationAsDuplicateTitle() {
+        // Given: an id of the reserved block already taken by a writer that bypassed task_id_sequence
+        when(taskJdbcRepository.findExistingTitles(any())).thenReturn(Set.of());
+        when(taskIdAllocator.reserve(1)).thenReturn(7L);
+        DuplicateKeyException primaryKey = new DuplicateKeyException("insert",
+            new SQLException("Duplicate entry '7' for key 'task.PRIMARY'", "23000", 1062));
+        doThrow(primaryKey).when(taskJdbcRepository).insertAll(anyList());
+
+        // When & Then
+        assertThatThrownBy(() -> taskBatchService.createAll(List.of(task("A"))))
+            .isSameAs(primaryKey);
+        verify(taskJdbcRepository, never()).insert(any());
+    }
+
+    private Task task(String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setStatus(Task.Status.PENDING);
+        return task;
+    }
+}
@@ -0,0 +1,194 @@
+package defsec.crud.service;
+
+import defsec.crud.repository.TaskChangeLogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeLogServiceTest {
+
+    @Mock
+    private TaskChangeLogRepository taskChangeLogRepository;
+
+    @Mock
+    private TaskChangeListener listener;
+
+    @InjectMocks
+    private TaskChangeLogService taskChangeLogService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(taskChangeLogService, "listeners", List.of(listener));
+    }
+
+    @Test
+    void recordChangeShouldNotifyLocallyAndAppendToLog() {
+        // Given
+        when(taskChangeLogRepository.append(1L)).thenReturn(77L);
+
+        // When
+        taskChangeLogService.recordChange(1L);
+
+        // Then
+        verify(listener).onTaskChanged(1L);
+        verify(taskChangeLogRepository).append(1L);
+        verify(listener).onChangeLogged(77L, 1L);
+    }
+
+    @Test
+    void recordChangeShouldStillNotifyLocallyWhenLogIsUnavailable() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("down")).when(taskChangeLogRepository).append(1L);
+
+        // When
+        taskChangeLogService.recordChange(1L);
+
+        // Then
+        verify(listener).onTaskChanged(1L);
+        verify(listener, never()).onChangeLogged(anyLong(), anyLong());
+    }
+
+    @Test
+    void failedAppendShouldBeCountedUntilPollAppendsItAgain() {
+        // Given
+        when(taskChangeLogRepository.latestId()).thenReturn(500L);
+        taskChangeLogService.pollChanges();
+        doThrow(new DataAccessResourceFailureException("down")).when(taskChangeLogRepository).appendAll(List.of(1L, 2L));
+        taskChangeLogService.recordChanges(List.of(1L, 2L));
+        doThrow(new DataAccessResourceFailureException("down")).when(taskChangeLogRepository).append(3L);
+        taskChangeLogService.recordChange(3L);
+        assertThat(taskChangeLogService.unloggedChanges()).isEqualTo(3);
+        when(taskChangeLogRepository.appendAll(List.of(1L, 2L, 3L))).thenReturn(List.of(501L, 502L, 503L));
+
+        // When
+        taskChangeLogService.pollChanges();
+
+        // Then
+        assertThat(taskChangeLogService.unloggedChanges()).isZero();
+        verify(listener).onChangeLogged(501L, 1L);
+        verify(listener).onChangeLogged(502L, 2L);
+        verify(listener).onChangeLogged(503L, 3L);
+    }
+
+    @Test
+    void failedRetryShouldKeepChangesCounted() {
+        // Given
+        when(taskChangeLogRepository.latestId()).thenReturn(500L);
+        taskChangeLogService.pollChanges();
+        taskChangeLogService.appendLater(List.of(1L));
+        doThrow(new DataAccessResourceFailureException("down")).when(taskChangeLogRepository).appendAll(List.of(1L));
+
+        // When
+        taskChangeLogService.pollChanges();
+        taskChangeLogService.pollChanges();
+
+        // Then
+        assertThat(taskChangeLogService.unloggedChanges()).isEqualTo(1);
+        verify(taskChangeLogRepository, times(2)).appendAll(List.of(1L));
+        verify(listener, never()).onChangeLogged(anyLong(), anyLong());
+    }
+
+    @Test
+    void firstPollShouldOnlyRememberLatestEntry() {
+        // Given
+        when(taskChangeLogRepository.latestId()).thenReturn(500L);
+
+        // When
+        taskChangeLogService.pollChanges();
+
+        // Then
+        verify(taskChangeLogRepository, never()).readAfter(anyLong(), anyInt(), any());
+        verify(listener, never()).onTaskChanged(anyLong());
+    }
+
+    @Test
+    void pollShouldDeliverEachEntryOnceDespiteOverlappingReads() {
+        // Given
+        when(taskChangeLogRepository.latestId()).thenReturn(500L);
+        taskChangeLogService.pollChanges();
+        when(taskChangeLogRepository.readAfter(eq(400L), anyInt(), any())).thenAnswer(invocation -> {
+            TaskChangeLogRepository.ChangeHandler handler = invocation.getArgument(2);
+            handler.onChange(501L, 10L);
+            return 1;
+        });
+        when(taskChangeLogRepository.readAfter(eq(401L), anyInt(), any())).thenAnswer(invocation -> {
+            TaskChangeLogRepository.ChangeHandler handler = invocation.getArgument(2);
+            handler.onChange(501L, 10L);
+            handler.onChange(502L, 20L);
+            return 2;
+        });
+
+        // When
+        taskChangeLogService.pollChanges();
+        taskChangeLogService.pollChanges();
+
+        // Then
+        verify(listener, times(1)).onTaskChanged(10L);
+        verify(listener, times(1)).onTaskChanged(20L);
+        verify(listener, times(1)).onChangeLogged(501L, 10L);
+        verify(listener, times(1)).onChangeLogged(502L, 20L);
+    }
+
+    @Test
+    void recordChangesShouldNotifyEachTaskAndAppendOnce() {
+        // Given
+        when(taskChangeLogRepository.appendAll(List.of(1L, 2L))).thenReturn(List.of(77L, 78L));
+
+        // When
+        taskChangeLogService.recordChanges(List.of(1L, 2L));
+
+        // Then
+        verify(listener).onTaskChanged(1L);
+        verify(listener).onTaskChanged(2L);
+        verify(taskChangeLogRepository, times(1)).appendAll(List.of(1L, 2L));
+        verify(listener).onChangeLogged(77L, 1L);
+        verify(listener).onChangeLogged(78L, 2L);
+    }
+
+    @Test
+    void recordChangesShouldStillNotifyLocallyWhenLogIsUnavailable() {
+        // Given
+        doThrow(new DataAccessResourceFailureException("down")).when(taskChangeLogRepository).appendAll(List.of(1L));
+
+        // When
+        taskChangeLogService.recordChanges(List.of(1L));
+
+        // Then
+        verify(listener).onTaskChanged(1L);
+        verify(listener, never()).onChangeLogged(anyLong(), anyLong());
+    }
+
+    @Test
+    void pruneShouldKeepNewestEntry() {
+        // Given
+        ReflectionTestUtils.setField(taskChangeLogService, "retention", Duration.ofHours(1));
+        when(taskChangeLogRepository.latestId()).thenReturn(500L);
+
+        // When
+        taskChangeLogService.pruneChanges();
+
+        // Then
+        verify(taskChangeLogRepository).deleteOlderThan(any(LocalDateTime.class), eq(500L));
+    }
+}
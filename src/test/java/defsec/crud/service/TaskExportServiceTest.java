@@ -0,0 +1,107 @@
+package defsec.crud.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import defsec.crud.repository.TaskJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exports from an H2 table in MySQL mode through the real JDBC cursor. Status values are stored in lower case,
+ * as MySQL returns the values of the status ENUM.
+ */
+class TaskExportServiceTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 14, 30, 45, 123_000_000);
+
+    private JdbcTemplate jdbcTemplate;
+    private TaskExportService taskExportService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+            new DriverManagerDataSource("jdbc:h2:mem:task-export;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("CREATE TABLE task (id BIGINT PRIMARY KEY, title VARCHAR(255) NOT NULL, "
+            + "description VARCHAR(1000), status VARCHAR(16), created_at TIMESTAMP, updated_at TIMESTAMP, "
+            + "version BIGINT NOT NULL DEFAULT 0)");
+
+        TaskJdbcRepository taskJdbcRepository = new TaskJdbcRepository();
+        ReflectionTestUtils.setField(taskJdbcRepository, "jdbcTemplate", jdbcTemplate);
+        // H2 rejects the MySQL streaming hint
+        ReflectionTestUtils.setField(taskJdbcRepository, "streamingFetchSize", 100);
+        taskExportService = new TaskExportService();
+        ReflectionTestUtils.setField(taskExportService, "taskJdbcRepository", taskJdbcRepository);
+        ReflectionTestUtils.setField(taskExportService, "objectMapper", new ObjectMapper());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE task");
+    }
+
+    private void insert(long id, String title, String description, String status, LocalDateTime createdAt,
+                        LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO task (id, title, description, status, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?)", id, title, description, status, createdAt, updatedAt);
+    }
+
+    @Test
+    void exportNdjsonShouldWriteOneTaskPerLine() throws Exception {
+        // Given
+        insert(1, "First", "Details", "pending", CREATED_AT, CREATED_AT.plusDays(1));
+        insert(2, "Second \"quoted\"", null, "completed", CREATED_AT, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = taskExportService.exportNdjson(out);
+
+        // Then
+        assertThat(exported).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "{\"id\":1,\"title\":\"First\",\"description\":\"Details\",\"status\":\"PENDING\","
+                + "\"createdAt\":\"2025-01-15T14:30:45Z\",\"updatedAt\":\"2025-01-16T14:30:45Z\"}\n"
+                + "{\"id\":2,\"title\":\"Second \\\"quoted\\\"\",\"status\":\"COMPLETED\","
+                + "\"createdAt\":\"2025-01-15T14:30:45Z\"}\n");
+    }
+
+    @Test
+    void exportJsonArrayShouldWriteOneArray() throws Exception {
+        // Given
+        insert(1, "First", null, "pending", CREATED_AT, null);
+        insert(2, "Second", null, null, null, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long exported = taskExportService.exportJsonArray(out);
+
+        // Then
+        assertThat(exported).isEqualTo(2);
+        assertThat(out.toString(StandardCharsets.UTF_8)).isEqualTo(
+            "[{\"id\":1,\"title\":\"First\",\"status\":\"PENDING\",\"createdAt\":\"2025-01-15T14:30:45Z\"},"
+                + "{\"id\":2,\"title\":\"Second\"}]");
+    }
+
+    @Test
+    void exportOfNoTasksShouldWriteEmptyDocuments() throws Exception {
+        // Given
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+
+        // When
+        taskExportService.exportNdjson(ndjson);
+        taskExportService.exportJsonArray(json);
+
+        // Then
+        assertThat(ndjson.toString(StandardCharsets.UTF_8)).isEmpty();
+        assertThat(json.toString(StandardCharsets.UTF_8)).isEqualTo("[]");
+    }
+}